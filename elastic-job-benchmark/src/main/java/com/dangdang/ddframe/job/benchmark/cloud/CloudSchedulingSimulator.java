@@ -0,0 +1,257 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.cloud;
+
+import com.dangdang.ddframe.job.benchmark.load.LoadTestReport.LatencyPercentiles;
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfigurationService;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
+import com.dangdang.ddframe.job.cloud.scheduler.ha.FrameworkIDService;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.FacadeService;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.SchedulerEngine;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.TaskLaunchScheduledService;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.TaskLaunchStatistics;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.TaskStatusUpdateService;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbConfiguration;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperConfiguration;
+import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperRegistryCenter;
+import com.dangdang.ddframe.job.restful.RestfulServer;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.io.Files;
+import com.google.gson.GsonBuilder;
+import com.netflix.fenzo.TaskScheduler;
+import com.netflix.fenzo.VirtualMachineLease;
+import com.netflix.fenzo.functions.Action1;
+import org.apache.curator.test.TestingServer;
+import org.apache.mesos.Protos;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 云作业调度模拟.
+ * 
+ * <p>
+ * 不依赖真实的Mesos, 在嵌入式Zookeeper上驱动{@link SchedulerEngine}, 资源预占队列, {@link TaskLaunchScheduledService}和{@link FacadeService},
+ * 由模拟的Mesos集群提供资源, 接收任务并回报任务状态. 统计作业进入待执行队列到任务提交的延迟, 每次任务提交的耗时, Fenzo分配资源的耗时以及集群资源利用率.
+ * 参数通过系统属性传入:
+ * </p>
+ * 
+ * <ul>
+ *     <li>sim.agentCount: slave数量, 默认20</li>
+ *     <li>sim.agentCpus: 每个slave的CPU数量, 默认8</li>
+ *     <li>sim.agentMemoryMB: 每个slave的内存MB, 默认16384</li>
+ *     <li>sim.transientJobCount: 瞬时作业数量, 默认20</li>
+ *     <li>sim.daemonJobCount: 常驻作业数量, 默认5</li>
+ *     <li>sim.shardingTotalCount: 每个作业的分片总数, 默认10</li>
+ *     <li>sim.maxShardingItemsPerTask: 单个任务最多包含的分片项数量, 默认1即不合并</li>
+ *     <li>sim.taskCpus: 每个分片任务的CPU数量, 默认0.1</li>
+ *     <li>sim.taskMemoryMB: 每个分片任务的内存MB, 默认64</li>
+ *     <li>sim.taskDurationMillis: 瞬时作业任务的运行毫秒数, 默认500</li>
+ *     <li>sim.fireIntervalMillis: 瞬时作业的触发间隔毫秒数, 默认1000</li>
+ *     <li>sim.durationSeconds: 统计秒数, 默认30</li>
+ *     <li>sim.masterPort: 模拟Mesos Master状态接口的端口, 默认18050</li>
+ *     <li>sim.reportDir: 报告输出目录, 默认target/cloud-simulation</li>
+ * </ul>
+ *
+ * @author zhangliang
+ */
+public final class CloudSchedulingSimulator {
+    
+    static final String FRAMEWORK_ID = "elastic-job-cloud-simulation-framework";
+    
+    private static final String NAMESPACE = "elastic-job-cloud-simulation";
+    
+    private static final String APP_NAME = "simulated_app";
+    
+    private static final long SAMPLE_INTERVAL_MILLISECONDS = 100L;
+    
+    // 与调度服务的资源过期和拒绝配置保持一致
+    private static final long LEASE_OFFER_EXPIRY_SECONDS = 60L;
+    
+    private static final double DECLINE_OFFER_REFUSE_SECONDS = 5d;
+    
+    private final CloudSimulationReport report;
+    
+    private final int masterPort;
+    
+    private final File reportDir;
+    
+    private CloudSchedulingSimulator() {
+        report = new CloudSimulationReport(Integer.getInteger("sim.agentCount", 20), getDouble("sim.agentCpus", 8d), getDouble("sim.agentMemoryMB", 16384d), 
+                Integer.getInteger("sim.transientJobCount", 20), Integer.getInteger("sim.daemonJobCount", 5), Integer.getInteger("sim.shardingTotalCount", 10), 
+                Integer.getInteger("sim.maxShardingItemsPerTask", 1), getDouble("sim.taskCpus", 0.1d), getDouble("sim.taskMemoryMB", 64d), 
+                Long.getLong("sim.taskDurationMillis", 500L), Long.getLong("sim.fireIntervalMillis", 1000L), Long.getLong("sim.durationSeconds", 30L));
+        masterPort = Integer.getInteger("sim.masterPort", 18050);
+        reportDir = new File(System.getProperty("sim.reportDir", "target/cloud-simulation"));
+    }
+    
+    private static double getDouble(final String key, final double defaultValue) {
+        String value = System.getProperty(key);
+        return null == value ? defaultValue : Double.parseDouble(value);
+    }
+    
+    /**
+     * 启动模拟.
+     * 
+     * @param args 命令行参数, 未使用
+     * @throws Exception 模拟异常
+     */
+    // CHECKSTYLE:OFF
+    public static void main(final String[] args) throws Exception {
+    // CHECKSTYLE:ON
+        new CloudSchedulingSimulator().run();
+        // 作业事件总线和统计作业的线程不随模拟关闭, 需显式退出
+        System.exit(0);
+    }
+    
+    private void run() throws Exception {
+        try (TestingServer testingServer = new TestingServer()) {
+            ZookeeperRegistryCenter regCenter = new ZookeeperRegistryCenter(new ZookeeperConfiguration(testingServer.getConnectString(), NAMESPACE));
+            regCenter.init();
+            try {
+                simulate(regCenter);
+            } finally {
+                regCenter.close();
+            }
+        }
+        print();
+    }
+    
+    private void simulate(final CoordinatorRegistryCenter regCenter) throws Exception {
+        new CloudAppConfigurationService(regCenter).add(new CloudAppConfiguration(APP_NAME, "http://localhost/simulated-app.tar.gz", "bin/start.sh", 0.1d, 64d, true, 0));
+        List<String> transientJobNames = registerJobs(regCenter, "transient_job_", report.getTransientJobCount(), CloudJobExecutionType.TRANSIENT);
+        List<String> daemonJobNames = registerJobs(regCenter, "daemon_job_", report.getDaemonJobCount(), CloudJobExecutionType.DAEMON);
+        SimulatedMesosCluster cluster = new SimulatedMesosCluster(report.getAgentCount(), report.getAgentCpus(), report.getAgentMemoryMB(), daemonJobNames, report.getTaskDurationMillis());
+        SimulatedMesosMasterResource.init(cluster);
+        RestfulServer masterServer = new RestfulServer(masterPort);
+        masterServer.start(SimulatedMesosMasterResource.class.getPackage().getName(), Optional.<String>absent());
+        FacadeService facadeService = new FacadeService(regCenter);
+        facadeService.start();
+        TaskScheduler taskScheduler = createTaskScheduler(cluster);
+        TaskStatusUpdateService taskStatusUpdateService = new TaskStatusUpdateService(
+                taskScheduler, facadeService, new JobEventBus(), StatisticManager.getInstance(regCenter, Optional.<JobEventRdbConfiguration>absent()));
+        TaskLaunchScheduledService taskLaunchScheduledService = new TaskLaunchScheduledService(cluster, taskScheduler, facadeService, new JobEventBus());
+        SchedulerEngine schedulerEngine = new SchedulerEngine(taskScheduler, facadeService, taskStatusUpdateService, new FrameworkIDService(regCenter));
+        schedulerEngine.registered(cluster, Protos.FrameworkID.newBuilder().setValue(FRAMEWORK_ID).build(), 
+                Protos.MasterInfo.newBuilder().setId("simulated-master").setIp(0).setHostname("127.0.0.1").setPort(masterPort).build());
+        taskStatusUpdateService.startAsync().awaitRunning();
+        taskLaunchScheduledService.startAsync().awaitRunning();
+        TaskLaunchStatistics.getInstance().reset();
+        cluster.connect(schedulerEngine);
+        try {
+            for (String each : daemonJobNames) {
+                cluster.markReady(each);
+                facadeService.addDaemonJobToReadyQueue(each);
+            }
+            measure(cluster, facadeService, transientJobNames);
+        } finally {
+            taskLaunchScheduledService.stopAsync().awaitTerminated();
+            cluster.stop();
+            taskStatusUpdateService.stopAsync().awaitTerminated();
+            facadeService.stop();
+            masterServer.stop();
+        }
+    }
+    
+    private List<String> registerJobs(final CoordinatorRegistryCenter regCenter, final String jobNamePrefix, final int count, final CloudJobExecutionType executionType) {
+        CloudJobConfigurationService configService = new CloudJobConfigurationService(regCenter);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String jobName = jobNamePrefix + i;
+            configService.add(new CloudJobConfiguration(APP_NAME, new SimpleJobConfiguration(
+                    JobCoreConfiguration.newBuilder(jobName, "0/1 * * * * ?", report.getShardingTotalCount()).misfire(false).build(), "com.dangdang.ddframe.job.benchmark.SimulatedJob"), 
+                    report.getTaskCpus(), report.getTaskMemoryMB(), executionType, null, null, report.getMaxShardingItemsPerTask()));
+            result.add(jobName);
+        }
+        return result;
+    }
+    
+    private TaskScheduler createTaskScheduler(final SimulatedMesosCluster cluster) {
+        return new TaskScheduler.Builder()
+                .withLeaseOfferExpirySecs(LEASE_OFFER_EXPIRY_SECONDS)
+                .withLeaseRejectAction(new Action1<VirtualMachineLease>() {
+                    
+                    @Override
+                    public void call(final VirtualMachineLease lease) {
+                        cluster.declineOffer(lease.getOffer().getId(), Protos.Filters.newBuilder().setRefuseSeconds(DECLINE_OFFER_REFUSE_SECONDS).build());
+                    }
+                }).build();
+    }
+    
+    private void measure(final SimulatedMesosCluster cluster, final FacadeService facadeService, final List<String> transientJobNames) throws InterruptedException {
+        long startTime = System.nanoTime();
+        long endTime = startTime + TimeUnit.SECONDS.toNanos(report.getDurationSeconds());
+        long nextFireTime = startTime;
+        int samples = 0;
+        double totalCpuUtilization = 0d;
+        double totalMemoryUtilization = 0d;
+        while (System.nanoTime() < endTime) {
+            if (System.nanoTime() >= nextFireTime) {
+                for (String each : transientJobNames) {
+                    cluster.markReady(each);
+                    facadeService.addTransient(each);
+                }
+                nextFireTime += TimeUnit.MILLISECONDS.toNanos(report.getFireIntervalMillis());
+            }
+            TimeUnit.MILLISECONDS.sleep(SAMPLE_INTERVAL_MILLISECONDS);
+            double cpuUtilization = cluster.getCpuUtilization();
+            double memoryUtilization = cluster.getMemoryUtilization();
+            samples++;
+            totalCpuUtilization += cpuUtilization;
+            totalMemoryUtilization += memoryUtilization;
+            report.setPeakCpuUtilization(Math.max(report.getPeakCpuUtilization(), cpuUtilization));
+            report.setPeakMemoryUtilization(Math.max(report.getPeakMemoryUtilization(), memoryUtilization));
+        }
+        long elapsedMilliseconds = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        TaskLaunchStatistics statistics = TaskLaunchStatistics.getInstance();
+        report.setLaunchedTaskCount(statistics.getLaunchedTaskCount());
+        report.setTasksPerSecond(statistics.getLaunchedTaskCount() * 1000d / elapsedMilliseconds);
+        report.setLaunchLatencyMillis(LatencyPercentiles.from(cluster.getLaunchLatencies()));
+        report.setIterationCount(statistics.getIterationCount());
+        report.setAverageIterationMillis(statistics.getAverageIterationMillis());
+        report.setMaxIterationMillis(statistics.getMaxIterationMillis());
+        report.setAverageScheduleOnceMillis(statistics.getAverageScheduleOnceMillis());
+        report.setMaxScheduleOnceMillis(statistics.getMaxScheduleOnceMillis());
+        report.setAverageCpuUtilization(0 == samples ? 0d : totalCpuUtilization / samples);
+        report.setAverageMemoryUtilization(0 == samples ? 0d : totalMemoryUtilization / samples);
+    }
+    
+    private void print() throws IOException {
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+        File reportFile = new File(reportDir, String.format("cloud-simulation-%da-%dt-%dd-%ds-%s.json", 
+                report.getAgentCount(), report.getTransientJobCount(), report.getDaemonJobCount(), report.getShardingTotalCount(), new SimpleDateFormat("yyyyMMddHHmmss").format(new Date())));
+        Files.createParentDirs(reportFile);
+        Files.write(json, reportFile, Charsets.UTF_8);
+        System.out.println(json);
+        System.out.printf("Report written to %s%n", reportFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.cloud;
+
+import com.dangdang.ddframe.job.benchmark.load.LoadTestReport.LatencyPercentiles;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 云调度模拟报告.
+ * 
+ * <p>序列化为JSON后可以直接与不同版本或不同参数的模拟报告对比.</p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@Setter
+public final class CloudSimulationReport {
+    
+    private final int agentCount;
+    
+    private final double agentCpus;
+    
+    private final double agentMemoryMB;
+    
+    private final int transientJobCount;
+    
+    private final int daemonJobCount;
+    
+    private final int shardingTotalCount;
+    
+    private final int maxShardingItemsPerTask;
+    
+    private final double taskCpus;
+    
+    private final double taskMemoryMB;
+    
+    private final long taskDurationMillis;
+    
+    private final long fireIntervalMillis;
+    
+    private final long durationSeconds;
+    
+    private long launchedTaskCount;
+    
+    private double tasksPerSecond;
+    
+    private LatencyPercentiles launchLatencyMillis;
+    
+    private long iterationCount;
+    
+    private double averageIterationMillis;
+    
+    private double maxIterationMillis;
+    
+    private double averageScheduleOnceMillis;
+    
+    private double maxScheduleOnceMillis;
+    
+    private double averageCpuUtilization;
+    
+    private double peakCpuUtilization;
+    
+    private double averageMemoryUtilization;
+    
+    private double peakMemoryUtilization;
+}
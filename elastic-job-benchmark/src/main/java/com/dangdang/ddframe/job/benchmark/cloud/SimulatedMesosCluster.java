@@ -0,0 +1,434 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.cloud;
+
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import org.apache.mesos.Protos;
+import org.apache.mesos.Scheduler;
+import org.apache.mesos.SchedulerDriver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模拟的Mesos集群.
+ * 
+ * <p>
+ * 实现{@link SchedulerDriver}, 按slave记录资源占用. 每个slave的空闲资源以一个offer的形式提供给调度器, 任务提交或offer被拒绝后剩余资源重新提供.
+ * 瞬时作业的任务运行指定时长后结束并释放资源, 常驻作业的任务一直运行; 执行器启动后不退出, 其资源一直占用.
+ * </p>
+ *
+ * @author zhangliang
+ */
+final class SimulatedMesosCluster implements SchedulerDriver {
+    
+    private static final double MIN_OFFER_CPUS = 0.01d;
+    
+    private static final double MIN_OFFER_MEMORY_MB = 1d;
+    
+    // 作业任务固定申请磁盘和端口, 模拟集群不统计这两类资源, 每个资源提供都给出足量的磁盘和互不重叠的端口段
+    private static final double OFFER_DISK_MB = 1024d * 1024d;
+    
+    private static final int OFFER_PORT_RANGE_SIZE = 1000;
+    
+    private static final int OFFER_PORT_RANGE_COUNT = 50;
+    
+    private static final int OFFER_PORT_BEGIN = 10000;
+    
+    private final Map<String, Agent> agents = new LinkedHashMap<>();
+    
+    private final Map<String, PendingOffer> pendingOffers = new HashMap<>();
+    
+    private final Map<String, TaskResources> runningTasks = new HashMap<>();
+    
+    private final Set<String> daemonJobNames;
+    
+    private final long taskDurationMillis;
+    
+    private final ScheduledExecutorService eventLoop = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("simulated-mesos-%d").build());
+    
+    private final AtomicLong offerIdGenerator = new AtomicLong();
+    
+    private final Map<String, Long> readyTimes = new ConcurrentHashMap<>();
+    
+    private final List<Long> launchLatencies = Collections.synchronizedList(new ArrayList<Long>());
+    
+    private volatile Scheduler scheduler;
+    
+    SimulatedMesosCluster(final int agentCount, final double agentCpus, final double agentMemoryMB, final Collection<String> daemonJobNames, final long taskDurationMillis) {
+        for (int i = 0; i < agentCount; i++) {
+            String slaveId = "simulated-S" + i;
+            agents.put(slaveId, new Agent(slaveId, "agent-" + i, agentCpus, agentMemoryMB));
+        }
+        this.daemonJobNames = new HashSet<>(daemonJobNames);
+        this.taskDurationMillis = taskDurationMillis;
+    }
+    
+    /**
+     * 连接调度器并提供全部slave的资源.
+     * 
+     * @param scheduler 调度器
+     */
+    void connect(final Scheduler scheduler) {
+        this.scheduler = scheduler;
+        eventLoop.execute(new Runnable() {
+            
+            @Override
+            public void run() {
+                for (Agent each : agents.values()) {
+                    offer(each);
+                }
+            }
+        });
+    }
+    
+    /**
+     * 记录作业进入待执行队列的时间.
+     * 
+     * @param jobName 作业名称
+     */
+    void markReady(final String jobName) {
+        readyTimes.put(jobName, System.nanoTime());
+    }
+    
+    List<Long> getLaunchLatencies() {
+        synchronized (launchLatencies) {
+            return new ArrayList<>(launchLatencies);
+        }
+    }
+    
+    synchronized Map<String, String> getExecutors() {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Agent each : agents.values()) {
+            for (String executorId : each.executors) {
+                result.put(executorId, each.slaveId);
+            }
+        }
+        return result;
+    }
+    
+    synchronized double getCpuUtilization() {
+        double used = 0d;
+        double total = 0d;
+        for (Agent each : agents.values()) {
+            used += each.usedCpus;
+            total += each.cpus;
+        }
+        return used / total;
+    }
+    
+    synchronized double getMemoryUtilization() {
+        double used = 0d;
+        double total = 0d;
+        for (Agent each : agents.values()) {
+            used += each.usedMemoryMB;
+            total += each.memoryMB;
+        }
+        return used / total;
+    }
+    
+    private void offer(final Agent agent) {
+        Protos.Offer offer;
+        synchronized (this) {
+            double cpus = agent.cpus - agent.usedCpus - agent.offeredCpus;
+            double memoryMB = agent.memoryMB - agent.usedMemoryMB - agent.offeredMemoryMB;
+            if (cpus < MIN_OFFER_CPUS || memoryMB < MIN_OFFER_MEMORY_MB) {
+                return;
+            }
+            long offerSequence = offerIdGenerator.incrementAndGet();
+            String offerId = "simulated-O" + offerSequence;
+            agent.offeredCpus += cpus;
+            agent.offeredMemoryMB += memoryMB;
+            pendingOffers.put(offerId, new PendingOffer(agent, cpus, memoryMB));
+            offer = Protos.Offer.newBuilder().setId(Protos.OfferID.newBuilder().setValue(offerId))
+                    .setFrameworkId(Protos.FrameworkID.newBuilder().setValue(CloudSchedulingSimulator.FRAMEWORK_ID))
+                    .setSlaveId(Protos.SlaveID.newBuilder().setValue(agent.slaveId)).setHostname(agent.hostname)
+                    .addResources(buildResource("cpus", cpus)).addResources(buildResource("mem", memoryMB))
+                    .addResources(buildResource("disk", OFFER_DISK_MB)).addResources(buildPortsResource(offerSequence)).build();
+        }
+        scheduler.resourceOffers(this, Collections.singletonList(offer));
+    }
+    
+    private Protos.Resource buildResource(final String name, final double value) {
+        return Protos.Resource.newBuilder().setName(name).setType(Protos.Value.Type.SCALAR).setScalar(Protos.Value.Scalar.newBuilder().setValue(value)).setRole("*").build();
+    }
+    
+    private Protos.Resource buildPortsResource(final long offerSequence) {
+        long begin = OFFER_PORT_BEGIN + offerSequence % OFFER_PORT_RANGE_COUNT * OFFER_PORT_RANGE_SIZE;
+        return Protos.Resource.newBuilder().setName("ports").setType(Protos.Value.Type.RANGES)
+                .setRanges(Protos.Value.Ranges.newBuilder().addRange(Protos.Value.Range.newBuilder().setBegin(begin).setEnd(begin + OFFER_PORT_RANGE_SIZE - 1))).setRole("*").build();
+    }
+    
+    private Set<Agent> releaseOffers(final Collection<Protos.OfferID> offerIds) {
+        Set<Agent> result = new HashSet<>();
+        for (Protos.OfferID each : offerIds) {
+            PendingOffer pendingOffer = pendingOffers.remove(each.getValue());
+            if (null != pendingOffer) {
+                pendingOffer.agent.offeredCpus -= pendingOffer.cpus;
+                pendingOffer.agent.offeredMemoryMB -= pendingOffer.memoryMB;
+                result.add(pendingOffer.agent);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public Protos.Status launchTasks(final Collection<Protos.OfferID> offerIds, final Collection<Protos.TaskInfo> tasks, final Protos.Filters filters) {
+        long now = System.nanoTime();
+        Set<Agent> releasedAgents;
+        synchronized (this) {
+            releasedAgents = releaseOffers(offerIds);
+            for (Protos.TaskInfo each : tasks) {
+                launchTask(each, now);
+            }
+        }
+        for (Agent each : releasedAgents) {
+            reoffer(each, 0L);
+        }
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    private void launchTask(final Protos.TaskInfo taskInfo, final long launchTime) {
+        Agent agent = agents.get(taskInfo.getSlaveId().getValue());
+        TaskResources taskResources = new TaskResources(agent, getScalar(taskInfo.getResourcesList(), "cpus"), getScalar(taskInfo.getResourcesList(), "mem"));
+        agent.usedCpus += taskResources.cpus;
+        agent.usedMemoryMB += taskResources.memoryMB;
+        if (taskInfo.hasExecutor() && agent.executors.add(taskInfo.getExecutor().getExecutorId().getValue())) {
+            agent.usedCpus += getScalar(taskInfo.getExecutor().getResourcesList(), "cpus");
+            agent.usedMemoryMB += getScalar(taskInfo.getExecutor().getResourcesList(), "mem");
+        }
+        final Protos.TaskID taskId = taskInfo.getTaskId();
+        runningTasks.put(taskId.getValue(), taskResources);
+        String jobName = TaskContext.from(taskId.getValue()).getMetaInfo().getJobName();
+        Long readyTime = readyTimes.get(jobName);
+        if (null != readyTime) {
+            launchLatencies.add(TimeUnit.NANOSECONDS.toMillis(launchTime - readyTime));
+        }
+        sendStatusUpdate(taskId, agent.slaveId, Protos.TaskState.TASK_RUNNING, 0L);
+        if (!daemonJobNames.contains(jobName)) {
+            sendStatusUpdate(taskId, agent.slaveId, Protos.TaskState.TASK_FINISHED, taskDurationMillis);
+        }
+    }
+    
+    private double getScalar(final List<Protos.Resource> resources, final String name) {
+        for (Protos.Resource each : resources) {
+            if (name.equals(each.getName())) {
+                return each.getScalar().getValue();
+            }
+        }
+        return 0d;
+    }
+    
+    private void sendStatusUpdate(final Protos.TaskID taskId, final String slaveId, final Protos.TaskState state, final long delayMillis) {
+        eventLoop.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                if (Protos.TaskState.TASK_RUNNING != state && !finishTask(taskId.getValue())) {
+                    return;
+                }
+                scheduler.statusUpdate(SimulatedMesosCluster.this, Protos.TaskStatus.newBuilder().setTaskId(taskId).setState(state)
+                        .setSlaveId(Protos.SlaveID.newBuilder().setValue(slaveId)).build());
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private boolean finishTask(final String taskId) {
+        TaskResources taskResources;
+        synchronized (this) {
+            taskResources = runningTasks.remove(taskId);
+            if (null == taskResources) {
+                return false;
+            }
+            taskResources.agent.usedCpus -= taskResources.cpus;
+            taskResources.agent.usedMemoryMB -= taskResources.memoryMB;
+        }
+        offer(taskResources.agent);
+        return true;
+    }
+    
+    private void reoffer(final Agent agent, final long delayMillis) {
+        eventLoop.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                offer(agent);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public Protos.Status launchTasks(final Collection<Protos.OfferID> offerIds, final Collection<Protos.TaskInfo> tasks) {
+        return launchTasks(offerIds, tasks, Protos.Filters.getDefaultInstance());
+    }
+    
+    @Override
+    public Protos.Status launchTasks(final Protos.OfferID offerId, final Collection<Protos.TaskInfo> tasks, final Protos.Filters filters) {
+        return launchTasks(Collections.singletonList(offerId), tasks, filters);
+    }
+    
+    @Override
+    public Protos.Status launchTasks(final Protos.OfferID offerId, final Collection<Protos.TaskInfo> tasks) {
+        return launchTasks(Collections.singletonList(offerId), tasks, Protos.Filters.getDefaultInstance());
+    }
+    
+    @Override
+    public Protos.Status declineOffer(final Protos.OfferID offerId, final Protos.Filters filters) {
+        Set<Agent> releasedAgents;
+        synchronized (this) {
+            releasedAgents = releaseOffers(Collections.singletonList(offerId));
+        }
+        for (Agent each : releasedAgents) {
+            reoffer(each, (long) (filters.getRefuseSeconds() * 1000));
+        }
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status declineOffer(final Protos.OfferID offerId) {
+        return declineOffer(offerId, Protos.Filters.getDefaultInstance());
+    }
+    
+    @Override
+    public Protos.Status killTask(final Protos.TaskID taskId) {
+        sendStatusUpdate(taskId, "", Protos.TaskState.TASK_KILLED, 0L);
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status start() {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status stop(final boolean failover) {
+        eventLoop.shutdownNow();
+        return Protos.Status.DRIVER_STOPPED;
+    }
+    
+    @Override
+    public Protos.Status stop() {
+        return stop(false);
+    }
+    
+    @Override
+    public Protos.Status abort() {
+        return stop(false);
+    }
+    
+    @Override
+    public Protos.Status join() {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status run() {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status requestResources(final Collection<Protos.Request> requests) {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status acceptOffers(final Collection<Protos.OfferID> offerIds, final Collection<Protos.Offer.Operation> operations, final Protos.Filters filters) {
+        throw new UnsupportedOperationException("acceptOffers");
+    }
+    
+    @Override
+    public Protos.Status reviveOffers() {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status suppressOffers() {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status acknowledgeStatusUpdate(final Protos.TaskStatus status) {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status sendFrameworkMessage(final Protos.ExecutorID executorId, final Protos.SlaveID slaveId, final byte[] data) {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @Override
+    public Protos.Status reconcileTasks(final Collection<Protos.TaskStatus> statuses) {
+        return Protos.Status.DRIVER_RUNNING;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class Agent {
+        
+        private final String slaveId;
+        
+        private final String hostname;
+        
+        private final double cpus;
+        
+        private final double memoryMB;
+        
+        private final Set<String> executors = new HashSet<>();
+        
+        private double usedCpus;
+        
+        private double usedMemoryMB;
+        
+        private double offeredCpus;
+        
+        private double offeredMemoryMB;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class PendingOffer {
+        
+        private final Agent agent;
+        
+        private final double cpus;
+        
+        private final double memoryMB;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TaskResources {
+        
+        private final Agent agent;
+        
+        private final double cpus;
+        
+        private final double memoryMB;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.cloud;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import java.util.Map.Entry;
+
+/**
+ * 模拟的Mesos Master状态接口.
+ * 
+ * <p>仅返回调度器读取的本框架执行器信息.</p>
+ *
+ * @author zhangliang
+ */
+@Path("/")
+public final class SimulatedMesosMasterResource {
+    
+    private static volatile SimulatedMesosCluster cluster;
+    
+    static void init(final SimulatedMesosCluster cluster) {
+        SimulatedMesosMasterResource.cluster = cluster;
+    }
+    
+    /**
+     * 获取Master状态.
+     * 
+     * @return Master状态
+     */
+    @GET
+    @Path("/state")
+    public JsonObject state() {
+        JsonArray executors = new JsonArray();
+        for (Entry<String, String> entry : cluster.getExecutors().entrySet()) {
+            JsonObject executor = new JsonObject();
+            executor.addProperty("executor_id", entry.getKey());
+            executor.addProperty("slave_id", entry.getValue());
+            executors.add(executor);
+        }
+        JsonObject framework = new JsonObject();
+        framework.addProperty("id", CloudSchedulingSimulator.FRAMEWORK_ID);
+        framework.add("executors", executors);
+        JsonArray frameworks = new JsonArray();
+        frameworks.add(framework);
+        JsonObject result = new JsonObject();
+        result.add("frameworks", frameworks);
+        return result;
+    }
+}
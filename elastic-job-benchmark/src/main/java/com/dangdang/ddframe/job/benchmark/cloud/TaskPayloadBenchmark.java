@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.cloud;
+
+import com.dangdang.ddframe.job.benchmark.fixture.NoopSimpleJob;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.TaskInfoData;
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.executor.TaskPayload;
+import org.apache.commons.lang3.SerializationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 云作业任务数据编解码基准测试.
+ * 
+ * <p>对比Java序列化格式与紧凑二进制格式的编解码耗时, 并在测试结束时输出两种格式的数据大小.</p>
+ *
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPayloadBenchmark {
+    
+    @Param({"1", "100"})
+    private int shardingItemCount;
+    
+    private CloudJobConfiguration jobConfig;
+    
+    private ShardingContexts shardingContexts;
+    
+    private Map<String, String> jobConfigurationContext;
+    
+    private byte[] javaSerializedData;
+    
+    private byte[] compactData;
+    
+    @Setup
+    public void setUp() {
+        jobConfig = new CloudJobConfiguration("benchmark_app", new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("benchmark_job", "0/1 * * * * ?", shardingItemCount)
+                .jobParameter("param").build(), NoopSimpleJob.class.getCanonicalName()), 1.0d, 128.0d, CloudJobExecutionType.TRANSIENT);
+        Map<Integer, String> shardingItemParameters = new LinkedHashMap<>(shardingItemCount * 4 / 3 + 1);
+        for (int i = 0; i < shardingItemCount; i++) {
+            shardingItemParameters.put(i, "parameter_" + i);
+        }
+        shardingContexts = new ShardingContexts("benchmark_job@-@0@-@READY@-@slave-S0@-@7d9c5a3e-1b2f-4c6d-8e0a-1f2e3d4c5b6a", "benchmark_job", shardingItemCount, "param", 
+                shardingItemParameters);
+        compactData = new TaskInfoData(shardingContexts, jobConfig, true).serialize();
+        jobConfigurationContext = TaskPayload.decode(compactData).getJobConfigurationContext();
+        javaSerializedData = javaSerialize();
+    }
+    
+    @TearDown(Level.Trial)
+    public void printPayloadSize() {
+        System.out.printf("%nTask payload size with %d sharding items: java serialization %d bytes, compact %d bytes%n", 
+                shardingItemCount, javaSerializedData.length, compactData.length);
+    }
+    
+    @Benchmark
+    public byte[] javaSerializationEncode() {
+        return javaSerialize();
+    }
+    
+    @Benchmark
+    public Map<String, Object> javaSerializationDecode() {
+        return SerializationUtils.deserialize(javaSerializedData);
+    }
+    
+    @Benchmark
+    public byte[] compactEncode() {
+        return new TaskInfoData(shardingContexts, jobConfig, true).serialize();
+    }
+    
+    @Benchmark
+    public TaskPayload compactDecode() {
+        return TaskPayload.decode(compactData);
+    }
+    
+    private byte[] javaSerialize() {
+        LinkedHashMap<String, Object> result = new LinkedHashMap<>(2, 1);
+        result.put("shardingContext", shardingContexts);
+        result.put("jobConfigContext", jobConfigurationContext);
+        return SerializationUtils.serialize(result);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.config;
+
+import com.dangdang.ddframe.job.benchmark.fixture.NoopSimpleJob;
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
+import com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationGsonFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业配置JSON序列化基准测试.
+ *
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiteJobConfigurationGsonBenchmark {
+    
+    private LiteJobConfiguration liteJobConfig;
+    
+    private String liteJobConfigJson;
+    
+    @Setup
+    public void setUp() {
+        liteJobConfig = LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("benchmark_job", "0/1 * * * * ?", 10)
+                .shardingItemParameters("0=A,1=B,2=C,3=D,4=E,5=F,6=G,7=H,8=I,9=J").jobParameter("param").failover(true).description("desc").build(), 
+                NoopSimpleJob.class.getCanonicalName())).monitorExecution(false).maxTimeDiffSeconds(60).build();
+        liteJobConfigJson = LiteJobConfigurationGsonFactory.toJson(liteJobConfig);
+    }
+    
+    @Benchmark
+    public String toJson() {
+        return LiteJobConfigurationGsonFactory.toJson(liteJobConfig);
+    }
+    
+    @Benchmark
+    public LiteJobConfiguration fromJson() {
+        return LiteJobConfigurationGsonFactory.fromJson(liteJobConfigJson);
+    }
+    
+    @Benchmark
+    public LiteJobConfiguration roundTrip() {
+        return LiteJobConfigurationGsonFactory.fromJson(LiteJobConfigurationGsonFactory.toJson(liteJobConfig));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.context;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.dangdang.ddframe.job.context.TaskContext.MetaInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务上下文解析基准测试.
+ * 
+ * <p>解析后遍历分片项, 以计入分片项延迟解析的开销.</p>
+ * 
+ * <p>使用 {@code -prof gc} 运行可观察每次操作的内存分配.</p>
+ *
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskContextBenchmark {
+    
+    @Param({"1", "100"})
+    private int shardingItemCount;
+    
+    private String taskId;
+    
+    private String metaInfo;
+    
+    @Setup
+    public void setUp() {
+        List<Integer> shardingItems = new ArrayList<>(shardingItemCount);
+        for (int i = 0; i < shardingItemCount; i++) {
+            shardingItems.add(i);
+        }
+        TaskContext taskContext = new TaskContext("benchmark_job", shardingItems, ExecutionType.READY, "slave-S0");
+        taskId = taskContext.getId();
+        metaInfo = taskContext.getMetaInfo().toString();
+    }
+    
+    @Benchmark
+    public int taskContextFrom() {
+        return sumShardingItems(TaskContext.from(taskId).getMetaInfo());
+    }
+    
+    @Benchmark
+    public int metaInfoFrom() {
+        return sumShardingItems(MetaInfo.from(metaInfo));
+    }
+    
+    @Benchmark
+    public String setSlaveId() {
+        TaskContext result = TaskContext.from(taskId);
+        result.setSlaveId("slave-S1");
+        return result.getId();
+    }
+    
+    @Benchmark
+    public String getIdForUnassignedSlave() {
+        return TaskContext.getIdForUnassignedSlave(taskId);
+    }
+    
+    private int sumShardingItems(final MetaInfo metaInfo) {
+        int result = 0;
+        for (int each : metaInfo.getShardingItems()) {
+            result += each;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.event;
+
+import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.event.JobEventConfiguration;
+import com.dangdang.ddframe.job.event.JobEventListener;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 作业事件总线发布吞吐量基准测试.
+ * 
+ * <p>每次调用发布一批事件并等待监听器全部消费, 避免异步队列无限堆积导致结果失真.</p>
+ *
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobEventBusBenchmark {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private final CountingJobEventListener listener = new CountingJobEventListener();
+    
+    private JobEventBus jobEventBus;
+    
+    private JobEventBus unregisteredJobEventBus;
+    
+    private JobExecutionEvent jobExecutionEvent;
+    
+    private long postedCount;
+    
+    @Setup
+    public void setUp() {
+        jobEventBus = new JobEventBus(new JobEventConfiguration() {
+            
+            @Override
+            public JobEventListener createJobEventListener() {
+                return listener;
+            }
+            
+            @Override
+            public String getIdentity() {
+                return "benchmark";
+            }
+        });
+        unregisteredJobEventBus = new JobEventBus();
+        jobExecutionEvent = new JobExecutionEvent("benchmark_task_id", "benchmark_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void post() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            jobEventBus.post(jobExecutionEvent);
+        }
+        postedCount += BATCH_SIZE;
+        while (listener.getReceivedCount() < postedCount) {
+            Thread.yield();
+        }
+    }
+    
+    @Benchmark
+    public void postWithoutListener() {
+        unregisteredJobEventBus.post(jobExecutionEvent);
+    }
+    
+    private static final class CountingJobEventListener implements JobEventListener {
+        
+        private final AtomicLong receivedCount = new AtomicLong();
+        
+        @Override
+        public void listen(final JobExecutionEvent jobExecutionEvent) {
+            receivedCount.incrementAndGet();
+        }
+        
+        @Override
+        public void listen(final JobStatusTraceEvent jobStatusTraceEvent) {
+            receivedCount.incrementAndGet();
+        }
+        
+        @Override
+        public String getIdentity() {
+            return "benchmark";
+        }
+        
+        long getReceivedCount() {
+            return receivedCount.get();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.executor;
+
+import com.dangdang.ddframe.job.benchmark.fixture.NoopSimpleJob;
+import com.dangdang.ddframe.job.benchmark.fixture.StubJobFacade;
+import com.dangdang.ddframe.job.executor.JobExecutorFactory;
+import com.dangdang.ddframe.job.executor.JobFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业执行器单次触发开销基准测试.
+ * 
+ * <p>作业门面不访问注册中心, 业务代码为空操作, 度量结果即为执行器本身的开销.</p>
+ *
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobExecutorBenchmark {
+    
+    @Param({"1", "10", "100"})
+    private int shardingItemCount;
+    
+    private final NoopSimpleJob elasticJob = new NoopSimpleJob();
+    
+    private JobFacade jobFacade;
+    
+    @Setup
+    public void setUp() {
+        jobFacade = new StubJobFacade("benchmark_job_" + shardingItemCount, shardingItemCount);
+    }
+    
+    @Benchmark
+    public void execute() {
+        JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute();
+    }
+}
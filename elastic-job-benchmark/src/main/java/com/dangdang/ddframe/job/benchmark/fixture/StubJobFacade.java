@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.fixture;
+
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.config.JobRootConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.executor.JobFacade;
+import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 不访问注册中心的作业内部服务门面, 用于度量执行器自身的开销.
+ *
+ * @author zhangliang
+ */
+public final class StubJobFacade implements JobFacade {
+    
+    private final LiteJobConfiguration liteJobConfig;
+    
+    private final ShardingContexts shardingContexts;
+    
+    public StubJobFacade(final String jobName, final int shardingItemCount) {
+        liteJobConfig = LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(
+                JobCoreConfiguration.newBuilder(jobName, "0/1 * * * * ?", shardingItemCount).build(), NoopSimpleJob.class.getCanonicalName())).build();
+        Map<Integer, String> shardingItemParameters = new LinkedHashMap<>(shardingItemCount, 1);
+        for (int i = 0; i < shardingItemCount; i++) {
+            shardingItemParameters.put(i, "");
+        }
+        shardingContexts = new ShardingContexts(jobName + "@-@0@-@READY@-@127.0.0.1@-@0", jobName, shardingItemCount, "", shardingItemParameters);
+    }
+    
+    @Override
+    public JobRootConfiguration loadJobRootConfiguration(final boolean fromCache) {
+        return liteJobConfig;
+    }
+    
+    @Override
+    public void checkJobExecutionEnvironment() {
+    }
+    
+    @Override
+    public void failoverIfNecessary() {
+    }
+    
+    @Override
+    public void registerJobBegin(final ShardingContexts shardingContexts) {
+    }
+    
+    @Override
+    public void registerJobCompleted(final ShardingContexts shardingContexts) {
+    }
+    
+    @Override
+    public ShardingContexts getShardingContexts() {
+        return shardingContexts;
+    }
+    
+    @Override
+    public boolean misfireIfRunning(final Collection<Integer> shardingItems) {
+        return false;
+    }
+    
+    @Override
+    public void clearMisfire(final Collection<Integer> shardingItems) {
+    }
+    
+    @Override
+    public boolean isExecuteMisfired(final Collection<Integer> shardingItems) {
+        return false;
+    }
+    
+    @Override
+    public boolean isEligibleForJobRunning() {
+        return false;
+    }
+    
+    @Override
+    public boolean isNeedSharding() {
+        return false;
+    }
+    
+    @Override
+    public void beforeJobExecuted(final ShardingContexts shardingContexts) {
+    }
+    
+    @Override
+    public void afterJobExecuted(final ShardingContexts shardingContexts) {
+    }
+    
+    @Override
+    public void postJobExecutionEvent(final JobExecutionEvent jobExecutionEvent) {
+    }
+    
+    @Override
+    public void postJobStatusTraceEvent(final String taskId, final JobStatusTraceEvent.State state, final String message) {
+    }
+    
+    @Override
+    public void postJobExecutionSpanEvent(final JobExecutionSpanEvent jobExecutionSpanEvent) {
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.load;
+
+import com.google.common.base.Splitter;
+import lombok.Getter;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行在独立类加载器中的压测作业实例.
+ * 
+ * <p>
+ * {@code JobRegistry}和Quartz的调度器仓库均为JVM级单例, 同一JVM中的多个作业实例必须通过类加载器隔离.
+ * 调用实例方法时切换线程上下文类加载器, 保证Quartz和Curator创建的线程及加载的类都属于该实例.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class IsolatedLoadTestNode {
+    
+    @Getter
+    private final String jobInstanceId;
+    
+    private final URLClassLoader classLoader;
+    
+    private final Object node;
+    
+    public IsolatedLoadTestNode(final String serverLists, final String namespace, final String jobInstanceId) throws ReflectiveOperationException {
+        this.jobInstanceId = jobInstanceId;
+        classLoader = new URLClassLoader(getClassPathUrls(), ClassLoader.getSystemClassLoader().getParent());
+        ClassLoader originalClassLoader = switchContextClassLoader(classLoader);
+        try {
+            node = classLoader.loadClass(LoadTestNode.class.getName()).getConstructor(String.class, String.class, String.class).newInstance(serverLists, namespace, jobInstanceId);
+        } finally {
+            switchContextClassLoader(originalClassLoader);
+        }
+    }
+    
+    private static URL[] getClassPathUrls() {
+        List<URL> result = new ArrayList<>();
+        for (String each : Splitter.on(File.pathSeparator).omitEmptyStrings().split(System.getProperty("java.class.path"))) {
+            try {
+                result.add(new File(each).toURI().toURL());
+            } catch (final MalformedURLException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+        return result.toArray(new URL[result.size()]);
+    }
+    
+    /**
+     * 启动全部压测作业.
+     * 
+     * @param jobCount 作业数量
+     * @param shardingTotalCount 每个作业的分片总数
+     * @param cron 作业启动时间的cron表达式
+     * @throws ReflectiveOperationException 反射调用异常
+     */
+    public void start(final int jobCount, final int shardingTotalCount, final String cron) throws ReflectiveOperationException {
+        invoke("start", new Class<?>[] {int.class, int.class, String.class}, jobCount, shardingTotalCount, cron);
+    }
+    
+    /**
+     * 关闭作业实例并释放类加载器.
+     * 
+     * @throws Exception 关闭异常
+     */
+    public void shutdown() throws Exception {
+        try {
+            invoke("shutdown");
+        } finally {
+            classLoader.close();
+        }
+    }
+    
+    /**
+     * 清空已采集的指标.
+     * 
+     * @throws ReflectiveOperationException 反射调用异常
+     */
+    public void reset() throws ReflectiveOperationException {
+        invoke("reset");
+    }
+    
+    /**
+     * 获取作业触发次数.
+     * 
+     * @return 作业触发次数
+     * @throws ReflectiveOperationException 反射调用异常
+     */
+    public long getFireCount() throws ReflectiveOperationException {
+        return (Long) invoke("getFireCount");
+    }
+    
+    /**
+     * 获取执行线程访问注册中心的次数.
+     * 
+     * @return 执行线程访问注册中心的次数
+     * @throws ReflectiveOperationException 反射调用异常
+     */
+    public long getRegistryCalls() throws ReflectiveOperationException {
+        return (Long) invoke("getRegistryCalls");
+    }
+    
+    /**
+     * 获取触发到业务代码开始执行的延迟毫秒数.
+     * 
+     * @return 触发延迟毫秒数
+     * @throws ReflectiveOperationException 反射调用异常
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> getTriggerLatencies() throws ReflectiveOperationException {
+        return (List<Long>) invoke("getTriggerLatencies");
+    }
+    
+    /**
+     * 获取各执行阶段的累计耗时毫秒数.
+     * 
+     * @return 阶段名称和累计耗时毫秒数的映射
+     * @throws ReflectiveOperationException 反射调用异常
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> getPhaseCostMillis() throws ReflectiveOperationException {
+        return (Map<String, Long>) invoke("getPhaseCostMillis");
+    }
+    
+    private Object invoke(final String methodName) throws ReflectiveOperationException {
+        return invoke(methodName, new Class<?>[0]);
+    }
+    
+    private Object invoke(final String methodName, final Class<?>[] parameterTypes, final Object... args) throws ReflectiveOperationException {
+        ClassLoader originalClassLoader = switchContextClassLoader(classLoader);
+        try {
+            return node.getClass().getMethod(methodName, parameterTypes).invoke(node, args);
+        } catch (final InvocationTargetException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            switchContextClassLoader(originalClassLoader);
+        }
+    }
+    
+    private static ClassLoader switchContextClassLoader(final ClassLoader classLoader) {
+        ClassLoader result = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        return result;
+    }
+}
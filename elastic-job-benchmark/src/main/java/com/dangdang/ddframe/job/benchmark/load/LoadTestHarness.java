@@ -0,0 +1,217 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.load;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.google.gson.GsonBuilder;
+import org.apache.curator.test.TestingServer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端调度压测.
+ * 
+ * <p>
+ * 在嵌入式Zookeeper上启动多个相互隔离的作业实例, 统计持续触发吞吐量, 触发到执行的延迟分位数, 每次触发的注册中心访问次数,
+ * 以及实例加入和离开后的重新分片收敛时间. 参数通过系统属性传入:
+ * </p>
+ * 
+ * <ul>
+ *     <li>load.jobCount: 作业数量, 默认10</li>
+ *     <li>load.shardingTotalCount: 每个作业的分片总数, 默认10</li>
+ *     <li>load.instanceCount: 作业实例数量, 默认3</li>
+ *     <li>load.churnCount: 加入并离开集群的实例数量, 默认1</li>
+ *     <li>load.cron: 作业启动时间的cron表达式, 默认每秒触发</li>
+ *     <li>load.warmupSeconds: 预热秒数, 默认10</li>
+ *     <li>load.durationSeconds: 统计秒数, 默认30</li>
+ *     <li>load.convergenceTimeoutSeconds: 等待分片收敛的超时秒数, 默认60</li>
+ *     <li>load.reportDir: 报告输出目录, 默认target/load-test</li>
+ * </ul>
+ *
+ * @author zhangliang
+ */
+public final class LoadTestHarness {
+    
+    private static final String NAMESPACE = "elastic-job-load-test";
+    
+    private static final String RECEIVED_PACKETS_PREFIX = "Received: ";
+    
+    private final LoadTestReport report;
+    
+    private final long warmupSeconds;
+    
+    private final long convergenceTimeoutMilliseconds;
+    
+    private final File reportDir;
+    
+    private LoadTestHarness() {
+        report = new LoadTestReport(Integer.getInteger("load.jobCount", 10), Integer.getInteger("load.shardingTotalCount", 10), Integer.getInteger("load.instanceCount", 3), 
+                Integer.getInteger("load.churnCount", 1), System.getProperty("load.cron", "0/1 * * * * ?"), Long.getLong("load.durationSeconds", 30L));
+        warmupSeconds = Long.getLong("load.warmupSeconds", 10L);
+        convergenceTimeoutMilliseconds = TimeUnit.SECONDS.toMillis(Long.getLong("load.convergenceTimeoutSeconds", 60L));
+        reportDir = new File(System.getProperty("load.reportDir", "target/load-test"));
+    }
+    
+    /**
+     * 启动压测.
+     * 
+     * @param args 命令行参数, 未使用
+     * @throws Exception 压测异常
+     */
+    // CHECKSTYLE:OFF
+    public static void main(final String[] args) throws Exception {
+    // CHECKSTYLE:ON
+        new LoadTestHarness().run();
+        // 作业事件总线的线程池不随作业关闭, 需显式退出
+        System.exit(0);
+    }
+    
+    static String getJobName(final int index) {
+        return "load_test_job_" + index;
+    }
+    
+    private void run() throws Exception {
+        try (TestingServer testingServer = new TestingServer();
+             ShardingConvergenceProbe probe = new ShardingConvergenceProbe(testingServer.getConnectString(), NAMESPACE, report.getJobCount(), report.getShardingTotalCount())) {
+            List<IsolatedLoadTestNode> nodes = startNodes(testingServer.getConnectString(), 0, report.getInstanceCount());
+            try {
+                System.out.printf("Initial sharding converged in %d ms%n", probe.awaitConvergence(getJobInstanceIds(nodes), convergenceTimeoutMilliseconds));
+                TimeUnit.SECONDS.sleep(warmupSeconds);
+                measureFires(testingServer.getPort(), nodes);
+                measureConvergence(testingServer.getConnectString(), probe, nodes);
+            } finally {
+                shutdownNodes(nodes);
+            }
+        }
+        print();
+    }
+    
+    private List<IsolatedLoadTestNode> startNodes(final String serverLists, final int fromIndex, final int count) throws ReflectiveOperationException {
+        List<IsolatedLoadTestNode> result = new ArrayList<>(count);
+        for (int i = fromIndex; i < fromIndex + count; i++) {
+            IsolatedLoadTestNode node = new IsolatedLoadTestNode(serverLists, NAMESPACE, "127.0." + i / 250 + "." + (i % 250 + 1) + "@-@" + i);
+            node.start(report.getJobCount(), report.getShardingTotalCount(), report.getCron());
+            result.add(node);
+        }
+        return result;
+    }
+    
+    private void shutdownNodes(final List<IsolatedLoadTestNode> nodes) throws Exception {
+        for (IsolatedLoadTestNode each : nodes) {
+            each.shutdown();
+        }
+    }
+    
+    private List<String> getJobInstanceIds(final List<IsolatedLoadTestNode> nodes) {
+        List<String> result = new ArrayList<>(nodes.size());
+        for (IsolatedLoadTestNode each : nodes) {
+            result.add(each.getJobInstanceId());
+        }
+        return result;
+    }
+    
+    private void measureFires(final int port, final List<IsolatedLoadTestNode> nodes) throws Exception {
+        for (IsolatedLoadTestNode each : nodes) {
+            each.reset();
+        }
+        long receivedPacketsBefore = getReceivedPackets(port);
+        long startTime = System.nanoTime();
+        TimeUnit.SECONDS.sleep(report.getDurationSeconds());
+        long elapsedMilliseconds = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        long receivedPackets = getReceivedPackets(port) - receivedPacketsBefore;
+        long fireCount = 0L;
+        long registryCalls = 0L;
+        List<Long> latencies = new ArrayList<>();
+        Map<String, Long> phaseCostMillis = new LinkedHashMap<>();
+        for (IsolatedLoadTestNode each : nodes) {
+            fireCount += each.getFireCount();
+            registryCalls += each.getRegistryCalls();
+            latencies.addAll(each.getTriggerLatencies());
+            for (Entry<String, Long> entry : each.getPhaseCostMillis().entrySet()) {
+                Long costMillis = phaseCostMillis.get(entry.getKey());
+                phaseCostMillis.put(entry.getKey(), null == costMillis ? entry.getValue() : costMillis + entry.getValue());
+            }
+        }
+        report.setFireCount(fireCount);
+        report.setFiresPerSecond(fireCount * 1000d / elapsedMilliseconds);
+        report.setTriggerLatencyMillis(LoadTestReport.LatencyPercentiles.from(latencies));
+        if (fireCount > 0L) {
+            report.setRegistryCallsPerFire((double) registryCalls / fireCount);
+            report.setServerPacketsPerFire((double) receivedPackets / fireCount);
+            for (Entry<String, Long> entry : phaseCostMillis.entrySet()) {
+                report.getPhaseAverageCostMillis().put(entry.getKey(), (double) entry.getValue() / fireCount);
+            }
+        }
+    }
+    
+    private void measureConvergence(final String serverLists, final ShardingConvergenceProbe probe, final List<IsolatedLoadTestNode> nodes) throws Exception {
+        if (report.getChurnCount() <= 0) {
+            return;
+        }
+        List<IsolatedLoadTestNode> churnNodes = startNodes(serverLists, nodes.size(), report.getChurnCount());
+        List<IsolatedLoadTestNode> allNodes = new ArrayList<>(nodes);
+        allNodes.addAll(churnNodes);
+        try {
+            report.setJoinConvergenceMillis(probe.awaitConvergence(getJobInstanceIds(allNodes), convergenceTimeoutMilliseconds));
+        } finally {
+            shutdownNodes(churnNodes);
+        }
+        report.setLeaveConvergenceMillis(probe.awaitConvergence(getJobInstanceIds(nodes), convergenceTimeoutMilliseconds));
+    }
+    
+    /**
+     * 通过四字命令获取Zookeeper服务端接收的数据包总数.
+     */
+    private long getReceivedPackets(final int port) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            socket.getOutputStream().write("srvr".getBytes(Charsets.UTF_8));
+            socket.getOutputStream().flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), Charsets.UTF_8));
+            String line;
+            while (null != (line = reader.readLine())) {
+                if (line.startsWith(RECEIVED_PACKETS_PREFIX)) {
+                    return Long.parseLong(line.substring(RECEIVED_PACKETS_PREFIX.length()).trim());
+                }
+            }
+        }
+        return 0L;
+    }
+    
+    private void print() throws IOException {
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+        File reportFile = new File(reportDir, String.format("load-test-%dj-%di-%dn-%s.json", 
+                report.getJobCount(), report.getShardingTotalCount(), report.getInstanceCount(), new SimpleDateFormat("yyyyMMddHHmmss").format(new Date())));
+        Files.createParentDirs(reportFile);
+        Files.write(json, reportFile, Charsets.UTF_8);
+        System.out.println(json);
+        System.out.printf("Report written to %s%n", reportFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.load;
+
+import com.dangdang.ddframe.job.benchmark.fixture.NoopSimpleJob;
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.event.JobEventConfiguration;
+import com.dangdang.ddframe.job.event.JobEventListener;
+import com.dangdang.ddframe.job.event.JobExecutionSpanListener;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.lite.api.JobScheduler;
+import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
+import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperConfiguration;
+import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperRegistryCenter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 压测作业实例.
+ * 
+ * <p>
+ * 由独立的类加载器加载, 使每个实例拥有独立的{@code JobRegistry}和Quartz调度器, 从而可以在同一JVM中模拟多个作业实例.
+ * 压测主程序通过反射访问, 因此公开方法的参数和返回值只能使用JDK类型.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class LoadTestNode {
+    
+    private final String jobInstanceId;
+    
+    private final ZookeeperRegistryCenter regCenter;
+    
+    private final List<String> jobNames = new ArrayList<>();
+    
+    private final SpanCollector spanCollector = new SpanCollector();
+    
+    public LoadTestNode(final String serverLists, final String namespace, final String jobInstanceId) {
+        this.jobInstanceId = jobInstanceId;
+        regCenter = new ZookeeperRegistryCenter(new ZookeeperConfiguration(serverLists, namespace));
+        regCenter.init();
+    }
+    
+    /**
+     * 启动全部压测作业.
+     * 
+     * @param jobCount 作业数量
+     * @param shardingTotalCount 每个作业的分片总数
+     * @param cron 作业启动时间的cron表达式
+     */
+    public void start(final int jobCount, final int shardingTotalCount, final String cron) {
+        for (int i = 0; i < jobCount; i++) {
+            String jobName = LoadTestHarness.getJobName(i);
+            JobCoreConfiguration coreConfig = JobCoreConfiguration.newBuilder(jobName, cron, shardingTotalCount).misfire(false).build();
+            LiteJobConfiguration liteJobConfig = LiteJobConfiguration.newBuilder(
+                    new SimpleJobConfiguration(coreConfig, NoopSimpleJob.class.getCanonicalName())).overwrite(true).build();
+            JobScheduler jobScheduler = new JobScheduler(regCenter, liteJobConfig, spanCollector);
+            JobRegistry.getInstance().addJobInstance(jobName, new JobInstance(jobInstanceId));
+            jobScheduler.init();
+            jobNames.add(jobName);
+        }
+    }
+    
+    /**
+     * 关闭全部作业并断开注册中心连接, 临时节点随会话关闭立即删除.
+     */
+    public void shutdown() {
+        for (String each : jobNames) {
+            JobRegistry.getInstance().shutdown(each);
+        }
+        regCenter.close();
+    }
+    
+    /**
+     * 清空已采集的指标.
+     */
+    public void reset() {
+        spanCollector.fireCount.set(0L);
+        spanCollector.registryCalls.set(0L);
+        spanCollector.triggerLatencies.clear();
+        spanCollector.phaseCostMillis.clear();
+    }
+    
+    /**
+     * 获取作业触发次数.
+     * 
+     * @return 作业触发次数
+     */
+    public long getFireCount() {
+        return spanCollector.fireCount.get();
+    }
+    
+    /**
+     * 获取执行线程访问注册中心的次数.
+     * 
+     * @return 执行线程访问注册中心的次数
+     */
+    public long getRegistryCalls() {
+        return spanCollector.registryCalls.get();
+    }
+    
+    /**
+     * 获取触发到业务代码开始执行的延迟毫秒数.
+     * 
+     * @return 触发延迟毫秒数
+     */
+    public List<Long> getTriggerLatencies() {
+        return new ArrayList<>(spanCollector.triggerLatencies);
+    }
+    
+    /**
+     * 获取各执行阶段的累计耗时毫秒数.
+     * 
+     * @return 阶段名称和累计耗时毫秒数的映射
+     */
+    public Map<String, Long> getPhaseCostMillis() {
+        Map<String, Long> result = new LinkedHashMap<>(spanCollector.phaseCostMillis.size(), 1);
+        for (JobExecutionSpanEvent.Phase each : JobExecutionSpanEvent.Phase.values()) {
+            AtomicLong costMillis = spanCollector.phaseCostMillis.get(each);
+            if (null != costMillis) {
+                result.put(each.name(), costMillis.get());
+            }
+        }
+        return result;
+    }
+    
+    private static final class SpanCollector implements JobEventConfiguration, JobEventListener, JobExecutionSpanListener {
+        
+        private final AtomicLong fireCount = new AtomicLong();
+        
+        private final AtomicLong registryCalls = new AtomicLong();
+        
+        private final ConcurrentLinkedQueue<Long> triggerLatencies = new ConcurrentLinkedQueue<>();
+        
+        private final ConcurrentMap<JobExecutionSpanEvent.Phase, AtomicLong> phaseCostMillis = new ConcurrentHashMap<>();
+        
+        @Override
+        public JobEventListener createJobEventListener() {
+            return this;
+        }
+        
+        @Override
+        public String getIdentity() {
+            return "load-test";
+        }
+        
+        @Override
+        public void listen(final JobExecutionEvent jobExecutionEvent) {
+        }
+        
+        @Override
+        public void listen(final JobStatusTraceEvent jobStatusTraceEvent) {
+        }
+        
+        @Override
+        public void listen(final JobExecutionSpanEvent jobExecutionSpanEvent) {
+            fireCount.incrementAndGet();
+            registryCalls.addAndGet(jobExecutionSpanEvent.getRegistryCalls());
+            long firstItemStartTime = Long.MAX_VALUE;
+            for (JobExecutionSpanEvent.ItemSpan each : jobExecutionSpanEvent.getItemSpans()) {
+                firstItemStartTime = Math.min(firstItemStartTime, each.getStartTime());
+            }
+            if (Long.MAX_VALUE != firstItemStartTime && null != jobExecutionSpanEvent.getTriggerTime()) {
+                triggerLatencies.add(firstItemStartTime - jobExecutionSpanEvent.getTriggerTime().getTime());
+            }
+            for (JobExecutionSpanEvent.PhaseSpan each : jobExecutionSpanEvent.getPhaseSpans()) {
+                AtomicLong costMillis = phaseCostMillis.get(each.getPhase());
+                if (null == costMillis) {
+                    phaseCostMillis.putIfAbsent(each.getPhase(), new AtomicLong());
+                    costMillis = phaseCostMillis.get(each.getPhase());
+                }
+                costMillis.addAndGet(each.getCostMillis());
+            }
+        }
+    }
+}
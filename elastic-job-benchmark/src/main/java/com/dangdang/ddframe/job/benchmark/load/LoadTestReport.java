@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测报告.
+ * 
+ * <p>序列化为JSON后可以直接与不同版本或不同参数的压测报告对比.</p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@Setter
+public final class LoadTestReport {
+    
+    private final int jobCount;
+    
+    private final int shardingTotalCount;
+    
+    private final int instanceCount;
+    
+    private final int churnCount;
+    
+    private final String cron;
+    
+    private final long durationSeconds;
+    
+    private long fireCount;
+    
+    private double firesPerSecond;
+    
+    private LatencyPercentiles triggerLatencyMillis;
+    
+    private double registryCallsPerFire;
+    
+    private double serverPacketsPerFire;
+    
+    private Map<String, Double> phaseAverageCostMillis = new LinkedHashMap<>();
+    
+    private long joinConvergenceMillis;
+    
+    private long leaveConvergenceMillis;
+    
+    /**
+     * 延迟分位数.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static final class LatencyPercentiles {
+        
+        private final int samples;
+        
+        private final long p50;
+        
+        private final long p90;
+        
+        private final long p99;
+        
+        private final long max;
+        
+        /**
+         * 根据延迟样本计算分位数.
+         * 
+         * @param latencies 延迟样本
+         * @return 延迟分位数
+         */
+        public static LatencyPercentiles from(final List<Long> latencies) {
+            if (latencies.isEmpty()) {
+                return new LatencyPercentiles(0, 0L, 0L, 0L, 0L);
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new LatencyPercentiles(sorted.size(), percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted.get(sorted.size() - 1));
+        }
+        
+        private static long percentile(final List<Long> sorted, final int percent) {
+            int rank = (int) Math.ceil(percent / 100d * sorted.size());
+            return sorted.get(Math.max(rank, 1) - 1);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.load;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 重新分片收敛探针.
+ * 
+ * <p>
+ * 作业分片收敛的判定条件: 不存在需要重新分片和正在分片的标记, 全部分片项都分配给在线实例,
+ * 且分片项数量不少于实例数量时每个在线实例至少分配到一个分片项.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class ShardingConvergenceProbe implements AutoCloseable {
+    
+    private static final long POLL_INTERVAL_MILLISECONDS = 10L;
+    
+    private final CuratorFramework client;
+    
+    private final int jobCount;
+    
+    private final int shardingTotalCount;
+    
+    public ShardingConvergenceProbe(final String serverLists, final String namespace, final int jobCount, final int shardingTotalCount) {
+        client = CuratorFrameworkFactory.builder().connectString(serverLists).namespace(namespace).retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        client.start();
+        this.jobCount = jobCount;
+        this.shardingTotalCount = shardingTotalCount;
+    }
+    
+    /**
+     * 等待全部作业分片收敛.
+     * 
+     * @param onlineJobInstanceIds 在线作业实例主键集合
+     * @param timeoutMilliseconds 超时毫秒数
+     * @return 收敛耗时毫秒数, 超时返回-1
+     * @throws Exception 访问注册中心异常
+     */
+    public long awaitConvergence(final Collection<String> onlineJobInstanceIds, final long timeoutMilliseconds) throws Exception {
+        long startTime = System.nanoTime();
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds);
+        Set<String> convergedJobNames = new HashSet<>(jobCount, 1);
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < jobCount; i++) {
+                String jobName = LoadTestHarness.getJobName(i);
+                if (!convergedJobNames.contains(jobName) && isConverged(jobName, onlineJobInstanceIds)) {
+                    convergedJobNames.add(jobName);
+                }
+            }
+            if (jobCount == convergedJobNames.size()) {
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            }
+            Thread.sleep(POLL_INTERVAL_MILLISECONDS);
+        }
+        return -1L;
+    }
+    
+    private boolean isConverged(final String jobName, final Collection<String> onlineJobInstanceIds) throws Exception {
+        if (null != client.checkExists().forPath("/" + jobName + "/leader/sharding/necessary") || null != client.checkExists().forPath("/" + jobName + "/leader/sharding/processing")) {
+            return false;
+        }
+        Set<String> assignedJobInstanceIds = new HashSet<>(onlineJobInstanceIds.size(), 1);
+        for (int i = 0; i < shardingTotalCount; i++) {
+            String path = "/" + jobName + "/sharding/" + i + "/instance";
+            if (null == client.checkExists().forPath(path)) {
+                return false;
+            }
+            String jobInstanceId = new String(client.getData().forPath(path), StandardCharsets.UTF_8);
+            if (!onlineJobInstanceIds.contains(jobInstanceId)) {
+                return false;
+            }
+            assignedJobInstanceIds.add(jobInstanceId);
+        }
+        return shardingTotalCount < onlineJobInstanceIds.size() || assignedJobInstanceIds.size() == onlineJobInstanceIds.size();
+    }
+    
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.benchmark.strategy;
+
+import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.dangdang.ddframe.job.lite.api.strategy.JobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.JobShardingStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业分片策略基准测试.
+ *
+ * @author zhangliang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobShardingStrategyBenchmark {
+    
+    @Param({
+            "com.dangdang.ddframe.job.lite.api.strategy.impl.AverageAllocationJobShardingStrategy", 
+            "com.dangdang.ddframe.job.lite.api.strategy.impl.OdevitySortByNameJobShardingStrategy", 
+            "com.dangdang.ddframe.job.lite.api.strategy.impl.RotateServerByNameJobShardingStrategy"})
+    private String jobShardingStrategyClass;
+    
+    @Param({"10", "100", "1000"})
+    private int instanceCount;
+    
+    @Param("10000")
+    private int shardingTotalCount;
+    
+    private JobShardingStrategy jobShardingStrategy;
+    
+    private List<JobInstance> jobInstances;
+    
+    @Setup
+    public void setUp() {
+        jobShardingStrategy = JobShardingStrategyFactory.getStrategy(jobShardingStrategyClass);
+        jobInstances = new ArrayList<>(instanceCount);
+        for (int i = 0; i < instanceCount; i++) {
+            jobInstances.add(new JobInstance(String.format("192.168.%d.%d@-@%d", i / 256, i % 256, i)));
+        }
+    }
+    
+    @Benchmark
+    public Map<JobInstance, List<Integer>> sharding() {
+        return jobShardingStrategy.sharding(jobInstances, "benchmark_job", shardingTotalCount);
+    }
+}
@@ -19,28 +19,18 @@ package com.dangdang.ddframe.job.cloud.executor;
 
 import com.dangdang.ddframe.job.api.ElasticJob;
 import com.dangdang.ddframe.job.config.JobRootConfiguration;
-import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.JobExecutorFactory;
 import com.dangdang.ddframe.job.executor.JobFacade;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.trigger.JobTrigger;
+import com.dangdang.ddframe.job.trigger.TriggerEngine;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
+import com.dangdang.ddframe.job.trigger.TriggerTask;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import org.apache.mesos.ExecutorDriver;
 import org.apache.mesos.Protos;
-import org.quartz.CronScheduleBuilder;
-import org.quartz.CronTrigger;
-import org.quartz.Job;
-import org.quartz.JobBuilder;
-import org.quartz.JobDetail;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.TriggerBuilder;
-import org.quartz.impl.StdSchedulerFactory;
-import org.quartz.plugins.management.ShutdownHookPlugin;
 
-import java.util.Properties;
+import java.util.Date;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -52,15 +42,14 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public final class DaemonTaskScheduler {
     
-    public static final String ELASTIC_JOB_DATA_MAP_KEY = "elasticJob";
-    
-    private static final String JOB_FACADE_DATA_MAP_KEY = "jobFacade";
-    
-    private static final String EXECUTOR_DRIVER_DATA_MAP_KEY = "executorDriver";
+    /**
+     * 开启misfire时沿用Quartz默认的错过触发阈值, 关闭时执行通道被占用即视为错过触发.
+     */
+    private static final long MISFIRE_THRESHOLD_MILLISECONDS = 60000L;
     
-    private static final String TASK_ID_DATA_MAP_KEY = "taskId";
+    private static final long NO_MISFIRE_THRESHOLD_MILLISECONDS = 1L;
     
-    private static final ConcurrentHashMap<String, Scheduler> RUNNING_SCHEDULERS = new ConcurrentHashMap<>(1024, 1);
+    private static final ConcurrentHashMap<String, JobTrigger> RUNNING_TRIGGERS = new ConcurrentHashMap<>(1024, 1);
     
     private final ElasticJob elasticJob;
     
@@ -76,51 +65,10 @@ public final class DaemonTaskScheduler {
      * 初始化作业.
      */
     public void init() {
-        JobDetail jobDetail = JobBuilder.newJob(DaemonJob.class).withIdentity(jobRootConfig.getTypeConfig().getCoreConfig().getJobName()).build();
-        jobDetail.getJobDataMap().put(ELASTIC_JOB_DATA_MAP_KEY, elasticJob);
-        jobDetail.getJobDataMap().put(JOB_FACADE_DATA_MAP_KEY, jobFacade);
-        jobDetail.getJobDataMap().put(EXECUTOR_DRIVER_DATA_MAP_KEY, executorDriver);
-        jobDetail.getJobDataMap().put(TASK_ID_DATA_MAP_KEY, taskId);
-        try {
-            scheduleJob(initializeScheduler(), jobDetail, taskId.getValue(), jobRootConfig.getTypeConfig().getCoreConfig().getCron());
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
-        }
-    }
-    
-    private Scheduler initializeScheduler() throws SchedulerException {
-        StdSchedulerFactory factory = new StdSchedulerFactory();
-        factory.initialize(getBaseQuartzProperties());
-        return factory.getScheduler();
-    }
-    
-    private Properties getBaseQuartzProperties() {
-        Properties result = new Properties();
-        result.put("org.quartz.threadPool.class", org.quartz.simpl.SimpleThreadPool.class.getName());
-        result.put("org.quartz.threadPool.threadCount", "1");
-        result.put("org.quartz.scheduler.instanceName", taskId.getValue());
-        if (!jobRootConfig.getTypeConfig().getCoreConfig().isMisfire()) {
-            result.put("org.quartz.jobStore.misfireThreshold", "1");
-        }
-        result.put("org.quartz.plugin.shutdownhook.class", ShutdownHookPlugin.class.getName());
-        result.put("org.quartz.plugin.shutdownhook.cleanShutdown", Boolean.TRUE.toString());
-        return result;
-    }
-    
-    private void scheduleJob(final Scheduler scheduler, final JobDetail jobDetail, final String triggerIdentity, final String cron) {
-        try {
-            if (!scheduler.checkExists(jobDetail.getKey())) {
-                scheduler.scheduleJob(jobDetail, createTrigger(triggerIdentity, cron));
-            }
-            scheduler.start();
-            RUNNING_SCHEDULERS.putIfAbsent(scheduler.getSchedulerName(), scheduler);
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
-        }
-    }
-    
-    private CronTrigger createTrigger(final String triggerIdentity, final String cron) {
-        return TriggerBuilder.newTrigger().withIdentity(triggerIdentity).withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionDoNothing()).build();
+        long misfireThresholdMilliseconds = jobRootConfig.getTypeConfig().getCoreConfig().isMisfire() ? MISFIRE_THRESHOLD_MILLISECONDS : NO_MISFIRE_THRESHOLD_MILLISECONDS;
+        JobTrigger jobTrigger = TriggerEngine.getInstance().schedule(taskId.getValue(), TriggerSchedule.newInstance(jobRootConfig.getTypeConfig().getCoreConfig()), 
+                misfireThresholdMilliseconds, new DaemonJob(elasticJob, jobFacade, executorDriver, taskId));
+        RUNNING_TRIGGERS.putIfAbsent(taskId.getValue(), jobTrigger);
     }
     
     /**
@@ -129,13 +77,9 @@ public final class DaemonTaskScheduler {
      * @param taskID 任务主键
      */
     public static void shutdown(final Protos.TaskID taskID) {
-        Scheduler scheduler = RUNNING_SCHEDULERS.remove(taskID.getValue());
-        if (null != scheduler) {
-            try {
-                scheduler.shutdown();
-            } catch (final SchedulerException ex) {
-                throw new JobSystemException(ex);
-            }
+        JobTrigger jobTrigger = RUNNING_TRIGGERS.remove(taskID.getValue());
+        if (null != jobTrigger) {
+            jobTrigger.shutdown();
         }
     }
     
@@ -144,33 +88,30 @@ public final class DaemonTaskScheduler {
      * 
      * @author zhangliang
      */
-    public static final class DaemonJob implements Job {
+    @RequiredArgsConstructor
+    public static final class DaemonJob implements TriggerTask {
         
-        @Setter
-        private ElasticJob elasticJob;
+        private final ElasticJob elasticJob;
         
-        @Setter
-        private JobFacade jobFacade;
+        private final JobFacade jobFacade;
         
-        @Setter
-        private ExecutorDriver executorDriver;
-    
-        @Setter
-        private Protos.TaskID taskId;
+        private final ExecutorDriver executorDriver;
+        
+        private final Protos.TaskID taskId;
         
         @Override
-        public void execute(final JobExecutionContext context) throws JobExecutionException {
+        public void execute(final Date scheduledFireTime) {
             ShardingContexts shardingContexts = jobFacade.getShardingContexts();
             int jobEventSamplingCount = shardingContexts.getJobEventSamplingCount();
             int currentJobEventSamplingCount = shardingContexts.getCurrentJobEventSamplingCount();
             if (jobEventSamplingCount > 0 && ++currentJobEventSamplingCount < jobEventSamplingCount) {
                 shardingContexts.setCurrentJobEventSamplingCount(currentJobEventSamplingCount);
                 jobFacade.getShardingContexts().setAllowSendJobEvent(false);
-                JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute();
+                JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute(scheduledFireTime);
             } else {
                 jobFacade.getShardingContexts().setAllowSendJobEvent(true);
                 executorDriver.sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskId).setState(Protos.TaskState.TASK_RUNNING).setMessage("BEGIN").build());
-                JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute();
+                JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute(scheduledFireTime);
                 executorDriver.sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskId).setState(Protos.TaskState.TASK_RUNNING).setMessage("COMPLETE").build());
                 shardingContexts.setCurrentJobEventSamplingCount(0);
             }
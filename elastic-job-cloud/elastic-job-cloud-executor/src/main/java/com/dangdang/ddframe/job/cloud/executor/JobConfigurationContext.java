@@ -53,11 +53,15 @@ public final class JobConfigurationContext implements JobRootConfiguration {
         String jobClass = jobConfigurationMap.get("jobClass");
         String jobType = jobConfigurationMap.get("jobType");
         String jobName = jobConfigurationMap.get("jobName");
-        String cron = Strings.isNullOrEmpty(jobConfigurationMap.get("cron")) ? IGNORE_CRON : jobConfigurationMap.get("cron");
+        long fixedRateMilliseconds = getLongValue(jobConfigurationMap, "fixedRateMilliseconds");
+        long fixedDelayMilliseconds = getLongValue(jobConfigurationMap, "fixedDelayMilliseconds");
+        boolean intervalTriggered = fixedRateMilliseconds > 0 || fixedDelayMilliseconds > 0;
+        String cron = Strings.isNullOrEmpty(jobConfigurationMap.get("cron")) && !intervalTriggered ? IGNORE_CRON : jobConfigurationMap.get("cron");
         Preconditions.checkArgument(!Strings.isNullOrEmpty(jobName), "jobName can not be empty.");
         Preconditions.checkArgument(!Strings.isNullOrEmpty(jobType), "jobType can not be empty.");
         Preconditions.checkArgument(!Strings.isNullOrEmpty(jobClass), "jobClass can not be empty.");
-        JobCoreConfiguration jobCoreConfig = JobCoreConfiguration.newBuilder(jobName, cron, ignoredShardingTotalCount).build();
+        JobCoreConfiguration jobCoreConfig = JobCoreConfiguration.newBuilder(jobName, cron, ignoredShardingTotalCount)
+                .fixedRate(fixedRateMilliseconds).fixedDelay(fixedDelayMilliseconds).build();
         jobCoreConfig.getJobProperties().put(JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER.name(), jobConfigurationMap.get("executorServiceHandler"));
         jobCoreConfig.getJobProperties().put(JobPropertiesEnum.JOB_EXCEPTION_HANDLER.name(), jobConfigurationMap.get("jobExceptionHandler"));
         if (JobType.DATAFLOW.name().equals(jobType)) {
@@ -71,6 +75,11 @@ public final class JobConfigurationContext implements JobRootConfiguration {
         applicationContext = jobConfigurationMap.get("applicationContext");
     }
     
+    private long getLongValue(final Map<String, String> jobConfigurationMap, final String key) {
+        String value = jobConfigurationMap.get(key);
+        return Strings.isNullOrEmpty(value) ? 0L : Long.parseLong(value);
+    }
+    
     /**
      * 判断是否为瞬时作业.
      * 
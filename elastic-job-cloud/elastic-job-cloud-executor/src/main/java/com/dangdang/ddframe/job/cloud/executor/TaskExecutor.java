@@ -25,8 +25,13 @@ import com.dangdang.ddframe.job.exception.ExceptionUtil;
 import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.JobExecutorFactory;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.executor.TaskPayload;
+import com.dangdang.ddframe.job.trigger.TriggerEngine;
 import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceObject;
+import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.dbcp.BasicDataSource;
@@ -39,30 +44,58 @@ import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 作业任务执行器.
+ * 
+ * <p>
+ * 执行器缓存已初始化的作业实例, 供后续任务复用; 配置了闲置超时时间时, 执行器在无运行任务超过该时间后自行退出, 否则一直保留.
+ * 闲置超时时间随每个任务的作业配置上下文下发, 以最近启动的任务为准, 修改后无需重启执行器即可生效.
+ * 任务线程池与常驻作业执行通道的线程数量均按所在slave的CPU资源计算.
+ * </p>
  *
  * @author zhangliang
  */
 @Slf4j
 public final class TaskExecutor implements Executor {
     
-    private final ExecutorService executorService;
+    private static final String EXECUTOR_IDLE_TIMEOUT_SECONDS = "executorIdleTimeoutSeconds";
+    
+    private static final int THREADS_PER_CPU = 10;
+    
+    private volatile ExecutorService executorService;
     
     private final Map<String, ClassPathXmlApplicationContext> applicationContexts = new HashMap<>();
     
+    private final Map<String, ElasticJob> elasticJobs = new ConcurrentHashMap<>();
+    
+    private final Set<String> runningTaskIds = Sets.newConcurrentHashSet();
+    
+    private final ScheduledExecutorService idleChecker = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cloud-executor-idle-checker-%d").build());
+    
     private volatile JobEventBus jobEventBus = new JobEventBus();
     
-    public TaskExecutor() {
-        executorService = new ExecutorServiceObject("cloud-task-executor", Runtime.getRuntime().availableProcessors() * 100).createExecutorService();
-    }
+    private volatile long idleTimeoutMillis;
+    
+    private volatile long lastTaskCompletedTime;
     
     @Override
     public void registered(final ExecutorDriver executorDriver, final Protos.ExecutorInfo executorInfo, final Protos.FrameworkInfo frameworkInfo, final Protos.SlaveInfo slaveInfo) {
-        if (!executorInfo.getData().isEmpty()) {
-            Map<String, String> data = SerializationUtils.deserialize(executorInfo.getData().toByteArray());
+        int threadSize = calculateThreadSize(slaveInfo);
+        executorService = new ExecutorServiceObject("cloud-task-executor", threadSize).createExecutorService();
+        TriggerEngine.getInstance().limitLaneThreads(threadSize);
+        if (executorInfo.getData().isEmpty()) {
+            return;
+        }
+        Map<String, String> data = SerializationUtils.deserialize(executorInfo.getData().toByteArray());
+        if (data.containsKey("event_trace_rdb_driver")) {
             BasicDataSource dataSource = new BasicDataSource();
             dataSource.setDriverClassName(data.get("event_trace_rdb_driver"));
             dataSource.setUrl(data.get("event_trace_rdb_url"));
@@ -72,6 +105,19 @@ public final class TaskExecutor implements Executor {
         }
     }
     
+    static int calculateThreadSize(final Protos.SlaveInfo slaveInfo) {
+        double cpus = 0.0d;
+        for (Protos.Resource each : slaveInfo.getResourcesList()) {
+            if ("cpus".equals(each.getName())) {
+                cpus += each.getScalar().getValue();
+            }
+        }
+        if (cpus <= 0.0d) {
+            cpus = Runtime.getRuntime().availableProcessors();
+        }
+        return (int) Math.ceil(cpus) * THREADS_PER_CPU;
+    }
+    
     @Override
     public void reregistered(final ExecutorDriver executorDriver, final Protos.SlaveInfo slaveInfo) {
     }
@@ -82,6 +128,9 @@ public final class TaskExecutor implements Executor {
     
     @Override
     public void launchTask(final ExecutorDriver executorDriver, final Protos.TaskInfo taskInfo) {
+        synchronized (runningTaskIds) {
+            runningTaskIds.add(taskInfo.getTaskId().getValue());
+        }
         executorService.submit(new TaskThread(executorDriver, taskInfo));
     }
     
@@ -89,6 +138,7 @@ public final class TaskExecutor implements Executor {
     public void killTask(final ExecutorDriver executorDriver, final Protos.TaskID taskID) {
         executorDriver.sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskID).setState(Protos.TaskState.TASK_KILLED).build());
         DaemonTaskScheduler.shutdown(taskID);
+        taskCompleted(executorDriver, taskID.getValue());
     }
     
     @Override
@@ -108,6 +158,25 @@ public final class TaskExecutor implements Executor {
         log.error("call executor error, message is: {}", message);
     }
     
+    private void taskCompleted(final ExecutorDriver executorDriver, final String taskId) {
+        if (!runningTaskIds.remove(taskId) || !runningTaskIds.isEmpty() || 0 >= idleTimeoutMillis) {
+            return;
+        }
+        lastTaskCompletedTime = System.currentTimeMillis();
+        idleChecker.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                synchronized (runningTaskIds) {
+                    if (runningTaskIds.isEmpty() && 0 < idleTimeoutMillis && System.currentTimeMillis() - lastTaskCompletedTime >= idleTimeoutMillis) {
+                        log.info("Elastic-Job-Cloud-Executor idle for {} milliseconds, stopped.", idleTimeoutMillis);
+                        executorDriver.stop();
+                    }
+                }
+            }
+        }, idleTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    
     @RequiredArgsConstructor
     class TaskThread implements Runnable {
         
@@ -118,16 +187,18 @@ public final class TaskExecutor implements Executor {
         @Override
         public void run() {
             executorDriver.sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskInfo.getTaskId()).setState(Protos.TaskState.TASK_RUNNING).build());
-            Map<String, Object> data = SerializationUtils.deserialize(taskInfo.getData().toByteArray());
-            ShardingContexts shardingContexts = (ShardingContexts) data.get("shardingContext");
-            @SuppressWarnings("unchecked")
-            JobConfigurationContext jobConfig = new JobConfigurationContext((Map<String, String>) data.get("jobConfigContext"));
+            TaskPayload taskPayload = TaskPayload.decode(taskInfo.getData().toByteArray());
+            String idleTimeoutSeconds = taskPayload.getJobConfigurationContext().get(EXECUTOR_IDLE_TIMEOUT_SECONDS);
+            idleTimeoutMillis = null == idleTimeoutSeconds ? 0L : TimeUnit.SECONDS.toMillis(Long.parseLong(idleTimeoutSeconds));
+            ShardingContexts shardingContexts = taskPayload.getShardingContexts();
+            JobConfigurationContext jobConfig = new JobConfigurationContext(taskPayload.getJobConfigurationContext());
             try {
                 ElasticJob elasticJob = getElasticJobInstance(jobConfig);
                 final CloudJobFacade jobFacade = new CloudJobFacade(shardingContexts, jobConfig, jobEventBus);
                 if (jobConfig.isTransient()) {
                     JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute();
                     executorDriver.sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskInfo.getTaskId()).setState(Protos.TaskState.TASK_FINISHED).build());
+                    taskCompleted(executorDriver, taskInfo.getTaskId().getValue());
                 } else {
                     new DaemonTaskScheduler(elasticJob, jobConfig, jobFacade, executorDriver, taskInfo.getTaskId()).init();
                 }
@@ -163,6 +234,18 @@ public final class TaskExecutor implements Executor {
         
         private ElasticJob getElasticJobClass(final JobConfigurationContext jobConfig) {
             String jobClass = jobConfig.getTypeConfig().getJobClass();
+            String elasticJobKey = Joiner.on("@-@").join(jobConfig.getTypeConfig().getCoreConfig().getJobName(), jobClass);
+            ElasticJob result = elasticJobs.get(elasticJobKey);
+            if (null == result) {
+                result = newElasticJobInstance(jobClass);
+                if (null != result) {
+                    elasticJobs.put(elasticJobKey, result);
+                }
+            }
+            return result;
+        }
+        
+        private ElasticJob newElasticJobInstance(final String jobClass) {
             try {
                 Class<?> elasticJobClass = Class.forName(jobClass);
                 if (!ElasticJob.class.isAssignableFrom(elasticJobClass)) {
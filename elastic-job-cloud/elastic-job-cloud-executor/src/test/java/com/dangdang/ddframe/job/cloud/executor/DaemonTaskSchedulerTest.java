@@ -22,6 +22,8 @@ import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.executor.AbstractElasticJobExecutor;
 import com.dangdang.ddframe.job.executor.JobFacade;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.trigger.JobTrigger;
+import com.dangdang.ddframe.job.trigger.TriggerEngine;
 import org.apache.mesos.ExecutorDriver;
 import org.apache.mesos.Protos.TaskID;
 import org.apache.mesos.Protos.TaskState;
@@ -31,8 +33,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.quartz.JobExecutionContext;
+import org.unitils.util.ReflectionUtils;
 
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,9 +52,6 @@ public final class DaemonTaskSchedulerTest {
     @Mock
     private ExecutorDriver executorDriver;
     
-    @Mock
-    private JobExecutionContext jobExecutionContext;
-    
     @Mock
     private AbstractElasticJobExecutor jobExecutor;
     
@@ -60,18 +64,27 @@ public final class DaemonTaskSchedulerTest {
     
     @Before
     public void setUp() throws NoSuchFieldException {
-        daemonJob = new DaemonTaskScheduler.DaemonJob();
-        daemonJob.setElasticJob(null);
-        daemonJob.setJobFacade(jobFacade);
-        daemonJob.setExecutorDriver(executorDriver);
-        daemonJob.setTaskId(taskId);
+        daemonJob = new DaemonTaskScheduler.DaemonJob(null, jobFacade, executorDriver, taskId);
+    }
+    
+    @Test
+    public void assertInitAndShutdown() throws NoSuchFieldException {
+        new DaemonTaskScheduler(null, new TestScriptJobConfiguration("test.sh"), jobFacade, executorDriver, taskId).init();
+        Map<String, JobTrigger> runningTriggers = ReflectionUtils.getFieldValue(null, DaemonTaskScheduler.class.getDeclaredField("RUNNING_TRIGGERS"));
+        JobTrigger jobTrigger = runningTriggers.get(taskId.getValue());
+        assertFalse(jobTrigger.isShutdown());
+        int triggerCount = TriggerEngine.getInstance().getTriggerCount();
+        DaemonTaskScheduler.shutdown(taskId);
+        assertTrue(jobTrigger.isShutdown());
+        assertFalse(runningTriggers.containsKey(taskId.getValue()));
+        assertTrue(TriggerEngine.getInstance().getTriggerCount() < triggerCount);
     }
     
     @Test
     public void assertJobRun() throws Exception {
         when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
         when(jobFacade.loadJobRootConfiguration(true)).thenReturn(new TestScriptJobConfiguration("test.sh"));
-        daemonJob.execute(jobExecutionContext);
+        daemonJob.execute(new Date());
         verify(shardingContexts).setAllowSendJobEvent(true);
         verify(executorDriver).sendStatusUpdate(TaskStatus.newBuilder().setTaskId(taskId).setState(TaskState.TASK_RUNNING).setMessage("BEGIN").build());
         verify(executorDriver).sendStatusUpdate(TaskStatus.newBuilder().setTaskId(taskId).setState(TaskState.TASK_RUNNING).setMessage("COMPLETE").build());
@@ -83,11 +96,11 @@ public final class DaemonTaskSchedulerTest {
         when(shardingContexts.getJobEventSamplingCount()).thenReturn(2);
         when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
         when(jobFacade.loadJobRootConfiguration(true)).thenReturn(new TestScriptJobConfiguration("test.sh"));
-        daemonJob.execute(jobExecutionContext);
+        daemonJob.execute(new Date());
         verify(shardingContexts).setCurrentJobEventSamplingCount(1);
         verify(shardingContexts).setAllowSendJobEvent(false);
         when(shardingContexts.getCurrentJobEventSamplingCount()).thenReturn(1);
-        daemonJob.execute(jobExecutionContext);
+        daemonJob.execute(new Date());
         verify(shardingContexts).setAllowSendJobEvent(true);
         verify(executorDriver).sendStatusUpdate(TaskStatus.newBuilder().setTaskId(taskId).setState(TaskState.TASK_RUNNING).setMessage("BEGIN").build());
         verify(executorDriver).sendStatusUpdate(TaskStatus.newBuilder().setTaskId(taskId).setState(TaskState.TASK_RUNNING).setMessage("COMPLETE").build());
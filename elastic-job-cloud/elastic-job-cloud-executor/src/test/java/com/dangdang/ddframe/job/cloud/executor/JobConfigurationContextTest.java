@@ -67,6 +67,17 @@ public class JobConfigurationContextTest {
         assertFalse(new JobConfigurationContext(context).isTransient());
     }
     
+    @Test
+    public void assertSimpleJobConfigurationContextWithFixedRate() throws JobExecutionEnvironmentException {
+        Map<String, String> context = buildJobConfigurationContextMap(JobType.SIMPLE);
+        context.put("cron", "");
+        context.put("fixedRateMilliseconds", "200");
+        context.put("fixedDelayMilliseconds", "0");
+        JobConfigurationContext actual = new JobConfigurationContext(context);
+        assertFalse(actual.isTransient());
+        assertThat(actual.getTypeConfig().getCoreConfig().getFixedRateMilliseconds(), is(200L));
+    }
+    
     private Map<String, String> buildJobConfigurationContextMap(final JobType jobType) {
         Map<String, String> result = new HashMap<>();
         result.put("jobName", "configuration_map_job");
@@ -17,6 +17,12 @@
 
 package com.dangdang.ddframe.job.cloud.executor;
 
+import com.dangdang.ddframe.job.api.JobType;
+import com.dangdang.ddframe.job.cloud.executor.fixture.TestJob;
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.executor.TaskPayload;
+import com.dangdang.ddframe.job.trigger.TriggerEngine;
 import com.google.protobuf.ByteString;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.mesos.ExecutorDriver;
@@ -33,9 +39,15 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -83,11 +95,52 @@ public final class TaskExecutorTest {
         taskExecutor.registered(executorDriver, executorInfo, frameworkInfo, slaveInfo);
     }
     
+    @Test
+    public void assertStopWhenIdleTimeout() {
+        TaskInfo taskInfo = buildTransientTaskInfo("1");
+        taskExecutor.launchTask(executorDriver, taskInfo);
+        taskExecutor.new TaskThread(executorDriver, taskInfo).run();
+        verify(executorDriver, timeout(3000L)).stop();
+    }
+    
+    @Test
+    public void assertNotStopWhenIdleTimeoutRemoved() throws InterruptedException {
+        TaskInfo taskInfo = buildTransientTaskInfo("1");
+        taskExecutor.launchTask(executorDriver, taskInfo);
+        taskExecutor.new TaskThread(executorDriver, taskInfo).run();
+        taskInfo = buildTransientTaskInfo(null);
+        taskExecutor.launchTask(executorDriver, taskInfo);
+        taskExecutor.new TaskThread(executorDriver, taskInfo).run();
+        Thread.sleep(1500L);
+        verify(executorDriver, never()).stop();
+    }
+    
+    @Test
+    public void assertNotStopWithoutIdleTimeout() {
+        TaskID taskID = Protos.TaskID.newBuilder().setValue("task_id").build();
+        taskExecutor.launchTask(executorDriver, TaskInfo.newBuilder().setName("test_job").setTaskId(taskID).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskExecutor.killTask(executorDriver, taskID);
+        verify(executorDriver, never()).stop();
+    }
+    
     @Test
     public void assertRegisteredWithData() {
         taskExecutor.registered(executorDriver, executorInfo, frameworkInfo, slaveInfo);
     }
     
+    @Test
+    public void assertRegisteredWithSlaveCpus() {
+        SlaveInfo slaveInfo = SlaveInfo.newBuilder().setHostname("localhost")
+                .addResources(Protos.Resource.newBuilder().setName("cpus").setType(Protos.Value.Type.SCALAR).setScalar(Protos.Value.Scalar.newBuilder().setValue(3.5d))).build();
+        taskExecutor.registered(executorDriver, executorInfo, frameworkInfo, slaveInfo);
+        assertThat(TriggerEngine.getInstance().getMaxLaneThreadSize(), is(40));
+    }
+    
+    @Test
+    public void assertCalculateThreadSizeWithoutSlaveCpus() {
+        assertThat(TaskExecutor.calculateThreadSize(slaveInfo), is(Runtime.getRuntime().availableProcessors() * 10));
+    }
+    
     @Test
     public void assertLaunchTask() {
         taskExecutor.launchTask(executorDriver, TaskInfo.newBuilder().setName("test_job")
@@ -118,4 +171,19 @@ public final class TaskExecutorTest {
     public void assertError() {
         taskExecutor.error(executorDriver, "");
     }
+    
+    private TaskInfo buildTransientTaskInfo(final String executorIdleTimeoutSeconds) {
+        Map<String, String> jobConfigurationContext = new HashMap<>();
+        jobConfigurationContext.put("jobName", "test_job");
+        jobConfigurationContext.put("cron", "");
+        jobConfigurationContext.put("jobClass", TestJob.class.getCanonicalName());
+        jobConfigurationContext.put("jobType", JobType.SIMPLE.name());
+        if (null != executorIdleTimeoutSeconds) {
+            jobConfigurationContext.put("executorIdleTimeoutSeconds", executorIdleTimeoutSeconds);
+        }
+        String taskId = String.format("%s@-@0@-@%s@-@fake_slave_id@-@0", "test_job", ExecutionType.READY);
+        ShardingContexts shardingContexts = new ShardingContexts(taskId, "test_job", 1, "", Collections.singletonMap(0, "a"));
+        return TaskInfo.newBuilder().setData(ByteString.copyFrom(new TaskPayload(shardingContexts, jobConfigurationContext).encode()))
+                .setName("test_job").setTaskId(TaskID.newBuilder().setValue(taskId)).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build();
+    }
 }
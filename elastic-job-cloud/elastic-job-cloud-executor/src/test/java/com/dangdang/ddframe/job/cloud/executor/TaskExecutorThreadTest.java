@@ -23,6 +23,7 @@ import com.dangdang.ddframe.job.cloud.executor.fixture.TestJob;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.executor.TaskPayload;
 import com.google.protobuf.ByteString;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.mesos.ExecutorDriver;
@@ -34,6 +35,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.unitils.util.ReflectionUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,6 +43,9 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -60,6 +65,28 @@ public final class TaskExecutorThreadTest {
         verify(executorDriver).sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskInfo.getTaskId()).setState(Protos.TaskState.TASK_FINISHED).build());
     }
     
+    @Test
+    public void assertLaunchTaskWithCompactPayload() {
+        ShardingContexts shardingContexts = new ShardingContexts(taskId, "test_job", 1, "", Collections.singletonMap(1, "a"));
+        byte[] data = new TaskPayload(shardingContexts, buildBaseJobConfigurationContextMapWithJobClassAndCron(TestJob.class.getCanonicalName(), "ignoredCron")).encode();
+        TaskInfo taskInfo = TaskInfo.newBuilder().setData(ByteString.copyFrom(data))
+                .setName("test_job").setTaskId(TaskID.newBuilder().setValue(taskId)).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build();
+        new TaskExecutor().new TaskThread(executorDriver, taskInfo).run();
+        verify(executorDriver).sendStatusUpdate(Protos.TaskStatus.newBuilder().setTaskId(taskInfo.getTaskId()).setState(Protos.TaskState.TASK_FINISHED).build());
+    }
+    
+    @Test
+    public void assertLaunchTaskWithReusedJavaSimpleJob() throws NoSuchFieldException {
+        TaskExecutor taskExecutor = new TaskExecutor();
+        taskExecutor.new TaskThread(executorDriver, buildJavaTransientTaskInfo()).run();
+        Map<String, Object> elasticJobs = ReflectionUtils.getFieldValue(taskExecutor, TaskExecutor.class.getDeclaredField("elasticJobs"));
+        assertThat(elasticJobs.size(), is(1));
+        Object elasticJob = elasticJobs.values().iterator().next();
+        taskExecutor.new TaskThread(executorDriver, buildJavaTransientTaskInfo()).run();
+        assertThat(elasticJobs.size(), is(1));
+        assertThat(elasticJobs.values().iterator().next(), sameInstance(elasticJob));
+    }
+    
     @Test
     public void assertLaunchTaskWithTransientTaskAndSpringSimpleJob() {
         TaskInfo taskInfo = buildSpringDaemonTaskInfo();
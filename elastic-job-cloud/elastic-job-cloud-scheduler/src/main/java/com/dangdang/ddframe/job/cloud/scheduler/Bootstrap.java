@@ -50,8 +50,10 @@ public final class Bootstrap {
         // CHECKSTYLE:ON
         CoordinatorRegistryCenter regCenter = new ZookeeperRegistryCenter(BootstrapEnvironment.getInstance().getZookeeperConfiguration());
         regCenter.init();
+        SchedulerElectionCandidate electionCandidate = new SchedulerElectionCandidate(regCenter);
+        electionCandidate.startStandby();
         final ZookeeperElectionService electionService = new ZookeeperElectionService(
-                BootstrapEnvironment.getInstance().getFrameworkHostPort(), (CuratorFramework) regCenter.getRawClient(), HANode.ELECTION_NODE, new SchedulerElectionCandidate(regCenter));
+                BootstrapEnvironment.getInstance().getFrameworkHostPort(), (CuratorFramework) regCenter.getRawClient(), HANode.ELECTION_NODE, electionCandidate);
         electionService.start();
         final CountDownLatch latch = new CountDownLatch(1);
         latch.await();
@@ -46,4 +46,18 @@ public final class CloudAppConfiguration {
     private boolean appCacheEnable = true;
     
     private int eventTraceSamplingCount;
+    
+    private int executorIdleTimeoutSeconds;
+    
+    private boolean compactTaskPayload;
+    
+    public CloudAppConfiguration(final String appName, final String appURL, final String bootstrapScript, 
+                                 final double cpuCount, final double memoryMB, final boolean appCacheEnable, final int eventTraceSamplingCount) {
+        this(appName, appURL, bootstrapScript, cpuCount, memoryMB, appCacheEnable, eventTraceSamplingCount, 0);
+    }
+    
+    public CloudAppConfiguration(final String appName, final String appURL, final String bootstrapScript, 
+                                 final double cpuCount, final double memoryMB, final boolean appCacheEnable, final int eventTraceSamplingCount, final int executorIdleTimeoutSeconds) {
+        this(appName, appURL, bootstrapScript, cpuCount, memoryMB, appCacheEnable, eventTraceSamplingCount, executorIdleTimeoutSeconds, false);
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.config.app;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 云作业App配置缓存.
+ * 
+ * <p>
+ * 缓存解析后的App配置及其原始JSON, 原始JSON未变化时直接返回缓存的配置, 避免重复解析.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+final class CloudAppConfigurationCache {
+    
+    private static final CloudAppConfigurationCache INSTANCE = new CloudAppConfigurationCache();
+    
+    private final ConcurrentMap<String, CachedAppConfiguration> appConfigs = new ConcurrentHashMap<>();
+    
+    /**
+     * 获取实例.
+     * 
+     * @return 单例对象
+     */
+    static CloudAppConfigurationCache getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * 根据原始JSON获取App配置.
+     * 
+     * <p>
+     * 缓存的原始JSON与传入的一致时返回缓存的配置, 否则解析并更新缓存.
+     * </p>
+     * 
+     * @param appName 云作业App名称
+     * @param appConfigJson App配置的原始JSON
+     * @return App配置, 无法解析时返回null
+     */
+    CloudAppConfiguration get(final String appName, final String appConfigJson) {
+        CachedAppConfiguration cached = appConfigs.get(appName);
+        if (null != cached && cached.json.equals(appConfigJson)) {
+            return cached.config;
+        }
+        CloudAppConfiguration result = CloudAppConfigurationGsonFactory.fromJson(appConfigJson);
+        if (null == result) {
+            appConfigs.remove(appName);
+        } else {
+            put(appConfigJson, result);
+        }
+        return result;
+    }
+    
+    /**
+     * 缓存App配置.
+     * 
+     * @param appConfigJson App配置的原始JSON
+     * @param appConfig App配置
+     */
+    void put(final String appConfigJson, final CloudAppConfiguration appConfig) {
+        appConfigs.put(appConfig.getAppName(), new CachedAppConfiguration(appConfigJson, appConfig));
+    }
+    
+    /**
+     * 删除缓存的App配置.
+     * 
+     * @param appName 云作业App名称
+     */
+    void remove(final String appName) {
+        appConfigs.remove(appName);
+    }
+    
+    /**
+     * 仅保留指定App的缓存.
+     * 
+     * @param appNames 保留的云作业App名称集合
+     */
+    void retain(final Collection<String> appNames) {
+        appConfigs.keySet().retainAll(appNames);
+    }
+    
+    /**
+     * 清空缓存.
+     */
+    void clear() {
+        appConfigs.clear();
+    }
+    
+    @RequiredArgsConstructor
+    private static final class CachedAppConfiguration {
+        
+        private final String json;
+        
+        private final CloudAppConfiguration config;
+    }
+}
@@ -30,8 +30,10 @@ import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudCon
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.APP_NAME;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.APP_URL;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.BOOTSTRAP_SCRIPT;
+import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.COMPACT_TASK_PAYLOAD;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.CPU_COUNT;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.EVENT_TRACE_SAMPLING_COUNT;
+import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.EXECUTOR_IDLE_TIMEOUT_SECONDS;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.MEMORY_MB;
 
 /**
@@ -82,6 +84,8 @@ public final class CloudAppConfigurationGsonFactory {
             double memoryMB = 128.0d;
             boolean appCacheEnable = true;
             int eventTraceSamplingCount = 0;
+            int executorIdleTimeoutSeconds = 0;
+            boolean compactTaskPayload = false;
             in.beginObject();
             while (in.hasNext()) {
                 String jsonName = in.nextName();
@@ -107,12 +111,18 @@ public final class CloudAppConfigurationGsonFactory {
                     case EVENT_TRACE_SAMPLING_COUNT:
                         eventTraceSamplingCount = in.nextInt();
                         break;
+                    case EXECUTOR_IDLE_TIMEOUT_SECONDS:
+                        executorIdleTimeoutSeconds = in.nextInt();
+                        break;
+                    case COMPACT_TASK_PAYLOAD:
+                        compactTaskPayload = in.nextBoolean();
+                        break;
                     default:
                         break;
                 }
             }
             in.endObject();
-            return new CloudAppConfiguration(appName, appURL, bootstrapScript, cpuCount, memoryMB, appCacheEnable, eventTraceSamplingCount);
+            return new CloudAppConfiguration(appName, appURL, bootstrapScript, cpuCount, memoryMB, appCacheEnable, eventTraceSamplingCount, executorIdleTimeoutSeconds, compactTaskPayload);
         }
     
         @Override
@@ -125,6 +135,12 @@ public final class CloudAppConfigurationGsonFactory {
             out.name(MEMORY_MB).value(value.getMemoryMB());
             out.name(APP_CACHE_ENABLE).value(value.isAppCacheEnable());
             out.name(EVENT_TRACE_SAMPLING_COUNT).value(value.getEventTraceSamplingCount());
+            if (value.getExecutorIdleTimeoutSeconds() > 0) {
+                out.name(EXECUTOR_IDLE_TIMEOUT_SECONDS).value(value.getExecutorIdleTimeoutSeconds());
+            }
+            if (value.isCompactTaskPayload()) {
+                out.name(COMPACT_TASK_PAYLOAD).value(true);
+            }
             out.endObject();
         }
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.config.app;
+
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 云作业App配置变更监听.
+ * 
+ * <p>
+ * 根据App配置的变更更新{@link CloudAppConfigurationCache}, 同时使App配置的读取命中注册中心的本地缓存.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class CloudAppConfigurationListener implements TreeCacheListener {
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
+    private final CloudAppConfigurationCache appConfigCache = CloudAppConfigurationCache.getInstance();
+    
+    private ExecutorService listenerExecutor;
+    
+    @Override
+    public void childEvent(final CuratorFramework client, final TreeCacheEvent event) throws Exception {
+        String path = null == event.getData() ? "" : event.getData().getPath();
+        if (!isAppConfigNode(path)) {
+            return;
+        }
+        if (Type.NODE_ADDED == event.getType() || Type.NODE_UPDATED == event.getType()) {
+            CloudAppConfiguration appConfig = getAppConfig(event);
+            if (null != appConfig) {
+                appConfigCache.put(new String(event.getData().getData()), appConfig);
+            }
+        } else if (Type.NODE_REMOVED == event.getType()) {
+            appConfigCache.remove(path.substring(CloudAppConfigurationNode.ROOT.length() + 1, path.length()));
+        }
+    }
+    
+    private boolean isAppConfigNode(final String path) {
+        return path.startsWith(CloudAppConfigurationNode.ROOT + "/");
+    }
+    
+    private CloudAppConfiguration getAppConfig(final TreeCacheEvent event) {
+        try {
+            return CloudAppConfigurationGsonFactory.fromJson(new String(event.getData().getData()));
+            // CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            log.warn("Wrong Cloud App Configuration with:", ex.getMessage());
+            // CHECKSTYLE:ON
+            return null;
+        }
+    }
+    
+    /**
+     * 启动云作业App配置变更监听服务.
+     */
+    public synchronized void start() {
+        if (null != listenerExecutor) {
+            return;
+        }
+        listenerExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("app-config-listener-%d").build());
+        getCache().getListenable().addListener(this, listenerExecutor);
+    }
+    
+    /**
+     * 停止云作业App配置变更监听服务.
+     */
+    public synchronized void stop() {
+        if (null == listenerExecutor) {
+            return;
+        }
+        getCache().getListenable().removeListener(this);
+        listenerExecutor.shutdown();
+        listenerExecutor = null;
+    }
+    
+    private TreeCache getCache() {
+        TreeCache result = (TreeCache) regCenter.getRawCache(CloudAppConfigurationNode.ROOT);
+        if (null != result) {
+            return result;
+        }
+        regCenter.addCacheData(CloudAppConfigurationNode.ROOT);
+        return (TreeCache) regCenter.getRawCache(CloudAppConfigurationNode.ROOT);
+    }
+}
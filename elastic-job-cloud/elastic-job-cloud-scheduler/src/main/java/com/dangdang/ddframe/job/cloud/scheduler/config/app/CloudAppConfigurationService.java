@@ -24,16 +24,23 @@ import lombok.RequiredArgsConstructor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 /**
  * 云作业App配置服务.
+ * 
+ * <p>
+ * 读取的App配置经由{@link CloudAppConfigurationCache}缓存, 注册中心中的配置未变化时不再重复解析.
+ * </p>
  *
  * @author caohao
  */
 @RequiredArgsConstructor
 public final class CloudAppConfigurationService {
     
+    private final CloudAppConfigurationCache cache = CloudAppConfigurationCache.getInstance();
+    
     private final CoordinatorRegistryCenter regCenter;
     
     /**
@@ -42,7 +49,9 @@ public final class CloudAppConfigurationService {
      * @param appConfig 云作业App配置对象
      */
     public void add(final CloudAppConfiguration appConfig) {
-        regCenter.persist(CloudAppConfigurationNode.getRootNodePath(appConfig.getAppName()), CloudAppConfigurationGsonFactory.toJson(appConfig));
+        String appConfigJson = CloudAppConfigurationGsonFactory.toJson(appConfig);
+        regCenter.persist(CloudAppConfigurationNode.getRootNodePath(appConfig.getAppName()), appConfigJson);
+        cache.put(appConfigJson, appConfig);
     }
     
     /**
@@ -51,7 +60,9 @@ public final class CloudAppConfigurationService {
      * @param appConfig 云作业App配置对象
      */
     public void update(final CloudAppConfiguration appConfig) {
-        regCenter.update(CloudAppConfigurationNode.getRootNodePath(appConfig.getAppName()), CloudAppConfigurationGsonFactory.toJson(appConfig));
+        String appConfigJson = CloudAppConfigurationGsonFactory.toJson(appConfig);
+        regCenter.update(CloudAppConfigurationNode.getRootNodePath(appConfig.getAppName()), appConfigJson);
+        cache.put(appConfigJson, appConfig);
     }
     
     /**
@@ -61,7 +72,12 @@ public final class CloudAppConfigurationService {
      * @return 云作业App配置
      */
     public Optional<CloudAppConfiguration> load(final String appName) {
-        return Optional.fromNullable(CloudAppConfigurationGsonFactory.fromJson(regCenter.get(CloudAppConfigurationNode.getRootNodePath(appName))));
+        String appConfigJson = regCenter.get(CloudAppConfigurationNode.getRootNodePath(appName));
+        if (null == appConfigJson) {
+            cache.remove(appName);
+            return Optional.absent();
+        }
+        return Optional.fromNullable(cache.get(appName, appConfigJson));
     }
     
     /**
@@ -71,6 +87,7 @@ public final class CloudAppConfigurationService {
      */
     public Collection<CloudAppConfiguration> loadAll() {
         if (!regCenter.isExisted(CloudAppConfigurationNode.ROOT)) {
+            cache.retain(Collections.<String>emptyList());
             return Collections.emptyList();
         }
         List<String> appNames = regCenter.getChildrenKeys(CloudAppConfigurationNode.ROOT);
@@ -81,6 +98,7 @@ public final class CloudAppConfigurationService {
                 result.add(config.get());
             }
         }
+        cache.retain(new HashSet<>(appNames));
         return result;
     }
     
@@ -91,5 +109,6 @@ public final class CloudAppConfigurationService {
      */
     public void remove(final String appName) {
         regCenter.remove(CloudAppConfigurationNode.getRootNodePath(appName));
+        cache.remove(appName);
     }
 }
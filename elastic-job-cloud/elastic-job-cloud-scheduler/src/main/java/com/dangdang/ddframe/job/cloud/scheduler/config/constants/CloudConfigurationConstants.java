@@ -34,6 +34,10 @@ public final class CloudConfigurationConstants {
     
     public static final String EVENT_TRACE_SAMPLING_COUNT = "eventTraceSamplingCount";
     
+    public static final String EXECUTOR_IDLE_TIMEOUT_SECONDS = "executorIdleTimeoutSeconds";
+    
+    public static final String COMPACT_TASK_PAYLOAD = "compactTaskPayload";
+    
     public static final String CPU_COUNT = "cpuCount";
     
     public static final String MEMORY_MB = "memoryMB";
@@ -44,5 +48,9 @@ public final class CloudConfigurationConstants {
     
     public static final String APPLICATION_CONTEXT = "applicationContext";
     
+    public static final String MAX_SHARDING_ITEMS_PER_TASK = "maxShardingItemsPerTask";
+    
+    public static final String PRIORITY = "priority";
+    
     
 }
@@ -47,6 +47,22 @@ public final class CloudJobConfiguration implements JobRootConfiguration {
     
     private String applicationContext; 
     
+    // 单个任务最多包含的分片项数量, 大于1时同一作业分配到同一执行机的分片项将合并为一个任务, 资源按分片项数量累加
+    private int maxShardingItemsPerTask = 1;
+    
+    // 作业优先级, 数值越大越先分配资源
+    private int priority;
+    
+    public CloudJobConfiguration(final String appName, final JobTypeConfiguration typeConfig, final double cpuCount, final double memoryMB, 
+                                 final CloudJobExecutionType jobExecutionType, final String beanName, final String applicationContext) {
+        this(appName, typeConfig, cpuCount, memoryMB, jobExecutionType, beanName, applicationContext, 1);
+    }
+    
+    public CloudJobConfiguration(final String appName, final JobTypeConfiguration typeConfig, final double cpuCount, final double memoryMB, 
+                                 final CloudJobExecutionType jobExecutionType, final String beanName, final String applicationContext, final int maxShardingItemsPerTask) {
+        this(appName, typeConfig, cpuCount, memoryMB, jobExecutionType, beanName, applicationContext, maxShardingItemsPerTask, 0);
+    }
+    
     /**
      * 获取作业名称.
      *
@@ -0,0 +1,218 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.config.job;
+
+import com.google.common.collect.Sets;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 云作业配置缓存.
+ * 
+ * <p>
+ * 缓存解析后的作业配置及其原始JSON, 原始JSON未变化时直接返回缓存的配置, 避免重复解析.
+ * 同时维护按应用名称和作业执行类型的作业名称索引, 索引在作业配置监听启动并完成全量加载后生效.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+final class CloudJobConfigurationCache {
+    
+    private static final CloudJobConfigurationCache INSTANCE = new CloudJobConfigurationCache();
+    
+    private final ConcurrentMap<String, CachedJobConfiguration> jobConfigs = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, Set<String>> jobNamesByAppName = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<CloudJobExecutionType, Set<String>> jobNamesByExecutionType = new ConcurrentHashMap<>();
+    
+    private volatile boolean indexed;
+    
+    /**
+     * 获取实例.
+     * 
+     * @return 单例对象
+     */
+    static CloudJobConfigurationCache getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * 根据原始JSON获取作业配置.
+     * 
+     * <p>
+     * 缓存的原始JSON与传入的一致时返回缓存的配置, 否则解析并更新缓存.
+     * </p>
+     * 
+     * @param jobName 作业名称
+     * @param jobConfigJson 作业配置的原始JSON
+     * @return 作业配置, 无法解析时返回null
+     */
+    CloudJobConfiguration get(final String jobName, final String jobConfigJson) {
+        CachedJobConfiguration cached = jobConfigs.get(jobName);
+        if (null != cached && cached.json.equals(jobConfigJson)) {
+            return cached.config;
+        }
+        CloudJobConfiguration result = CloudJobConfigurationGsonFactory.fromJson(jobConfigJson);
+        if (null == result) {
+            remove(jobName);
+        } else {
+            put(jobConfigJson, result);
+        }
+        return result;
+    }
+    
+    /**
+     * 缓存作业配置.
+     * 
+     * @param jobConfigJson 作业配置的原始JSON
+     * @param jobConfig 作业配置
+     */
+    synchronized void put(final String jobConfigJson, final CloudJobConfiguration jobConfig) {
+        CachedJobConfiguration previous = jobConfigs.put(jobConfig.getJobName(), new CachedJobConfiguration(jobConfigJson, jobConfig));
+        if (null != previous) {
+            removeIndex(previous.config);
+        }
+        addIndex(jobNamesByAppName, jobConfig.getAppName(), jobConfig.getJobName());
+        addIndex(jobNamesByExecutionType, jobConfig.getJobExecutionType(), jobConfig.getJobName());
+    }
+    
+    /**
+     * 删除缓存的作业配置.
+     * 
+     * @param jobName 作业名称
+     */
+    synchronized void remove(final String jobName) {
+        CachedJobConfiguration previous = jobConfigs.remove(jobName);
+        if (null != previous) {
+            removeIndex(previous.config);
+        }
+    }
+    
+    /**
+     * 仅保留指定作业的缓存.
+     * 
+     * @param jobNames 保留的作业名称集合
+     */
+    synchronized void retain(final Collection<String> jobNames) {
+        Iterator<Entry<String, CachedJobConfiguration>> iterator = jobConfigs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<String, CachedJobConfiguration> entry = iterator.next();
+            if (!jobNames.contains(entry.getKey())) {
+                iterator.remove();
+                removeIndex(entry.getValue().config);
+            }
+        }
+    }
+    
+    private <K> void addIndex(final ConcurrentMap<K, Set<String>> index, final K key, final String jobName) {
+        Set<String> jobNames = index.get(key);
+        if (null == jobNames) {
+            jobNames = Sets.newConcurrentHashSet();
+            index.put(key, jobNames);
+        }
+        jobNames.add(jobName);
+    }
+    
+    private void removeIndex(final CloudJobConfiguration jobConfig) {
+        removeIndex(jobNamesByAppName, jobConfig.getAppName(), jobConfig.getJobName());
+        removeIndex(jobNamesByExecutionType, jobConfig.getJobExecutionType(), jobConfig.getJobName());
+    }
+    
+    private <K> void removeIndex(final ConcurrentMap<K, Set<String>> index, final K key, final String jobName) {
+        Set<String> jobNames = index.get(key);
+        if (null == jobNames) {
+            return;
+        }
+        jobNames.remove(jobName);
+        if (jobNames.isEmpty()) {
+            index.remove(key);
+        }
+    }
+    
+    /**
+     * 判断索引是否可用.
+     * 
+     * @return 索引是否可用
+     */
+    boolean isIndexed() {
+        return indexed;
+    }
+    
+    /**
+     * 设置索引是否可用.
+     * 
+     * @param indexed 索引是否可用
+     */
+    void setIndexed(final boolean indexed) {
+        this.indexed = indexed;
+    }
+    
+    /**
+     * 根据应用名称获取作业名称集合.
+     * 
+     * @param appName 应用名称
+     * @return 作业名称集合
+     */
+    Collection<String> getJobNamesByAppName(final String appName) {
+        return getJobNames(jobNamesByAppName, appName);
+    }
+    
+    /**
+     * 根据作业执行类型获取作业名称集合.
+     * 
+     * @param jobExecutionType 作业执行类型
+     * @return 作业名称集合
+     */
+    Collection<String> getJobNamesByExecutionType(final CloudJobExecutionType jobExecutionType) {
+        return getJobNames(jobNamesByExecutionType, jobExecutionType);
+    }
+    
+    private <K> Collection<String> getJobNames(final ConcurrentMap<K, Set<String>> index, final K key) {
+        Set<String> result = index.get(key);
+        return null == result ? Collections.<String>emptySet() : Collections.unmodifiableSet(result);
+    }
+    
+    /**
+     * 清空缓存.
+     */
+    synchronized void clear() {
+        jobConfigs.clear();
+        jobNamesByAppName.clear();
+        jobNamesByExecutionType.clear();
+        indexed = false;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class CachedJobConfiguration {
+        
+        private final String json;
+        
+        private final CloudJobConfiguration config;
+    }
+}
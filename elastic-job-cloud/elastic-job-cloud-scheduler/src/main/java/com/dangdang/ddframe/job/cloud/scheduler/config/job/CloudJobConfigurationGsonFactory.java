@@ -34,7 +34,9 @@ import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudCon
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.BEAN_NAME;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.CPU_COUNT;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.JOB_EXECUTION_TYPE;
+import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.MAX_SHARDING_ITEMS_PER_TASK;
 import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.MEMORY_MB;
+import static com.dangdang.ddframe.job.cloud.scheduler.config.constants.CloudConfigurationConstants.PRIORITY;
 
 /**
  * Cloud作业配置的Gson工厂.
@@ -83,6 +85,10 @@ public final class CloudJobConfigurationGsonFactory {
                 case MEMORY_MB:
                     customizedValueMap.put(jsonName, in.nextDouble());
                     break;
+                case MAX_SHARDING_ITEMS_PER_TASK:
+                case PRIORITY:
+                    customizedValueMap.put(jsonName, in.nextInt());
+                    break;
                 case APP_NAME:
                 case APPLICATION_CONTEXT:
                 case BEAN_NAME:
@@ -103,14 +109,18 @@ public final class CloudJobConfigurationGsonFactory {
             Preconditions.checkNotNull(customizedValueMap.get(MEMORY_MB), "memoryMB cannot be null.");
             Preconditions.checkArgument((double) customizedValueMap.get(MEMORY_MB) >= 1, "memory cannot be less than 1");
             Preconditions.checkNotNull(customizedValueMap.get(JOB_EXECUTION_TYPE), "jobExecutionType cannot be null.");
+            int maxShardingItemsPerTask = customizedValueMap.containsKey(MAX_SHARDING_ITEMS_PER_TASK) ? (int) customizedValueMap.get(MAX_SHARDING_ITEMS_PER_TASK) : 1;
+            Preconditions.checkArgument(maxShardingItemsPerTask >= 1, "maxShardingItemsPerTask cannot be less than 1");
+            int priority = customizedValueMap.containsKey(PRIORITY) ? (int) customizedValueMap.get(PRIORITY) : 0;
+            String beanName = null;
+            String applicationContext = null;
             if (customizedValueMap.containsKey(BEAN_NAME) && customizedValueMap.containsKey(APPLICATION_CONTEXT)) {
-                return new CloudJobConfiguration((String) customizedValueMap.get(APP_NAME), typeConfig, (double) customizedValueMap.get(CPU_COUNT), 
-                        (double) customizedValueMap.get(MEMORY_MB), CloudJobExecutionType.valueOf(customizedValueMap.get(JOB_EXECUTION_TYPE).toString()), 
-                        customizedValueMap.get(BEAN_NAME).toString(), customizedValueMap.get(APPLICATION_CONTEXT).toString());
-            } else {
-                return new CloudJobConfiguration((String) customizedValueMap.get(APP_NAME), typeConfig, (double) customizedValueMap.get(CPU_COUNT), 
-                        (double) customizedValueMap.get(MEMORY_MB), CloudJobExecutionType.valueOf(customizedValueMap.get(JOB_EXECUTION_TYPE).toString()));
+                beanName = customizedValueMap.get(BEAN_NAME).toString();
+                applicationContext = customizedValueMap.get(APPLICATION_CONTEXT).toString();
             }
+            return new CloudJobConfiguration((String) customizedValueMap.get(APP_NAME), typeConfig, (double) customizedValueMap.get(CPU_COUNT), 
+                    (double) customizedValueMap.get(MEMORY_MB), CloudJobExecutionType.valueOf(customizedValueMap.get(JOB_EXECUTION_TYPE).toString()), 
+                    beanName, applicationContext, maxShardingItemsPerTask, priority);
         }
         
         @Override
@@ -121,6 +131,12 @@ public final class CloudJobConfigurationGsonFactory {
             out.name(JOB_EXECUTION_TYPE).value(value.getJobExecutionType().name());
             out.name(BEAN_NAME).value(value.getBeanName());
             out.name(APPLICATION_CONTEXT).value(value.getApplicationContext());
+            if (1 < value.getMaxShardingItemsPerTask()) {
+                out.name(MAX_SHARDING_ITEMS_PER_TASK).value(value.getMaxShardingItemsPerTask());
+            }
+            if (0 != value.getPriority()) {
+                out.name(PRIORITY).value(value.getPriority());
+            }
         }
     }
 }
@@ -45,6 +45,8 @@ public final class CloudJobConfigurationListener implements TreeCacheListener {
     
     private final ReadyService readyService;
     
+    private final CloudJobConfigurationCache jobConfigCache = CloudJobConfigurationCache.getInstance();
+    
     public CloudJobConfigurationListener(final CoordinatorRegistryCenter regCenter, final ProducerManager producerManager) {
         this.regCenter = regCenter;
         readyService = new ReadyService(regCenter);
@@ -73,6 +75,7 @@ public final class CloudJobConfigurationListener implements TreeCacheListener {
             producerManager.reschedule(jobConfig.getJobName());
         } else if (isJobConfigNode(event, path, Type.NODE_REMOVED)) {
             String jobName = path.substring(CloudJobConfigurationNode.ROOT.length() + 1, path.length());
+            jobConfigCache.remove(jobName);
             producerManager.unschedule(jobName);
         }
     }
@@ -83,7 +86,12 @@ public final class CloudJobConfigurationListener implements TreeCacheListener {
     
     private CloudJobConfiguration getJobConfig(final TreeCacheEvent event) {
         try {
-            return CloudJobConfigurationGsonFactory.fromJson(new String(event.getData().getData()));
+            String jobConfigJson = new String(event.getData().getData());
+            CloudJobConfiguration result = CloudJobConfigurationGsonFactory.fromJson(jobConfigJson);
+            if (null != result) {
+                jobConfigCache.put(jobConfigJson, result);
+            }
+            return result;
             // CHECKSTYLE:OFF
         } catch (final Exception ex) {
             log.warn("Wrong Cloud Job Configuration with:", ex.getMessage());
@@ -97,12 +105,15 @@ public final class CloudJobConfigurationListener implements TreeCacheListener {
      */
     public void start() {
         getCache().getListenable().addListener(this, Executors.newSingleThreadExecutor());
+        new CloudJobConfigurationService(regCenter).loadAll();
+        jobConfigCache.setIndexed(true);
     }
     
     /**
      * 停止云作业配置变更监听服务.
      */
     public void stop() {
+        jobConfigCache.setIndexed(false);
         getCache().getListenable().removeListener(this);
     }
     
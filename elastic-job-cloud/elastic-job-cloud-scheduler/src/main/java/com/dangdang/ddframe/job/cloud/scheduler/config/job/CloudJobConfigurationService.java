@@ -24,16 +24,23 @@ import lombok.RequiredArgsConstructor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 /**
  * 作业配置服务.
+ * 
+ * <p>
+ * 读取的作业配置经由{@link CloudJobConfigurationCache}缓存, 注册中心中的配置未变化时不再重复解析.
+ * </p>
  *
  * @author zhangliang
  */
 @RequiredArgsConstructor
 public final class CloudJobConfigurationService {
     
+    private final CloudJobConfigurationCache cache = CloudJobConfigurationCache.getInstance();
+    
     private final CoordinatorRegistryCenter regCenter;
     
     /**
@@ -42,7 +49,9 @@ public final class CloudJobConfigurationService {
      * @param jobConfig 云作业配置对象
      */
     public void add(final CloudJobConfiguration jobConfig) {
-        regCenter.persist(CloudJobConfigurationNode.getRootNodePath(jobConfig.getJobName()), CloudJobConfigurationGsonFactory.toJson(jobConfig));
+        String jobConfigJson = CloudJobConfigurationGsonFactory.toJson(jobConfig);
+        regCenter.persist(CloudJobConfigurationNode.getRootNodePath(jobConfig.getJobName()), jobConfigJson);
+        cache.put(jobConfigJson, jobConfig);
     }
     
     /**
@@ -51,7 +60,9 @@ public final class CloudJobConfigurationService {
      * @param jobConfig 云作业配置对象
      */
     public void update(final CloudJobConfiguration jobConfig) {
-        regCenter.update(CloudJobConfigurationNode.getRootNodePath(jobConfig.getJobName()), CloudJobConfigurationGsonFactory.toJson(jobConfig));
+        String jobConfigJson = CloudJobConfigurationGsonFactory.toJson(jobConfig);
+        regCenter.update(CloudJobConfigurationNode.getRootNodePath(jobConfig.getJobName()), jobConfigJson);
+        cache.put(jobConfigJson, jobConfig);
     }
     
     /**
@@ -61,11 +72,60 @@ public final class CloudJobConfigurationService {
      */
     public Collection<CloudJobConfiguration> loadAll() {
         if (!regCenter.isExisted(CloudJobConfigurationNode.ROOT)) {
+            cache.retain(Collections.<String>emptyList());
             return Collections.emptyList();
         }
         List<String> jobNames = regCenter.getChildrenKeys(CloudJobConfigurationNode.ROOT);
+        Collection<CloudJobConfiguration> result = load(jobNames);
+        cache.retain(new HashSet<>(jobNames));
+        return result;
+    }
+    
+    /**
+     * 根据应用名称获取云作业配置.
+     * 
+     * <p>
+     * 索引可用时仅读取该应用的作业, 否则全量读取后过滤.
+     * </p>
+     * 
+     * @param appName 应用名称
+     * @return 该应用的云作业配置
+     */
+    public Collection<CloudJobConfiguration> loadAllByAppName(final String appName) {
+        Collection<CloudJobConfiguration> jobConfigs = cache.isIndexed() ? load(cache.getJobNamesByAppName(appName)) : loadAll();
+        Collection<CloudJobConfiguration> result = new ArrayList<>(jobConfigs.size());
+        for (CloudJobConfiguration each : jobConfigs) {
+            if (appName.equals(each.getAppName())) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 根据作业执行类型获取云作业配置.
+     * 
+     * <p>
+     * 索引可用时仅读取该执行类型的作业, 否则全量读取后过滤.
+     * </p>
+     * 
+     * @param jobExecutionType 作业执行类型
+     * @return 该执行类型的云作业配置
+     */
+    public Collection<CloudJobConfiguration> loadAllByExecutionType(final CloudJobExecutionType jobExecutionType) {
+        Collection<CloudJobConfiguration> jobConfigs = cache.isIndexed() ? load(cache.getJobNamesByExecutionType(jobExecutionType)) : loadAll();
+        Collection<CloudJobConfiguration> result = new ArrayList<>(jobConfigs.size());
+        for (CloudJobConfiguration each : jobConfigs) {
+            if (jobExecutionType == each.getJobExecutionType()) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    private Collection<CloudJobConfiguration> load(final Collection<String> jobNames) {
         Collection<CloudJobConfiguration> result = new ArrayList<>(jobNames.size());
-        for (String each : jobNames) {
+        for (String each : new ArrayList<>(jobNames)) {
             Optional<CloudJobConfiguration> config = load(each);
             if (config.isPresent()) {
                 result.add(config.get());
@@ -81,7 +141,12 @@ public final class CloudJobConfigurationService {
      * @return 云作业配置
      */
     public Optional<CloudJobConfiguration> load(final String jobName) {
-        return Optional.fromNullable(CloudJobConfigurationGsonFactory.fromJson(regCenter.get(CloudJobConfigurationNode.getRootNodePath(jobName))));
+        String jobConfigJson = regCenter.get(CloudJobConfigurationNode.getRootNodePath(jobName));
+        if (null == jobConfigJson) {
+            cache.remove(jobName);
+            return Optional.absent();
+        }
+        return Optional.fromNullable(cache.get(jobName, jobConfigJson));
     }
     
     /**
@@ -91,5 +156,6 @@ public final class CloudJobConfigurationService {
      */
     public void remove(final String jobName) {
         regCenter.remove(CloudJobConfigurationNode.getRootNodePath(jobName));
+        cache.remove(jobName);
     }
 }
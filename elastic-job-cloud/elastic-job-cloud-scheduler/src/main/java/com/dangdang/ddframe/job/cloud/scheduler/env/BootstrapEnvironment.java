@@ -121,7 +121,9 @@ public final class BootstrapEnvironment {
      * @return Mesos框架配置对象
      */
     public FrameworkConfiguration getFrameworkConfiguration() {
-        return new FrameworkConfiguration(Integer.parseInt(getValue(EnvironmentArgument.JOB_STATE_QUEUE_SIZE)), Integer.parseInt(getValue(EnvironmentArgument.RECONCILE_INTERVAL_MINUTES)));
+        return new FrameworkConfiguration(Integer.parseInt(getValue(EnvironmentArgument.JOB_STATE_QUEUE_SIZE)), Integer.parseInt(getValue(EnvironmentArgument.RECONCILE_INTERVAL_MINUTES)),
+                Integer.parseInt(getValue(EnvironmentArgument.RECONCILE_BATCH_SIZE)), Long.parseLong(getValue(EnvironmentArgument.RECONCILE_BATCH_INTERVAL_MILLIS)),
+                Integer.parseInt(getValue(EnvironmentArgument.MAX_LAUNCH_TASKS_PER_ITERATION)));
     }
     
     /**
@@ -217,7 +219,13 @@ public final class BootstrapEnvironment {
 
         EVENT_TRACE_RDB_PASSWORD("event_trace_rdb_password", "", false),
     
-        RECONCILE_INTERVAL_MINUTES("reconcile_interval_minutes", "-1", false);
+        RECONCILE_INTERVAL_MINUTES("reconcile_interval_minutes", "-1", false),
+        
+        RECONCILE_BATCH_SIZE("reconcile_batch_size", "1000", false),
+        
+        RECONCILE_BATCH_INTERVAL_MILLIS("reconcile_batch_interval_millis", "1000", false),
+        
+        MAX_LAUNCH_TASKS_PER_ITERATION("max_launch_tasks_per_iteration", "-1", false);
         
         private final String key;
         
@@ -33,6 +33,12 @@ public final class FrameworkConfiguration {
     
     private final int reconcileIntervalMinutes;
     
+    private final int reconcileBatchSize;
+    
+    private final long reconcileBatchIntervalMillis;
+    
+    private final int maxLaunchTasksPerIteration;
+    
     /**
      * 是否启用协调服务.
      * 
@@ -31,17 +31,32 @@ public final class SchedulerElectionCandidate implements ElectionCandidate {
     
     private final CoordinatorRegistryCenter regCenter;
     
+    private final StandbyService standbyService;
+    
     private SchedulerService schedulerService;
     
     public SchedulerElectionCandidate(final CoordinatorRegistryCenter regCenter) {
+        this(regCenter, new StandbyService(regCenter));
+    }
+    
+    public SchedulerElectionCandidate(final CoordinatorRegistryCenter regCenter, final StandbyService standbyService) {
         this.regCenter = regCenter;
+        this.standbyService = standbyService;
+    }
+    
+    /**
+     * 以热备状态参与选举.
+     */
+    public void startStandby() {
+        standbyService.start();
     }
     
     @Override
     public void startLeadership() throws Exception {
         try {
+            boolean warmStandby = standbyService.stop();
             schedulerService = new SchedulerService(regCenter);
-            schedulerService.start();
+            schedulerService.start(warmStandby);
             //CHECKSTYLE:OFF
         } catch (final Throwable throwable) {
             throw new JobSystemException(throwable);
@@ -51,5 +66,6 @@ public final class SchedulerElectionCandidate implements ElectionCandidate {
     @Override
     public void stopLeadership() {
         schedulerService.stop();
+        standbyService.start();
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.ha;
+
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfigurationListener;
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfigurationService;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationNode;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
+import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverTaskListener;
+import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyJobListener;
+import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningTaskListener;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 热备服务.
+ * 
+ * <p>
+ * 未成为主节点的调度器持续监听注册中心, 同步作业和App配置缓存, 运行中任务, 待运行队列和失效转移队列.
+ * 成为主节点时无需从注册中心重建状态, 仅需注册Mesos框架并显式协调.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Slf4j
+public final class StandbyService implements TreeCacheListener {
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
+    private final CloudJobConfigurationService jobConfigService;
+    
+    private final CloudAppConfigurationListener appConfigListener;
+    
+    private final RunningTaskListener runningTaskListener;
+    
+    private final ReadyJobListener readyJobListener;
+    
+    private final FailoverTaskListener failoverTaskListener;
+    
+    private ExecutorService jobConfigListenerExecutor;
+    
+    private volatile boolean running;
+    
+    public StandbyService(final CoordinatorRegistryCenter regCenter) {
+        this.regCenter = regCenter;
+        jobConfigService = new CloudJobConfigurationService(regCenter);
+        appConfigListener = new CloudAppConfigurationListener(regCenter);
+        runningTaskListener = new RunningTaskListener(regCenter);
+        readyJobListener = new ReadyJobListener(regCenter);
+        failoverTaskListener = new FailoverTaskListener(regCenter);
+    }
+    
+    @Override
+    public void childEvent(final CuratorFramework client, final TreeCacheEvent event) throws Exception {
+        String path = null == event.getData() ? "" : event.getData().getPath();
+        if (!path.startsWith(CloudJobConfigurationNode.ROOT + "/") || Type.NODE_ADDED != event.getType() && Type.NODE_UPDATED != event.getType() && Type.NODE_REMOVED != event.getType()) {
+            return;
+        }
+        jobConfigService.load(path.substring(CloudJobConfigurationNode.ROOT.length() + 1));
+    }
+    
+    /**
+     * 启动热备.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        log.info("Elastic Job: Start standby service");
+        jobConfigListenerExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("standby-job-config-listener-%d").build());
+        getJobConfigCache().getListenable().addListener(this, jobConfigListenerExecutor);
+        jobConfigService.loadAll();
+        appConfigListener.start();
+        new CloudAppConfigurationService(regCenter).loadAll();
+        runningTaskListener.start();
+        readyJobListener.start();
+        failoverTaskListener.start();
+        running = true;
+    }
+    
+    /**
+     * 停止热备.
+     * 
+     * <p>
+     * 停止同步, 已同步的状态保留在内存中.
+     * </p>
+     * 
+     * @return 停止前是否处于热备状态
+     */
+    public synchronized boolean stop() {
+        if (!running) {
+            return false;
+        }
+        log.info("Elastic Job: Stop standby service");
+        getJobConfigCache().getListenable().removeListener(this);
+        jobConfigListenerExecutor.shutdown();
+        jobConfigListenerExecutor = null;
+        appConfigListener.stop();
+        runningTaskListener.stop();
+        readyJobListener.stop();
+        failoverTaskListener.stop();
+        running = false;
+        return true;
+    }
+    
+    private TreeCache getJobConfigCache() {
+        TreeCache result = (TreeCache) regCenter.getRawCache(CloudJobConfigurationNode.ROOT);
+        if (null != result) {
+            return result;
+        }
+        regCenter.addCacheData(CloudJobConfigurationNode.ROOT);
+        return (TreeCache) regCenter.getRawCache(CloudJobConfigurationNode.ROOT);
+    }
+}
@@ -20,42 +20,56 @@ package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.context.TaskContext;
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.netflix.fenzo.ConstraintEvaluator;
 import com.netflix.fenzo.TaskAssignmentResult;
 import com.netflix.fenzo.TaskRequest;
 import com.netflix.fenzo.TaskTrackerState;
+import com.netflix.fenzo.VMTaskFitnessCalculator;
 import com.netflix.fenzo.VirtualMachineCurrentState;
 import com.sun.jersey.api.client.ClientHandlerException;
 import com.sun.jersey.api.client.UniformInterfaceException;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.codehaus.jettison.json.JSONException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * App目标slave适配度限制器.
  * 
  * <p>
  * 选择slave时需要考虑其上是否运行有App的executor,如果没有运行executor需要将其资源消耗考虑进适配计算算法中.
+ * 作为软限制时, 已运行或本轮已分配该App的executor的slave适配度高于其他slave, 以便复用已启动的executor.
+ * 本轮各slave已分配的App在分配任务数变化时重新计算, 避免每次计算适配度时遍历已分配任务并加载作业配置.
  * </p>
  * 
  * @author gaohongtao
  */
 @Slf4j
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-public final class AppConstraintEvaluator implements ConstraintEvaluator {
+public final class AppConstraintEvaluator implements ConstraintEvaluator, VMTaskFitnessCalculator {
+    
+    static final double WARM_EXECUTOR_FITNESS = 1.0d;
+    
+    static final double COLD_EXECUTOR_FITNESS = 0.5d;
     
     private static AppConstraintEvaluator instance;
     
     private final Set<String> runningApps = new HashSet<>();
     
+    private final ConcurrentMap<String, AssignedApps> assignedApps = new ConcurrentHashMap<>();
+    
     private final FacadeService facadeService;
     
     /**
@@ -84,6 +98,7 @@ public final class AppConstraintEvaluator implements ConstraintEvaluator {
     
     void clearAppRunningState() {
         runningApps.clear();
+        assignedApps.clear();
     }
     
     @Override
@@ -97,7 +112,7 @@ public final class AppConstraintEvaluator implements ConstraintEvaluator {
         double assigningMemoryMB = 0.0d;
         final String slaveId = targetVM.getAllCurrentOffers().iterator().next().getSlaveId().getValue();
         try {
-            if (isAppRunningOnSlave(taskRequest.getId(), slaveId)) {
+            if (isAppRunningOnSlave(getAppName(taskRequest), slaveId)) {
                 return new Result(true, "");
             }
             Set<String> calculatedApps = new HashSet<>();
@@ -109,13 +124,14 @@ public final class AppConstraintEvaluator implements ConstraintEvaluator {
             for (TaskRequest each : taskRequests) {
                 assigningCpus += each.getCPUs();
                 assigningMemoryMB += each.getMemory();
-                if (isAppRunningOnSlave(each.getId(), slaveId)) {
+                String appName = getAppName(each);
+                if (isAppRunningOnSlave(appName, slaveId)) {
                     continue;
                 }
-                CloudAppConfiguration assigningAppConfig = getAppConfiguration(each.getId());
-                if (!calculatedApps.add(assigningAppConfig.getAppName())) {
+                if (!calculatedApps.add(appName)) {
                     continue;
                 }
+                CloudAppConfiguration assigningAppConfig = getAppConfiguration(appName);
                 assigningCpus += assigningAppConfig.getCpuCount();
                 assigningMemoryMB += assigningAppConfig.getMemoryMB();
             }
@@ -137,27 +153,71 @@ public final class AppConstraintEvaluator implements ConstraintEvaluator {
                 .cpuCores(), assigningMemoryMB, targetVM.getCurrAvailableResources().memoryMB()));
     }
     
-    private boolean isAppRunningOnSlave(final String taskId, final String slaveId) throws LackConfigException {
-        TaskContext taskContext = TaskContext.from(taskId);
-        taskContext.setSlaveId(slaveId);
-        return runningApps.contains(taskContext.getExecutorId(getJobConfiguration(taskContext).getAppName()));
+    @Override
+    public double calculateFitness(final TaskRequest taskRequest, final VirtualMachineCurrentState targetVM, final TaskTrackerState taskTrackerState) {
+        String slaveId = targetVM.getAllCurrentOffers().iterator().next().getSlaveId().getValue();
+        String appName;
+        try {
+            appName = getAppName(taskRequest);
+        } catch (final LackConfigException ex) {
+            log.debug("Lack config, disable {}", getName(), ex);
+            return COLD_EXECUTOR_FITNESS;
+        }
+        if (isAppRunningOnSlave(appName, slaveId) || getAssignedApps(slaveId, targetVM.getTasksCurrentlyAssigned()).contains(appName)) {
+            return WARM_EXECUTOR_FITNESS;
+        }
+        return COLD_EXECUTOR_FITNESS;
     }
     
-    private CloudAppConfiguration getAppConfiguration(final String taskId) throws LackConfigException {
-        CloudJobConfiguration jobConfig = getJobConfiguration(TaskContext.from(taskId));
-        Optional<CloudAppConfiguration> appConfigOptional = facadeService.loadAppConfig(jobConfig.getAppName());
-        if (!appConfigOptional.isPresent()) {
-            throw new LackConfigException("APP", jobConfig.getAppName());
+    private Set<String> getAssignedApps(final String slaveId, final Collection<TaskAssignmentResult> assignedTasks) {
+        AssignedApps result = assignedApps.get(slaveId);
+        if (null != result && result.getTaskCount() == assignedTasks.size()) {
+            return result.getAppNames();
         }
-        return appConfigOptional.get();
+        Set<String> appNames = new HashSet<>(assignedTasks.size(), 1);
+        for (TaskAssignmentResult each : assignedTasks) {
+            try {
+                appNames.add(getAppName(each.getRequest()));
+            } catch (final LackConfigException ex) {
+                log.debug("Lack config, disable {}", getName(), ex);
+            }
+        }
+        result = new AssignedApps(assignedTasks.size(), appNames);
+        assignedApps.put(slaveId, result);
+        return result.getAppNames();
     }
     
-    private CloudJobConfiguration getJobConfiguration(final TaskContext taskContext) throws LackConfigException {
-        Optional<CloudJobConfiguration> jobConfigOptional = facadeService.load(taskContext.getMetaInfo().getJobName());
+    private boolean isAppRunningOnSlave(final String appName, final String slaveId) {
+        return runningApps.contains(Joiner.on("@-@").join(appName, slaveId));
+    }
+    
+    private String getAppName(final TaskRequest taskRequest) throws LackConfigException {
+        if (taskRequest instanceof JobTaskRequest) {
+            return ((JobTaskRequest) taskRequest).getJobConfig().getAppName();
+        }
+        String jobName = TaskContext.from(taskRequest.getId()).getMetaInfo().getJobName();
+        Optional<CloudJobConfiguration> jobConfigOptional = facadeService.load(jobName);
         if (!jobConfigOptional.isPresent()) {
-            throw new LackConfigException("JOB", taskContext.getMetaInfo().getJobName());
+            throw new LackConfigException("JOB", jobName);
+        }
+        return jobConfigOptional.get().getAppName();
+    }
+    
+    private CloudAppConfiguration getAppConfiguration(final String appName) throws LackConfigException {
+        Optional<CloudAppConfiguration> appConfigOptional = facadeService.loadAppConfig(appName);
+        if (!appConfigOptional.isPresent()) {
+            throw new LackConfigException("APP", appName);
         }
-        return jobConfigOptional.get();
+        return appConfigOptional.get();
+    }
+    
+    @RequiredArgsConstructor
+    @Getter
+    private static final class AssignedApps {
+        
+        private final int taskCount;
+        
+        private final Set<String> appNames;
     }
     
     private class LackConfigException extends Exception {
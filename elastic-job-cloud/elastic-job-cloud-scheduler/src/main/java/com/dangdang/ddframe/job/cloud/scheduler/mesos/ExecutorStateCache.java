@@ -0,0 +1,210 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.MesosStateService.ExecutorStateInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.codehaus.jettison.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mesos执行器状态缓存.
+ * 
+ * <p>
+ * 首次获取时同步加载, 之后超过刷新间隔时由后台线程异步刷新, 刷新期间返回旧值.
+ * 两次刷新之间根据任务状态更新, 执行器丢失和slave丢失的回调增量修正.
+ * 刷新期间发生的增量修正会被记录, 并在替换缓存前重放到新加载的执行器状态上, 避免被刷新结果覆盖.
+ * 每次刷新独立记录增量修正, 同步加载和异步刷新同时进行时互不影响.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@Slf4j
+public final class ExecutorStateCache {
+    
+    static final long REFRESH_INTERVAL_MILLISECONDS = 10000L;
+    
+    private static final ExecutorStateCache INSTANCE = new ExecutorStateCache();
+    
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("mesos-executor-state-refresh-%d").build());
+    
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    
+    private volatile ConcurrentMap<String, ExecutorStateInfo> executors = new ConcurrentHashMap<>();
+    
+    private volatile long lastRefreshTime;
+    
+    private final Set<List<ExecutorDelta>> pendingDeltas = Collections.newSetFromMap(new IdentityHashMap<List<ExecutorDelta>, Boolean>());
+    
+    /**
+     * 获取实例.
+     * 
+     * @return 单例对象
+     */
+    public static ExecutorStateCache getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * 获取所有执行器.
+     * 
+     * @param mesosStateService Mesos状态服务
+     * @return 执行器信息
+     * @throws JSONException 首次加载时解析JSON格式异常
+     */
+    public Collection<ExecutorStateInfo> getExecutors(final MesosStateService mesosStateService) throws JSONException {
+        if (0L == lastRefreshTime) {
+            refresh(mesosStateService);
+            return new ArrayList<>(executors.values());
+        }
+        Collection<ExecutorStateInfo> result = new ArrayList<>(executors.values());
+        if (System.currentTimeMillis() - lastRefreshTime >= REFRESH_INTERVAL_MILLISECONDS && refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(new Runnable() {
+                
+                @Override
+                public void run() {
+                    try {
+                        refresh(mesosStateService);
+                        //CHECKSTYLE:OFF
+                    } catch (final Exception ex) {
+                        //CHECKSTYLE:ON
+                        lastRefreshTime = System.currentTimeMillis();
+                        log.warn("Elastic Job: Refresh mesos executor state error, will retry after {} ms", REFRESH_INTERVAL_MILLISECONDS, ex);
+                    } finally {
+                        refreshing.set(false);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+    
+    private void refresh(final MesosStateService mesosStateService) throws JSONException {
+        List<ExecutorDelta> deltas = new LinkedList<>();
+        synchronized (this) {
+            pendingDeltas.add(deltas);
+        }
+        try {
+            ConcurrentMap<String, ExecutorStateInfo> loaded = new ConcurrentHashMap<>();
+            for (ExecutorStateInfo each : mesosStateService.executors()) {
+                loaded.put(each.getId(), each);
+            }
+            synchronized (this) {
+                for (ExecutorDelta each : deltas) {
+                    each.apply(loaded);
+                }
+                executors = loaded;
+                lastRefreshTime = System.currentTimeMillis();
+            }
+        } finally {
+            synchronized (this) {
+                pendingDeltas.remove(deltas);
+            }
+        }
+    }
+    
+    private synchronized void apply(final ExecutorDelta delta) {
+        delta.apply(executors);
+        for (List<ExecutorDelta> each : pendingDeltas) {
+            each.add(delta);
+        }
+    }
+    
+    /**
+     * 记录运行中的执行器.
+     * 
+     * @param executorId 执行器ID
+     * @param slaveId 执行器所在slave的ID
+     */
+    public void putExecutor(final String executorId, final String slaveId) {
+        apply(new ExecutorDelta() {
+            
+            @Override
+            public void apply(final ConcurrentMap<String, ExecutorStateInfo> executors) {
+                executors.putIfAbsent(executorId, ExecutorStateInfo.builder().id(executorId).slaveId(slaveId).build());
+            }
+        });
+    }
+    
+    /**
+     * 移除丢失的执行器.
+     * 
+     * @param executorId 执行器ID
+     */
+    public void removeExecutor(final String executorId) {
+        apply(new ExecutorDelta() {
+            
+            @Override
+            public void apply(final ConcurrentMap<String, ExecutorStateInfo> executors) {
+                executors.remove(executorId);
+            }
+        });
+    }
+    
+    /**
+     * 移除丢失slave上的全部执行器.
+     * 
+     * @param slaveId slave的ID
+     */
+    public void removeSlave(final String slaveId) {
+        apply(new ExecutorDelta() {
+            
+            @Override
+            public void apply(final ConcurrentMap<String, ExecutorStateInfo> executors) {
+                Iterator<ExecutorStateInfo> iterator = executors.values().iterator();
+                while (iterator.hasNext()) {
+                    if (slaveId.equals(iterator.next().getSlaveId())) {
+                        iterator.remove();
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * 使缓存失效, 下次获取时同步加载.
+     */
+    public void invalidate() {
+        lastRefreshTime = 0L;
+    }
+    
+    /**
+     * 执行器状态增量修正.
+     */
+    private interface ExecutorDelta {
+        
+        void apply(ConcurrentMap<String, ExecutorStateInfo> executors);
+    }
+}
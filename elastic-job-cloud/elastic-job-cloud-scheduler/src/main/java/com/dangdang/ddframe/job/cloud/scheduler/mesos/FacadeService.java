@@ -23,6 +23,9 @@ import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
+import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
+import com.dangdang.ddframe.job.cloud.scheduler.state.WriteBehindService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.disable.app.DisableAppService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.disable.job.DisableJobService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverService;
@@ -41,6 +44,7 @@ import org.codehaus.jettison.json.JSONException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +75,8 @@ public final class FacadeService {
     
     private final MesosStateService mesosStateService;
     
+    private final WriteBehindService writeBehindService;
+    
     public FacadeService(final CoordinatorRegistryCenter regCenter) {
         appConfigService = new CloudAppConfigurationService(regCenter);
         jobConfigService = new CloudJobConfigurationService(regCenter);
@@ -80,27 +86,63 @@ public final class FacadeService {
         disableAppService = new DisableAppService(regCenter);
         disableJobService = new DisableJobService(regCenter);
         mesosStateService = new MesosStateService(regCenter);
+        writeBehindService = new WriteBehindService(regCenter);
     }
     
     /**
      * 启动门面服务.
      */
     public void start() {
-        log.info("Elastic Job: Start facade service");
-        runningService.start();
+        start(false);
+    }
+    
+    /**
+     * 启动门面服务.
+     * 
+     * @param warmStandby 是否由热备状态启动, 热备状态下运行中任务, 待运行队列和失效转移队列已同步至内存, 无需从注册中心重建
+     */
+    public void start(final boolean warmStandby) {
+        log.info("Elastic Job: Start facade service, warm standby is {}", warmStandby);
+        if (!warmStandby) {
+            runningService.start();
+            readyService.start();
+            failoverService.start();
+        }
+        writeBehindService.start();
     }
     
     /**
      * 获取有资格运行的作业.
      * 
+     * <p>
+     * 作业按优先级和App公平份额排序, 并按单次调度任务数量上限截断, 未返回的作业保留在队列中等待下次调度.
+     * 存在未返回的作业时发出任务提交信号, 使其在下次调度时立即提交, 无需等待其他信号.
+     * </p>
+     * 
      * @return 作业上下文集合
      */
     public Collection<JobContext> getEligibleJobContext() {
         Collection<JobContext> failoverJobContexts = failoverService.getAllEligibleJobContexts();
         Collection<JobContext> readyJobContexts = readyService.getAllEligibleJobContexts(failoverJobContexts);
-        Collection<JobContext> result = new ArrayList<>(failoverJobContexts.size() + readyJobContexts.size());
-        result.addAll(failoverJobContexts);
-        result.addAll(readyJobContexts);
+        if (failoverJobContexts.isEmpty() && readyJobContexts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        FairShareJobQueue jobQueue = new FairShareJobQueue();
+        LeasesQueue.HeldResources heldResources = LeasesQueue.getInstance().getHeldResources();
+        jobQueue.addIdleResources(heldResources.getCpus(), heldResources.getMemoryMB());
+        for (Map.Entry<String, RunningService.AppRunningResources> entry : runningService.getAppRunningResources().entrySet()) {
+            jobQueue.addRunningResources(entry.getKey(), entry.getValue().getCpus(), entry.getValue().getMemoryMB());
+        }
+        for (JobContext each : failoverJobContexts) {
+            jobQueue.offer(each);
+        }
+        for (JobContext each : readyJobContexts) {
+            jobQueue.offer(each);
+        }
+        List<JobContext> result = jobQueue.poll(BootstrapEnvironment.getInstance().getFrameworkConfiguration().getMaxLaunchTasksPerIteration());
+        if (!jobQueue.isEmpty()) {
+            TaskLaunchSignal.getInstance().signal();
+        }
         return result;
     }
     
@@ -332,10 +374,14 @@ public final class FacadeService {
     /**
      * 获取所有正在运行的Executor的信息.
      * 
+     * <p>
+     * 返回缓存的执行器信息, 缓存过期后异步刷新.
+     * </p>
+     * 
      * @return Executor信息集合
      */
     public Collection<MesosStateService.ExecutorStateInfo> loadExecutorInfo() throws JSONException {
-        return mesosStateService.executors();
+        return ExecutorStateCache.getInstance().getExecutors(mesosStateService);
     }
     
     /**
@@ -344,6 +390,9 @@ public final class FacadeService {
     public void stop() {
         log.info("Elastic Job: Stop facade service");
         // TODO 停止作业调度
+        writeBehindService.stop();
         runningService.clear();
+        readyService.clear();
+        failoverService.clear();
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
+import com.dangdang.ddframe.job.context.ExecutionType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 按优先级和App公平份额出队的待运行作业队列.
+ * 
+ * <p>
+ * 优先级高的作业先出队; 优先级相同时, 主导资源份额最低的App先出队.
+ * 主导资源份额为App占用的CPU和内存分别占集群资源比例中的较大者(DRF), 出队作业的资源需求计入所属App的份额,
+ * 因此单个App的大作业不会连续占满资源, 使其他App的小作业长时间得不到调度.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class FairShareJobQueue {
+    
+    private static final Comparator<JobContext> JOB_COMPARATOR = new Comparator<JobContext>() {
+        
+        @Override
+        public int compare(final JobContext o1, final JobContext o2) {
+            int result = Integer.compare(o2.getJobConfig().getPriority(), o1.getJobConfig().getPriority());
+            if (0 != result) {
+                return result;
+            }
+            result = Boolean.compare(ExecutionType.FAILOVER != o1.getType(), ExecutionType.FAILOVER != o2.getType());
+            if (0 != result) {
+                return result;
+            }
+            return o1.getJobConfig().getJobName().compareTo(o2.getJobConfig().getJobName());
+        }
+    };
+    
+    private final Map<String, AppShare> appShares = new HashMap<>();
+    
+    private double totalCpus;
+    
+    private double totalMemoryMB;
+    
+    /**
+     * 计入集群中未被占用的资源.
+     * 
+     * @param cpus CPU数量
+     * @param memoryMB 内存大小
+     */
+    public void addIdleResources(final double cpus, final double memoryMB) {
+        totalCpus += cpus;
+        totalMemoryMB += memoryMB;
+    }
+    
+    /**
+     * 计入App运行中任务占用的资源.
+     * 
+     * @param appName 云作业App名称
+     * @param cpus CPU数量
+     * @param memoryMB 内存大小
+     */
+    public void addRunningResources(final String appName, final double cpus, final double memoryMB) {
+        getAppShare(appName).allocate(cpus, memoryMB);
+        totalCpus += cpus;
+        totalMemoryMB += memoryMB;
+    }
+    
+    /**
+     * 作业入队.
+     * 
+     * @param jobContext 作业运行上下文
+     */
+    public void offer(final JobContext jobContext) {
+        getAppShare(jobContext.getJobConfig().getAppName()).jobContexts.offer(jobContext);
+    }
+    
+    private AppShare getAppShare(final String appName) {
+        AppShare result = appShares.get(appName);
+        if (null == result) {
+            result = new AppShare(appName);
+            appShares.put(appName, result);
+        }
+        return result;
+    }
+    
+    /**
+     * 按顺序出队作业.
+     * 
+     * <p>
+     * 作业的分片项不拆分出队, 任务数量达到上限时停止出队, 剩余作业保留在队列中留待下次调度.
+     * 首个作业不受任务数量上限约束.
+     * </p>
+     * 
+     * @param maxTaskCount 任务数量上限, 小于等于0表示不限
+     * @return 出队的作业运行上下文集合
+     */
+    public List<JobContext> poll(final int maxTaskCount) {
+        PriorityQueue<AppShare> appQueue = new PriorityQueue<>(Math.max(1, appShares.size()), new Comparator<AppShare>() {
+            
+            @Override
+            public int compare(final AppShare o1, final AppShare o2) {
+                int result = Integer.compare(o2.jobContexts.peek().getJobConfig().getPriority(), o1.jobContexts.peek().getJobConfig().getPriority());
+                if (0 != result) {
+                    return result;
+                }
+                result = Double.compare(o1.getDominantShare(), o2.getDominantShare());
+                return 0 != result ? result : o1.appName.compareTo(o2.appName);
+            }
+        });
+        for (AppShare each : appShares.values()) {
+            if (!each.jobContexts.isEmpty()) {
+                appQueue.offer(each);
+            }
+        }
+        List<JobContext> result = new ArrayList<>();
+        int taskCount = 0;
+        while (!appQueue.isEmpty()) {
+            AppShare appShare = appQueue.poll();
+            JobContext jobContext = appShare.jobContexts.poll();
+            int jobTaskCount = jobContext.getAssignedShardingItems().size();
+            if (maxTaskCount > 0 && !result.isEmpty() && taskCount + jobTaskCount > maxTaskCount) {
+                appShare.jobContexts.offer(jobContext);
+                break;
+            }
+            result.add(jobContext);
+            taskCount += jobTaskCount;
+            CloudJobConfiguration jobConfig = jobContext.getJobConfig();
+            appShare.allocate(jobConfig.getCpuCount() * jobTaskCount, jobConfig.getMemoryMB() * jobTaskCount);
+            if (!appShare.jobContexts.isEmpty()) {
+                appQueue.offer(appShare);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 判断队列中是否还有作业.
+     * 
+     * @return 队列中是否还有作业
+     */
+    public boolean isEmpty() {
+        for (AppShare each : appShares.values()) {
+            if (!each.jobContexts.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private final class AppShare {
+        
+        private final String appName;
+        
+        private final PriorityQueue<JobContext> jobContexts = new PriorityQueue<>(11, JOB_COMPARATOR);
+        
+        private double cpus;
+        
+        private double memoryMB;
+        
+        private AppShare(final String appName) {
+            this.appName = appName;
+        }
+        
+        private void allocate(final double cpus, final double memoryMB) {
+            this.cpus += cpus;
+            this.memoryMB += memoryMB;
+        }
+        
+        private double getDominantShare() {
+            double cpuShare = totalCpus > 0 ? cpus / totalCpus : 0d;
+            double memoryShare = totalMemoryMB > 0 ? memoryMB / totalMemoryMB : 0d;
+            return Math.max(cpuShare, memoryShare);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.dangdang.ddframe.job.context.TaskContext;
 import com.netflix.fenzo.ConstraintEvaluator;
 import com.netflix.fenzo.TaskRequest;
 import com.netflix.fenzo.VMTaskFitnessCalculator;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Collections;
@@ -38,6 +39,7 @@ public final class JobTaskRequest implements TaskRequest {
     
     private final TaskContext taskContext;
     
+    @Getter
     private final CloudJobConfiguration jobConfig;
     
     @Override
@@ -52,12 +54,12 @@ public final class JobTaskRequest implements TaskRequest {
     
     @Override
     public double getCPUs() {
-        return jobConfig.getCpuCount();
+        return jobConfig.getCpuCount() * taskContext.getMetaInfo().getShardingItems().size();
     }
     
     @Override
     public double getMemory() {
-        return jobConfig.getMemoryMB();
+        return jobConfig.getMemoryMB() * taskContext.getMetaInfo().getShardingItems().size();
     }
     
     @Override
@@ -87,7 +89,7 @@ public final class JobTaskRequest implements TaskRequest {
     
     @Override
     public List<? extends VMTaskFitnessCalculator> getSoftConstraints() {
-        return null;
+        return Collections.singletonList(AppConstraintEvaluator.getInstance());
     }
     
     @Override
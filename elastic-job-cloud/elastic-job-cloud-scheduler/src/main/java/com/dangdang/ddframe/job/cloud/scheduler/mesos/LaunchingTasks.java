@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.context.TaskContext;
+import com.google.common.collect.Lists;
 import com.netflix.fenzo.TaskAssignmentResult;
 import com.netflix.fenzo.TaskRequest;
 import com.netflix.fenzo.VMAssignmentResult;
@@ -30,8 +31,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * 分配任务行为包.
@@ -44,7 +47,7 @@ public final class LaunchingTasks {
     private final Map<String, JobContext> eligibleJobContextsMap;
     
     public LaunchingTasks(final Collection<JobContext> eligibleJobContexts) {
-        eligibleJobContextsMap = new HashMap<>(eligibleJobContexts.size(), 1);
+        eligibleJobContextsMap = new LinkedHashMap<>(eligibleJobContexts.size(), 1);
         for (JobContext each : eligibleJobContexts) {
             eligibleJobContextsMap.put(each.getJobConfig().getJobName(), each);
         }
@@ -79,6 +82,40 @@ public final class LaunchingTasks {
         return result;
     }
     
+    /**
+     * 获取分配到执行机的待提交任务请求.
+     * 
+     * <p>
+     * 单任务最大分片项数量大于1的作业, 分配到同一执行机的分片项按该数量合并为任务请求, 其余作业保持每个分片项一个任务请求.
+     * </p>
+     * 
+     * @param vmAssignmentResult 执行机资源分配结果
+     * @return 待提交任务请求集合
+     */
+    List<TaskRequest> getLaunchingTaskRequests(final VMAssignmentResult vmAssignmentResult) {
+        List<TaskRequest> result = new ArrayList<>(vmAssignmentResult.getTasksAssigned().size());
+        Map<String, List<Integer>> packingShardingItemsMap = new LinkedHashMap<>();
+        for (TaskAssignmentResult each : vmAssignmentResult.getTasksAssigned()) {
+            TaskContext.MetaInfo metaInfo = TaskContext.from(each.getTaskId()).getMetaInfo();
+            if (1 == eligibleJobContextsMap.get(metaInfo.getJobName()).getJobConfig().getMaxShardingItemsPerTask()) {
+                result.add(each.getRequest());
+                continue;
+            }
+            if (!packingShardingItemsMap.containsKey(metaInfo.getJobName())) {
+                packingShardingItemsMap.put(metaInfo.getJobName(), new ArrayList<Integer>());
+            }
+            packingShardingItemsMap.get(metaInfo.getJobName()).addAll(metaInfo.getShardingItems());
+        }
+        for (Entry<String, List<Integer>> entry : packingShardingItemsMap.entrySet()) {
+            JobContext jobContext = eligibleJobContextsMap.get(entry.getKey());
+            Collections.sort(entry.getValue());
+            for (List<Integer> each : Lists.partition(entry.getValue(), jobContext.getJobConfig().getMaxShardingItemsPerTask())) {
+                result.add(new JobTaskRequest(new TaskContext(entry.getKey(), new ArrayList<>(each), jobContext.getType()), jobContext.getJobConfig()));
+            }
+        }
+        return result;
+    }
+    
     private Map<String, Integer> getAssignedJobShardingTotalCountMap(final Collection<VMAssignmentResult> vmAssignmentResults) {
         Map<String, Integer> result = new HashMap<>(eligibleJobContextsMap.size(), 1);
         for (VMAssignmentResult vmAssignmentResult: vmAssignmentResults) {
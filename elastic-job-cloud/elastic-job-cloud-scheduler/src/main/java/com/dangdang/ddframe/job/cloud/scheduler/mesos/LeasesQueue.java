@@ -20,16 +20,25 @@ package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 import com.netflix.fenzo.VirtualMachineLease;
 import com.netflix.fenzo.plugins.VMLeaseObject;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.apache.mesos.Protos;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 资源预占队列.
+ * 
+ * <p>
+ * 新到达的资源按slave分组暂存, 出栈时同一slave的资源相邻交给Fenzo合并为一台虚拟机, 出栈前被撤销的资源直接丢弃.
+ * 同时记录已收到但尚未使用, 拒绝或撤销的资源, 用于统计当前持有的资源量.
+ * </p>
  *
  * @author zhangliang
  */
@@ -38,7 +47,9 @@ public final class LeasesQueue {
     
     private static final LeasesQueue INSTANCE = new LeasesQueue();
     
-    private final BlockingQueue<VirtualMachineLease> queue = new LinkedBlockingQueue<>();
+    private final Map<String, Map<String, Protos.Offer>> pendingOffers = new LinkedHashMap<>();
+    
+    private final Map<String, Protos.Offer> heldOffers = new ConcurrentHashMap<>();
     
     /**
      * 获取实例.
@@ -54,8 +65,15 @@ public final class LeasesQueue {
      *
      * @param offer 资源
      */
-    public void offer(final Protos.Offer offer) {
-        queue.offer(new VMLeaseObject(offer));
+    public synchronized void offer(final Protos.Offer offer) {
+        String slaveId = offer.getSlaveId().getValue();
+        Map<String, Protos.Offer> offers = pendingOffers.get(slaveId);
+        if (null == offers) {
+            offers = new LinkedHashMap<>();
+            pendingOffers.put(slaveId, offers);
+        }
+        offers.put(offer.getId().getValue(), offer);
+        heldOffers.put(offer.getId().getValue(), offer);
     }
     
     /**
@@ -63,9 +81,104 @@ public final class LeasesQueue {
      * 
      * @return 队列资源集合
      */
-    public List<VirtualMachineLease> drainTo() {
-        List<VirtualMachineLease> result = new ArrayList<>(queue.size());
-        queue.drainTo(result);
+    public synchronized List<VirtualMachineLease> drainTo() {
+        List<VirtualMachineLease> result = new ArrayList<>();
+        for (Map<String, Protos.Offer> each : pendingOffers.values()) {
+            for (Protos.Offer offer : each.values()) {
+                result.add(new VMLeaseObject(offer));
+            }
+        }
+        pendingOffers.clear();
         return result;
     }
+    
+    /**
+     * 撤销资源.
+     * 
+     * @param offerId 资源ID
+     */
+    public synchronized void rescind(final String offerId) {
+        Protos.Offer offer = heldOffers.remove(offerId);
+        if (null == offer) {
+            return;
+        }
+        Map<String, Protos.Offer> offers = pendingOffers.get(offer.getSlaveId().getValue());
+        if (null != offers) {
+            offers.remove(offerId);
+            if (offers.isEmpty()) {
+                pendingOffers.remove(offer.getSlaveId().getValue());
+            }
+        }
+    }
+    
+    /**
+     * 撤销slave上的全部资源.
+     * 
+     * @param slaveId slave的ID
+     */
+    public synchronized void rescindSlave(final String slaveId) {
+        pendingOffers.remove(slaveId);
+        Iterator<Protos.Offer> iterator = heldOffers.values().iterator();
+        while (iterator.hasNext()) {
+            if (slaveId.equals(iterator.next().getSlaveId().getValue())) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * 释放已使用或已拒绝的资源.
+     * 
+     * @param offerId 资源ID
+     */
+    public void release(final String offerId) {
+        heldOffers.remove(offerId);
+    }
+    
+    /**
+     * 清空全部资源.
+     */
+    public synchronized void clear() {
+        pendingOffers.clear();
+        heldOffers.clear();
+    }
+    
+    /**
+     * 获取当前持有的资源量.
+     * 
+     * @return 当前持有的资源量
+     */
+    public HeldResources getHeldResources() {
+        int offerCount = 0;
+        double cpus = 0d;
+        double memoryMB = 0d;
+        for (Protos.Offer each : heldOffers.values()) {
+            offerCount++;
+            for (Protos.Resource resource : each.getResourcesList()) {
+                if (Protos.Value.Type.SCALAR != resource.getType()) {
+                    continue;
+                }
+                if ("cpus".equals(resource.getName())) {
+                    cpus += resource.getScalar().getValue();
+                } else if ("mem".equals(resource.getName())) {
+                    memoryMB += resource.getScalar().getValue();
+                }
+            }
+        }
+        return new HeldResources(offerCount, cpus, memoryMB);
+    }
+    
+    /**
+     * 持有的资源量.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static final class HeldResources {
+        
+        private final int offerCount;
+        
+        private final double cpus;
+        
+        private final double memoryMB;
+    }
 }
@@ -19,24 +19,43 @@ package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
 import com.dangdang.ddframe.job.cloud.scheduler.ha.FrameworkIDService;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
-import com.google.common.base.Function;
+import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
-import com.google.common.collect.Collections2;
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.sun.jersey.api.client.Client;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
-import org.codehaus.jettison.json.JSONObject;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Mesos状态服务.
@@ -46,6 +65,27 @@ import java.util.List;
 @Slf4j
 public class MesosStateService {
     
+    private static final int SLAVE_STATE_FETCHER_THREADS = 16;
+    
+    private static final int MASTER_STATE_CONNECT_TIMEOUT_MILLISECONDS = 5000;
+    
+    private static final int MASTER_STATE_READ_TIMEOUT_MILLISECONDS = 30000;
+    
+    private static final int SLAVE_STATE_REQUEST_TIMEOUT_MILLISECONDS = 5000;
+    
+    private static final long SLAVE_STATES_TIMEOUT_MILLISECONDS = 30000L;
+    
+    private static final long SLAVE_STATE_CACHE_SECONDS = 5L;
+    
+    private static final Client MASTER_CLIENT = createClient(MASTER_STATE_CONNECT_TIMEOUT_MILLISECONDS, MASTER_STATE_READ_TIMEOUT_MILLISECONDS);
+    
+    private static final Client SLAVE_CLIENT = createClient(SLAVE_STATE_REQUEST_TIMEOUT_MILLISECONDS, SLAVE_STATE_REQUEST_TIMEOUT_MILLISECONDS);
+    
+    private static final ExecutorService SLAVE_STATE_FETCHER = Executors.newFixedThreadPool(SLAVE_STATE_FETCHER_THREADS, 
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("mesos-slave-state-fetcher-%d").build());
+    
+    private static final Cache<String, SlaveState> SLAVE_STATES = CacheBuilder.newBuilder().expireAfterWrite(SLAVE_STATE_CACHE_SECONDS, TimeUnit.SECONDS).build();
+    
     private static String stateUrl;
     
     private final FrameworkIDService frameworkIDService;
@@ -54,6 +94,13 @@ public class MesosStateService {
         frameworkIDService = new FrameworkIDService(regCenter);
     }
     
+    private static Client createClient(final int connectTimeoutMilliseconds, final int readTimeoutMilliseconds) {
+        Client result = Client.create();
+        result.setConnectTimeout(connectTimeoutMilliseconds);
+        result.setReadTimeout(readTimeoutMilliseconds);
+        return result;
+    }
+    
     /**
      * 注册Mesos的Master信息.
      * 
@@ -74,31 +121,60 @@ public class MesosStateService {
     /**
      * 获取沙箱信息.
      * 
+     * <p>
+     * 并发获取执行器所在slave的状态信息, 每个请求有独立的超时时间, slave的状态信息短时间缓存.
+     * </p>
+     * 
      * @param appName 作业云配置App的名字
      * @return 沙箱信息
      * @throws JSONException 解析JSON格式异常
      */
     public JsonArray sandbox(final String appName) throws JSONException {
-        JSONObject state = fetch(stateUrl);
         JsonArray result = new JsonArray();
-        for (JSONObject each : findExecutors(state.getJSONArray("frameworks"), appName)) {
-            JSONArray slaves = state.getJSONArray("slaves");
-            String slaveHost = null;
-            for (int i = 0; i < slaves.length(); i++) {
-                JSONObject slave = slaves.getJSONObject(i);
-                if (each.getString("slave_id").equals(slave.getString("id"))) {
-                    slaveHost = slave.getString("pid").split("@")[1];
+        Optional<String> frameworkIDOptional = frameworkIDService.fetch();
+        if (!frameworkIDOptional.isPresent()) {
+            return result;
+        }
+        String frameworkID = frameworkIDOptional.get();
+        Map<String, String> slaveHosts = new HashMap<>();
+        List<ExecutorStateInfo> executors = new ArrayList<>();
+        try (JsonReader reader = openReader(stateUrl)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "slaves":
+                        slaveHosts.putAll(readSlaveHosts(reader));
+                        break;
+                    case "frameworks":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            executors.addAll(readFrameworkExecutors(reader, frameworkID, appName));
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
                 }
             }
+            reader.endObject();
+        } catch (final IOException | IllegalStateException ex) {
+            throw new JSONException(ex);
+        }
+        Set<String> hosts = new LinkedHashSet<>(executors.size(), 1);
+        for (ExecutorStateInfo each : executors) {
+            String slaveHost = slaveHosts.get(each.getSlaveId());
             Preconditions.checkNotNull(slaveHost);
-            JSONObject slaveState = fetch(String.format("http://%s/state", slaveHost));
-            String workDir = slaveState.getJSONObject("flags").getString("work_dir");
-            Collection<JSONObject> executorsOnSlave = findExecutors(slaveState.getJSONArray("frameworks"), appName);
-            for (JSONObject executorOnSlave : executorsOnSlave) {
-                JsonObject r = new JsonObject();
-                r.addProperty("hostname", slaveState.getString("hostname"));
-                r.addProperty("path", executorOnSlave.getString("directory").replace(workDir, ""));
-                result.add(r);
+            hosts.add(slaveHost);
+        }
+        for (SlaveState each : loadSlaveStates(hosts, frameworkID)) {
+            for (Entry<String, String> entry : each.getExecutorDirectories().entrySet()) {
+                if (isAppExecutor(entry.getKey(), appName)) {
+                    JsonObject r = new JsonObject();
+                    r.addProperty("hostname", each.getHostname());
+                    r.addProperty("path", entry.getValue().replace(each.getWorkDir(), ""));
+                    result.add(r);
+                }
             }
         }
         return result;
@@ -107,21 +183,24 @@ public class MesosStateService {
     /**
      * 查找执行器信息.
      * 
+     * <p>
+     * 以流式方式解析Master的状态信息, 仅读取本框架的执行器, 不在内存中构建完整的状态文档.
+     * </p>
+     * 
      * @param appName 作业云配置App的名字
      * @return 执行器信息
      * @throws JSONException 解析JSON格式异常
      */
     public Collection<ExecutorStateInfo> executors(final String appName) throws JSONException {
-        return Collections2.transform(findExecutors(fetch(stateUrl).getJSONArray("frameworks"), appName), new Function<JSONObject, ExecutorStateInfo>() {
-            @Override
-            public ExecutorStateInfo apply(final JSONObject input) {
-                try {
-                    return ExecutorStateInfo.builder().id(getExecutorId(input)).slaveId(input.getString("slave_id")).build();
-                } catch (final JSONException ex) {
-                    throw new RuntimeException(ex);
-                }
-            }
-        });
+        Optional<String> frameworkIDOptional = frameworkIDService.fetch();
+        if (!frameworkIDOptional.isPresent()) {
+            return Collections.emptyList();
+        }
+        try (JsonReader reader = openReader(stateUrl)) {
+            return readFrameworksExecutors(reader, frameworkIDOptional.get(), appName);
+        } catch (final IOException | IllegalStateException ex) {
+            throw new JSONException(ex);
+        }
     }
     
     /**
@@ -134,38 +213,239 @@ public class MesosStateService {
         return executors(null);
     }
     
-    private JSONObject fetch(final String url) {
+    private JsonReader openReader(final String url) {
         Preconditions.checkState(!Strings.isNullOrEmpty(url));
-        return Client.create().resource(url).get(JSONObject.class);
+        return new JsonReader(new InputStreamReader(MASTER_CLIENT.resource(url).get(InputStream.class), Charsets.UTF_8));
     }
     
-    private Collection<JSONObject> findExecutors(final JSONArray frameworks, final String appName) throws JSONException {
-        List<JSONObject> result = Lists.newArrayList();
-        Optional<String> frameworkIDOptional = frameworkIDService.fetch();
-        String frameworkID;
-        if (frameworkIDOptional.isPresent()) {
-            frameworkID = frameworkIDOptional.get();
-        } else {
+    private Collection<ExecutorStateInfo> readFrameworksExecutors(final JsonReader reader, final String frameworkID, final String appName) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"frameworks".equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+            List<ExecutorStateInfo> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.addAll(readFrameworkExecutors(reader, frameworkID, appName));
+            }
+            reader.endArray();
             return result;
         }
-        for (int i = 0; i < frameworks.length(); i++) {
-            JSONObject framework = frameworks.getJSONObject(i);
-            if (!framework.getString("id").equals(frameworkID)) {
+        reader.endObject();
+        return Collections.emptyList();
+    }
+    
+    private Collection<ExecutorStateInfo> readFrameworkExecutors(final JsonReader reader, final String frameworkID, final String appName) throws IOException {
+        String id = null;
+        List<ExecutorStateInfo> result = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextString();
+                    break;
+                case "executors":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        ExecutorStateInfo executor = readExecutor(reader);
+                        if (isAppExecutor(executor.getId(), appName)) {
+                            result.add(executor);
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return frameworkID.equals(id) ? result : Collections.<ExecutorStateInfo>emptyList();
+    }
+    
+    private ExecutorStateInfo readExecutor(final JsonReader reader) throws IOException {
+        String id = null;
+        String executorId = null;
+        String slaveId = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextString();
+                    break;
+                case "executor_id":
+                    executorId = reader.nextString();
+                    break;
+                case "slave_id":
+                    slaveId = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return ExecutorStateInfo.builder().id(null == id ? executorId : id).slaveId(slaveId).build();
+    }
+    
+    private Map<String, String> readSlaveHosts(final JsonReader reader) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String id = null;
+            String pid = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        id = reader.nextString();
+                        break;
+                    case "pid":
+                        pid = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            if (null != id && null != pid) {
+                result.put(id, pid.split("@")[1]);
+            }
+        }
+        reader.endArray();
+        return result;
+    }
+    
+    private Collection<SlaveState> loadSlaveStates(final Collection<String> hosts, final String frameworkID) {
+        return loadSlaveStates(hosts, frameworkID, SLAVE_STATES_TIMEOUT_MILLISECONDS);
+    }
+    
+    Collection<SlaveState> loadSlaveStates(final Collection<String> hosts, final String frameworkID, final long timeoutMilliseconds) {
+        List<SlaveState> result = new ArrayList<>(hosts.size());
+        Map<String, Future<SlaveState>> futures = new LinkedHashMap<>(hosts.size(), 1);
+        for (final String each : hosts) {
+            SlaveState cached = SLAVE_STATES.getIfPresent(each);
+            if (null != cached) {
+                result.add(cached);
                 continue;
             }
-            JSONArray executors = framework.getJSONArray("executors");
-            for (int j = 0; j < executors.length(); j++) {
-                JSONObject executor = executors.getJSONObject(j);
-                if (null == appName || appName.equals(getExecutorId(executor).split("@-@")[0])) {
-                    result.add(executor);
+            futures.put(each, SLAVE_STATE_FETCHER.submit(new Callable<SlaveState>() {
+                
+                @Override
+                public SlaveState call() throws Exception {
+                    SlaveState slaveState = fetchSlaveState(each, frameworkID);
+                    SLAVE_STATES.put(each, slaveState);
+                    return slaveState;
                 }
+            }));
+        }
+        long deadline = System.currentTimeMillis() + timeoutMilliseconds;
+        for (Entry<String, Future<SlaveState>> entry : futures.entrySet()) {
+            try {
+                result.add(entry.getValue().get(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(true);
+            } catch (final ExecutionException | TimeoutException ex) {
+                entry.getValue().cancel(true);
+                log.warn("Elastic Job: Fetch state of slave '{}' error, skip it", entry.getKey(), ex);
             }
         }
         return result;
     }
     
-    private String getExecutorId(final JSONObject executor) throws JSONException {
-        return executor.has("id") ? executor.getString("id") : executor.getString("executor_id");
+    private SlaveState fetchSlaveState(final String slaveHost, final String frameworkID) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(SLAVE_CLIENT.resource(String.format("http://%s/state", slaveHost)).get(InputStream.class), Charsets.UTF_8))) {
+            String hostname = null;
+            String workDir = null;
+            Map<String, String> executorDirectories = new LinkedHashMap<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "hostname":
+                        hostname = reader.nextString();
+                        break;
+                    case "flags":
+                        workDir = readWorkDir(reader);
+                        break;
+                    case "frameworks":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            executorDirectories.putAll(readFrameworkExecutorDirectories(reader, frameworkID));
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return new SlaveState(hostname, workDir, executorDirectories);
+        }
+    }
+    
+    private String readWorkDir(final JsonReader reader) throws IOException {
+        String result = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("work_dir".equals(reader.nextName())) {
+                result = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return result;
+    }
+    
+    private Map<String, String> readFrameworkExecutorDirectories(final JsonReader reader, final String frameworkID) throws IOException {
+        String id = null;
+        Map<String, String> result = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextString();
+                    break;
+                case "executors":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        String executorId = null;
+                        String directory = null;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "id":
+                                    executorId = reader.nextString();
+                                    break;
+                                case "directory":
+                                    directory = reader.nextString();
+                                    break;
+                                default:
+                                    reader.skipValue();
+                                    break;
+                            }
+                        }
+                        reader.endObject();
+                        result.put(executorId, directory);
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return frameworkID.equals(id) ? result : Collections.<String, String>emptyMap();
+    }
+    
+    private boolean isAppExecutor(final String executorId, final String appName) {
+        return null == appName || appName.equals(executorId.split("@-@")[0]);
     }
     
     @Builder
@@ -176,4 +456,15 @@ public class MesosStateService {
         
         private final String slaveId;
     }
+    
+    @RequiredArgsConstructor
+    @Getter
+    static final class SlaveState {
+        
+        private final String hostname;
+        
+        private final String workDir;
+        
+        private final Map<String, String> executorDirectories;
+    }
 }
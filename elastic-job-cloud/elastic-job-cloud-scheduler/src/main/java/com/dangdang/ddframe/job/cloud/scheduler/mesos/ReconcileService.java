@@ -20,43 +20,79 @@ package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
 import com.dangdang.ddframe.job.cloud.scheduler.env.FrameworkConfiguration;
 import com.dangdang.ddframe.job.context.TaskContext;
-import com.google.common.base.Function;
-import com.google.common.collect.Collections2;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.mesos.Protos;
 import org.apache.mesos.SchedulerDriver;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 协调Mesos与调度器之间的作业状态.
  * 
+ * <p>
+ * 显式协调按批次分页提交任务状态, 批次之间暂停以避免瞬时压垮Mesos Master及状态更新回调.
+ * 批次提交失败或被中断时退化为隐式协调.
+ * 协调进度为进程级共享状态, 不区分发起协调的实例.
+ * </p>
+ * 
  * @author gaohongtao
  */
 @RequiredArgsConstructor
 @Slf4j
 public class ReconcileService extends AbstractScheduledService {
     
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    
+    private static final ExecutorService EXPLICIT_RECONCILE_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("explicit-reconcile-%d").build());
+    
+    private static final AtomicBoolean EXPLICIT_RECONCILE_PENDING = new AtomicBoolean();
+    
+    private static volatile boolean reconciling;
+    
+    private static volatile int totalTaskCount;
+    
+    private static volatile int reconciledTaskCount;
+    
+    private static volatile int totalBatchCount;
+    
+    private static volatile int reconciledBatchCount;
+    
+    private static volatile long lastExplicitReconcileStartTime;
+    
+    private static volatile long lastExplicitReconcileFinishTime;
+    
+    private static volatile long lastImplicitReconcileTime;
+    
+    private static volatile int implicitFallbackCount;
+    
     private final SchedulerDriver schedulerDriver;
     
     private final FacadeService facadeService;
     
-    private final ReentrantLock lock = new ReentrantLock();
-    
     @Override
     protected void runOneIteration() throws Exception {
-        lock.lock();
+        LOCK.lock();
         try {
-            explicitReconcile();
-            implicitReconcile();
+            if (!reconcileInBatches()) {
+                implicitReconcile();
+            }
         } finally {
-            lock.unlock();
+            LOCK.unlock();
         }
     }
     
@@ -64,45 +100,189 @@ public class ReconcileService extends AbstractScheduledService {
      * 全量的显示协调.
      */
     public void explicitReconcile() {
-        lock.lock();
+        LOCK.lock();
         try {
-            Set<TaskContext> runningTask = new HashSet<>();
-            for (Set<TaskContext> each : facadeService.getAllRunningTasks().values()) {
-                runningTask.addAll(each);
-            }
-            if (runningTask.isEmpty()) {
-                return;
+            reconcileInBatches();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+    
+    /**
+     * 异步的全量显示协调.
+     * 
+     * <p>
+     * 在独立线程中分批协调, 不阻塞调用方. 已有未开始的协调请求时合并为一次.
+     * </p>
+     */
+    public void explicitReconcileAsync() {
+        if (!EXPLICIT_RECONCILE_PENDING.compareAndSet(false, true)) {
+            log.info("Explicit reconciliation is already pending, ignore this request.");
+            return;
+        }
+        EXPLICIT_RECONCILE_EXECUTOR.execute(new Runnable() {
+            
+            @Override
+            public void run() {
+                EXPLICIT_RECONCILE_PENDING.set(false);
+                try {
+                    explicitReconcile();
+                    //CHECKSTYLE:OFF
+                } catch (final Exception ex) {
+                    //CHECKSTYLE:ON
+                    log.error("Explicit reconciliation failure.", ex);
+                }
             }
-            log.info("Requesting {} tasks reconciliation with the Mesos master", runningTask.size());
-            schedulerDriver.reconcileTasks(Collections2.transform(runningTask, new Function<TaskContext, Protos.TaskStatus>() {
-                @Override
-                public Protos.TaskStatus apply(final TaskContext input) {
-                    return Protos.TaskStatus.newBuilder()
-                            .setTaskId(Protos.TaskID.newBuilder().setValue(input.getId()).build())
-                            .setSlaveId(Protos.SlaveID.newBuilder().setValue(input.getSlaveId()).build())
-                            .setState(Protos.TaskState.TASK_RUNNING).build();
+        });
+    }
+    
+    /**
+     * 分批显式协调.
+     * 
+     * @return 是否已退化为隐式协调
+     */
+    private boolean reconcileInBatches() {
+        List<Protos.TaskStatus> taskStatuses = getRunningTaskStatuses();
+        lastExplicitReconcileStartTime = System.currentTimeMillis();
+        if (taskStatuses.isEmpty()) {
+            resetProgress(0, 0);
+            lastExplicitReconcileFinishTime = System.currentTimeMillis();
+            return false;
+        }
+        FrameworkConfiguration configuration = BootstrapEnvironment.getInstance().getFrameworkConfiguration();
+        List<List<Protos.TaskStatus>> batches = Lists.partition(taskStatuses, Math.max(1, configuration.getReconcileBatchSize()));
+        resetProgress(taskStatuses.size(), batches.size());
+        log.info("Requesting {} tasks reconciliation with the Mesos master in {} batches", taskStatuses.size(), batches.size());
+        reconciling = true;
+        try {
+            for (List<Protos.TaskStatus> each : batches) {
+                if (reconciledBatchCount > 0 && !pause(configuration.getReconcileBatchIntervalMillis())) {
+                    return fallbackToImplicitReconcile();
                 }
-            }));
+                Protos.Status status;
+                try {
+                    status = schedulerDriver.reconcileTasks(each);
+                    //CHECKSTYLE:OFF
+                } catch (final Exception ex) {
+                    //CHECKSTYLE:ON
+                    log.warn("Explicit reconciliation batch failure.", ex);
+                    return fallbackToImplicitReconcile();
+                }
+                if (Protos.Status.DRIVER_ABORTED == status || Protos.Status.DRIVER_STOPPED == status) {
+                    log.warn("Explicit reconciliation aborted, caused by scheduler driver status is {}.", status);
+                    return false;
+                }
+                reconciledTaskCount += each.size();
+                reconciledBatchCount++;
+            }
+            lastExplicitReconcileFinishTime = System.currentTimeMillis();
+            return false;
         } finally {
-            lock.unlock();
+            reconciling = false;
+        }
+    }
+    
+    private List<Protos.TaskStatus> getRunningTaskStatuses() {
+        Set<TaskContext> runningTasks = new HashSet<>();
+        for (Set<TaskContext> each : facadeService.getAllRunningTasks().values()) {
+            runningTasks.addAll(each);
+        }
+        List<Protos.TaskStatus> result = new ArrayList<>(runningTasks.size());
+        for (TaskContext each : runningTasks) {
+            result.add(Protos.TaskStatus.newBuilder()
+                    .setTaskId(Protos.TaskID.newBuilder().setValue(each.getId()).build())
+                    .setSlaveId(Protos.SlaveID.newBuilder().setValue(each.getSlaveId()).build())
+                    .setState(Protos.TaskState.TASK_RUNNING).build());
+        }
+        return result;
+    }
+    
+    private void resetProgress(final int taskCount, final int batchCount) {
+        totalTaskCount = taskCount;
+        totalBatchCount = batchCount;
+        reconciledTaskCount = 0;
+        reconciledBatchCount = 0;
+    }
+    
+    private boolean pause(final long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
     
+    private boolean fallbackToImplicitReconcile() {
+        log.warn("Explicit reconciliation interrupted after {}/{} tasks, fallback to implicit reconciliation.", reconciledTaskCount, totalTaskCount);
+        implicitFallbackCount++;
+        implicitReconcile();
+        return true;
+    }
+    
     /**
      * 隐式协调.
      */
     public void implicitReconcile() {
-        lock.lock();
+        LOCK.lock();
         try {
             schedulerDriver.reconcileTasks(Collections.<Protos.TaskStatus>emptyList());
+            lastImplicitReconcileTime = System.currentTimeMillis();
         } finally {
-            lock.unlock();
+            LOCK.unlock();
         }
     }
     
+    /**
+     * 获取协调进度.
+     * 
+     * @return 协调进度
+     */
+    public ReconcileProgress getProgress() {
+        long lagMillis = 0L == lastExplicitReconcileFinishTime ? -1L : System.currentTimeMillis() - lastExplicitReconcileFinishTime;
+        return new ReconcileProgress(reconciling, totalTaskCount, reconciledTaskCount, totalBatchCount, reconciledBatchCount,
+                lastExplicitReconcileStartTime, lastExplicitReconcileFinishTime, lastImplicitReconcileTime, implicitFallbackCount, lagMillis);
+    }
+    
     @Override
     protected Scheduler scheduler() {
         FrameworkConfiguration configuration = BootstrapEnvironment.getInstance().getFrameworkConfiguration();
         return Scheduler.newFixedDelaySchedule(configuration.getReconcileIntervalMinutes(), configuration.getReconcileIntervalMinutes(), TimeUnit.MINUTES);
     }
+    
+    /**
+     * 协调进度.
+     * 
+     * <p>
+     * 延迟为距最近一次完整显式协调结束的毫秒数, 从未完成过时为-1.
+     * </p>
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static final class ReconcileProgress {
+        
+        private final boolean reconciling;
+        
+        private final int totalTaskCount;
+        
+        private final int reconciledTaskCount;
+        
+        private final int totalBatchCount;
+        
+        private final int reconciledBatchCount;
+        
+        private final long lastExplicitReconcileStartTime;
+        
+        private final long lastExplicitReconcileFinishTime;
+        
+        private final long lastImplicitReconcileTime;
+        
+        private final int implicitFallbackCount;
+        
+        private final long lagMillis;
+    }
 }
@@ -18,12 +18,7 @@
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
 import com.dangdang.ddframe.job.cloud.scheduler.ha.FrameworkIDService;
-import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
-import com.dangdang.ddframe.job.context.TaskContext;
-import com.dangdang.ddframe.job.event.JobEventBus;
-import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
-import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
-import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
 import com.netflix.fenzo.TaskScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,25 +41,28 @@ public final class SchedulerEngine implements Scheduler {
     
     private final FacadeService facadeService;
     
-    private final JobEventBus jobEventBus;
+    private final TaskStatusUpdateService taskStatusUpdateService;
     
     private final FrameworkIDService frameworkIDService;
     
-    private final StatisticManager statisticManager;
-    
     @Override
     public void registered(final SchedulerDriver schedulerDriver, final Protos.FrameworkID frameworkID, final Protos.MasterInfo masterInfo) {
         log.info("call registered");
         frameworkIDService.save(frameworkID.getValue());
         taskScheduler.expireAllLeases();
+        LeasesQueue.getInstance().clear();
         MesosStateService.register(masterInfo.getHostname(), masterInfo.getPort());
+        ExecutorStateCache.getInstance().invalidate();
+        new ReconcileService(schedulerDriver, facadeService).explicitReconcileAsync();
     }
     
     @Override
     public void reregistered(final SchedulerDriver schedulerDriver, final Protos.MasterInfo masterInfo) {
         log.info("call reregistered");
         taskScheduler.expireAllLeases();
+        LeasesQueue.getInstance().clear();
         MesosStateService.register(masterInfo.getHostname(), masterInfo.getPort());
+        ExecutorStateCache.getInstance().invalidate();
     }
     
     @Override
@@ -73,72 +71,19 @@ public final class SchedulerEngine implements Scheduler {
             log.trace("Adding offer {} from host {}", offer.getId(), offer.getHostname());
             LeasesQueue.getInstance().offer(offer);
         }
+        TaskLaunchSignal.getInstance().signal();
     }
     
     @Override
     public void offerRescinded(final SchedulerDriver schedulerDriver, final Protos.OfferID offerID) {
         log.trace("call offerRescinded: {}", offerID);
+        LeasesQueue.getInstance().rescind(offerID.getValue());
         taskScheduler.expireLease(offerID.getValue());
     }
     
     @Override
     public void statusUpdate(final SchedulerDriver schedulerDriver, final Protos.TaskStatus taskStatus) {
-        String taskId = taskStatus.getTaskId().getValue();
-        TaskContext taskContext = TaskContext.from(taskId);
-        String jobName = taskContext.getMetaInfo().getJobName();
-        log.trace("call statusUpdate task state is: {}, task id is: {}", taskStatus.getState(), taskId);
-        jobEventBus.post(new JobStatusTraceEvent(jobName, taskContext.getId(), taskContext.getSlaveId(), Source.CLOUD_SCHEDULER, 
-                taskContext.getType(), String.valueOf(taskContext.getMetaInfo().getShardingItems()), State.valueOf(taskStatus.getState().name()), taskStatus.getMessage()));
-        switch (taskStatus.getState()) {
-            case TASK_RUNNING:
-                if (!facadeService.load(jobName).isPresent()) {
-                    schedulerDriver.killTask(Protos.TaskID.newBuilder().setValue(taskId).build());
-                }
-                if ("BEGIN".equals(taskStatus.getMessage())) {
-                    facadeService.updateDaemonStatus(taskContext, false);
-                } else if ("COMPLETE".equals(taskStatus.getMessage())) {
-                    facadeService.updateDaemonStatus(taskContext, true);
-                    statisticManager.taskRunSuccessfully();
-                }
-                break;
-            case TASK_FINISHED:
-                facadeService.removeRunning(taskContext);
-                unAssignTask(taskId);
-                statisticManager.taskRunSuccessfully();
-                break;
-            case TASK_KILLED:
-                log.warn("task id is: {}, status is: {}, message is: {}, source is: {}", taskId, taskStatus.getState(), taskStatus.getMessage(), taskStatus.getSource());
-                facadeService.removeRunning(taskContext);
-                facadeService.addDaemonJobToReadyQueue(jobName);
-                unAssignTask(taskId);
-                break;
-            case TASK_LOST:
-            case TASK_DROPPED:
-            case TASK_GONE:
-            case TASK_GONE_BY_OPERATOR:
-            case TASK_FAILED:
-            case TASK_ERROR:
-                log.warn("task id is: {}, status is: {}, message is: {}, source is: {}", taskId, taskStatus.getState(), taskStatus.getMessage(), taskStatus.getSource());
-                facadeService.removeRunning(taskContext);
-                facadeService.recordFailoverTask(taskContext);
-                unAssignTask(taskId);
-                statisticManager.taskRunFailed();
-                break;
-            case TASK_UNKNOWN:
-            case TASK_UNREACHABLE:
-                log.error("task id is: {}, status is: {}, message is: {}, source is: {}", taskId, taskStatus.getState(), taskStatus.getMessage(), taskStatus.getSource());
-                statisticManager.taskRunFailed();
-                break;
-            default:
-                break;
-        }
-    }
-    
-    private void unAssignTask(final String taskId) {
-        String hostname = facadeService.popMapping(taskId);
-        if (null != hostname) {
-            taskScheduler.getTaskUnAssigner().call(TaskContext.getIdForUnassignedSlave(taskId), hostname);
-        }
+        taskStatusUpdateService.offer(schedulerDriver, taskStatus);
     }
     
     @Override
@@ -155,12 +100,15 @@ public final class SchedulerEngine implements Scheduler {
     @Override
     public void slaveLost(final SchedulerDriver schedulerDriver, final Protos.SlaveID slaveID) {
         log.warn("call slaveLost slaveID is: {}", slaveID);
+        LeasesQueue.getInstance().rescindSlave(slaveID.getValue());
         taskScheduler.expireAllLeasesByVMId(slaveID.getValue());
+        ExecutorStateCache.getInstance().removeSlave(slaveID.getValue());
     }
     
     @Override
     public void executorLost(final SchedulerDriver schedulerDriver, final Protos.ExecutorID executorID, final Protos.SlaveID slaveID, final int i) {
         log.warn("call executorLost slaveID is: {}, executorID is: {}", slaveID, executorID);
+        ExecutorStateCache.getInstance().removeExecutor(executorID.getValue());
     }
     
     @Override
@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfigurationListener;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationListener;
 import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
 import com.dangdang.ddframe.job.cloud.scheduler.env.MesosConfiguration;
@@ -53,6 +54,10 @@ public final class SchedulerService {
     
     private static final String WEB_UI_PROTOCOL = "http://";
     
+    private static final long LEASE_OFFER_EXPIRY_SECONDS = 60L;
+    
+    private static final double DECLINE_OFFER_REFUSE_SECONDS = 5d;
+    
     private final BootstrapEnvironment env;
     
     private final FacadeService facadeService;
@@ -65,8 +70,12 @@ public final class SchedulerService {
     
     private final CloudJobConfigurationListener cloudJobConfigurationListener;
     
+    private final CloudAppConfigurationListener cloudAppConfigurationListener;
+    
     private final Service taskLaunchScheduledService;
     
+    private final Service taskStatusUpdateService;
+    
     private final RestfulService restfulService;
     
     private final ReconcileService reconcileService;
@@ -77,15 +86,18 @@ public final class SchedulerService {
         statisticManager = StatisticManager.getInstance(regCenter, env.getJobEventRdbConfiguration());
         TaskScheduler taskScheduler = getTaskScheduler();
         JobEventBus jobEventBus = getJobEventBus();
-        schedulerDriver = getSchedulerDriver(taskScheduler, jobEventBus, new FrameworkIDService(regCenter));
+        TaskStatusUpdateService taskStatusUpdateService = new TaskStatusUpdateService(taskScheduler, facadeService, jobEventBus, statisticManager);
+        this.taskStatusUpdateService = taskStatusUpdateService;
+        schedulerDriver = getSchedulerDriver(taskScheduler, taskStatusUpdateService, new FrameworkIDService(regCenter));
         producerManager = new ProducerManager(schedulerDriver, regCenter);
         cloudJobConfigurationListener =  new CloudJobConfigurationListener(regCenter, producerManager);
+        cloudAppConfigurationListener = new CloudAppConfigurationListener(regCenter);
         taskLaunchScheduledService = new TaskLaunchScheduledService(schedulerDriver, taskScheduler, facadeService, jobEventBus);
         reconcileService = new ReconcileService(schedulerDriver, facadeService);
         restfulService = new RestfulService(regCenter, env.getRestfulServerConfiguration(), producerManager, reconcileService);
     }
     
-    private SchedulerDriver getSchedulerDriver(final TaskScheduler taskScheduler, final JobEventBus jobEventBus, final FrameworkIDService frameworkIDService) {
+    private SchedulerDriver getSchedulerDriver(final TaskScheduler taskScheduler, final TaskStatusUpdateService taskStatusUpdateService, final FrameworkIDService frameworkIDService) {
         Optional<String> frameworkIDOptional = frameworkIDService.fetch();
         Protos.FrameworkInfo.Builder builder = Protos.FrameworkInfo.newBuilder();
         if (frameworkIDOptional.isPresent()) {
@@ -102,18 +114,19 @@ public final class SchedulerService {
         Protos.FrameworkInfo frameworkInfo = builder.setUser(mesosConfig.getUser()).setName(frameworkName)
                 .setHostname(mesosConfig.getHostname()).setFailoverTimeout(FRAMEWORK_FAILOVER_TIMEOUT_SECONDS)
                 .setWebuiUrl(WEB_UI_PROTOCOL + env.getFrameworkHostPort()).setCheckpoint(true).build();
-        return new MesosSchedulerDriver(new SchedulerEngine(taskScheduler, facadeService, jobEventBus, frameworkIDService, statisticManager), frameworkInfo, mesosConfig.getUrl());
+        return new MesosSchedulerDriver(new SchedulerEngine(taskScheduler, facadeService, taskStatusUpdateService, frameworkIDService), frameworkInfo, mesosConfig.getUrl());
     }
     
     private TaskScheduler getTaskScheduler() {
         return new TaskScheduler.Builder()
-                .withLeaseOfferExpirySecs(1000000000L)
+                .withLeaseOfferExpirySecs(LEASE_OFFER_EXPIRY_SECONDS)
                 .withLeaseRejectAction(new Action1<VirtualMachineLease>() {
                     
                     @Override
                     public void call(final VirtualMachineLease lease) {
                         log.warn("Declining offer on '{}'", lease.hostname());
-                        schedulerDriver.declineOffer(lease.getOffer().getId());
+                        LeasesQueue.getInstance().release(lease.getOffer().getId().getValue());
+                        schedulerDriver.declineOffer(lease.getOffer().getId(), Protos.Filters.newBuilder().setRefuseSeconds(DECLINE_OFFER_REFUSE_SECONDS).build());
                     }
                 }).build();
     }
@@ -130,11 +143,22 @@ public final class SchedulerService {
      * 以守护进程方式启动.
      */
     public void start() {
-        facadeService.start();
+        start(false);
+    }
+    
+    /**
+     * 以守护进程方式启动.
+     * 
+     * @param warmStandby 是否由热备状态启动
+     */
+    public void start(final boolean warmStandby) {
+        facadeService.start(warmStandby);
         producerManager.startup();
         statisticManager.startup();
         cloudJobConfigurationListener.start();
+        cloudAppConfigurationListener.start();
         taskLaunchScheduledService.startAsync();
+        taskStatusUpdateService.startAsync();
         restfulService.start();
         schedulerDriver.start();
         if (env.getFrameworkConfiguration().isEnabledReconcile()) {
@@ -149,9 +173,11 @@ public final class SchedulerService {
         restfulService.stop();
         taskLaunchScheduledService.stopAsync();
         cloudJobConfigurationListener.stop();
+        cloudAppConfigurationListener.stop();
         statisticManager.shutdown();
         producerManager.shutdown();
         schedulerDriver.stop(true);
+        taskStatusUpdateService.stopAsync().awaitTerminated();
         facadeService.stop();
         if (env.getFrameworkConfiguration().isEnabledReconcile()) {
             reconcileService.stopAsync();
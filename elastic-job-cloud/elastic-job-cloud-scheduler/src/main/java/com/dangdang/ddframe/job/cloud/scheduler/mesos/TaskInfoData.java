@@ -22,7 +22,10 @@ import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType
 import com.dangdang.ddframe.job.config.dataflow.DataflowJobConfiguration;
 import com.dangdang.ddframe.job.config.script.ScriptJobConfiguration;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.executor.TaskPayload;
 import com.dangdang.ddframe.job.executor.handler.JobProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.SerializationUtils;
 
@@ -31,34 +34,72 @@ import java.util.Map;
 
 /**
  * 随任务传递的数据.
+ * 
+ * <p>
+ * 默认使用Java序列化格式, 以兼容仅支持该格式的执行器. 应用开启紧凑任务数据后使用{@link TaskPayload}的紧凑二进制格式.
+ * 紧凑格式下作业配置上下文按作业配置对象缓存其编码结果, 作业配置未变化时其对象由作业配置缓存复用, 每次任务仅编码分片相关的数据.
+ * 执行器闲置超时时间随作业配置上下文下发, 而非放入执行器信息, 因为Mesos要求同一执行器ID的执行器信息保持不变.
+ * </p>
  *
  * @author zhangliang
  */
 @RequiredArgsConstructor
 public final class TaskInfoData {
     
+    private static final String EXECUTOR_IDLE_TIMEOUT_SECONDS = "executorIdleTimeoutSeconds";
+    
+    private static final Cache<CloudJobConfiguration, EncodedJobConfigurationContext> ENCODED_JOB_CONFIGS = CacheBuilder.newBuilder().weakKeys().build();
+    
     private final ShardingContexts shardingContexts;
     
     private final CloudJobConfiguration jobConfig;
     
+    private final boolean compactPayload;
+    
+    private final int executorIdleTimeoutSeconds;
+    
+    public TaskInfoData(final ShardingContexts shardingContexts, final CloudJobConfiguration jobConfig) {
+        this(shardingContexts, jobConfig, false);
+    }
+    
+    public TaskInfoData(final ShardingContexts shardingContexts, final CloudJobConfiguration jobConfig, final boolean compactPayload) {
+        this(shardingContexts, jobConfig, compactPayload, 0);
+    }
+    
     /**
      * 序列化.
      * 
      * @return 序列化后的字节数组
      */
     public byte[] serialize() {
+        if (compactPayload) {
+            return TaskPayload.encode(getEncodedJobConfigurationContext(), shardingContexts);
+        }
         LinkedHashMap<String, Object> result = new LinkedHashMap<>(2, 1);
         result.put("shardingContext", shardingContexts);
         result.put("jobConfigContext", buildJobConfigurationContext());
         return SerializationUtils.serialize(result);
     }
     
+    private byte[] getEncodedJobConfigurationContext() {
+        EncodedJobConfigurationContext result = ENCODED_JOB_CONFIGS.getIfPresent(jobConfig);
+        if (null == result || executorIdleTimeoutSeconds != result.executorIdleTimeoutSeconds) {
+            result = new EncodedJobConfigurationContext(executorIdleTimeoutSeconds, TaskPayload.encodeJobConfigurationContext(buildJobConfigurationContext()));
+            ENCODED_JOB_CONFIGS.put(jobConfig, result);
+        }
+        return result.data;
+    }
+    
     private Map<String, String> buildJobConfigurationContext() {
         Map<String, String> result = new LinkedHashMap<>(16, 1);
         result.put("jobType", jobConfig.getTypeConfig().getJobType().name());
         result.put("jobName", jobConfig.getJobName());
         result.put("jobClass", jobConfig.getTypeConfig().getJobClass());
         result.put("cron", CloudJobExecutionType.DAEMON == jobConfig.getJobExecutionType() ? jobConfig.getTypeConfig().getCoreConfig().getCron() : "");
+        if (CloudJobExecutionType.DAEMON == jobConfig.getJobExecutionType()) {
+            result.put("fixedRateMilliseconds", Long.toString(jobConfig.getTypeConfig().getCoreConfig().getFixedRateMilliseconds()));
+            result.put("fixedDelayMilliseconds", Long.toString(jobConfig.getTypeConfig().getCoreConfig().getFixedDelayMilliseconds()));
+        }
         result.put("jobExceptionHandler", jobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobProperties.JobPropertiesEnum.JOB_EXCEPTION_HANDLER));
         result.put("executorServiceHandler", jobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobProperties.JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER));
         if (jobConfig.getTypeConfig() instanceof DataflowJobConfiguration) {
@@ -68,6 +109,17 @@ public final class TaskInfoData {
         }
         result.put("beanName", jobConfig.getBeanName());
         result.put("applicationContext", jobConfig.getApplicationContext());
+        if (executorIdleTimeoutSeconds > 0) {
+            result.put(EXECUTOR_IDLE_TIMEOUT_SECONDS, Integer.toString(executorIdleTimeoutSeconds));
+        }
         return result;
     }
+    
+    @RequiredArgsConstructor
+    private static final class EncodedJobConfigurationContext {
+        
+        private final int executorIdleTimeoutSeconds;
+        
+        private final byte[] data;
+    }
 }
@@ -22,6 +22,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
 import com.dangdang.ddframe.job.config.script.ScriptJobConfiguration;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.context.TaskContext;
@@ -35,9 +36,8 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
-import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.AbstractExecutionThreadService;
 import com.google.protobuf.ByteString;
-import com.netflix.fenzo.TaskAssignmentResult;
 import com.netflix.fenzo.TaskRequest;
 import com.netflix.fenzo.TaskScheduler;
 import com.netflix.fenzo.VMAssignmentResult;
@@ -58,17 +58,25 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 任务提交调度服务.
  * 
+ * <p>
+ * 收到任务提交信号时立即提交任务, 两次提交之间至少间隔最小提交间隔, 期间到达的信号合并为一次;
+ * 超过最长等待时间未收到信号时也会提交一次, 以兜底未发出信号的状态变化.
+ * </p>
+ * 
  * @author zhangliang
  * @author gaohongtao
  */
 @RequiredArgsConstructor
 @Slf4j
-public final class TaskLaunchScheduledService extends AbstractScheduledService {
+public final class TaskLaunchScheduledService extends AbstractExecutionThreadService {
+    
+    static final long MIN_INTERVAL_MILLISECONDS = 100L;
+    
+    static final long MAX_WAIT_MILLISECONDS = 10 * 1000L;
     
     private final SchedulerDriver schedulerDriver;
     
@@ -85,37 +93,54 @@ public final class TaskLaunchScheduledService extends AbstractScheduledService {
         return "task-launch-processor";
     }
     
-    @Override
-    protected Scheduler scheduler() {
-        return Scheduler.newFixedDelaySchedule(2, 10, TimeUnit.SECONDS);
-    }
-    
     @Override
     protected void startUp() throws Exception {
         log.info("Elastic Job: Start {}", serviceName());
         AppConstraintEvaluator.init(facadeService);
     }
     
+    @Override
+    protected void run() throws Exception {
+        while (isRunning()) {
+            TaskLaunchSignal.getInstance().await(MAX_WAIT_MILLISECONDS);
+            if (!isRunning()) {
+                break;
+            }
+            runOneIteration();
+            Thread.sleep(MIN_INTERVAL_MILLISECONDS);
+        }
+    }
+    
+    @Override
+    protected void triggerShutdown() {
+        TaskLaunchSignal.getInstance().signal();
+    }
+    
     @Override
     protected void shutDown() throws Exception {
         log.info("Elastic Job: Stop {}", serviceName());
     }
     
-    @Override
-    protected void runOneIteration() throws Exception {
+    void runOneIteration() {
+        long startTime = System.nanoTime();
+        long scheduleOnceNanos = 0L;
+        int launchedTaskCount = 0;
         try {
             LaunchingTasks launchingTasks = new LaunchingTasks(facadeService.getEligibleJobContext());
             List<TaskRequest> taskRequests = launchingTasks.getPendingTasks();
             if (!taskRequests.isEmpty()) {
                 AppConstraintEvaluator.getInstance().loadAppRunningState();
             }
+            long scheduleOnceStartTime = System.nanoTime();
             Collection<VMAssignmentResult> vmAssignmentResults = taskScheduler.scheduleOnce(taskRequests, LeasesQueue.getInstance().drainTo()).getResultMap().values();
+            scheduleOnceNanos = System.nanoTime() - scheduleOnceStartTime;
+            Collection<String> integrityViolationJobs = launchingTasks.getIntegrityViolationJobs(vmAssignmentResults);
             List<TaskContext> taskContextsList = new LinkedList<>();
             Map<List<Protos.OfferID>, List<Protos.TaskInfo>> offerIdTaskInfoMap = new HashMap<>();
             for (VMAssignmentResult each: vmAssignmentResults) {
                 List<VirtualMachineLease> leasesUsed = each.getLeasesUsed();
                 List<Protos.TaskInfo> taskInfoList = new ArrayList<>(each.getTasksAssigned().size() * 10);
-                taskInfoList.addAll(getTaskInfoList(launchingTasks.getIntegrityViolationJobs(vmAssignmentResults), each, leasesUsed.get(0).hostname(), leasesUsed.get(0).getOffer()));
+                taskInfoList.addAll(getTaskInfoList(integrityViolationJobs, launchingTasks.getLaunchingTaskRequests(each), leasesUsed.get(0).hostname(), leasesUsed.get(0).getOffer()));
                 for (Protos.TaskInfo taskInfo : taskInfoList) {
                     taskContextsList.add(TaskContext.from(taskInfo.getTaskId().getValue()));
                 }
@@ -126,8 +151,12 @@ public final class TaskLaunchScheduledService extends AbstractScheduledService {
                 jobEventBus.post(createJobStatusTraceEvent(each));
             }
             facadeService.removeLaunchTasksFromQueue(taskContextsList);
+            launchedTaskCount = taskContextsList.size();
             for (Entry<List<OfferID>, List<TaskInfo>> each : offerIdTaskInfoMap.entrySet()) {
                 schedulerDriver.launchTasks(each.getKey(), each.getValue());
+                for (OfferID offerID : each.getKey()) {
+                    LeasesQueue.getInstance().release(offerID.getValue());
+                }
             }
             //CHECKSTYLE:OFF
         } catch (Throwable throwable) {
@@ -135,28 +164,29 @@ public final class TaskLaunchScheduledService extends AbstractScheduledService {
             log.error("Launch task error", throwable);
         } finally {
             AppConstraintEvaluator.getInstance().clearAppRunningState();
+            TaskLaunchStatistics.getInstance().record(System.nanoTime() - startTime, scheduleOnceNanos, launchedTaskCount);
         }
     }
     
-    private List<Protos.TaskInfo> getTaskInfoList(final Collection<String> integrityViolationJobs, final VMAssignmentResult vmAssignmentResult, final String hostname, final Protos.Offer offer) {
-        List<Protos.TaskInfo> result = new ArrayList<>(vmAssignmentResult.getTasksAssigned().size());
-        for (TaskAssignmentResult each: vmAssignmentResult.getTasksAssigned()) {
-            TaskContext taskContext = TaskContext.from(each.getTaskId());
+    private List<Protos.TaskInfo> getTaskInfoList(final Collection<String> integrityViolationJobs, final List<TaskRequest> taskRequests, final String hostname, final Protos.Offer offer) {
+        List<Protos.TaskInfo> result = new ArrayList<>(taskRequests.size());
+        for (TaskRequest each: taskRequests) {
+            TaskContext taskContext = TaskContext.from(each.getId());
             String jobName = taskContext.getMetaInfo().getJobName();
             if (!integrityViolationJobs.contains(jobName) && !facadeService.isRunning(taskContext) && !facadeService.isJobDisabled(jobName)) {
                 Protos.TaskInfo taskInfo = getTaskInfo(offer, each);
                 if (null != taskInfo) {
                     result.add(taskInfo);
                     facadeService.addMapping(taskInfo.getTaskId().getValue(), hostname);
-                    taskScheduler.getTaskAssigner().call(each.getRequest(), hostname);
+                    taskScheduler.getTaskAssigner().call(each, hostname);
                 }
             }
         }
         return result;
     }
     
-    private Protos.TaskInfo getTaskInfo(final Protos.Offer offer, final TaskAssignmentResult taskAssignmentResult) {
-        TaskContext taskContext = TaskContext.from(taskAssignmentResult.getTaskId());
+    private Protos.TaskInfo getTaskInfo(final Protos.Offer offer, final TaskRequest taskRequest) {
+        TaskContext taskContext = TaskContext.from(taskRequest.getId());
         Optional<CloudJobConfiguration> jobConfigOptional = facadeService.load(taskContext.getMetaInfo().getJobName());
         if (!jobConfigOptional.isPresent()) {
             return null;
@@ -185,30 +215,33 @@ public final class TaskLaunchScheduledService extends AbstractScheduledService {
     
     private ShardingContexts getShardingContexts(final TaskContext taskContext, final CloudAppConfiguration appConfig, final CloudJobConfiguration jobConfig) {
         Map<Integer, String> shardingItemParameters = new ShardingItemParameters(jobConfig.getTypeConfig().getCoreConfig().getShardingItemParameters()).getMap();
-        Map<Integer, String> assignedShardingItemParameters = new HashMap<>(1, 1);
-        int shardingItem = taskContext.getMetaInfo().getShardingItems().get(0);
-        assignedShardingItemParameters.put(shardingItem, shardingItemParameters.containsKey(shardingItem) ? shardingItemParameters.get(shardingItem) : "");
+        Map<Integer, String> assignedShardingItemParameters = new HashMap<>(taskContext.getMetaInfo().getShardingItems().size(), 1);
+        for (int each : taskContext.getMetaInfo().getShardingItems()) {
+            assignedShardingItemParameters.put(each, shardingItemParameters.containsKey(each) ? shardingItemParameters.get(each) : "");
+        }
         return new ShardingContexts(taskContext.getId(), jobConfig.getJobName(), jobConfig.getTypeConfig().getCoreConfig().getShardingTotalCount(),
                 jobConfig.getTypeConfig().getCoreConfig().getJobParameter(), assignedShardingItemParameters, appConfig.getEventTraceSamplingCount());
     }
     
     private Protos.TaskInfo buildCommandExecutorTaskInfo(final TaskContext taskContext, final CloudJobConfiguration jobConfig, final ShardingContexts shardingContexts,
                                                          final Protos.Offer offer, final Protos.CommandInfo command) {
+        int shardingItemCount = taskContext.getMetaInfo().getShardingItems().size();
         Protos.TaskInfo.Builder result = Protos.TaskInfo.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskContext.getId()).build())
                 .setName(taskContext.getTaskName()).setSlaveId(offer.getSlaveId())
-                .addResources(buildResource("cpus", jobConfig.getCpuCount(), offer.getResourcesList()))
-                .addResources(buildResource("mem", jobConfig.getMemoryMB(), offer.getResourcesList()))
+                .addResources(buildResource("cpus", jobConfig.getCpuCount() * shardingItemCount, offer.getResourcesList()))
+                .addResources(buildResource("mem", jobConfig.getMemoryMB() * shardingItemCount, offer.getResourcesList()))
                 .setData(ByteString.copyFrom(new TaskInfoData(shardingContexts, jobConfig).serialize()));
         return result.setCommand(command).build();
     }
     
     private Protos.TaskInfo buildCustomizedExecutorTaskInfo(final TaskContext taskContext, final CloudAppConfiguration appConfig, final CloudJobConfiguration jobConfig, 
                                                             final ShardingContexts shardingContexts, final Protos.Offer offer, final Protos.CommandInfo command) {
+        int shardingItemCount = taskContext.getMetaInfo().getShardingItems().size();
         Protos.TaskInfo.Builder result = Protos.TaskInfo.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskContext.getId()).build())
                 .setName(taskContext.getTaskName()).setSlaveId(offer.getSlaveId())
-                .addResources(buildResource("cpus", jobConfig.getCpuCount(), offer.getResourcesList()))
-                .addResources(buildResource("mem", jobConfig.getMemoryMB(), offer.getResourcesList()))
-                .setData(ByteString.copyFrom(new TaskInfoData(shardingContexts, jobConfig).serialize()));
+                .addResources(buildResource("cpus", jobConfig.getCpuCount() * shardingItemCount, offer.getResourcesList()))
+                .addResources(buildResource("mem", jobConfig.getMemoryMB() * shardingItemCount, offer.getResourcesList()))
+                .setData(ByteString.copyFrom(new TaskInfoData(shardingContexts, jobConfig, appConfig.isCompactTaskPayload(), appConfig.getExecutorIdleTimeoutSeconds()).serialize()));
         Protos.ExecutorInfo.Builder executorBuilder = Protos.ExecutorInfo.newBuilder().setExecutorId(Protos.ExecutorID.newBuilder()
                 .setValue(taskContext.getExecutorId(jobConfig.getAppName()))).setCommand(command)
                 .addResources(buildResource("cpus", appConfig.getCpuCount(), offer.getResourcesList()))
@@ -0,0 +1,153 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 任务提交统计.
+ * 
+ * <p>
+ * 记录每次任务提交的总耗时, Fenzo分配资源的耗时和提交的任务数量, 用于评估调度性能.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TaskLaunchStatistics {
+    
+    private static final TaskLaunchStatistics INSTANCE = new TaskLaunchStatistics();
+    
+    private final AtomicLong iterationCount = new AtomicLong();
+    
+    private final AtomicLong totalIterationNanos = new AtomicLong();
+    
+    private final AtomicLong maxIterationNanos = new AtomicLong();
+    
+    private final AtomicLong totalScheduleOnceNanos = new AtomicLong();
+    
+    private final AtomicLong maxScheduleOnceNanos = new AtomicLong();
+    
+    private final AtomicLong launchedTaskCount = new AtomicLong();
+    
+    /**
+     * 获取实例.
+     * 
+     * @return 单例对象
+     */
+    public static TaskLaunchStatistics getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * 记录一次任务提交.
+     * 
+     * @param iterationNanos 本次提交的总耗时纳秒数
+     * @param scheduleOnceNanos 本次Fenzo分配资源的耗时纳秒数
+     * @param launchedTaskCount 本次提交的任务数量
+     */
+    public void record(final long iterationNanos, final long scheduleOnceNanos, final int launchedTaskCount) {
+        iterationCount.incrementAndGet();
+        totalIterationNanos.addAndGet(iterationNanos);
+        updateMax(maxIterationNanos, iterationNanos);
+        totalScheduleOnceNanos.addAndGet(scheduleOnceNanos);
+        updateMax(maxScheduleOnceNanos, scheduleOnceNanos);
+        this.launchedTaskCount.addAndGet(launchedTaskCount);
+    }
+    
+    private void updateMax(final AtomicLong max, final long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+    
+    /**
+     * 获取任务提交次数.
+     * 
+     * @return 任务提交次数
+     */
+    public long getIterationCount() {
+        return iterationCount.get();
+    }
+    
+    /**
+     * 获取平均每次任务提交的耗时毫秒数.
+     * 
+     * @return 平均每次任务提交的耗时毫秒数
+     */
+    public double getAverageIterationMillis() {
+        return average(totalIterationNanos);
+    }
+    
+    /**
+     * 获取单次任务提交的最长耗时毫秒数.
+     * 
+     * @return 单次任务提交的最长耗时毫秒数
+     */
+    public double getMaxIterationMillis() {
+        return maxIterationNanos.get() / 1000000d;
+    }
+    
+    /**
+     * 获取平均每次Fenzo分配资源的耗时毫秒数.
+     * 
+     * @return 平均每次Fenzo分配资源的耗时毫秒数
+     */
+    public double getAverageScheduleOnceMillis() {
+        return average(totalScheduleOnceNanos);
+    }
+    
+    /**
+     * 获取单次Fenzo分配资源的最长耗时毫秒数.
+     * 
+     * @return 单次Fenzo分配资源的最长耗时毫秒数
+     */
+    public double getMaxScheduleOnceMillis() {
+        return maxScheduleOnceNanos.get() / 1000000d;
+    }
+    
+    /**
+     * 获取提交的任务总数.
+     * 
+     * @return 提交的任务总数
+     */
+    public long getLaunchedTaskCount() {
+        return launchedTaskCount.get();
+    }
+    
+    private double average(final AtomicLong totalNanos) {
+        long count = iterationCount.get();
+        return 0L == count ? 0d : totalNanos.get() / 1000000d / count;
+    }
+    
+    /**
+     * 清空统计.
+     */
+    public void reset() {
+        iterationCount.set(0L);
+        totalIterationNanos.set(0L);
+        maxIterationNanos.set(0L);
+        totalScheduleOnceNanos.set(0L);
+        maxScheduleOnceNanos.set(0L);
+        launchedTaskCount.set(0L);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AbstractExecutionThreadService;
+import com.netflix.fenzo.TaskScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.mesos.Protos;
+import org.apache.mesos.SchedulerDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务状态更新处理服务.
+ * 
+ * <p>
+ * Mesos回调线程仅将任务状态放入队列, 由独立线程批量取出, 按作业分组后依次处理, 同一批次内每个作业仅加载一次配置, 仅发出一次任务提交信号.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class TaskStatusUpdateService extends AbstractExecutionThreadService {
+    
+    static final int MAX_BATCH_SIZE = 1024;
+    
+    private static final long POLL_TIMEOUT_MILLISECONDS = 100L;
+    
+    private final TaskScheduler taskScheduler;
+    
+    private final FacadeService facadeService;
+    
+    private final JobEventBus jobEventBus;
+    
+    private final StatisticManager statisticManager;
+    
+    private final BlockingQueue<TaskStatusUpdate> queue = new LinkedBlockingQueue<>();
+    
+    @Override
+    protected String serviceName() {
+        return "task-status-update-processor";
+    }
+    
+    @Override
+    protected void startUp() throws Exception {
+        log.info("Elastic Job: Start {}", serviceName());
+    }
+    
+    @Override
+    protected void run() throws Exception {
+        while (isRunning()) {
+            TaskStatusUpdate first = queue.poll(POLL_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+            if (null != first) {
+                List<TaskStatusUpdate> batch = new ArrayList<>(MAX_BATCH_SIZE);
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                try {
+                    process(batch);
+                    //CHECKSTYLE:OFF
+                } catch (final Throwable throwable) {
+                    //CHECKSTYLE:ON
+                    log.error("Process task status updates error", throwable);
+                }
+            }
+        }
+    }
+    
+    @Override
+    protected void shutDown() throws Exception {
+        processPending();
+        log.info("Elastic Job: Stop {}", serviceName());
+    }
+    
+    /**
+     * 将任务状态放入待处理队列.
+     * 
+     * @param schedulerDriver 调度器驱动
+     * @param taskStatus 任务状态
+     */
+    public void offer(final SchedulerDriver schedulerDriver, final Protos.TaskStatus taskStatus) {
+        queue.offer(new TaskStatusUpdate(schedulerDriver, taskStatus));
+    }
+    
+    /**
+     * 获取待处理的任务状态数量.
+     * 
+     * @return 待处理的任务状态数量
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+    
+    void processPending() {
+        List<TaskStatusUpdate> batch = new ArrayList<>(queue.size());
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            process(batch);
+        }
+    }
+    
+    private void process(final List<TaskStatusUpdate> batch) {
+        boolean resourceReleased = false;
+        for (Entry<String, List<TaskStatusUpdate>> entry : groupByJobName(batch).entrySet()) {
+            Optional<CloudJobConfiguration> jobConfig = null;
+            for (TaskStatusUpdate each : entry.getValue()) {
+                try {
+                    if (Protos.TaskState.TASK_RUNNING == each.taskStatus.getState() && null == jobConfig) {
+                        jobConfig = facadeService.load(entry.getKey());
+                    }
+                    resourceReleased = process(each.schedulerDriver, each.taskStatus, jobConfig) || resourceReleased;
+                    //CHECKSTYLE:OFF
+                } catch (final Throwable throwable) {
+                    //CHECKSTYLE:ON
+                    log.error("Process status update of task '{}' error", each.taskStatus.getTaskId().getValue(), throwable);
+                }
+            }
+        }
+        if (resourceReleased) {
+            TaskLaunchSignal.getInstance().signal();
+        }
+    }
+    
+    private Map<String, List<TaskStatusUpdate>> groupByJobName(final List<TaskStatusUpdate> batch) {
+        Map<String, List<TaskStatusUpdate>> result = new LinkedHashMap<>();
+        for (TaskStatusUpdate each : batch) {
+            String jobName;
+            try {
+                jobName = TaskContext.from(each.taskStatus.getTaskId().getValue()).getMetaInfo().getJobName();
+                //CHECKSTYLE:OFF
+            } catch (final Throwable throwable) {
+                //CHECKSTYLE:ON
+                log.error("Process status update of task '{}' error", each.taskStatus.getTaskId().getValue(), throwable);
+                continue;
+            }
+            List<TaskStatusUpdate> updates = result.get(jobName);
+            if (null == updates) {
+                updates = new LinkedList<>();
+                result.put(jobName, updates);
+            }
+            updates.add(each);
+        }
+        return result;
+    }
+    
+    private boolean process(final SchedulerDriver schedulerDriver, final Protos.TaskStatus taskStatus, final Optional<CloudJobConfiguration> jobConfig) {
+        String taskId = taskStatus.getTaskId().getValue();
+        TaskContext taskContext = TaskContext.from(taskId);
+        String jobName = taskContext.getMetaInfo().getJobName();
+        log.trace("call statusUpdate task state is: {}, task id is: {}", taskStatus.getState(), taskId);
+        jobEventBus.post(new JobStatusTraceEvent(jobName, taskContext.getId(), taskContext.getSlaveId(), Source.CLOUD_SCHEDULER, 
+                taskContext.getType(), String.valueOf(taskContext.getMetaInfo().getShardingItems()), JobStatusTraceEvent.State.valueOf(taskStatus.getState().name()), taskStatus.getMessage()));
+        switch (taskStatus.getState()) {
+            case TASK_RUNNING:
+                if (jobConfig.isPresent()) {
+                    ExecutorStateCache.getInstance().putExecutor(taskContext.getExecutorId(jobConfig.get().getAppName()), taskContext.getSlaveId());
+                } else {
+                    schedulerDriver.killTask(Protos.TaskID.newBuilder().setValue(taskId).build());
+                }
+                if ("BEGIN".equals(taskStatus.getMessage())) {
+                    facadeService.updateDaemonStatus(taskContext, false);
+                } else if ("COMPLETE".equals(taskStatus.getMessage())) {
+                    facadeService.updateDaemonStatus(taskContext, true);
+                    statisticManager.taskRunSuccessfully();
+                }
+                return false;
+            case TASK_FINISHED:
+                facadeService.removeRunning(taskContext);
+                unAssignTask(taskId);
+                statisticManager.taskRunSuccessfully();
+                return true;
+            case TASK_KILLED:
+                log.warn("task id is: {}, status is: {}, message is: {}, source is: {}", taskId, taskStatus.getState(), taskStatus.getMessage(), taskStatus.getSource());
+                facadeService.removeRunning(taskContext);
+                facadeService.addDaemonJobToReadyQueue(jobName);
+                unAssignTask(taskId);
+                return true;
+            case TASK_LOST:
+            case TASK_DROPPED:
+            case TASK_GONE:
+            case TASK_GONE_BY_OPERATOR:
+            case TASK_FAILED:
+            case TASK_ERROR:
+                log.warn("task id is: {}, status is: {}, message is: {}, source is: {}", taskId, taskStatus.getState(), taskStatus.getMessage(), taskStatus.getSource());
+                facadeService.removeRunning(taskContext);
+                facadeService.recordFailoverTask(taskContext);
+                unAssignTask(taskId);
+                statisticManager.taskRunFailed();
+                return true;
+            case TASK_UNKNOWN:
+            case TASK_UNREACHABLE:
+                log.error("task id is: {}, status is: {}, message is: {}, source is: {}", taskId, taskStatus.getState(), taskStatus.getMessage(), taskStatus.getSource());
+                statisticManager.taskRunFailed();
+                return false;
+            default:
+                return false;
+        }
+    }
+    
+    private void unAssignTask(final String taskId) {
+        String hostname = facadeService.popMapping(taskId);
+        if (null != hostname) {
+            taskScheduler.getTaskUnAssigner().call(TaskContext.getIdForUnassignedSlave(taskId), hostname);
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TaskStatusUpdate {
+        
+        private final SchedulerDriver schedulerDriver;
+        
+        private final Protos.TaskStatus taskStatus;
+    }
+}
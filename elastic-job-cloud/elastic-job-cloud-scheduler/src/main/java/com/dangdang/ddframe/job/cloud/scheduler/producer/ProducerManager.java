@@ -26,11 +26,13 @@ import com.dangdang.ddframe.job.cloud.scheduler.state.disable.app.DisableAppServ
 import com.dangdang.ddframe.job.cloud.scheduler.state.disable.job.DisableJobService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.exception.AppConfigurationException;
 import com.dangdang.ddframe.job.exception.JobConfigurationException;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.mesos.Protos;
@@ -91,6 +93,7 @@ public final class ProducerManager {
      * @param jobConfig 作业配置
      */
     public void register(final CloudJobConfiguration jobConfig) {
+        checkTriggerConfiguration(jobConfig);
         if (disableJobService.isDisabled(jobConfig.getJobName())) {
             throw new JobConfigurationException("Job '%s' has been disable.", jobConfig.getJobName());
         }
@@ -112,6 +115,7 @@ public final class ProducerManager {
      * @param jobConfig 作业配置
      */
     public void update(final CloudJobConfiguration jobConfig) {
+        checkTriggerConfiguration(jobConfig);
         Optional<CloudJobConfiguration> jobConfigFromZk = configService.load(jobConfig.getJobName());
         if (!jobConfigFromZk.isPresent()) {
             throw new JobConfigurationException("Cannot found job '%s', please register first.", jobConfig.getJobName());
@@ -120,6 +124,16 @@ public final class ProducerManager {
         reschedule(jobConfig.getJobName());
     }
     
+    private void checkTriggerConfiguration(final CloudJobConfiguration jobConfig) {
+        if (CloudJobExecutionType.TRANSIENT != jobConfig.getJobExecutionType()) {
+            return;
+        }
+        JobCoreConfiguration coreConfig = jobConfig.getTypeConfig().getCoreConfig();
+        if (Strings.isNullOrEmpty(coreConfig.getCron()) || coreConfig.getFixedRateMilliseconds() > 0 || coreConfig.getFixedDelayMilliseconds() > 0) {
+            throw new JobConfigurationException("Transient job '%s' only supports cron trigger, fixedRate and fixedDelay are for daemon jobs.", jobConfig.getJobName());
+        }
+    }
+    
     /**
      * 注销作业.
      * 
@@ -167,10 +167,8 @@ public final class CloudAppRestfulApi {
     public void disable(@PathParam("appName") final String appName) {
         if (appConfigService.load(appName).isPresent()) {
             disableAppService.add(appName);
-            for (CloudJobConfiguration each : jobConfigService.loadAll()) {
-                if (appName.equals(each.getAppName())) {
-                    producerManager.unschedule(each.getJobName());
-                }
+            for (CloudJobConfiguration each : jobConfigService.loadAllByAppName(appName)) {
+                producerManager.unschedule(each.getJobName());
             }
         }
     }
@@ -186,10 +184,8 @@ public final class CloudAppRestfulApi {
     public void enable(@PathParam("appName") final String appName) throws JSONException {
         if (appConfigService.load(appName).isPresent()) {
             disableAppService.remove(appName);
-            for (CloudJobConfiguration each : jobConfigService.loadAll()) {
-                if (appName.equals(each.getAppName())) {
-                    producerManager.reschedule(each.getJobName());
-                }
+            for (CloudJobConfiguration each : jobConfigService.loadAllByAppName(appName)) {
+                producerManager.reschedule(each.getJobName());
             }
         }
     }
@@ -210,10 +206,8 @@ public final class CloudAppRestfulApi {
     }
     
     private void removeAppAndJobConfigurations(final String appName) {
-        for (CloudJobConfiguration each : jobConfigService.loadAll()) {
-            if (appName.equals(each.getAppName())) {
-                producerManager.deregister(each.getJobName());
-            }
+        for (CloudJobConfiguration each : jobConfigService.loadAllByAppName(appName)) {
+            producerManager.deregister(each.getJobName());
         }
         disableAppService.remove(appName);
         appConfigService.remove(appName);
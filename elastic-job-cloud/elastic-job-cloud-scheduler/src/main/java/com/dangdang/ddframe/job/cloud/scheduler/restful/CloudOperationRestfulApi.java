@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.restful;
 
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.LeasesQueue;
 import com.dangdang.ddframe.job.cloud.scheduler.mesos.MesosStateService;
 import com.dangdang.ddframe.job.cloud.scheduler.mesos.ReconcileService;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
@@ -67,7 +68,7 @@ public final class CloudOperationRestfulApi {
     @Path("/reconcile/explicit")
     public void explicitReconcile() {
         validReconcileInterval();
-        reconcileService.explicitReconcile();
+        reconcileService.explicitReconcileAsync();
     }
     
     /**
@@ -80,6 +81,17 @@ public final class CloudOperationRestfulApi {
         reconcileService.implicitReconcile();
     }
     
+    /**
+     * 获取协调进度.
+     * 
+     * @return 协调进度
+     */
+    @GET
+    @Path("/reconcile/progress")
+    public ReconcileService.ReconcileProgress reconcileProgress() {
+        return reconcileService.getProgress();
+    }
+    
     private void validReconcileInterval() {
         if (System.currentTimeMillis() < lastReconcileTime + RECONCILE_MILLIS_INTERVAL) {
             throw new RuntimeException("Repeat explicitReconcile");
@@ -100,4 +112,15 @@ public final class CloudOperationRestfulApi {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(appName), "Lack param 'appName'");
         return mesosStateService.sandbox(appName);
     }
+    
+    /**
+     * 获取当前持有的Mesos资源量.
+     *
+     * @return 当前持有的资源量
+     */
+    @GET
+    @Path("/leases")
+    public LeasesQueue.HeldResources leases() {
+        return LeasesQueue.getInstance().getHeldResources();
+    }
 }
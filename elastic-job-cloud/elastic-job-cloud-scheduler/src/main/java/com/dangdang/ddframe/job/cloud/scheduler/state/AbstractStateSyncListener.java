@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state;
+
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 作业状态变更同步监听.
+ * 
+ * <p>
+ * 热备调度器通过监听注册中心中的运行中任务, 待运行队列和失效转移队列, 将变更的作业同步至内存, 以便成为主节点时无需重建.
+ * 子类仅需提供监听的根路径和作业的同步方式.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public abstract class AbstractStateSyncListener implements TreeCacheListener {
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
+    private final String rootPath;
+    
+    private ExecutorService listenerExecutor;
+    
+    protected AbstractStateSyncListener(final CoordinatorRegistryCenter regCenter, final String rootPath) {
+        this.regCenter = regCenter;
+        this.rootPath = rootPath;
+    }
+    
+    @Override
+    public final void childEvent(final CuratorFramework client, final TreeCacheEvent event) throws Exception {
+        String path = null == event.getData() ? "" : event.getData().getPath();
+        if (!path.startsWith(rootPath + "/") || Type.NODE_ADDED != event.getType() && Type.NODE_UPDATED != event.getType() && Type.NODE_REMOVED != event.getType()) {
+            return;
+        }
+        String jobPath = path.substring(rootPath.length() + 1);
+        int delimiterIndex = jobPath.indexOf('/');
+        sync(-1 == delimiterIndex ? jobPath : jobPath.substring(0, delimiterIndex));
+    }
+    
+    /**
+     * 启动同步监听服务.
+     * 
+     * <p>
+     * 先注册监听再全量同步, 避免遗漏同步期间的变更.
+     * </p>
+     */
+    public synchronized void start() {
+        if (null != listenerExecutor) {
+            return;
+        }
+        listenerExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("state-sync-listener-%d").build());
+        getCache().getListenable().addListener(this, listenerExecutor);
+        for (String each : regCenter.getChildrenKeys(rootPath)) {
+            sync(each);
+        }
+    }
+    
+    /**
+     * 停止同步监听服务.
+     */
+    public synchronized void stop() {
+        if (null == listenerExecutor) {
+            return;
+        }
+        getCache().getListenable().removeListener(this);
+        listenerExecutor.shutdown();
+        listenerExecutor = null;
+    }
+    
+    private TreeCache getCache() {
+        TreeCache result = (TreeCache) regCenter.getRawCache(rootPath);
+        if (null != result) {
+            return result;
+        }
+        regCenter.addCacheData(rootPath);
+        return (TreeCache) regCenter.getRawCache(rootPath);
+    }
+    
+    /**
+     * 将作业的状态从注册中心同步至内存.
+     * 
+     * @param jobName 作业名称
+     */
+    protected abstract void sync(String jobName);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 任务提交信号.
+ * 
+ * <p>
+ * 资源, 待执行队列, 失效转移队列或运行状态发生变化时发出信号, 唤醒任务提交调度服务.
+ * 尚未被消费的多次信号合并为一次.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TaskLaunchSignal {
+    
+    private static final TaskLaunchSignal INSTANCE = new TaskLaunchSignal();
+    
+    private final Lock lock = new ReentrantLock();
+    
+    private final Condition signalCondition = lock.newCondition();
+    
+    private boolean signalled;
+    
+    /**
+     * 获取实例.
+     * 
+     * @return 单例对象
+     */
+    public static TaskLaunchSignal getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * 发出信号.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            signalled = true;
+            signalCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 等待信号并消费.
+     * 
+     * @param maxWaitMilliseconds 最长等待毫秒数
+     * @return 超时前是否收到信号
+     * @throws InterruptedException 等待被中断时抛出的异常
+     */
+    public boolean await(final long maxWaitMilliseconds) throws InterruptedException {
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMilliseconds);
+            while (!signalled && remainingNanos > 0L) {
+                remainingNanos = signalCondition.awaitNanos(remainingNanos);
+            }
+            boolean result = signalled;
+            signalled = false;
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
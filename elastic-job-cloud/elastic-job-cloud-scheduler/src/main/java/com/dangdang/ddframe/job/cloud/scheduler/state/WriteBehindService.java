@@ -0,0 +1,206 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state;
+
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 状态队列延迟写入服务.
+ * 
+ * <p>
+ * 启动后, 对注册中心的写入仅记录在内存中, 由后台线程按固定间隔批量写入, 同一节点在一个间隔内的多次持久化仅写入最终值.
+ * 删除节点时丢弃该节点及其子节点未写入的持久化, 因此未写入的持久化均晚于覆盖它的删除, 批量写入时先执行全部删除再执行持久化即可保持原有顺序.
+ * 写入失败时未完成的变更放回队列, 并让位于期间产生的新变更.
+ * 未启动时直接写入注册中心.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class WriteBehindService {
+    
+    static final long FLUSH_INTERVAL_MILLISECONDS = 100L;
+    
+    private static final NavigableMap<String, String> PENDING_PERSISTS = new TreeMap<>();
+    
+    private static final Set<String> PENDING_REMOVALS = new LinkedHashSet<>();
+    
+    private static volatile ScheduledExecutorService flushExecutor;
+    
+    private final CoordinatorRegistryCenter regCenter;
+    
+    /**
+     * 启动延迟写入.
+     */
+    public void start() {
+        synchronized (WriteBehindService.class) {
+            if (null != flushExecutor) {
+                return;
+            }
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cloud-state-write-behind-%d").build());
+            flushExecutor.scheduleWithFixedDelay(new Runnable() {
+                
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, FLUSH_INTERVAL_MILLISECONDS, FLUSH_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * 停止延迟写入并写入全部未写入的变更.
+     */
+    public void stop() {
+        synchronized (WriteBehindService.class) {
+            if (null == flushExecutor) {
+                return;
+            }
+            flushExecutor.shutdown();
+            try {
+                flushExecutor.awaitTermination(FLUSH_INTERVAL_MILLISECONDS * 10, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            flushExecutor = null;
+        }
+        flush();
+    }
+    
+    /**
+     * 持久化节点.
+     * 
+     * @param key 节点路径
+     * @param value 节点值
+     */
+    public void persist(final String key, final String value) {
+        if (null == flushExecutor) {
+            regCenter.persist(key, value);
+            return;
+        }
+        synchronized (PENDING_PERSISTS) {
+            PENDING_PERSISTS.put(key, value);
+        }
+    }
+    
+    /**
+     * 删除节点.
+     * 
+     * @param key 节点路径
+     */
+    public void remove(final String key) {
+        if (null == flushExecutor) {
+            regCenter.remove(key);
+            return;
+        }
+        synchronized (PENDING_PERSISTS) {
+            PENDING_PERSISTS.remove(key);
+            // '0'是'/'的下一个字符, 该区间即为全部子节点路径
+            PENDING_PERSISTS.subMap(key + "/", key + "0").clear();
+            PENDING_REMOVALS.add(key);
+        }
+    }
+    
+    /**
+     * 将未写入的变更批量写入注册中心.
+     */
+    public void flush() {
+        List<String> removals;
+        Map<String, String> persists;
+        synchronized (PENDING_PERSISTS) {
+            if (PENDING_REMOVALS.isEmpty() && PENDING_PERSISTS.isEmpty()) {
+                return;
+            }
+            removals = new ArrayList<>(PENDING_REMOVALS);
+            persists = new LinkedHashMap<>(PENDING_PERSISTS);
+            PENDING_REMOVALS.clear();
+            PENDING_PERSISTS.clear();
+        }
+        String currentKey = null;
+        try {
+            Iterator<String> removalIterator = removals.iterator();
+            while (removalIterator.hasNext()) {
+                currentKey = removalIterator.next();
+                regCenter.remove(currentKey);
+                removalIterator.remove();
+            }
+            Iterator<Entry<String, String>> persistIterator = persists.entrySet().iterator();
+            while (persistIterator.hasNext()) {
+                Entry<String, String> each = persistIterator.next();
+                currentKey = each.getKey();
+                regCenter.persist(each.getKey(), each.getValue());
+                persistIterator.remove();
+            }
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.error("Elastic Job: Write behind '{}' error, will retry next time.", currentKey, ex);
+            requeue(removals, persists);
+        }
+    }
+    
+    private void requeue(final Collection<String> removals, final Map<String, String> persists) {
+        synchronized (PENDING_PERSISTS) {
+            for (Entry<String, String> each : persists.entrySet()) {
+                if (!PENDING_PERSISTS.containsKey(each.getKey()) && !isPendingRemoved(each.getKey())) {
+                    PENDING_PERSISTS.put(each.getKey(), each.getValue());
+                }
+            }
+            PENDING_REMOVALS.addAll(removals);
+        }
+    }
+    
+    private boolean isPendingRemoved(final String key) {
+        for (int i = key.length(); i > 0; i = key.lastIndexOf('/', i - 1)) {
+            if (PENDING_REMOVALS.contains(key.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 获取未写入的变更数量.
+     * 
+     * @return 未写入的变更数量
+     */
+    public int getPendingCount() {
+        synchronized (PENDING_PERSISTS) {
+            return PENDING_REMOVALS.size() + PENDING_PERSISTS.size();
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
+import com.dangdang.ddframe.job.cloud.scheduler.state.WriteBehindService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.context.TaskContext;
@@ -40,16 +42,26 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * 失效转移队列服务.
+ * 
+ * <p>
+ * 失效转移队列以内存为准, 按作业名称索引, 变更通过延迟写入服务批量持久化至注册中心, 调度器启动时从注册中心重建.
+ * </p>
  *
  * @author zhangliang
  */
 @Slf4j
 public final class FailoverService {
     
+    private static final ConcurrentHashMap<String, ConcurrentMap<String, String>> FAILOVER_TASKS = new ConcurrentHashMap<>();
+    
     private final BootstrapEnvironment env = BootstrapEnvironment.getInstance();
     
     private final CoordinatorRegistryCenter regCenter;
@@ -58,10 +70,75 @@ public final class FailoverService {
     
     private final RunningService runningService;
     
+    private final WriteBehindService writeBehindService;
+    
     public FailoverService(final CoordinatorRegistryCenter regCenter) {
         this.regCenter = regCenter;
         configService = new CloudJobConfigurationService(regCenter);
         runningService = new RunningService(regCenter);
+        writeBehindService = new WriteBehindService(regCenter);
+    }
+    
+    /**
+     * 从注册中心重建失效转移队列.
+     */
+    public void start() {
+        synchronized (FAILOVER_TASKS) {
+            FAILOVER_TASKS.clear();
+            if (!regCenter.isExisted(FailoverNode.ROOT)) {
+                return;
+            }
+            for (String each : regCenter.getChildrenKeys(FailoverNode.ROOT)) {
+                List<String> taskMetaInfoList = regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath(each));
+                if (taskMetaInfoList.isEmpty()) {
+                    regCenter.remove(FailoverNode.getFailoverJobNodePath(each));
+                    continue;
+                }
+                ConcurrentMap<String, String> failoverTasks = new ConcurrentSkipListMap<>();
+                for (String taskMetaInfo : taskMetaInfoList) {
+                    String originalTaskId = regCenter.getDirectly(FailoverNode.getFailoverTaskNodePath(taskMetaInfo));
+                    if (!Strings.isNullOrEmpty(originalTaskId)) {
+                        failoverTasks.put(taskMetaInfo, originalTaskId);
+                    }
+                }
+                if (!failoverTasks.isEmpty()) {
+                    FAILOVER_TASKS.put(each, failoverTasks);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 从注册中心同步作业的失效转移任务.
+     * 
+     * <p>
+     * 用于热备调度器跟随主节点的状态, 仅更新内存, 不写入注册中心.
+     * </p>
+     * 
+     * @param jobName 作业名称
+     */
+    void sync(final String jobName) {
+        ConcurrentMap<String, String> failoverTasks = new ConcurrentSkipListMap<>();
+        for (String each : regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath(jobName))) {
+            String originalTaskId = regCenter.get(FailoverNode.getFailoverTaskNodePath(each));
+            if (!Strings.isNullOrEmpty(originalTaskId)) {
+                failoverTasks.put(each, originalTaskId);
+            }
+        }
+        synchronized (FAILOVER_TASKS) {
+            if (failoverTasks.isEmpty()) {
+                FAILOVER_TASKS.remove(jobName);
+            } else {
+                FAILOVER_TASKS.put(jobName, failoverTasks);
+            }
+        }
+    }
+    
+    /**
+     * 清空内存中的失效转移队列.
+     */
+    public void clear() {
+        FAILOVER_TASKS.clear();
     }
     
     /**
@@ -70,14 +147,32 @@ public final class FailoverService {
      * @param taskContext 任务运行时上下文
      */
     public void add(final TaskContext taskContext) {
-        if (regCenter.getNumChildren(FailoverNode.ROOT) > env.getFrameworkConfiguration().getJobStateQueueSize()) {
+        if (FAILOVER_TASKS.size() > env.getFrameworkConfiguration().getJobStateQueueSize()) {
             log.warn("Cannot add job, caused by read state queue size is larger than {}.", env.getFrameworkConfiguration().getJobStateQueueSize());
             return;
         }
-        String failoverTaskNodePath = FailoverNode.getFailoverTaskNodePath(taskContext.getMetaInfo().toString());
-        if (!regCenter.isExisted(failoverTaskNodePath) && !runningService.isTaskRunning(taskContext.getMetaInfo())) {
-            // TODO Daemon类型作业增加存储是否立即失效转移
-            regCenter.persist(failoverTaskNodePath, taskContext.getId());
+        String jobName = taskContext.getMetaInfo().getJobName();
+        boolean added = false;
+        synchronized (FAILOVER_TASKS) {
+            // 合并多个分片项的任务按分片项拆分失效转移
+            for (MetaInfo each : split(taskContext.getMetaInfo())) {
+                String taskMetaInfo = each.toString();
+                ConcurrentMap<String, String> failoverTasks = FAILOVER_TASKS.get(jobName);
+                if (null != failoverTasks && failoverTasks.containsKey(taskMetaInfo) || runningService.isTaskRunning(each)) {
+                    continue;
+                }
+                if (null == failoverTasks) {
+                    failoverTasks = new ConcurrentSkipListMap<>();
+                    FAILOVER_TASKS.put(jobName, failoverTasks);
+                }
+                // TODO Daemon类型作业增加存储是否立即失效转移
+                failoverTasks.put(taskMetaInfo, taskContext.getId());
+                writeBehindService.persist(FailoverNode.getFailoverTaskNodePath(taskMetaInfo), taskContext.getId());
+                added = true;
+            }
+        }
+        if (added) {
+            TaskLaunchSignal.getInstance().signal();
         }
     }
     
@@ -87,34 +182,31 @@ public final class FailoverService {
      * @return 有资格执行的作业上下文集合
      */
     public Collection<JobContext> getAllEligibleJobContexts() {
-        if (!regCenter.isExisted(FailoverNode.ROOT)) {
+        if (FAILOVER_TASKS.isEmpty()) {
             return Collections.emptyList();
         }
-        List<String> jobNames = regCenter.getChildrenKeys(FailoverNode.ROOT);
-        Collection<JobContext> result = new ArrayList<>(jobNames.size());
-        Set<HashCode> assignedTasks = new HashSet<>(jobNames.size() * 10, 1);
-        for (String each : jobNames) {
-            List<String> taskIdList = regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath(each));
-            if (taskIdList.isEmpty()) {
-                regCenter.remove(FailoverNode.getFailoverJobNodePath(each));
+        Collection<JobContext> result = new ArrayList<>(FAILOVER_TASKS.size());
+        Set<HashCode> assignedTasks = new HashSet<>(FAILOVER_TASKS.size() * 10, 1);
+        for (Entry<String, ConcurrentMap<String, String>> each : FAILOVER_TASKS.entrySet()) {
+            if (each.getValue().isEmpty()) {
                 continue;
             }
-            Optional<CloudJobConfiguration> jobConfig = configService.load(each);
+            Optional<CloudJobConfiguration> jobConfig = configService.load(each.getKey());
             if (!jobConfig.isPresent()) {
-                regCenter.remove(FailoverNode.getFailoverJobNodePath(each));
+                removeJob(each.getKey());
                 continue;
             }
-            List<Integer> assignedShardingItems = getAssignedShardingItems(each, taskIdList, assignedTasks);
-            if (!assignedShardingItems.isEmpty() && jobConfig.isPresent()) {
+            List<Integer> assignedShardingItems = getAssignedShardingItems(each.getKey(), each.getValue().keySet(), assignedTasks);
+            if (!assignedShardingItems.isEmpty()) {
                 result.add(new JobContext(jobConfig.get(), assignedShardingItems, ExecutionType.FAILOVER));    
             }
         }
         return result;
     }
     
-    private List<Integer> getAssignedShardingItems(final String jobName, final List<String> taskIdList, final Set<HashCode> assignedTasks) {
-        List<Integer> result = new ArrayList<>(taskIdList.size());
-        for (String each : taskIdList) {
+    private List<Integer> getAssignedShardingItems(final String jobName, final Collection<String> taskMetaInfoList, final Set<HashCode> assignedTasks) {
+        List<Integer> result = new ArrayList<>(taskMetaInfoList.size());
+        for (String each : taskMetaInfoList) {
             TaskContext.MetaInfo metaInfo = TaskContext.MetaInfo.from(each);
             if (assignedTasks.add(Hashing.md5().newHasher().putString(jobName, Charsets.UTF_8).putInt(metaInfo.getShardingItems().get(0)).hash()) && !runningService.isTaskRunning(metaInfo)) {
                 result.add(metaInfo.getShardingItems().get(0));
@@ -123,14 +215,37 @@ public final class FailoverService {
         return result;
     }
     
+    private void removeJob(final String jobName) {
+        synchronized (FAILOVER_TASKS) {
+            ConcurrentMap<String, String> failoverTasks = FAILOVER_TASKS.remove(jobName);
+            if (null == failoverTasks) {
+                return;
+            }
+            for (String each : failoverTasks.keySet()) {
+                writeBehindService.remove(FailoverNode.getFailoverTaskNodePath(each));
+            }
+        }
+    }
+    
     /**
      * 从失效转移队列中删除相关任务.
      * 
      * @param metaInfoList 待删除的任务元信息集合
      */
     public void remove(final Collection<TaskContext.MetaInfo> metaInfoList) {
-        for (TaskContext.MetaInfo each : metaInfoList) {
-            regCenter.remove(FailoverNode.getFailoverTaskNodePath(each.toString()));
+        synchronized (FAILOVER_TASKS) {
+            for (TaskContext.MetaInfo metaInfo : metaInfoList) {
+                for (TaskContext.MetaInfo each : split(metaInfo)) {
+                    ConcurrentMap<String, String> failoverTasks = FAILOVER_TASKS.get(each.getJobName());
+                    if (null != failoverTasks) {
+                        failoverTasks.remove(each.toString());
+                        if (failoverTasks.isEmpty()) {
+                            FAILOVER_TASKS.remove(each.getJobName());
+                        }
+                    }
+                    writeBehindService.remove(FailoverNode.getFailoverTaskNodePath(each.toString()));
+                }
+            }
         }
     }
     
@@ -141,12 +256,8 @@ public final class FailoverService {
      * @return 失效转移任务Id
      */
     public Optional<String> getTaskId(final MetaInfo metaInfo) {
-        String failoverTaskNodePath = FailoverNode.getFailoverTaskNodePath(metaInfo.toString());
-        Optional<String> result = Optional.absent();
-        if (regCenter.isExisted(failoverTaskNodePath)) {
-            result = Optional.of(regCenter.get(failoverTaskNodePath));
-        }
-        return result;
+        ConcurrentMap<String, String> failoverTasks = FAILOVER_TASKS.get(metaInfo.getJobName());
+        return null == failoverTasks ? Optional.<String>absent() : Optional.fromNullable(failoverTasks.get(split(metaInfo).get(0).toString()));
     }
     
     /**
@@ -155,34 +266,26 @@ public final class FailoverService {
      * @return 待失效转移的全部任务
      */
     public Map<String, Collection<FailoverTaskInfo>> getAllFailoverTasks() {
-        if (!regCenter.isExisted(FailoverNode.ROOT)) {
-            return Collections.emptyMap();
-        }
-        List<String> jobNames = regCenter.getChildrenKeys(FailoverNode.ROOT);
-        Map<String, Collection<FailoverTaskInfo>> result = new HashMap<>(jobNames.size(), 1);
-        for (String each : jobNames) {
-            Collection<FailoverTaskInfo> failoverTasks = getFailoverTasks(each);
+        Map<String, Collection<FailoverTaskInfo>> result = new HashMap<>(FAILOVER_TASKS.size(), 1);
+        for (Entry<String, ConcurrentMap<String, String>> each : FAILOVER_TASKS.entrySet()) {
+            Collection<FailoverTaskInfo> failoverTasks = new ArrayList<>(each.getValue().size());
+            for (Entry<String, String> task : each.getValue().entrySet()) {
+                failoverTasks.add(new FailoverTaskInfo(MetaInfo.from(task.getKey()), task.getValue()));
+            }
             if (!failoverTasks.isEmpty()) {
-                result.put(each, failoverTasks);
+                result.put(each.getKey(), failoverTasks);
             }
         }
         return result;
     }
     
-    /**
-     * 获取待失效转移的任务集合.
-     *
-     * @param jobName 作业名称
-     * @return 待失效转移的任务集合
-     */
-    private Collection<FailoverTaskInfo> getFailoverTasks(final String jobName) {
-        List<String> failOverTasks = regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath(jobName));
-        List<FailoverTaskInfo> result = new ArrayList<>(failOverTasks.size());
-        for (String each : failOverTasks) {
-            String originalTaskId = regCenter.get(FailoverNode.getFailoverTaskNodePath(each));
-            if (!Strings.isNullOrEmpty(originalTaskId)) {
-                result.add(new FailoverTaskInfo(MetaInfo.from(each), originalTaskId));
-            }
+    private List<MetaInfo> split(final MetaInfo metaInfo) {
+        if (1 >= metaInfo.getShardingItems().size()) {
+            return Collections.singletonList(metaInfo);
+        }
+        List<MetaInfo> result = new ArrayList<>(metaInfo.getShardingItems().size());
+        for (int each : metaInfo.getShardingItems()) {
+            result.add(new MetaInfo(metaInfo.getJobName(), Collections.singletonList(each)));
         }
         return result;
     }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state.failover;
+
+import com.dangdang.ddframe.job.cloud.scheduler.state.AbstractStateSyncListener;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+
+/**
+ * 失效转移任务变更监听.
+ *
+ * @author zhangliang
+ */
+public final class FailoverTaskListener extends AbstractStateSyncListener {
+    
+    private final FailoverService failoverService;
+    
+    public FailoverTaskListener(final CoordinatorRegistryCenter regCenter) {
+        super(regCenter, FailoverNode.ROOT);
+        failoverService = new FailoverService(regCenter);
+    }
+    
+    @Override
+    protected void sync(final String jobName) {
+        failoverService.sync(jobName);
+    }
+}
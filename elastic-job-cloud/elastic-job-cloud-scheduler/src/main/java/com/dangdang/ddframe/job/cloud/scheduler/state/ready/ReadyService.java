@@ -23,6 +23,8 @@ import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
+import com.dangdang.ddframe.job.cloud.scheduler.state.WriteBehindService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Function;
@@ -37,9 +39,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 待运行作业队列服务.
+ * 
+ * <p>
+ * 待运行作业队列以内存为准, 变更通过延迟写入服务批量持久化至注册中心, 调度器启动时从注册中心重建.
+ * </p>
  *
  * @author zhangliang
  * @author liguangyun
@@ -47,6 +54,8 @@ import java.util.Map;
 @Slf4j
 public final class ReadyService {
     
+    private static final ConcurrentHashMap<String, Integer> READY_JOBS = new ConcurrentHashMap<>();
+    
     private final BootstrapEnvironment env = BootstrapEnvironment.getInstance();
     
     private final CoordinatorRegistryCenter regCenter;
@@ -55,10 +64,58 @@ public final class ReadyService {
     
     private final RunningService runningService;
     
+    private final WriteBehindService writeBehindService;
+    
     public ReadyService(final CoordinatorRegistryCenter regCenter) {
         this.regCenter = regCenter;
         configService = new CloudJobConfigurationService(regCenter);
         runningService = new RunningService(regCenter);
+        writeBehindService = new WriteBehindService(regCenter);
+    }
+    
+    /**
+     * 从注册中心重建待运行作业队列.
+     */
+    public void start() {
+        synchronized (READY_JOBS) {
+            READY_JOBS.clear();
+            if (!regCenter.isExisted(ReadyNode.ROOT)) {
+                return;
+            }
+            for (String each : regCenter.getChildrenKeys(ReadyNode.ROOT)) {
+                String times = regCenter.getDirectly(ReadyNode.getReadyJobNodePath(each));
+                if (!Strings.isNullOrEmpty(times)) {
+                    READY_JOBS.put(each, Integer.parseInt(times));
+                }
+            }
+        }
+    }
+    
+    /**
+     * 从注册中心同步作业的待运行次数.
+     * 
+     * <p>
+     * 用于热备调度器跟随主节点的状态, 仅更新内存, 不写入注册中心.
+     * </p>
+     * 
+     * @param jobName 作业名称
+     */
+    void sync(final String jobName) {
+        String times = regCenter.get(ReadyNode.getReadyJobNodePath(jobName));
+        synchronized (READY_JOBS) {
+            if (Strings.isNullOrEmpty(times)) {
+                READY_JOBS.remove(jobName);
+            } else {
+                READY_JOBS.put(jobName, Integer.parseInt(times));
+            }
+        }
+    }
+    
+    /**
+     * 清空内存中的待运行作业队列.
+     */
+    public void clear() {
+        READY_JOBS.clear();
     }
     
     /**
@@ -67,7 +124,7 @@ public final class ReadyService {
      * @param jobName 作业名称
      */
     public void addTransient(final String jobName) {
-        if (regCenter.getNumChildren(ReadyNode.ROOT) > env.getFrameworkConfiguration().getJobStateQueueSize()) {
+        if (READY_JOBS.size() > env.getFrameworkConfiguration().getJobStateQueueSize()) {
             log.warn("Cannot add transient job, caused by read state queue size is larger than {}.", env.getFrameworkConfiguration().getJobStateQueueSize());
             return;
         }
@@ -75,13 +132,11 @@ public final class ReadyService {
         if (!cloudJobConfig.isPresent() || CloudJobExecutionType.TRANSIENT != cloudJobConfig.get().getJobExecutionType()) {
             return;
         }
-        String readyJobNode = ReadyNode.getReadyJobNodePath(jobName);
-        String times = regCenter.getDirectly(readyJobNode);
-        if (cloudJobConfig.get().getTypeConfig().getCoreConfig().isMisfire()) {
-            regCenter.persist(readyJobNode, Integer.toString(null == times ? 1 : Integer.parseInt(times) + 1));
-        } else {
-            regCenter.persist(ReadyNode.getReadyJobNodePath(jobName), "1");
+        synchronized (READY_JOBS) {
+            Integer times = READY_JOBS.get(jobName);
+            put(jobName, cloudJobConfig.get().getTypeConfig().getCoreConfig().isMisfire() && null != times ? times + 1 : 1);
         }
+        TaskLaunchSignal.getInstance().signal();
     }
     
     /**
@@ -90,7 +145,7 @@ public final class ReadyService {
      * @param jobName 作业名称
      */
     public void addDaemon(final String jobName) {
-        if (regCenter.getNumChildren(ReadyNode.ROOT) > env.getFrameworkConfiguration().getJobStateQueueSize()) {
+        if (READY_JOBS.size() > env.getFrameworkConfiguration().getJobStateQueueSize()) {
             log.warn("Cannot add daemon job, caused by read state queue size is larger than {}.", env.getFrameworkConfiguration().getJobStateQueueSize());
             return;
         }
@@ -98,7 +153,10 @@ public final class ReadyService {
         if (!cloudJobConfig.isPresent() || CloudJobExecutionType.DAEMON != cloudJobConfig.get().getJobExecutionType() || runningService.isJobRunning(jobName)) {
             return;
         }
-        regCenter.persist(ReadyNode.getReadyJobNodePath(jobName), "1");
+        synchronized (READY_JOBS) {
+            put(jobName, 1);
+        }
+        TaskLaunchSignal.getInstance().signal();
     }
     
     /**
@@ -108,8 +166,13 @@ public final class ReadyService {
      */
     public void setMisfireDisabled(final String jobName) {
         Optional<CloudJobConfiguration> cloudJobConfig = configService.load(jobName);
-        if (cloudJobConfig.isPresent() && null != regCenter.getDirectly(ReadyNode.getReadyJobNodePath(jobName))) {
-            regCenter.persist(ReadyNode.getReadyJobNodePath(jobName), "1");
+        if (!cloudJobConfig.isPresent()) {
+            return;
+        }
+        synchronized (READY_JOBS) {
+            if (READY_JOBS.containsKey(jobName)) {
+                put(jobName, 1);
+            }
         }
     }
     
@@ -120,7 +183,7 @@ public final class ReadyService {
      * @return 有资格执行的作业上下文集合
      */
     public Collection<JobContext> getAllEligibleJobContexts(final Collection<JobContext> ineligibleJobContexts) {
-        if (!regCenter.isExisted(ReadyNode.ROOT)) {
+        if (READY_JOBS.isEmpty()) {
             return Collections.emptyList();
         }
         Collection<String> ineligibleJobNames = Collections2.transform(ineligibleJobContexts, new Function<JobContext, String>() {
@@ -130,15 +193,16 @@ public final class ReadyService {
                 return input.getJobConfig().getJobName();
             }
         });
-        List<String> jobNames = regCenter.getChildrenKeys(ReadyNode.ROOT);
-        List<JobContext> result = new ArrayList<>(jobNames.size());
-        for (String each : jobNames) {
+        List<JobContext> result = new ArrayList<>(READY_JOBS.size());
+        for (String each : READY_JOBS.keySet()) {
             if (ineligibleJobNames.contains(each)) {
                 continue;
             }
             Optional<CloudJobConfiguration> jobConfig = configService.load(each);
             if (!jobConfig.isPresent()) {
-                regCenter.remove(ReadyNode.getReadyJobNodePath(each));
+                synchronized (READY_JOBS) {
+                    delete(each);
+                }
                 continue;
             }
             if (!runningService.isJobRunning(each)) {
@@ -154,35 +218,34 @@ public final class ReadyService {
      * @param jobNames 待删除的作业名集合
      */
     public void remove(final Collection<String> jobNames) {
-        for (String each : jobNames) {
-            String readyJobNode = ReadyNode.getReadyJobNodePath(each);
-            String timesStr = regCenter.getDirectly(readyJobNode);
-            int times = null == timesStr ? 0 : Integer.parseInt(timesStr);
-            if (times <= 1) {
-                regCenter.remove(readyJobNode);
-            } else {
-                regCenter.persist(readyJobNode, Integer.toString(times - 1));
+        synchronized (READY_JOBS) {
+            for (String each : jobNames) {
+                Integer times = READY_JOBS.get(each);
+                if (null == times || times <= 1) {
+                    delete(each);
+                } else {
+                    put(each, times - 1);
+                }
             }
         }
     }
     
+    private void put(final String jobName, final int times) {
+        READY_JOBS.put(jobName, times);
+        writeBehindService.persist(ReadyNode.getReadyJobNodePath(jobName), Integer.toString(times));
+    }
+    
+    private void delete(final String jobName) {
+        READY_JOBS.remove(jobName);
+        writeBehindService.remove(ReadyNode.getReadyJobNodePath(jobName));
+    }
+    
     /**
      * 获取待运行的全部任务.
      * 
      * @return 待运行的全部任务
      */
     public Map<String, Integer> getAllReadyTasks() {
-        if (!regCenter.isExisted(ReadyNode.ROOT)) {
-            return Collections.emptyMap();
-        }
-        List<String> jobNames = regCenter.getChildrenKeys(ReadyNode.ROOT);
-        Map<String, Integer> result = new HashMap<>(jobNames.size(), 1);
-        for (String each : jobNames) {
-            String times = regCenter.get(ReadyNode.getReadyJobNodePath(each));
-            if (!Strings.isNullOrEmpty(times)) {
-                result.put(each, Integer.parseInt(times));
-            }
-        }
-        return result;
+        return new HashMap<>(READY_JOBS);
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state.running;
+
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.google.common.collect.ConcurrentHashMultiset;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 作业运行中任务的索引.
+ * 
+ * <p>
+ * 按任务主键和分片项分别建立并发索引, 增删任务及判断分片项是否运行的时间复杂度与作业的任务数量无关.
+ * </p>
+ *
+ * @author zhangliang
+ */
+final class JobRunningTasks {
+    
+    private final ConcurrentHashMap<String, TaskContext> tasks = new ConcurrentHashMap<>();
+    
+    private final ConcurrentHashMultiset<Integer> runningShardingItems = ConcurrentHashMultiset.create();
+    
+    /**
+     * 添加运行中的任务.
+     * 
+     * @param taskContext 任务运行时上下文
+     * @return 任务是否为新添加
+     */
+    boolean add(final TaskContext taskContext) {
+        if (null != tasks.putIfAbsent(taskContext.getId(), taskContext)) {
+            return false;
+        }
+        for (Integer each : taskContext.getMetaInfo().getShardingItems()) {
+            runningShardingItems.add(each);
+        }
+        return true;
+    }
+    
+    /**
+     * 删除运行中的任务.
+     * 
+     * @param taskContext 任务运行时上下文
+     * @return 任务是否存在
+     */
+    boolean remove(final TaskContext taskContext) {
+        TaskContext removed = tasks.remove(taskContext.getId());
+        if (null == removed) {
+            return false;
+        }
+        for (Integer each : removed.getMetaInfo().getShardingItems()) {
+            runningShardingItems.remove(each);
+        }
+        return true;
+    }
+    
+    /**
+     * 根据任务主键获取运行中的任务.
+     * 
+     * @param taskId 任务主键
+     * @return 运行中的任务, 不存在则返回null
+     */
+    TaskContext get(final String taskId) {
+        return tasks.get(taskId);
+    }
+    
+    /**
+     * 判断任务元信息对应的任务是否运行.
+     * 
+     * <p>
+     * 运行中的任务包含元信息中的任一分片项即视为运行.
+     * </p>
+     * 
+     * @param metaInfo 任务元信息
+     * @return 任务是否运行
+     */
+    boolean isRunning(final TaskContext.MetaInfo metaInfo) {
+        if (metaInfo.getShardingItems().isEmpty()) {
+            for (TaskContext each : tasks.values()) {
+                if (each.getMetaInfo().equals(metaInfo)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Integer each : metaInfo.getShardingItems()) {
+            if (runningShardingItems.contains(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+    
+    /**
+     * 获取运行中任务的只读视图.
+     * 
+     * @return 运行中任务的只读视图
+     */
+    Collection<TaskContext> getTasks() {
+        return Collections.unmodifiableCollection(tasks.values());
+    }
+}
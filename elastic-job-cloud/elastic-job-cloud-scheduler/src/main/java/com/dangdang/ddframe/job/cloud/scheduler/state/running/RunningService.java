@@ -20,48 +20,56 @@ package com.dangdang.ddframe.job.cloud.scheduler.state.running;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
+import com.dangdang.ddframe.job.cloud.scheduler.state.WriteBehindService;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
-import com.google.common.base.Function;
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.Lists;
+import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * 任务运行时服务.
+ * 
+ * <p>
+ * 运行中的任务按作业建立并发索引, 读取全部任务时返回快照; 常驻作业的运行状态通过延迟写入服务批量写入注册中心.
+ * 任务增删时按App累计运行中任务占用的资源, 任务占用的资源按加入时的作业配置计算.
+ * </p>
  *
  * @author zhangliang
  */
-@RequiredArgsConstructor
 public final class RunningService {
     
     private static final int TASK_INITIAL_SIZE = 1024;
     
     // TODO 使用JMX导出
-    @Getter
-    private static final ConcurrentHashMap<String, Set<TaskContext>> RUNNING_TASKS = new ConcurrentHashMap<>(TASK_INITIAL_SIZE);
+    private static final ConcurrentHashMap<String, JobRunningTasks> RUNNING_TASKS = new ConcurrentHashMap<>(TASK_INITIAL_SIZE);
     
     private static final ConcurrentHashMap<String, String> TASK_HOSTNAME_MAPPER = new ConcurrentHashMap<>(TASK_INITIAL_SIZE);
     
+    private static final Map<String, TaskResources> TASK_RESOURCES = new HashMap<>(TASK_INITIAL_SIZE);
+    
+    private static final Map<String, AppRunningResources> APP_RUNNING_RESOURCES = new HashMap<>();
+    
     private final CoordinatorRegistryCenter regCenter;
     
     private final CloudJobConfigurationService configurationService;
     
+    private final WriteBehindService writeBehindService;
+    
     public RunningService(final CoordinatorRegistryCenter regCenter) {
         this.regCenter = regCenter;
         this.configurationService = new CloudJobConfigurationService(regCenter);
+        this.writeBehindService = new WriteBehindService(regCenter);
     }
     
     /**
@@ -71,17 +79,45 @@ public final class RunningService {
         clear();
         List<String> jobKeys = regCenter.getChildrenKeys(RunningNode.ROOT);
         for (String each : jobKeys) {
-            if (!configurationService.load(each).isPresent()) {
+            Optional<CloudJobConfiguration> cloudJobConfig = configurationService.load(each);
+            if (!cloudJobConfig.isPresent()) {
                 remove(each);
                 continue;
             }
-            RUNNING_TASKS.put(each, Sets.newCopyOnWriteArraySet(Lists.transform(regCenter.getChildrenKeys(RunningNode.getRunningJobNodePath(each)), new Function<String, TaskContext>() {
-                
-                @Override
-                public TaskContext apply(final String input) {
-                    return TaskContext.from(regCenter.get(RunningNode.getRunningTaskNodePath(TaskContext.MetaInfo.from(input).toString())));
-                }
-            })));
+            JobRunningTasks jobRunningTasks = new JobRunningTasks();
+            for (String taskMetaInfo : regCenter.getChildrenKeys(RunningNode.getRunningJobNodePath(each))) {
+                TaskContext taskContext = TaskContext.from(regCenter.get(RunningNode.getRunningTaskNodePath(TaskContext.MetaInfo.from(taskMetaInfo).toString())));
+                jobRunningTasks.add(taskContext);
+                allocate(taskContext, cloudJobConfig.get());
+            }
+            RUNNING_TASKS.put(each, jobRunningTasks);
+        }
+    }
+    
+    /**
+     * 从注册中心同步作业的运行中任务.
+     * 
+     * <p>
+     * 用于热备调度器跟随主节点的状态, 仅更新内存, 不写入注册中心.
+     * </p>
+     * 
+     * @param jobName 作业名称
+     */
+    void sync(final String jobName) {
+        JobRunningTasks jobRunningTasks = new JobRunningTasks();
+        for (String each : regCenter.getChildrenKeys(RunningNode.getRunningJobNodePath(jobName))) {
+            String taskId = regCenter.get(RunningNode.getRunningTaskNodePath(each));
+            if (!Strings.isNullOrEmpty(taskId)) {
+                jobRunningTasks.add(TaskContext.from(taskId));
+            }
+        }
+        JobRunningTasks previous = jobRunningTasks.isEmpty() ? RUNNING_TASKS.remove(jobName) : RUNNING_TASKS.put(jobName, jobRunningTasks);
+        release(previous);
+        Optional<CloudJobConfiguration> cloudJobConfig = configurationService.load(jobName);
+        if (cloudJobConfig.isPresent()) {
+            for (TaskContext each : jobRunningTasks.getTasks()) {
+                allocate(each, cloudJobConfig.get());
+            }
         }
     }
     
@@ -91,22 +127,28 @@ public final class RunningService {
      * @param taskContext 任务运行时上下文
      */
     public void add(final TaskContext taskContext) {
-        if (!configurationService.load(taskContext.getMetaInfo().getJobName()).isPresent()) {
+        Optional<CloudJobConfiguration> cloudJobConfig = configurationService.load(taskContext.getMetaInfo().getJobName());
+        if (!cloudJobConfig.isPresent()) {
             return;
         }
-        getRunningTasks(taskContext.getMetaInfo().getJobName()).add(taskContext);
-        if (!isDaemon(taskContext.getMetaInfo().getJobName())) {
+        if (!getOrCreateJobRunningTasks(taskContext.getMetaInfo().getJobName()).add(taskContext)) {
             return;
         }
-        String runningTaskNodePath = RunningNode.getRunningTaskNodePath(taskContext.getMetaInfo().toString());
-        if (!regCenter.isExisted(runningTaskNodePath)) {
-            regCenter.persist(runningTaskNodePath, taskContext.getId());
+        allocate(taskContext, cloudJobConfig.get());
+        if (CloudJobExecutionType.DAEMON != cloudJobConfig.get().getJobExecutionType()) {
+            return;
         }
+        writeBehindService.persist(RunningNode.getRunningTaskNodePath(taskContext.getMetaInfo().toString()), taskContext.getId());
     }
     
-    private boolean isDaemon(final String jobName) {
-        Optional<CloudJobConfiguration> cloudJobConfigurationOptional = configurationService.load(jobName);
-        return cloudJobConfigurationOptional.isPresent() && CloudJobExecutionType.DAEMON == cloudJobConfigurationOptional.get().getJobExecutionType();
+    private JobRunningTasks getOrCreateJobRunningTasks(final String jobName) {
+        JobRunningTasks result = RUNNING_TASKS.get(jobName);
+        if (null != result) {
+            return result;
+        }
+        JobRunningTasks jobRunningTasks = new JobRunningTasks();
+        result = RUNNING_TASKS.putIfAbsent(jobName, jobRunningTasks);
+        return null == result ? jobRunningTasks : result;
     }
     
     /**
@@ -115,36 +157,26 @@ public final class RunningService {
      * @param isIdle 是否闲置
      */
     public void updateIdle(final TaskContext taskContext, final boolean isIdle) {
-        synchronized (RUNNING_TASKS) {
-            Optional<TaskContext> taskContextOptional = findTask(taskContext);
-            if (taskContextOptional.isPresent()) {
-                taskContextOptional.get().setIdle(isIdle);
-            } else {
-                add(taskContext);
-            }
+        JobRunningTasks jobRunningTasks = RUNNING_TASKS.get(taskContext.getMetaInfo().getJobName());
+        TaskContext runningTaskContext = null == jobRunningTasks ? null : jobRunningTasks.get(taskContext.getId());
+        if (null != runningTaskContext) {
+            runningTaskContext.setIdle(isIdle);
+        } else {
+            add(taskContext);
         }
     }
     
-    private Optional<TaskContext> findTask(final TaskContext taskContext) {
-        return Iterators.tryFind(getRunningTasks(taskContext.getMetaInfo().getJobName()).iterator(), new Predicate<TaskContext>() {
-            @Override
-            public boolean apply(final TaskContext input) {
-                return input.equals(taskContext);
-            }
-        });
-    }
-    
     /**
      * 将作业从运行时队列删除.
      *
      * @param jobName 作业名称
      */
     public void remove(final String jobName) {
-        RUNNING_TASKS.remove(jobName);
+        release(RUNNING_TASKS.remove(jobName));
         if (!isDaemonOrAbsent(jobName)) {
             return;
         }
-        regCenter.remove(RunningNode.getRunningJobNodePath(jobName));
+        writeBehindService.remove(RunningNode.getRunningJobNodePath(jobName));
     }
         
     /**
@@ -153,17 +185,59 @@ public final class RunningService {
      * @param taskContext 任务运行时上下文
      */
     public void remove(final TaskContext taskContext) {
-        getRunningTasks(taskContext.getMetaInfo().getJobName()).remove(taskContext);
+        JobRunningTasks jobRunningTasks = RUNNING_TASKS.get(taskContext.getMetaInfo().getJobName());
+        if (null != jobRunningTasks && jobRunningTasks.remove(taskContext)) {
+            release(taskContext.getId());
+        }
         if (!isDaemonOrAbsent(taskContext.getMetaInfo().getJobName())) {
             return;
         }
-        regCenter.remove(RunningNode.getRunningTaskNodePath(taskContext.getMetaInfo().toString()));
-        String jobRootNode = RunningNode.getRunningJobNodePath(taskContext.getMetaInfo().getJobName());
-        if (regCenter.isExisted(jobRootNode) && regCenter.getChildrenKeys(jobRootNode).isEmpty()) {
-            regCenter.remove(jobRootNode);
+        writeBehindService.remove(RunningNode.getRunningTaskNodePath(taskContext.getMetaInfo().toString()));
+        if (null == jobRunningTasks || jobRunningTasks.isEmpty()) {
+            writeBehindService.remove(RunningNode.getRunningJobNodePath(taskContext.getMetaInfo().getJobName()));
+        }
+    }
+    
+    private void allocate(final TaskContext taskContext, final CloudJobConfiguration cloudJobConfig) {
+        int shardingItemCount = taskContext.getMetaInfo().getShardingItems().size();
+        TaskResources taskResources = new TaskResources(cloudJobConfig.getAppName(), cloudJobConfig.getCpuCount() * shardingItemCount, cloudJobConfig.getMemoryMB() * shardingItemCount);
+        synchronized (APP_RUNNING_RESOURCES) {
+            if (null == TASK_RESOURCES.put(taskContext.getId(), taskResources)) {
+                addAppRunningResources(taskResources, 1);
+            }
+        }
+    }
+    
+    private void release(final JobRunningTasks jobRunningTasks) {
+        if (null == jobRunningTasks) {
+            return;
+        }
+        for (TaskContext each : jobRunningTasks.getTasks()) {
+            release(each.getId());
         }
     }
     
+    private void release(final String taskId) {
+        synchronized (APP_RUNNING_RESOURCES) {
+            TaskResources taskResources = TASK_RESOURCES.remove(taskId);
+            if (null != taskResources) {
+                addAppRunningResources(taskResources, -1);
+            }
+        }
+    }
+    
+    private void addAppRunningResources(final TaskResources taskResources, final int sign) {
+        AppRunningResources current = APP_RUNNING_RESOURCES.get(taskResources.appName);
+        int taskCount = (null == current ? 0 : current.getTaskCount()) + sign;
+        if (taskCount <= 0) {
+            APP_RUNNING_RESOURCES.remove(taskResources.appName);
+            return;
+        }
+        double cpus = (null == current ? 0d : current.getCpus()) + sign * taskResources.cpus;
+        double memoryMB = (null == current ? 0d : current.getMemoryMB()) + sign * taskResources.memoryMB;
+        APP_RUNNING_RESOURCES.put(taskResources.appName, new AppRunningResources(taskCount, cpus, memoryMB));
+    }
+    
     private boolean isDaemonOrAbsent(final String jobName) {
         Optional<CloudJobConfiguration> cloudJobConfigurationOptional = configurationService.load(jobName);
         return !cloudJobConfigurationOptional.isPresent() || CloudJobExecutionType.DAEMON == cloudJobConfigurationOptional.get().getJobExecutionType();
@@ -176,47 +250,66 @@ public final class RunningService {
      * @return 作业是否运行
      */
     public boolean isJobRunning(final String jobName) {
-        return !getRunningTasks(jobName).isEmpty();
+        JobRunningTasks jobRunningTasks = RUNNING_TASKS.get(jobName);
+        return null != jobRunningTasks && !jobRunningTasks.isEmpty();
     }
     
     /**
      * 判断任务是否运行.
+     * 
+     * <p>
+     * 运行中的任务包含元信息中的任一分片项即视为运行, 以兼容合并多个分片项的任务.
+     * </p>
      *
      * @param metaInfo 任务元信息
      * @return 任务是否运行
      */
     public boolean isTaskRunning(final TaskContext.MetaInfo metaInfo) {
-        for (TaskContext each : getRunningTasks(metaInfo.getJobName())) {
-            if (each.getMetaInfo().equals(metaInfo)) {
-                return true;
-            }
-        }
-        return false;
+        JobRunningTasks jobRunningTasks = RUNNING_TASKS.get(metaInfo.getJobName());
+        return null != jobRunningTasks && jobRunningTasks.isRunning(metaInfo);
     }
     
     /**
      * 获取运行中的任务集合.
+     * 
+     * <p>
+     * 返回只读视图, 遍历期间的变更可能可见.
+     * </p>
      *
      * @param jobName 作业名称
      * @return 运行中的任务集合
      */
     public Collection<TaskContext> getRunningTasks(final String jobName) {
-        Set<TaskContext> taskContexts = new CopyOnWriteArraySet<>();
-        Collection<TaskContext> result = RUNNING_TASKS.putIfAbsent(jobName, taskContexts);
-        return null == result ? taskContexts : result;
+        JobRunningTasks jobRunningTasks = RUNNING_TASKS.get(jobName);
+        return null == jobRunningTasks ? Collections.<TaskContext>emptyList() : jobRunningTasks.getTasks();
     }
     
     /**
-     * 获取运行中的全部任务.
+     * 获取运行中的全部任务快照.
      *
-     * @return 运行中的全部任务
+     * @return 运行中的全部任务快照
      */
     public Map<String, Set<TaskContext>> getAllRunningTasks() {
         Map<String, Set<TaskContext>> result = new HashMap<>(RUNNING_TASKS.size(), 1);
-        result.putAll(RUNNING_TASKS);
+        for (Map.Entry<String, JobRunningTasks> each : RUNNING_TASKS.entrySet()) {
+            if (!each.getValue().isEmpty()) {
+                result.put(each.getKey(), Sets.newHashSet(each.getValue().getTasks()));
+            }
+        }
         return result;
     }
     
+    /**
+     * 获取各App运行中任务占用的资源快照.
+     *
+     * @return 以App名称为键的运行中任务占用资源快照
+     */
+    public Map<String, AppRunningResources> getAppRunningResources() {
+        synchronized (APP_RUNNING_RESOURCES) {
+            return new HashMap<>(APP_RUNNING_RESOURCES);
+        }
+    }
+    
     /**
      * 获取所有的运行中的常驻作业.
      * 
@@ -230,9 +323,9 @@ public final class RunningService {
             }
         }
         Set<TaskContext> result = Sets.newHashSet();
-        for (Map.Entry<String, Set<TaskContext>> each : RUNNING_TASKS.entrySet()) {
+        for (Map.Entry<String, JobRunningTasks> each : RUNNING_TASKS.entrySet()) {
             if (isDaemonOrAbsent(each.getKey())) {
-                result.addAll(each.getValue());
+                result.addAll(each.getValue().getTasks());
             }
         }
         return result;
@@ -264,5 +357,33 @@ public final class RunningService {
     public void clear() {
         RUNNING_TASKS.clear();
         TASK_HOSTNAME_MAPPER.clear();
+        synchronized (APP_RUNNING_RESOURCES) {
+            TASK_RESOURCES.clear();
+            APP_RUNNING_RESOURCES.clear();
+        }
+    }
+    
+    /**
+     * App运行中任务占用的资源.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static final class AppRunningResources {
+        
+        private final int taskCount;
+        
+        private final double cpus;
+        
+        private final double memoryMB;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class TaskResources {
+        
+        private final String appName;
+        
+        private final double cpus;
+        
+        private final double memoryMB;
     }
 }
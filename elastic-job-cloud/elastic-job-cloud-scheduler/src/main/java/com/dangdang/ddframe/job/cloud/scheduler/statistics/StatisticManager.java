@@ -43,14 +43,20 @@ import lombok.extern.slf4j.Slf4j;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 统计作业调度管理器.
+ * 
+ * <p>
+ * 任务运行结果, 运行中的作业和任务数量以及已注册作业数量均记录于内存中的多精度时间序列.
+ * 查询范围在时间序列自启动以来的保存范围内时直接读取内存, 否则在配置了数据库时读取数据库.
+ * 配置了数据库时, 任务运行结果按统计周期批量汇总写入数据库.
+ * </p>
  *
  * @author liguangyun
  */
@@ -58,6 +64,16 @@ import java.util.Map;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class StatisticManager {
     
+    public static final int SUCCESS_COUNT_INDEX = 0;
+    
+    public static final int FAILED_COUNT_INDEX = 1;
+    
+    public static final int JOB_RUNNING_COUNT_INDEX = 0;
+    
+    public static final int TASK_RUNNING_COUNT_INDEX = 1;
+    
+    public static final int REGISTERED_COUNT_INDEX = 0;
+    
     private static volatile StatisticManager instance;
     
     private final CoordinatorRegistryCenter registryCenter;
@@ -68,17 +84,28 @@ public final class StatisticManager {
     
     private final StatisticsScheduler scheduler;
     
-    private final Map<StatisticInterval, TaskResultMetaData> statisticData;
+    // 任务运行结果, 数值依次为成功数和失败数
+    private final Map<StatisticInterval, StatisticTimeSeries> taskResultTimeSeries;
+    
+    // 运行中的数量, 数值依次为作业数和任务数
+    private final StatisticTimeSeries runningTimeSeries;
+    
+    // 已注册作业数量
+    private final StatisticTimeSeries registeredTimeSeries;
     
     private StatisticRdbRepository rdbRepository;
     
-    private StatisticManager(final CoordinatorRegistryCenter registryCenter, final Optional<JobEventRdbConfiguration> jobEventRdbConfiguration,
-                             final StatisticsScheduler scheduler, final Map<StatisticInterval, TaskResultMetaData> statisticData) {
+    private StatisticManager(final CoordinatorRegistryCenter registryCenter, final Optional<JobEventRdbConfiguration> jobEventRdbConfiguration, final StatisticsScheduler scheduler) {
         this.registryCenter = registryCenter;
         this.configurationService = new CloudJobConfigurationService(registryCenter);
         this.jobEventRdbConfiguration = jobEventRdbConfiguration;
         this.scheduler = scheduler;
-        this.statisticData = statisticData;
+        taskResultTimeSeries = new EnumMap<>(StatisticInterval.class);
+        taskResultTimeSeries.put(StatisticInterval.MINUTE, new StatisticTimeSeries(StatisticInterval.MINUTE, 24 * 60, 2));
+        taskResultTimeSeries.put(StatisticInterval.HOUR, new StatisticTimeSeries(StatisticInterval.HOUR, 7 * 24, 2));
+        taskResultTimeSeries.put(StatisticInterval.DAY, new StatisticTimeSeries(StatisticInterval.DAY, 366, 2));
+        runningTimeSeries = new StatisticTimeSeries(StatisticInterval.MINUTE, 7 * 24 * 60, 2);
+        registeredTimeSeries = new StatisticTimeSeries(StatisticInterval.DAY, 366, 1);
     }
     
     /**
@@ -92,11 +119,7 @@ public final class StatisticManager {
         if (null == instance) {
             synchronized (StatisticManager.class) {
                 if (null == instance) {
-                    Map<StatisticInterval, TaskResultMetaData> statisticData = new HashMap<>();
-                    statisticData.put(StatisticInterval.MINUTE, new TaskResultMetaData());
-                    statisticData.put(StatisticInterval.HOUR, new TaskResultMetaData());
-                    statisticData.put(StatisticInterval.DAY, new TaskResultMetaData());
-                    instance = new StatisticManager(regCenter, jobEventRdbConfiguration, new StatisticsScheduler(), statisticData);
+                    instance = new StatisticManager(regCenter, jobEventRdbConfiguration, new StatisticsScheduler());
                     init();
                 }
             }
@@ -118,13 +141,13 @@ public final class StatisticManager {
      * 启动统计作业调度.
      */
     public void startup() {
+        scheduler.start();
+        scheduler.register(new JobRunningStatisticJob(registryCenter, runningTimeSeries, rdbRepository));
+        scheduler.register(new RegisteredJobStatisticJob(configurationService, registeredTimeSeries, rdbRepository));
         if (null != rdbRepository) {
-            scheduler.start();
-            scheduler.register(new TaskResultStatisticJob(StatisticInterval.MINUTE, statisticData.get(StatisticInterval.MINUTE), rdbRepository));
-            scheduler.register(new TaskResultStatisticJob(StatisticInterval.HOUR, statisticData.get(StatisticInterval.HOUR), rdbRepository));
-            scheduler.register(new TaskResultStatisticJob(StatisticInterval.DAY, statisticData.get(StatisticInterval.DAY), rdbRepository));
-            scheduler.register(new JobRunningStatisticJob(registryCenter, rdbRepository));
-            scheduler.register(new RegisteredJobStatisticJob(configurationService, rdbRepository));
+            for (StatisticTimeSeries each : taskResultTimeSeries.values()) {
+                scheduler.register(new TaskResultStatisticJob(each.getStatisticInterval(), each, rdbRepository));
+            }
         }
     }
     
@@ -139,34 +162,42 @@ public final class StatisticManager {
      * 任务运行成功.
      */
     public void taskRunSuccessfully() {
-        statisticData.get(StatisticInterval.MINUTE).incrementAndGetSuccessCount();
-        statisticData.get(StatisticInterval.HOUR).incrementAndGetSuccessCount();
-        statisticData.get(StatisticInterval.DAY).incrementAndGetSuccessCount();
+        Date now = new Date();
+        for (StatisticTimeSeries each : taskResultTimeSeries.values()) {
+            each.add(now, 1, 0);
+        }
     }
     
     /**
      * 作业运行失败.
      */
     public void taskRunFailed() {
-        statisticData.get(StatisticInterval.MINUTE).incrementAndGetFailedCount();
-        statisticData.get(StatisticInterval.HOUR).incrementAndGetFailedCount();
-        statisticData.get(StatisticInterval.DAY).incrementAndGetFailedCount();
+        Date now = new Date();
+        for (StatisticTimeSeries each : taskResultTimeSeries.values()) {
+            each.add(now, 0, 1);
+        }
     }
     
     private boolean isRdbConfigured() {
         return null != rdbRepository;
     }
     
+    private boolean isReadFromMemory(final StatisticTimeSeries timeSeries, final Date from) {
+        return !isRdbConfigured() || timeSeries.isCovered(from);
+    }
+    
     /**
      * 获取最近一周的任务运行结果统计数据.
      * 
      * @return 任务运行结果统计数据对象
      */
     public TaskResultStatistics getTaskResultStatisticsWeekly() {
-        if (!isRdbConfigured()) {
-            return new TaskResultStatistics(0, 0, StatisticInterval.DAY, new Date());
+        Date from = StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -7);
+        StatisticTimeSeries timeSeries = taskResultTimeSeries.get(StatisticInterval.DAY);
+        if (isReadFromMemory(timeSeries, from)) {
+            return getSummedTaskResultStatistics(timeSeries, from);
         }
-        return rdbRepository.getSummedTaskResultStatistics(StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -7), StatisticInterval.DAY);
+        return rdbRepository.getSummedTaskResultStatistics(from, StatisticInterval.DAY);
     }
     
     /**
@@ -176,11 +207,16 @@ public final class StatisticManager {
      */
     public TaskResultStatistics getTaskResultStatisticsSinceOnline() {
         if (!isRdbConfigured()) {
-            return new TaskResultStatistics(0, 0, StatisticInterval.DAY, new Date());
+            return getSummedTaskResultStatistics(taskResultTimeSeries.get(StatisticInterval.DAY), getOnlineDate());
         }
         return rdbRepository.getSummedTaskResultStatistics(getOnlineDate(), StatisticInterval.DAY);
     }
     
+    private TaskResultStatistics getSummedTaskResultStatistics(final StatisticTimeSeries timeSeries, final Date from) {
+        int[] result = timeSeries.sum(from, getNextStatisticTime(timeSeries));
+        return new TaskResultStatistics(result[SUCCESS_COUNT_INDEX], result[FAILED_COUNT_INDEX], timeSeries.getStatisticInterval(), new Date());
+    }
+    
     /**
      * 获取最近一个统计周期的任务运行结果统计数据.
      * 
@@ -188,7 +224,14 @@ public final class StatisticManager {
      * @return 任务运行结果统计数据对象
      */
     public TaskResultStatistics findLatestTaskResultStatistics(final StatisticInterval statisticInterval) {
-        if (isRdbConfigured()) {
+        StatisticTimeSeries timeSeries = taskResultTimeSeries.get(statisticInterval);
+        Date latestTime = StatisticTimeUtils.getStatisticTime(statisticInterval, -1);
+        if (isReadFromMemory(timeSeries, latestTime)) {
+            Optional<StatisticTimeSeries.StatisticPoint> point = timeSeries.get(latestTime);
+            if (point.isPresent()) {
+                return toTaskResultStatistics(statisticInterval, point.get());
+            }
+        } else {
             Optional<TaskResultStatistics> result = rdbRepository.findLatestTaskResultStatistics(statisticInterval);
             if (result.isPresent()) {
                 return result.get();
@@ -203,10 +246,26 @@ public final class StatisticManager {
      * @return 任务运行结果统计数据对象集合
      */
     public List<TaskResultStatistics> findTaskResultStatisticsDaily() {
-        if (!isRdbConfigured()) {
-            return Collections.emptyList();
+        Date from = StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, -24);
+        StatisticTimeSeries timeSeries = taskResultTimeSeries.get(StatisticInterval.MINUTE);
+        if (!isReadFromMemory(timeSeries, from)) {
+            return rdbRepository.findTaskResultStatistics(from, StatisticInterval.MINUTE);
+        }
+        List<TaskResultStatistics> result = new LinkedList<>();
+        for (StatisticTimeSeries.StatisticPoint each : timeSeries.find(from, StatisticTimeUtils.getCurrentStatisticTime(StatisticInterval.MINUTE))) {
+            result.add(toTaskResultStatistics(StatisticInterval.MINUTE, each));
         }
-        return rdbRepository.findTaskResultStatistics(StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, -24), StatisticInterval.MINUTE);
+        return result;
+    }
+    
+    // 与数据库记录保持一致, 以统计周期的结束时间作为统计时间
+    private TaskResultStatistics toTaskResultStatistics(final StatisticInterval statisticInterval, final StatisticTimeSeries.StatisticPoint point) {
+        return new TaskResultStatistics(point.getValue(SUCCESS_COUNT_INDEX), point.getValue(FAILED_COUNT_INDEX), 
+                statisticInterval, StatisticTimeUtils.getStatisticTime(statisticInterval, point.getStatisticsTime(), 1));
+    }
+    
+    private Date getNextStatisticTime(final StatisticTimeSeries timeSeries) {
+        return StatisticTimeUtils.getStatisticTime(timeSeries.getStatisticInterval(), 1);
     }
     
     /**
@@ -236,16 +295,8 @@ public final class StatisticManager {
      * @return 作业执行类型统计数据对象
      */
     public JobExecutionTypeStatistics getJobExecutionTypeStatistics() {
-        int transientJobCnt = 0;
-        int daemonJobCnt = 0;
-        for (CloudJobConfiguration each : configurationService.loadAll()) {
-            if (CloudJobExecutionType.TRANSIENT.equals(each.getJobExecutionType())) {
-                transientJobCnt++;
-            } else if (CloudJobExecutionType.DAEMON.equals(each.getJobExecutionType())) {
-                daemonJobCnt++;
-            }
-        }
-        return new JobExecutionTypeStatistics(transientJobCnt, daemonJobCnt);
+        return new JobExecutionTypeStatistics(configurationService.loadAllByExecutionType(CloudJobExecutionType.TRANSIENT).size(), 
+                configurationService.loadAllByExecutionType(CloudJobExecutionType.DAEMON).size());
     }
     
     /**
@@ -254,10 +305,15 @@ public final class StatisticManager {
      * @return 运行中的任务统计数据对象集合
      */
     public List<TaskRunningStatistics> findTaskRunningStatisticsWeekly() {
-        if (!isRdbConfigured()) {
-            return Collections.emptyList();
+        Date from = StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -7);
+        if (!isReadFromMemory(runningTimeSeries, from)) {
+            return rdbRepository.findTaskRunningStatistics(from);
         }
-        return rdbRepository.findTaskRunningStatistics(StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -7));
+        List<TaskRunningStatistics> result = new LinkedList<>();
+        for (StatisticTimeSeries.StatisticPoint each : runningTimeSeries.find(from, getNextStatisticTime(runningTimeSeries))) {
+            result.add(new TaskRunningStatistics(each.getValue(TASK_RUNNING_COUNT_INDEX), each.getStatisticsTime()));
+        }
+        return result;
     }
     
     /**
@@ -266,10 +322,15 @@ public final class StatisticManager {
      * @return 运行中的任务统计数据对象集合
      */
     public List<JobRunningStatistics> findJobRunningStatisticsWeekly() {
-        if (!isRdbConfigured()) {
-            return Collections.emptyList();
+        Date from = StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -7);
+        if (!isReadFromMemory(runningTimeSeries, from)) {
+            return rdbRepository.findJobRunningStatistics(from);
         }
-        return rdbRepository.findJobRunningStatistics(StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -7));
+        List<JobRunningStatistics> result = new LinkedList<>();
+        for (StatisticTimeSeries.StatisticPoint each : runningTimeSeries.find(from, getNextStatisticTime(runningTimeSeries))) {
+            result.add(new JobRunningStatistics(each.getValue(JOB_RUNNING_COUNT_INDEX), each.getStatisticsTime()));
+        }
+        return result;
     }
     
     /**
@@ -278,10 +339,14 @@ public final class StatisticManager {
      * @return 运行中的任务统计数据对象集合
      */
     public List<JobRegisterStatistics> findJobRegisterStatisticsSinceOnline() {
-        if (!isRdbConfigured()) {
-            return Collections.emptyList();
+        if (isRdbConfigured()) {
+            return rdbRepository.findJobRegisterStatistics(getOnlineDate());
+        }
+        List<JobRegisterStatistics> result = new LinkedList<>();
+        for (StatisticTimeSeries.StatisticPoint each : registeredTimeSeries.find(getOnlineDate(), getNextStatisticTime(registeredTimeSeries))) {
+            result.add(new JobRegisterStatistics(each.getValue(REGISTERED_COUNT_INDEX), each.getStatisticsTime()));
         }
-        return rdbRepository.findJobRegisterStatistics(getOnlineDate());
+        return result;
     }
     
     private Date getOnlineDate() {
@@ -0,0 +1,241 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.statistics;
+
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
+import com.dangdang.ddframe.job.statistics.StatisticInterval;
+import com.google.common.base.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 内存中的统计时间序列.
+ * 
+ * <p>
+ * 以环形数组保存最近capacity个统计周期的数据, 每个周期包含valueCount个整数值.
+ * 新周期通过CAS替换数组中过期的周期, 累加和设置数值均不加锁.
+ * 超出保存范围的周期将被丢弃.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class StatisticTimeSeries {
+    
+    @Getter
+    private final StatisticInterval statisticInterval;
+    
+    private final int valueCount;
+    
+    private final AtomicReferenceArray<Bucket> buckets;
+    
+    @Getter
+    private final Date startTime;
+    
+    public StatisticTimeSeries(final StatisticInterval statisticInterval, final int capacity, final int valueCount) {
+        this(statisticInterval, capacity, valueCount, new Date());
+    }
+    
+    public StatisticTimeSeries(final StatisticInterval statisticInterval, final int capacity, final int valueCount, final Date startTime) {
+        this.statisticInterval = statisticInterval;
+        this.valueCount = valueCount;
+        buckets = new AtomicReferenceArray<>(capacity);
+        this.startTime = StatisticTimeUtils.getStatisticTime(statisticInterval, startTime, 0);
+    }
+    
+    /**
+     * 累加指定时间所在周期的数值.
+     * 
+     * @param time 时间
+     * @param deltas 各数值的增量
+     */
+    public void add(final Date time, final int... deltas) {
+        Bucket bucket = getOrCreateBucket(time);
+        if (null == bucket) {
+            return;
+        }
+        for (int i = 0; i < deltas.length; i++) {
+            if (0 != deltas[i]) {
+                bucket.values.addAndGet(i, deltas[i]);
+            }
+        }
+    }
+    
+    /**
+     * 设置指定时间所在周期的数值.
+     * 
+     * @param time 时间
+     * @param values 各数值
+     */
+    public void set(final Date time, final int... values) {
+        Bucket bucket = getOrCreateBucket(time);
+        if (null == bucket) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            bucket.values.set(i, values[i]);
+        }
+    }
+    
+    private Bucket getOrCreateBucket(final Date time) {
+        long statisticTime = StatisticTimeUtils.getStatisticTime(statisticInterval, time, 0).getTime();
+        int index = getIndex(statisticTime);
+        while (true) {
+            Bucket current = buckets.get(index);
+            if (null != current && current.statisticTime == statisticTime) {
+                return current;
+            }
+            if (null != current && current.statisticTime > statisticTime) {
+                return null;
+            }
+            Bucket bucket = new Bucket(statisticTime, new AtomicIntegerArray(valueCount));
+            if (buckets.compareAndSet(index, current, bucket)) {
+                return bucket;
+            }
+        }
+    }
+    
+    private int getIndex(final long statisticTime) {
+        long localTime = statisticTime + TimeZone.getDefault().getOffset(statisticTime);
+        long sequence = localTime / getIntervalMillis();
+        return (int) (sequence % buckets.length());
+    }
+    
+    private long getIntervalMillis() {
+        switch (statisticInterval) {
+            case DAY:
+                return 24 * 60 * 60 * 1000L;
+            case HOUR:
+                return 60 * 60 * 1000L;
+            case MINUTE:
+            default:
+                return 60 * 1000L;
+        }
+    }
+    
+    /**
+     * 获取指定时间所在周期的数据.
+     * 
+     * @param time 时间
+     * @return 统计周期数据
+     */
+    public Optional<StatisticPoint> get(final Date time) {
+        long statisticTime = StatisticTimeUtils.getStatisticTime(statisticInterval, time, 0).getTime();
+        Bucket bucket = buckets.get(getIndex(statisticTime));
+        return null == bucket || bucket.statisticTime != statisticTime ? Optional.<StatisticPoint>absent() : Optional.of(bucket.toStatisticPoint());
+    }
+    
+    /**
+     * 获取时间范围内的统计周期数据.
+     * 
+     * @param from 开始时间, 包含
+     * @param to 结束时间, 不包含
+     * @return 按统计时间升序排列的统计周期数据, 不包含没有数据的周期
+     */
+    public List<StatisticPoint> find(final Date from, final Date to) {
+        List<StatisticPoint> result = new ArrayList<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (null != bucket && bucket.statisticTime >= from.getTime() && bucket.statisticTime < to.getTime()) {
+                result.add(bucket.toStatisticPoint());
+            }
+        }
+        Collections.sort(result, new Comparator<StatisticPoint>() {
+            
+            @Override
+            public int compare(final StatisticPoint o1, final StatisticPoint o2) {
+                return o1.getStatisticsTime().compareTo(o2.getStatisticsTime());
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * 合计时间范围内的数值.
+     * 
+     * @param from 开始时间, 包含
+     * @param to 结束时间, 不包含
+     * @return 各数值的合计
+     */
+    public int[] sum(final Date from, final Date to) {
+        int[] result = new int[valueCount];
+        for (StatisticPoint each : find(from, to)) {
+            for (int i = 0; i < valueCount; i++) {
+                result[i] += each.getValue(i);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 判断时间序列是否完整包含自指定时间起的数据.
+     * 
+     * @param from 开始时间
+     * @return 是否完整包含
+     */
+    public boolean isCovered(final Date from) {
+        return !from.before(startTime) && from.after(StatisticTimeUtils.getStatisticTime(statisticInterval, -buckets.length()));
+    }
+    
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Bucket {
+        
+        private final long statisticTime;
+        
+        private final AtomicIntegerArray values;
+        
+        private StatisticPoint toStatisticPoint() {
+            int[] result = new int[values.length()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = values.get(i);
+            }
+            return new StatisticPoint(new Date(statisticTime), result);
+        }
+    }
+    
+    /**
+     * 统计周期数据.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class StatisticPoint {
+        
+        @Getter
+        private final Date statisticsTime;
+        
+        private final int[] values;
+        
+        /**
+         * 获取数值.
+         * 
+         * @param index 数值序号
+         * @return 数值
+         */
+        public int getValue(final int index) {
+            return values[index];
+        }
+    }
+}
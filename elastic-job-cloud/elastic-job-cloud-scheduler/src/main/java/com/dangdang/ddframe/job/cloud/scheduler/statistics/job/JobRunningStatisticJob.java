@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.cloud.scheduler.statistics.job;
 
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
@@ -45,6 +46,10 @@ import java.util.Set;
 
 /**
  * 运行中的任务统计作业.
+ * 
+ * <p>
+ * 运行中的作业和任务数量总是记录于内存时间序列, 配置了数据库时同时写入数据库.
+ * </p>
  *
  * @author liguangyun
  */
@@ -57,15 +62,19 @@ public final class JobRunningStatisticJob extends AbstractStatisticJob {
     
     private RunningService runningService;
     
+    private StatisticTimeSeries timeSeries;
+    
     private StatisticRdbRepository repository;
     
     /**
      * 构造函数.
      * @param registryCenter 注册中心
-     * @param rdbRepository 基于rdb的数据仓库对象
+     * @param timeSeries 运行中数量的内存时间序列
+     * @param rdbRepository 基于rdb的数据仓库对象, 未配置数据库时为null
      */
-    public JobRunningStatisticJob(final CoordinatorRegistryCenter registryCenter, final StatisticRdbRepository rdbRepository) {
+    public JobRunningStatisticJob(final CoordinatorRegistryCenter registryCenter, final StatisticTimeSeries timeSeries, final StatisticRdbRepository rdbRepository) {
         runningService = new RunningService(registryCenter);
+        this.timeSeries = timeSeries;
         this.repository = rdbRepository;
     }
     
@@ -84,17 +93,25 @@ public final class JobRunningStatisticJob extends AbstractStatisticJob {
     
     @Override
     public Map<String, Object> getDataMap() {
-        Map<String, Object> result = new HashMap<>(2);
+        Map<String, Object> result = new HashMap<>(3);
         result.put("runningService", runningService);
-        result.put("repository", repository);
+        result.put("timeSeries", timeSeries);
+        if (null != repository) {
+            result.put("repository", repository);
+        }
         return result;
     }
     
     @Override
     public void execute(final JobExecutionContext context) throws JobExecutionException {
         Map<String, Set<TaskContext>> allRunningTasks = runningService.getAllRunningTasks();
-        statisticJob(getJobRunningCount(allRunningTasks));
-        statisticTask(getTaskRunningCount(allRunningTasks));
+        int jobRunningCount = getJobRunningCount(allRunningTasks);
+        int taskRunningCount = getTaskRunningCount(allRunningTasks);
+        timeSeries.set(new Date(), jobRunningCount, taskRunningCount);
+        if (null != repository) {
+            statisticJob(jobRunningCount);
+            statisticTask(taskRunningCount);
+        }
     }
     
     private void statisticJob(final int runningCount) {
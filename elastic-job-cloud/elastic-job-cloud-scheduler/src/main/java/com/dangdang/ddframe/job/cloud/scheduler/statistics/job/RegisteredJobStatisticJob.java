@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.job.cloud.scheduler.statistics.job;
 
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
 import com.dangdang.ddframe.job.statistics.rdb.StatisticRdbRepository;
@@ -42,6 +43,10 @@ import java.util.Map;
 
 /**
  * 已注册作业统计作业.
+ * 
+ * <p>
+ * 已注册作业数量总是记录于内存时间序列, 配置了数据库时同时写入数据库.
+ * </p>
  *
  * @author liguangyun
  */
@@ -53,6 +58,8 @@ public final class RegisteredJobStatisticJob extends AbstractStatisticJob {
     
     private CloudJobConfigurationService configurationService;
     
+    private StatisticTimeSeries timeSeries;
+    
     private StatisticRdbRepository repository;
     
     private final StatisticInterval execInterval = StatisticInterval.DAY;
@@ -72,19 +79,26 @@ public final class RegisteredJobStatisticJob extends AbstractStatisticJob {
     
     @Override
     public Map<String, Object> getDataMap() {
-        Map<String, Object> result = new HashMap<>(2);
+        Map<String, Object> result = new HashMap<>(3);
         result.put("configurationService", configurationService);
-        result.put("repository", repository);
+        result.put("timeSeries", timeSeries);
+        if (null != repository) {
+            result.put("repository", repository);
+        }
         return result;
     }
     
     @Override
     public void execute(final JobExecutionContext context) throws JobExecutionException {
+        int registeredCount = configurationService.loadAll().size();
+        timeSeries.set(new Date(), registeredCount);
+        if (null == repository) {
+            return;
+        }
         Optional<JobRegisterStatistics> latestOne = repository.findLatestJobRegisterStatistics();
         if (latestOne.isPresent()) {
             fillBlankIfNeeded(latestOne.get());
         }
-        int registeredCount = configurationService.loadAll().size();
         JobRegisterStatistics jobRegisterStatistics = new JobRegisterStatistics(registeredCount, StatisticTimeUtils.getCurrentStatisticTime(execInterval));
         log.debug("Add jobRegisterStatistics, registeredCount is:{}", registeredCount);
         repository.add(jobRegisterStatistics);
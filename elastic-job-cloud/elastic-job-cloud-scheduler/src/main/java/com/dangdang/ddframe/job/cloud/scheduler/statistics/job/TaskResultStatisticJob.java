@@ -17,7 +17,9 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.statistics.job;
 
-import com.dangdang.ddframe.job.cloud.scheduler.statistics.TaskResultMetaData;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries.StatisticPoint;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
 import com.dangdang.ddframe.job.statistics.rdb.StatisticRdbRepository;
@@ -35,6 +37,8 @@ import org.quartz.JobExecutionException;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +46,10 @@ import java.util.Map;
 
 /**
  * 任务运行结果统计作业.
+ * 
+ * <p>
+ * 将内存时间序列中已结束的统计周期汇总后批量写入数据库. 沿用原有约定, 每条记录的统计时间为其统计周期的结束时间.
+ * </p>
  *
  * @author liguangyun
  */
@@ -53,7 +61,7 @@ public final class TaskResultStatisticJob extends AbstractStatisticJob {
     
     private StatisticInterval statisticInterval;
     
-    private TaskResultMetaData sharedData;
+    private StatisticTimeSeries timeSeries;
     
     private StatisticRdbRepository repository;
     
@@ -76,7 +84,7 @@ public final class TaskResultStatisticJob extends AbstractStatisticJob {
     public Map<String, Object> getDataMap() {
         Map<String, Object> result = new HashMap<>(3);
         result.put("statisticInterval", statisticInterval);
-        result.put("sharedData", sharedData);
+        result.put("timeSeries", timeSeries);
         result.put("repository", repository);
         return result;
     }
@@ -84,25 +92,23 @@ public final class TaskResultStatisticJob extends AbstractStatisticJob {
     @Override
     public void execute(final JobExecutionContext context) throws JobExecutionException {
         Optional<TaskResultStatistics> latestOne = repository.findLatestTaskResultStatistics(statisticInterval);
-        if (latestOne.isPresent()) {
-            fillBlankIfNeeded(latestOne.get());
+        List<Date> statisticTimes = latestOne.isPresent() ? findBlankStatisticTimes(latestOne.get().getStatisticsTime(), statisticInterval) : Collections.<Date>emptyList();
+        if (!statisticTimes.isEmpty()) {
+            log.debug("Fill blank range of taskResultStatistics, range is:{}", statisticTimes);
+        }
+        List<TaskResultStatistics> rollups = new ArrayList<>(statisticTimes.size() + 1);
+        for (Date each : statisticTimes) {
+            rollups.add(rollup(each));
         }
-        TaskResultStatistics taskResultStatistics = new TaskResultStatistics(
-                sharedData.getSuccessCount(), sharedData.getFailedCount(), statisticInterval,
-                StatisticTimeUtils.getCurrentStatisticTime(statisticInterval));
-        log.debug("Add taskResultStatistics, statisticInterval is:{}, successCount is:{}, failedCount is:{}", 
-                statisticInterval, sharedData.getSuccessCount(), sharedData.getFailedCount());
-        repository.add(taskResultStatistics);
-        sharedData.reset();
+        rollups.add(rollup(StatisticTimeUtils.getCurrentStatisticTime(statisticInterval)));
+        log.debug("Add taskResultStatistics, statisticInterval is:{}, size is:{}", statisticInterval, rollups.size());
+        repository.add(rollups);
     }
     
-    private void fillBlankIfNeeded(final TaskResultStatistics latestOne) {
-        List<Date> blankDateRange = findBlankStatisticTimes(latestOne.getStatisticsTime(), statisticInterval);
-        if (!blankDateRange.isEmpty()) {
-            log.debug("Fill blank range of taskResultStatistics, range is:{}", blankDateRange);
-        }
-        for (Date each : blankDateRange) {
-            repository.add(new TaskResultStatistics(latestOne.getSuccessCount(), latestOne.getFailedCount(), statisticInterval, each));
-        }
+    private TaskResultStatistics rollup(final Date statisticTime) {
+        Optional<StatisticPoint> point = timeSeries.get(StatisticTimeUtils.getStatisticTime(statisticInterval, statisticTime, -1));
+        return point.isPresent() ? new TaskResultStatistics(
+                point.get().getValue(StatisticManager.SUCCESS_COUNT_INDEX), point.get().getValue(StatisticManager.FAILED_COUNT_INDEX), statisticInterval, statisticTime)
+                : new TaskResultStatistics(0, 0, statisticInterval, statisticTime);
     }
 }
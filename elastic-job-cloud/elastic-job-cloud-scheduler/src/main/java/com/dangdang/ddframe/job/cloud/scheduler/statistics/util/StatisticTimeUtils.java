@@ -52,7 +52,21 @@ public final class StatisticTimeUtils {
      * @return 时间对象
      */
     public static Date getStatisticTime(final StatisticInterval interval, final int offset) {
+        return getStatisticTime(interval, new Date(), offset);
+    }
+    
+    /**
+     * 以指定时间为基准偏移offset个时间间隔单位，获取以interval为时间间隔单位的统计时间.
+     * offset为负数表示时间向过去偏移，正数表示向未来偏移.
+     * 
+     * @param interval 时间间隔
+     * @param time 基准时间
+     * @param offset 时间偏移量
+     * @return 时间对象
+     */
+    public static Date getStatisticTime(final StatisticInterval interval, final Date time, final int offset) {
         Calendar calendar = Calendar.getInstance();
+        calendar.setTime(time);
         calendar.set(Calendar.MILLISECOND, 0);
         calendar.set(Calendar.SECOND, 0);
         switch (interval) {
@@ -23,7 +23,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         CloudAppConfigurationNodeTest.class,
-        CloudAppConfigurationServiceTest.class
+        CloudAppConfigurationServiceTest.class,
+        CloudAppConfigurationListenerTest.class
     })
 public final class AllCloudAppConfigTests {
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.config.app;
+
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppConfigurationBuilder;
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppJsonConstants;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import org.apache.curator.framework.listen.ListenerContainer;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class CloudAppConfigurationListenerTest {
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    @Mock
+    private TreeCache treeCache;
+    
+    @Mock
+    private ListenerContainer<TreeCacheListener> listenerContainer;
+    
+    @InjectMocks
+    private CloudAppConfigurationListener cloudAppConfigurationListener;
+    
+    private final CloudAppConfigurationCache cache = CloudAppConfigurationCache.getInstance();
+    
+    @After
+    public void tearDown() {
+        cache.clear();
+    }
+    
+    @Test
+    public void assertChildEventWhenIsNotAppConfigPath() throws Exception {
+        CloudAppConfiguration appConfig = CloudAppConfigurationBuilder.createCloudAppConfiguration("test_app");
+        cache.put(CloudAppJsonConstants.getAppJson("test_app"), appConfig);
+        cloudAppConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/config/job/test_app", null, "".getBytes())));
+        cloudAppConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/config/app", null, "".getBytes())));
+        cloudAppConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, null));
+        assertThat(cache.get("test_app", CloudAppJsonConstants.getAppJson("test_app")), sameInstance(appConfig));
+    }
+    
+    @Test
+    public void assertChildEventWhenStateIsUpdateAndInvalidData() throws Exception {
+        CloudAppConfiguration appConfig = CloudAppConfigurationBuilder.createCloudAppConfiguration("test_app");
+        cache.put(CloudAppJsonConstants.getAppJson("test_app"), appConfig);
+        cloudAppConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_UPDATED, new ChildData("/config/app/test_app", null, "{".getBytes())));
+        assertThat(cache.get("test_app", CloudAppJsonConstants.getAppJson("test_app")), sameInstance(appConfig));
+    }
+    
+    @Test
+    public void assertChildEventWhenStateIsUpdate() throws Exception {
+        cloudAppConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_UPDATED, 
+                new ChildData("/config/app/test_app", null, CloudAppJsonConstants.getIdleTimeoutAppJson("test_app", 60).getBytes())));
+        CloudAppConfiguration actual = cache.get("test_app", CloudAppJsonConstants.getIdleTimeoutAppJson("test_app", 60));
+        assertThat(actual.getExecutorIdleTimeoutSeconds(), is(60));
+        assertThat(cache.get("test_app", CloudAppJsonConstants.getIdleTimeoutAppJson("test_app", 60)), sameInstance(actual));
+    }
+    
+    @Test
+    public void assertChildEventWhenStateIsRemoved() throws Exception {
+        CloudAppConfiguration appConfig = CloudAppConfigurationBuilder.createCloudAppConfiguration("test_app");
+        cache.put(CloudAppJsonConstants.getAppJson("test_app"), appConfig);
+        cloudAppConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/config/app/test_app", null, "".getBytes())));
+        assertThat(cache.get("test_app", CloudAppJsonConstants.getAppJson("test_app")), not(sameInstance(appConfig)));
+    }
+    
+    @Test
+    public void assertStartAndStop() {
+        when(regCenter.getRawCache("/config/app")).thenReturn(treeCache);
+        when(treeCache.getListenable()).thenReturn(listenerContainer);
+        cloudAppConfigurationListener.start();
+        cloudAppConfigurationListener.start();
+        ArgumentCaptor<Executor> executorCaptor = ArgumentCaptor.forClass(Executor.class);
+        verify(listenerContainer).addListener(eq(cloudAppConfigurationListener), executorCaptor.capture());
+        ExecutorService executor = (ExecutorService) executorCaptor.getValue();
+        assertFalse(executor.isShutdown());
+        cloudAppConfigurationListener.stop();
+        cloudAppConfigurationListener.stop();
+        verify(listenerContainer).removeListener(cloudAppConfigurationListener);
+        assertTrue(executor.isShutdown());
+    }
+}
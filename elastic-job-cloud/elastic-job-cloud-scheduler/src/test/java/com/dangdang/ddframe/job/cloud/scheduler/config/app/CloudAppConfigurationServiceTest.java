@@ -21,6 +21,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppConfigurationBui
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppJsonConstants;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Optional;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -31,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -46,6 +48,11 @@ public final class CloudAppConfigurationServiceTest {
     @InjectMocks
     private CloudAppConfigurationService configService;
     
+    @After
+    public void tearDown() {
+        CloudAppConfigurationCache.getInstance().clear();
+    }
+    
     @Test
     public void assertAdd() {
         CloudAppConfiguration appConfig = CloudAppConfigurationBuilder.createCloudAppConfiguration("test_app");
@@ -53,6 +60,18 @@ public final class CloudAppConfigurationServiceTest {
         verify(regCenter).persist("/config/app/test_app", CloudAppJsonConstants.getAppJson("test_app"));
     }
     
+    @Test
+    public void assertAddWithExecutorIdleTimeout() {
+        configService.add(CloudAppConfigurationBuilder.createIdleTimeoutCloudAppConfiguration("test_app", 60));
+        verify(regCenter).persist("/config/app/test_app", CloudAppJsonConstants.getIdleTimeoutAppJson("test_app", 60));
+    }
+    
+    @Test
+    public void assertAddWithCompactTaskPayload() {
+        configService.add(CloudAppConfigurationBuilder.createCompactTaskPayloadCloudAppConfiguration("test_app"));
+        verify(regCenter).persist("/config/app/test_app", CloudAppJsonConstants.getCompactTaskPayloadAppJson("test_app"));
+    }
+    
     @Test
     public void assertUpdate() {
         CloudAppConfiguration appConfig = CloudAppConfigurationBuilder.createCloudAppConfiguration("test_app");
@@ -87,12 +106,42 @@ public final class CloudAppConfigurationServiceTest {
         assertFalse(actual.isPresent());
     }
     
+    @Test
+    public void assertLoadWithUnchangedConfig() {
+        when(regCenter.get("/config/app/test_app")).thenReturn(CloudAppJsonConstants.getAppJson("test_app"));
+        assertThat(configService.load("test_app").get(), sameInstance(configService.load("test_app").get()));
+    }
+    
+    @Test
+    public void assertLoadWithChangedConfig() {
+        when(regCenter.get("/config/app/test_app")).thenReturn(CloudAppJsonConstants.getAppJson("test_app"), CloudAppJsonConstants.getIdleTimeoutAppJson("test_app", 60));
+        assertThat(configService.load("test_app").get().getExecutorIdleTimeoutSeconds(), is(0));
+        assertThat(configService.load("test_app").get().getExecutorIdleTimeoutSeconds(), is(60));
+    }
+    
     @Test
     public void assertLoadWithConfig() {
         when(regCenter.get("/config/app/test_app")).thenReturn(CloudAppJsonConstants.getAppJson("test_app"));
         Optional<CloudAppConfiguration> actual = configService.load("test_app");
         assertTrue(actual.isPresent());
         assertThat(actual.get().getAppName(), is("test_app"));
+        assertFalse(actual.get().isCompactTaskPayload());
+    }
+    
+    @Test
+    public void assertLoadWithExecutorIdleTimeoutConfig() {
+        when(regCenter.get("/config/app/test_app")).thenReturn(CloudAppJsonConstants.getIdleTimeoutAppJson("test_app", 60));
+        Optional<CloudAppConfiguration> actual = configService.load("test_app");
+        assertTrue(actual.isPresent());
+        assertThat(actual.get().getExecutorIdleTimeoutSeconds(), is(60));
+    }
+    
+    @Test
+    public void assertLoadWithCompactTaskPayloadConfig() {
+        when(regCenter.get("/config/app/test_app")).thenReturn(CloudAppJsonConstants.getCompactTaskPayloadAppJson("test_app"));
+        Optional<CloudAppConfiguration> actual = configService.load("test_app");
+        assertTrue(actual.isPresent());
+        assertTrue(actual.get().isCompactTaskPayload());
     }
     
     @Test
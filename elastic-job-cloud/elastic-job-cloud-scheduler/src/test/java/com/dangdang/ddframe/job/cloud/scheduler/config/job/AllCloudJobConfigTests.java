@@ -24,6 +24,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         CloudJobConfigurationNodeTest.class,
         CloudJobConfigurationServiceTest.class,
+        CloudJobConfigurationCacheTest.class,
         CloudJobConfigurationListenerTest.class
     })
 public class AllCloudJobConfigTests {
@@ -0,0 +1,94 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.config.job;
+
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJsonConstants;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class CloudJobConfigurationCacheTest {
+    
+    private final CloudJobConfigurationCache cache = new CloudJobConfigurationCache();
+    
+    @After
+    public void tearDown() {
+        cache.clear();
+    }
+    
+    @Test
+    public void assertGetWithSameJson() {
+        CloudJobConfiguration actual = cache.get("test_job", CloudJsonConstants.getJobJson());
+        assertThat(actual.getJobName(), is("test_job"));
+        assertThat(cache.get("test_job", CloudJsonConstants.getJobJson()), sameInstance(actual));
+    }
+    
+    @Test
+    public void assertGetWithChangedJson() {
+        CloudJobConfiguration actual = cache.get("test_job", CloudJsonConstants.getJobJson());
+        CloudJobConfiguration changed = cache.get("test_job", CloudJsonConstants.getJobJson(CloudJobExecutionType.DAEMON));
+        assertThat(changed, not(sameInstance(actual)));
+        assertThat(changed.getJobExecutionType(), is(CloudJobExecutionType.DAEMON));
+        assertTrue(cache.getJobNamesByExecutionType(CloudJobExecutionType.TRANSIENT).isEmpty());
+        assertThat(cache.getJobNamesByExecutionType(CloudJobExecutionType.DAEMON).size(), is(1));
+    }
+    
+    @Test
+    public void assertGetWithEmptyJson() {
+        cache.get("test_job", CloudJsonConstants.getJobJson());
+        assertNull(cache.get("test_job", ""));
+        assertTrue(cache.getJobNamesByAppName("test_app").isEmpty());
+    }
+    
+    @Test
+    public void assertPutAndRemove() {
+        cache.put(CloudJsonConstants.getJobJson("test_job_1"), CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_1"));
+        cache.put(CloudJsonConstants.getJobJson("test_job_2"), CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_2"));
+        assertThat(cache.getJobNamesByAppName("test_app").size(), is(2));
+        assertThat(cache.getJobNamesByExecutionType(CloudJobExecutionType.TRANSIENT).size(), is(2));
+        cache.remove("test_job_1");
+        assertThat(cache.getJobNamesByAppName("test_app").size(), is(1));
+        assertThat(cache.getJobNamesByAppName("test_app").iterator().next(), is("test_job_2"));
+    }
+    
+    @Test
+    public void assertPutWithChangedAppName() {
+        cache.put(CloudJsonConstants.getJobJson(), CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job"));
+        cache.put("", CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job", "other_app"));
+        assertTrue(cache.getJobNamesByAppName("test_app").isEmpty());
+        assertThat(cache.getJobNamesByAppName("other_app").size(), is(1));
+    }
+    
+    @Test
+    public void assertRetain() {
+        cache.put(CloudJsonConstants.getJobJson("test_job_1"), CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_1"));
+        cache.put(CloudJsonConstants.getJobJson("test_job_2"), CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_2"));
+        cache.retain(Collections.singletonList("test_job_2"));
+        assertThat(cache.getJobNamesByAppName("test_app").size(), is(1));
+        assertThat(cache.getJobNamesByAppName("test_app").iterator().next(), is("test_job_2"));
+    }
+}
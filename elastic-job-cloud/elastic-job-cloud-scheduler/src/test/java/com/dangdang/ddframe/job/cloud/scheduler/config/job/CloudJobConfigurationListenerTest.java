@@ -22,6 +22,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.producer.ProducerManager;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
 import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,6 +34,9 @@ import org.unitils.util.ReflectionUtils;
 
 import java.util.Collections;
 
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -48,6 +52,11 @@ public final class CloudJobConfigurationListenerTest {
     @InjectMocks
     private CloudJobConfigurationListener cloudJobConfigurationListener;
     
+    @After
+    public void tearDown() {
+        CloudJobConfigurationCache.getInstance().clear();
+    }
+    
     @Before
     public void setUp() throws NoSuchFieldException {
         ReflectionUtils.setFieldValue(cloudJobConfigurationListener, "producerManager", producerManager);
@@ -120,4 +129,12 @@ public final class CloudJobConfigurationListenerTest {
         cloudJobConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/config/job/test_job", null, "".getBytes())));
         verify(producerManager).unschedule("test_job");
     }
+    
+    @Test
+    public void assertChildEventUpdateJobConfigurationCache() throws Exception {
+        cloudJobConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_ADDED, new ChildData("/config/job/test_job", null, CloudJsonConstants.getJobJson().getBytes())));
+        assertThat(CloudJobConfigurationCache.getInstance().getJobNamesByAppName("test_app"), hasItem("test_job"));
+        cloudJobConfigurationListener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/config/job/test_job", null, "".getBytes())));
+        assertFalse(CloudJobConfigurationCache.getInstance().getJobNamesByAppName("test_app").contains("test_job"));
+    }
 }
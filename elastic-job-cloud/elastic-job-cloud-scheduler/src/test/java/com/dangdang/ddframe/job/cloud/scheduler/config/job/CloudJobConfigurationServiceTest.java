@@ -21,6 +21,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBui
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJsonConstants;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Optional;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -31,9 +32,11 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +49,11 @@ public final class CloudJobConfigurationServiceTest {
     @InjectMocks
     private CloudJobConfigurationService configService;
     
+    @After
+    public void tearDown() {
+        CloudJobConfigurationCache.getInstance().clear();
+    }
+    
     @Test
     public void assertAdd() {
         CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job");
@@ -53,6 +61,18 @@ public final class CloudJobConfigurationServiceTest {
         verify(regCenter).persist("/config/job/test_job", CloudJsonConstants.getJobJson());
     }
     
+    @Test
+    public void assertAddWithPacking() {
+        configService.add(CloudJobConfigurationBuilder.createPackingCloudJobConfiguration("test_job", 10, 5));
+        verify(regCenter).persist("/config/job/test_job", CloudJsonConstants.getPackingJobJson(5));
+    }
+    
+    @Test
+    public void assertAddWithPriority() {
+        configService.add(CloudJobConfigurationBuilder.createPriorityCloudJobConfiguration("test_app", "test_job", 10, 5));
+        verify(regCenter).persist("/config/job/test_job", CloudJsonConstants.getPriorityJobJson(5));
+    }
+    
     @Test
     public void assertUpdate() {
         CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job");
@@ -100,6 +120,67 @@ public final class CloudJobConfigurationServiceTest {
         Optional<CloudJobConfiguration> actual = configService.load("test_job");
         assertTrue(actual.isPresent());
         assertThat(actual.get().getJobName(), is("test_job"));
+        assertThat(actual.get().getMaxShardingItemsPerTask(), is(1));
+    }
+    
+    @Test
+    public void assertLoadWithUnchangedConfig() {
+        when(regCenter.get("/config/job/test_job")).thenReturn(CloudJsonConstants.getJobJson());
+        assertThat(configService.load("test_job").get(), sameInstance(configService.load("test_job").get()));
+    }
+    
+    @Test
+    public void assertLoadWithChangedConfig() {
+        when(regCenter.get("/config/job/test_job")).thenReturn(CloudJsonConstants.getJobJson(), CloudJsonConstants.getJobJson(CloudJobExecutionType.DAEMON));
+        assertThat(configService.load("test_job").get().getJobExecutionType(), is(CloudJobExecutionType.TRANSIENT));
+        assertThat(configService.load("test_job").get().getJobExecutionType(), is(CloudJobExecutionType.DAEMON));
+    }
+    
+    @Test
+    public void assertLoadAfterAdd() {
+        CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job");
+        configService.add(jobConfig);
+        when(regCenter.get("/config/job/test_job")).thenReturn(CloudJsonConstants.getJobJson());
+        assertThat(configService.load("test_job").get(), sameInstance(jobConfig));
+    }
+    
+    @Test
+    public void assertLoadAllByAppNameWithoutIndex() {
+        when(regCenter.isExisted("/config/job")).thenReturn(true);
+        when(regCenter.getChildrenKeys(CloudJobConfigurationNode.ROOT)).thenReturn(Arrays.asList("test_job_1", "test_job_2"));
+        when(regCenter.get("/config/job/test_job_1")).thenReturn(CloudJsonConstants.getJobJson("test_job_1"));
+        when(regCenter.get("/config/job/test_job_2")).thenReturn(CloudJsonConstants.getJobJson("test_job_2"));
+        assertThat(configService.loadAllByAppName("test_app").size(), is(2));
+        assertTrue(configService.loadAllByAppName("other_app").isEmpty());
+    }
+    
+    @Test
+    public void assertLoadAllByExecutionTypeWithIndex() {
+        configService.add(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_1"));
+        configService.add(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_2", CloudJobExecutionType.DAEMON));
+        CloudJobConfigurationCache.getInstance().setIndexed(true);
+        when(regCenter.get("/config/job/test_job_1")).thenReturn(CloudJsonConstants.getJobJson("test_job_1"));
+        Collection<CloudJobConfiguration> actual = configService.loadAllByExecutionType(CloudJobExecutionType.TRANSIENT);
+        assertThat(actual.size(), is(1));
+        assertThat(actual.iterator().next().getJobName(), is("test_job_1"));
+        verify(regCenter, never()).getChildrenKeys(CloudJobConfigurationNode.ROOT);
+        verify(regCenter, never()).get("/config/job/test_job_2");
+    }
+    
+    @Test
+    public void assertLoadWithPackingConfig() {
+        when(regCenter.get("/config/job/test_job")).thenReturn(CloudJsonConstants.getPackingJobJson(5));
+        Optional<CloudJobConfiguration> actual = configService.load("test_job");
+        assertTrue(actual.isPresent());
+        assertThat(actual.get().getMaxShardingItemsPerTask(), is(5));
+    }
+    
+    @Test
+    public void assertLoadWithPriorityConfig() {
+        when(regCenter.get("/config/job/test_job")).thenReturn(CloudJsonConstants.getPriorityJobJson(5));
+        Optional<CloudJobConfiguration> actual = configService.load("test_job");
+        assertTrue(actual.isPresent());
+        assertThat(actual.get().getPriority(), is(5));
     }
     
     @Test
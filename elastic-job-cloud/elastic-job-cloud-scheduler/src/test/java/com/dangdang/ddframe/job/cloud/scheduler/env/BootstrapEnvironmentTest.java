@@ -66,6 +66,9 @@ public final class BootstrapEnvironmentTest {
     public void assertGetFrameworkConfiguration() {
         FrameworkConfiguration frameworkConfig = bootstrapEnvironment.getFrameworkConfiguration();
         assertThat(frameworkConfig.getJobStateQueueSize(), is(10000));
+        assertThat(frameworkConfig.getReconcileBatchSize(), is(1000));
+        assertThat(frameworkConfig.getReconcileBatchIntervalMillis(), is(1000L));
+        assertThat(frameworkConfig.getMaxLaunchTasksPerIteration(), is(-1));
     }
     
     @Test
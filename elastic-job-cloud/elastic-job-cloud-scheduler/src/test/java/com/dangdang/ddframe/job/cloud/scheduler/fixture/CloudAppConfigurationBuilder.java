@@ -27,4 +27,12 @@ public final class CloudAppConfigurationBuilder {
     public static CloudAppConfiguration createCloudAppConfiguration(final String appName) {
         return new CloudAppConfiguration(appName, "http://localhost/app.jar", "bin/start.sh");
     }
+    
+    public static CloudAppConfiguration createIdleTimeoutCloudAppConfiguration(final String appName, final int executorIdleTimeoutSeconds) {
+        return new CloudAppConfiguration(appName, "http://localhost/app.jar", "bin/start.sh", 1, 128, true, 0, executorIdleTimeoutSeconds);
+    }
+    
+    public static CloudAppConfiguration createCompactTaskPayloadCloudAppConfiguration(final String appName) {
+        return new CloudAppConfiguration(appName, "http://localhost/app.jar", "bin/start.sh", 1, 128, true, 0, 0, true);
+    }
 }
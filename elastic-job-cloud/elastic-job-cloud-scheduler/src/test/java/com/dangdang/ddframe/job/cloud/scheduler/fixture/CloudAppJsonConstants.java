@@ -29,4 +29,14 @@ public final class CloudAppJsonConstants {
     public static String getAppJson(final String appName) {
         return String.format(APP_JSON, appName);
     }
+    
+    public static String getIdleTimeoutAppJson(final String appName, final int executorIdleTimeoutSeconds) {
+        String appJson = getAppJson(appName);
+        return appJson.substring(0, appJson.length() - 1) + ",\"executorIdleTimeoutSeconds\":" + executorIdleTimeoutSeconds + "}";
+    }
+    
+    public static String getCompactTaskPayloadAppJson(final String appName) {
+        String appJson = getAppJson(appName);
+        return appJson.substring(0, appJson.length() - 1) + ",\"compactTaskPayload\":true}";
+    }
 }
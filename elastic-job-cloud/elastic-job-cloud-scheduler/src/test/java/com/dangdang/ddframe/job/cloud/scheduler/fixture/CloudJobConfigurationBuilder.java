@@ -60,6 +60,24 @@ public final class CloudJobConfigurationBuilder {
                 1.0d, 128.0d, CloudJobExecutionType.TRANSIENT);
     }
     
+    public static CloudJobConfiguration createFixedRateCloudJobConfiguration(final String jobName, final CloudJobExecutionType jobExecutionType) {
+        return new CloudJobConfiguration("test_app",
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder(jobName, "", 10).fixedRate(1000L).failover(true).misfire(true).build(), TestSimpleJob.class.getCanonicalName()),
+                1.0d, 128.0d, jobExecutionType);
+    }
+    
+    public static CloudJobConfiguration createPackingCloudJobConfiguration(final String jobName, final int shardingTotalCount, final int maxShardingItemsPerTask) {
+        return new CloudJobConfiguration("test_app",
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder(jobName, "0/30 * * * * ?", shardingTotalCount).failover(true).misfire(true).build(), TestSimpleJob.class.getCanonicalName()),
+                1.0d, 128.0d, CloudJobExecutionType.TRANSIENT, null, null, maxShardingItemsPerTask);
+    }
+    
+    public static CloudJobConfiguration createPriorityCloudJobConfiguration(final String appName, final String jobName, final int shardingTotalCount, final int priority) {
+        return new CloudJobConfiguration(appName,
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder(jobName, "0/30 * * * * ?", shardingTotalCount).failover(true).misfire(true).build(), TestSimpleJob.class.getCanonicalName()),
+                1.0d, 128.0d, CloudJobExecutionType.TRANSIENT, null, null, 1, priority);
+    }
+    
     public static CloudJobConfiguration createOtherCloudJobConfiguration(final String jobName) {
         return new CloudJobConfiguration("test_app",
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder(jobName, "0/30 * * * * ?", 3).failover(false).misfire(true).build(), TestSimpleJob.class.getCanonicalName()),
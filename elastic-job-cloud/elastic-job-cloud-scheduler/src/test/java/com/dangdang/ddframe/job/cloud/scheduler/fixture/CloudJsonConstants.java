@@ -56,6 +56,16 @@ public final class CloudJsonConstants {
         return String.format(JOB_JSON, "test_job", misfire, "TRANSIENT");
     }
     
+    public static String getPackingJobJson(final int maxShardingItemsPerTask) {
+        String jobJson = getJobJson();
+        return jobJson.substring(0, jobJson.length() - 1) + ",\"maxShardingItemsPerTask\":" + maxShardingItemsPerTask + "}";
+    }
+    
+    public static String getPriorityJobJson(final int priority) {
+        String jobJson = getJobJson();
+        return jobJson.substring(0, jobJson.length() - 1) + ",\"priority\":" + priority + "}";
+    }
+    
     public static String getSpringJobJson() {
         return SPRING_JOB_JSON;
     }
@@ -21,6 +21,9 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses(FrameworkIDServiceTest.class)
+@Suite.SuiteClasses({
+        FrameworkIDServiceTest.class, 
+        StandbyServiceTest.class
+    })
 public class AllHATests {
 }
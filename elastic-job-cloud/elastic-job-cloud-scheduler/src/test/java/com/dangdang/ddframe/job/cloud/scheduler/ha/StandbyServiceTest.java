@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.ha;
+
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfigurationListener;
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
+import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverTaskListener;
+import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyJobListener;
+import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningTaskListener;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import org.apache.curator.framework.listen.ListenerContainer;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.unitils.util.ReflectionUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class StandbyServiceTest {
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    @Mock
+    private CloudJobConfigurationService jobConfigService;
+    
+    @Mock
+    private CloudAppConfigurationListener appConfigListener;
+    
+    @Mock
+    private RunningTaskListener runningTaskListener;
+    
+    @Mock
+    private ReadyJobListener readyJobListener;
+    
+    @Mock
+    private FailoverTaskListener failoverTaskListener;
+    
+    @Mock
+    private TreeCache treeCache;
+    
+    @Mock
+    private ListenerContainer<TreeCacheListener> listenerContainer;
+    
+    private StandbyService standbyService;
+    
+    @Before
+    public void setUp() throws NoSuchFieldException {
+        standbyService = new StandbyService(regCenter);
+        ReflectionUtils.setFieldValue(standbyService, "jobConfigService", jobConfigService);
+        ReflectionUtils.setFieldValue(standbyService, "appConfigListener", appConfigListener);
+        ReflectionUtils.setFieldValue(standbyService, "runningTaskListener", runningTaskListener);
+        ReflectionUtils.setFieldValue(standbyService, "readyJobListener", readyJobListener);
+        ReflectionUtils.setFieldValue(standbyService, "failoverTaskListener", failoverTaskListener);
+    }
+    
+    @Test
+    public void assertStartAndStop() {
+        when(regCenter.getRawCache("/config/job")).thenReturn(treeCache);
+        when(treeCache.getListenable()).thenReturn(listenerContainer);
+        standbyService.start();
+        standbyService.start();
+        InOrder inOrder = Mockito.inOrder(listenerContainer, jobConfigService, appConfigListener, runningTaskListener, readyJobListener, failoverTaskListener);
+        ArgumentCaptor<Executor> executorCaptor = ArgumentCaptor.forClass(Executor.class);
+        inOrder.verify(listenerContainer).addListener(any(TreeCacheListener.class), executorCaptor.capture());
+        inOrder.verify(jobConfigService).loadAll();
+        inOrder.verify(appConfigListener).start();
+        inOrder.verify(runningTaskListener).start();
+        inOrder.verify(readyJobListener).start();
+        inOrder.verify(failoverTaskListener).start();
+        ExecutorService executor = (ExecutorService) executorCaptor.getValue();
+        assertFalse(executor.isShutdown());
+        assertTrue(standbyService.stop());
+        assertFalse(standbyService.stop());
+        verify(listenerContainer).removeListener(standbyService);
+        assertTrue(executor.isShutdown());
+        verify(appConfigListener).stop();
+        verify(runningTaskListener).stop();
+        verify(readyJobListener).stop();
+        verify(failoverTaskListener, times(1)).stop();
+    }
+    
+    @Test
+    public void assertStopWhenNotStarted() {
+        assertFalse(standbyService.stop());
+        verify(runningTaskListener, never()).stop();
+    }
+    
+    @Test
+    public void assertChildEventWhenJobConfigChanged() throws Exception {
+        standbyService.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_UPDATED, new ChildData("/config/job/test_job", null, "".getBytes())));
+        standbyService.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/config/job/test_job", null, "".getBytes())));
+        verify(jobConfigService, times(2)).load("test_job");
+    }
+    
+    @Test
+    public void assertChildEventWhenIsNotJobConfigPath() throws Exception {
+        standbyService.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_UPDATED, new ChildData("/config/job", null, "".getBytes())));
+        standbyService.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_ADDED, new ChildData("/config/app/test_app", null, "".getBytes())));
+        standbyService.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.INITIALIZED, null));
+        verify(jobConfigService, never()).load(anyString());
+    }
+}
@@ -29,12 +29,16 @@ import org.junit.runners.Suite;
         TaskInfoDataTest.class, 
         FacadeServiceTest.class, 
         SchedulerEngineTest.class, 
+        TaskStatusUpdateServiceTest.class, 
         TaskLaunchScheduledServiceTest.class, 
+        TaskLaunchStatisticsTest.class, 
         SchedulerServiceTest.class, 
         LaunchingTasksTest.class, 
         FrameworkIDServiceTest.class, 
         MesosStateServiceTest.class, 
+        ExecutorStateCacheTest.class, 
         ReconcileServiceTest.class, 
+        FairShareJobQueueTest.class, 
         AppConstraintEvaluatorTest.class
     })
 public final class AllMesosTests {
@@ -27,9 +27,11 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.netflix.fenzo.ConstraintEvaluator;
 import com.netflix.fenzo.SchedulingResult;
+import com.netflix.fenzo.TaskAssignmentResult;
 import com.netflix.fenzo.TaskRequest;
 import com.netflix.fenzo.TaskScheduler;
 import com.netflix.fenzo.VMAssignmentResult;
+import com.netflix.fenzo.VirtualMachineCurrentState;
 import com.netflix.fenzo.VirtualMachineLease;
 import com.netflix.fenzo.functions.Action1;
 import com.netflix.fenzo.plugins.VMLeaseObject;
@@ -51,6 +53,8 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class AppConstraintEvaluatorTest {
@@ -145,6 +149,58 @@ public final class AppConstraintEvaluatorTest {
         assertThat(getAssignedTaskNumber(result), is(1));
     }
     
+    @Test
+    public void assertCalculateFitnessWithRunningExecutor() throws Exception {
+        when(facadeService.loadExecutorInfo()).thenReturn(ImmutableList.of(new MesosStateService.ExecutorStateInfo("foo-app@-@S0", "S0")));
+        when(facadeService.load("foo-0")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("foo-0", "foo-app")));
+        AppConstraintEvaluator.getInstance().loadAppRunningState();
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getTask("foo-0"), getVirtualMachine(0, Collections.<TaskAssignmentResult>emptyList()), null), 
+                is(AppConstraintEvaluator.WARM_EXECUTOR_FITNESS));
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getTask("foo-0"), getVirtualMachine(1, Collections.<TaskAssignmentResult>emptyList()), null), 
+                is(AppConstraintEvaluator.COLD_EXECUTOR_FITNESS));
+    }
+    
+    @Test
+    public void assertCalculateFitnessWithAssigningExecutor() throws Exception {
+        when(facadeService.load("foo-0")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("foo-0", "foo-app")));
+        when(facadeService.load("foo-2")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("foo-2", "foo-app")));
+        TaskAssignmentResult assignedTask = mock(TaskAssignmentResult.class);
+        TaskRequest assignedTaskRequest = getTask("foo-2");
+        when(assignedTask.getRequest()).thenReturn(assignedTaskRequest);
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getTask("foo-0"), getVirtualMachine(0, Collections.singletonList(assignedTask)), null), 
+                is(AppConstraintEvaluator.WARM_EXECUTOR_FITNESS));
+    }
+    
+    @Test
+    public void assertCalculateFitnessWithJobTaskRequestWithoutLoadingJobConfig() throws Exception {
+        TaskAssignmentResult assignedTask = mock(TaskAssignmentResult.class);
+        TaskRequest assignedTaskRequest = getJobTaskRequest("bar-2", "bar-app");
+        when(assignedTask.getRequest()).thenReturn(assignedTaskRequest);
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getJobTaskRequest("bar-0", "bar-app"), getVirtualMachine(0, Collections.<TaskAssignmentResult>emptyList()), null), 
+                is(AppConstraintEvaluator.COLD_EXECUTOR_FITNESS));
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getJobTaskRequest("bar-0", "bar-app"), getVirtualMachine(0, Collections.singletonList(assignedTask)), null), 
+                is(AppConstraintEvaluator.WARM_EXECUTOR_FITNESS));
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getJobTaskRequest("bar-1", "other-app"), getVirtualMachine(0, Collections.singletonList(assignedTask)), null), 
+                is(AppConstraintEvaluator.COLD_EXECUTOR_FITNESS));
+        verify(facadeService, never()).load("bar-0");
+        verify(facadeService, never()).load("bar-1");
+        verify(facadeService, never()).load("bar-2");
+    }
+    
+    @Test
+    public void assertCalculateFitnessWithLackJobConfig() throws Exception {
+        when(facadeService.load("test")).thenReturn(Optional.<CloudJobConfiguration>absent());
+        assertThat(AppConstraintEvaluator.getInstance().calculateFitness(getTask("test"), getVirtualMachine(0, Collections.<TaskAssignmentResult>emptyList()), null), 
+                is(AppConstraintEvaluator.COLD_EXECUTOR_FITNESS));
+    }
+    
+    private VirtualMachineCurrentState getVirtualMachine(final int index, final List<TaskAssignmentResult> assignedTasks) {
+        VirtualMachineCurrentState result = mock(VirtualMachineCurrentState.class);
+        when(result.getAllCurrentOffers()).thenReturn(Collections.singletonList(getLease(index, SUFFICIENT_CPU, SUFFICIENT_MEM).getOffer()));
+        when(result.getTasksCurrentlyAssigned()).thenReturn(assignedTasks);
+        return result;
+    }
+    
     private VirtualMachineLease getLease(final int index, final double cpus, final double mem) {
         return new VMLeaseObject(Protos.Offer.newBuilder()
                 .setId(Protos.OfferID.newBuilder().setValue("offer" + index))
@@ -191,6 +247,10 @@ public final class AppConstraintEvaluatorTest {
         return result;
     }
     
+    private TaskRequest getJobTaskRequest(final String jobName, final String appName) {
+        return new JobTaskRequest(new TaskContext(jobName, Collections.singletonList(0), ExecutionType.READY), CloudJobConfigurationBuilder.createCloudJobConfiguration(jobName, appName));
+    }
+    
     private int getAssignedTaskNumber(final SchedulingResult schedulingResult) {
         int result = 0;
         for (VMAssignmentResult each : schedulingResult.getResultMap().values()) {
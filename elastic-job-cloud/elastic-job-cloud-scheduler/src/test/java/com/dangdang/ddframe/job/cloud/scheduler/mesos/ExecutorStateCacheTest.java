@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.MesosStateService.ExecutorStateInfo;
+import org.codehaus.jettison.json.JSONException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.unitils.util.ReflectionUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class ExecutorStateCacheTest {
+    
+    @Mock
+    private MesosStateService mesosStateService;
+    
+    private ExecutorStateCache executorStateCache;
+    
+    @Before
+    public void setUp() throws JSONException {
+        executorStateCache = new ExecutorStateCache();
+        when(mesosStateService.executors()).thenReturn(Arrays.asList(
+                ExecutorStateInfo.builder().id("foo_app@-@S0").slaveId("S0").build(), ExecutorStateInfo.builder().id("bar_app@-@S1").slaveId("S1").build()));
+    }
+    
+    @Test
+    public void assertGetExecutorsLoadOnlyOnceWithinRefreshInterval() throws JSONException {
+        assertThat(executorStateCache.getExecutors(mesosStateService).size(), is(2));
+        assertThat(executorStateCache.getExecutors(mesosStateService).size(), is(2));
+        verify(mesosStateService).executors();
+    }
+    
+    @Test(expected = JSONException.class)
+    public void assertGetExecutorsWhenFirstLoadFailure() throws JSONException {
+        when(mesosStateService.executors()).thenThrow(new JSONException("error"));
+        executorStateCache.getExecutors(mesosStateService);
+    }
+    
+    @Test
+    public void assertGetExecutorsRefreshAsynchronouslyAfterRefreshInterval() throws JSONException, NoSuchFieldException {
+        executorStateCache.getExecutors(mesosStateService);
+        ReflectionUtils.setFieldValue(executorStateCache, "lastRefreshTime", System.currentTimeMillis() - ExecutorStateCache.REFRESH_INTERVAL_MILLISECONDS);
+        when(mesosStateService.executors()).thenReturn(Collections.singletonList(ExecutorStateInfo.builder().id("foo_app@-@S0").slaveId("S0").build()));
+        assertThat(executorStateCache.getExecutors(mesosStateService).size(), is(2));
+        verify(mesosStateService, timeout(5000L).times(2)).executors();
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (2 == executorStateCache.getExecutors(mesosStateService).size() && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertThat(executorStateCache.getExecutors(mesosStateService).size(), is(1));
+    }
+    
+    @Test
+    public void assertGetExecutorsKeepDeltasDuringAsynchronousRefresh() throws JSONException, NoSuchFieldException, InterruptedException {
+        executorStateCache.getExecutors(mesosStateService);
+        ReflectionUtils.setFieldValue(executorStateCache, "lastRefreshTime", System.currentTimeMillis() - ExecutorStateCache.REFRESH_INTERVAL_MILLISECONDS);
+        final CountDownLatch loadingLatch = new CountDownLatch(1);
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        when(mesosStateService.executors()).thenAnswer(new Answer<Collection<ExecutorStateInfo>>() {
+            
+            @Override
+            public Collection<ExecutorStateInfo> answer(final InvocationOnMock invocation) throws InterruptedException {
+                loadingLatch.countDown();
+                releaseLatch.await();
+                return Arrays.asList(ExecutorStateInfo.builder().id("foo_app@-@S0").slaveId("S0").build(), ExecutorStateInfo.builder().id("bar_app@-@S1").slaveId("S1").build());
+            }
+        });
+        executorStateCache.getExecutors(mesosStateService);
+        assertTrue(loadingLatch.await(5L, TimeUnit.SECONDS));
+        executorStateCache.removeExecutor("foo_app@-@S0");
+        executorStateCache.putExecutor("foo_app@-@S2", "S2");
+        releaseLatch.countDown();
+        long deadline = System.currentTimeMillis() + 5000L;
+        AtomicBoolean refreshing = ReflectionUtils.getFieldValue(executorStateCache, ExecutorStateCache.class.getDeclaredField("refreshing"));
+        while (refreshing.get() && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Collection<String> actual = new HashSet<>();
+        for (ExecutorStateInfo each : executorStateCache.getExecutors(mesosStateService)) {
+            actual.add(each.getId());
+        }
+        assertThat(actual, is((Collection<String>) new HashSet<>(Arrays.asList("bar_app@-@S1", "foo_app@-@S2"))));
+    }
+    
+    @Test
+    public void assertGetExecutorsKeepDeltasWhenSynchronousLoadDuringAsynchronousRefresh() throws JSONException, NoSuchFieldException, InterruptedException {
+        executorStateCache.getExecutors(mesosStateService);
+        ReflectionUtils.setFieldValue(executorStateCache, "lastRefreshTime", System.currentTimeMillis() - ExecutorStateCache.REFRESH_INTERVAL_MILLISECONDS);
+        final CountDownLatch loadingLatch = new CountDownLatch(1);
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        final AtomicInteger loadCount = new AtomicInteger();
+        when(mesosStateService.executors()).thenAnswer(new Answer<Collection<ExecutorStateInfo>>() {
+            
+            @Override
+            public Collection<ExecutorStateInfo> answer(final InvocationOnMock invocation) throws InterruptedException {
+                if (0 != loadCount.getAndIncrement()) {
+                    return Arrays.asList(ExecutorStateInfo.builder().id("foo_app@-@S0").slaveId("S0").build(), ExecutorStateInfo.builder().id("bar_app@-@S1").slaveId("S1").build());
+                }
+                loadingLatch.countDown();
+                releaseLatch.await();
+                return Arrays.asList(ExecutorStateInfo.builder().id("foo_app@-@S0").slaveId("S0").build(), ExecutorStateInfo.builder().id("bar_app@-@S1").slaveId("S1").build(), 
+                        ExecutorStateInfo.builder().id("baz_app@-@S2").slaveId("S2").build());
+            }
+        });
+        executorStateCache.getExecutors(mesosStateService);
+        assertTrue(loadingLatch.await(5L, TimeUnit.SECONDS));
+        executorStateCache.invalidate();
+        assertThat(executorStateCache.getExecutors(mesosStateService).size(), is(2));
+        executorStateCache.removeExecutor("foo_app@-@S0");
+        releaseLatch.countDown();
+        long deadline = System.currentTimeMillis() + 5000L;
+        AtomicBoolean refreshing = ReflectionUtils.getFieldValue(executorStateCache, ExecutorStateCache.class.getDeclaredField("refreshing"));
+        while (refreshing.get() && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Collection<String> actual = new HashSet<>();
+        for (ExecutorStateInfo each : executorStateCache.getExecutors(mesosStateService)) {
+            actual.add(each.getId());
+        }
+        assertThat(actual, is((Collection<String>) new HashSet<>(Arrays.asList("bar_app@-@S1", "baz_app@-@S2"))));
+    }
+    
+    @Test
+    public void assertInvalidate() throws JSONException {
+        executorStateCache.getExecutors(mesosStateService);
+        executorStateCache.invalidate();
+        executorStateCache.getExecutors(mesosStateService);
+        verify(mesosStateService, times(2)).executors();
+    }
+    
+    @Test
+    public void assertPutExecutor() throws JSONException {
+        executorStateCache.getExecutors(mesosStateService);
+        executorStateCache.putExecutor("foo_app@-@S2", "S2");
+        executorStateCache.putExecutor("foo_app@-@S0", "S0");
+        assertThat(executorStateCache.getExecutors(mesosStateService).size(), is(3));
+    }
+    
+    @Test
+    public void assertRemoveExecutor() throws JSONException {
+        executorStateCache.getExecutors(mesosStateService);
+        executorStateCache.removeExecutor("foo_app@-@S0");
+        Collection<ExecutorStateInfo> actual = executorStateCache.getExecutors(mesosStateService);
+        assertThat(actual.size(), is(1));
+        assertThat(actual.iterator().next().getId(), is("bar_app@-@S1"));
+    }
+    
+    @Test
+    public void assertRemoveSlave() throws JSONException {
+        executorStateCache.getExecutors(mesosStateService);
+        executorStateCache.putExecutor("bar_app@-@S0", "S0");
+        executorStateCache.removeSlave("S0");
+        Collection<ExecutorStateInfo> actual = executorStateCache.getExecutors(mesosStateService);
+        assertThat(actual.size(), is(1));
+        assertThat(actual.iterator().next().getSlaveId(), is("S1"));
+    }
+    
+    @Test
+    public void assertGetInstance() {
+        assertTrue(ExecutorStateCache.getInstance() == ExecutorStateCache.getInstance());
+    }
+}
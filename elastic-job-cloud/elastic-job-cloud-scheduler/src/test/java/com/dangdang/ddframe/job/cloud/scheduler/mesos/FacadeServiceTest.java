@@ -23,9 +23,13 @@ import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
+import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
+import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment.EnvironmentArgument;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppConfigurationBuilder;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.TaskNode;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
+import com.dangdang.ddframe.job.cloud.scheduler.state.WriteBehindService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.disable.app.DisableAppService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.disable.job.DisableJobService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverService;
@@ -46,11 +50,13 @@ import org.unitils.util.ReflectionUtils;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Properties;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -85,6 +91,9 @@ public final class FacadeServiceTest {
     @Mock
     private MesosStateService mesosStateService;
     
+    @Mock
+    private WriteBehindService writeBehindService;
+    
     private FacadeService facadeService;
     
     @Before
@@ -98,12 +107,25 @@ public final class FacadeServiceTest {
         ReflectionUtils.setFieldValue(facadeService, "disableAppService", disableAppService);
         ReflectionUtils.setFieldValue(facadeService, "disableJobService", disableJobService);
         ReflectionUtils.setFieldValue(facadeService, "mesosStateService", mesosStateService);
+        ReflectionUtils.setFieldValue(facadeService, "writeBehindService", writeBehindService);
     }
     
     @Test
     public void assertStart() {
         facadeService.start();
         verify(runningService).start();
+        verify(readyService).start();
+        verify(failoverService).start();
+        verify(writeBehindService).start();
+    }
+    
+    @Test
+    public void assertStartFromWarmStandby() {
+        facadeService.start(true);
+        verify(runningService, never()).start();
+        verify(readyService, never()).start();
+        verify(failoverService, never()).start();
+        verify(writeBehindService).start();
     }
     
     @Test
@@ -128,6 +150,30 @@ public final class FacadeServiceTest {
             }
             i++;
         }
+        verify(runningService).getAppRunningResources();
+        verify(runningService, never()).getAllRunningTasks();
+    }
+    
+    @Test
+    public void assertGetEligibleJobContextWhenExceedMaxLaunchTasksPerIteration() throws NoSuchFieldException, InterruptedException {
+        JobContext aJobContext = JobContext.from(CloudJobConfigurationBuilder.createPriorityCloudJobConfiguration("test_app", "a_job", 1, 0), ExecutionType.READY);
+        JobContext bJobContext = JobContext.from(CloudJobConfigurationBuilder.createPriorityCloudJobConfiguration("test_app", "b_job", 1, 0), ExecutionType.READY);
+        Collection<JobContext> failoverJobContexts = Collections.emptyList();
+        when(failoverService.getAllEligibleJobContexts()).thenReturn(failoverJobContexts);
+        when(readyService.getAllEligibleJobContexts(failoverJobContexts)).thenReturn(Arrays.asList(aJobContext, bJobContext), Collections.singletonList(bJobContext));
+        TaskLaunchSignal.getInstance().await(0L);
+        Properties originalProperties = ReflectionUtils.getFieldValue(BootstrapEnvironment.getInstance(), BootstrapEnvironment.class.getDeclaredField("properties"));
+        Properties properties = new Properties();
+        properties.setProperty(EnvironmentArgument.MAX_LAUNCH_TASKS_PER_ITERATION.getKey(), "1");
+        ReflectionUtils.setFieldValue(BootstrapEnvironment.getInstance(), "properties", properties);
+        try {
+            assertThat(facadeService.getEligibleJobContext(), is((Collection<JobContext>) Collections.singletonList(aJobContext)));
+            assertTrue(TaskLaunchSignal.getInstance().await(0L));
+            assertThat(facadeService.getEligibleJobContext(), is((Collection<JobContext>) Collections.singletonList(bJobContext)));
+            assertFalse(TaskLaunchSignal.getInstance().await(0L));
+        } finally {
+            ReflectionUtils.setFieldValue(BootstrapEnvironment.getInstance(), "properties", originalProperties);
+        }
     }
     
     @Test
@@ -260,7 +306,10 @@ public final class FacadeServiceTest {
     @Test
     public void assertStop() {
         facadeService.stop();
+        verify(writeBehindService).stop();
         verify(runningService).clear();
+        verify(readyService).clear();
+        verify(failoverService).clear();
     }
     
     @Test
@@ -317,6 +366,7 @@ public final class FacadeServiceTest {
     
     @Test
     public void assertLoadExecutor() throws Exception {
+        ExecutorStateCache.getInstance().invalidate();
         facadeService.loadExecutorInfo();
         verify(mesosStateService).executors();
     }
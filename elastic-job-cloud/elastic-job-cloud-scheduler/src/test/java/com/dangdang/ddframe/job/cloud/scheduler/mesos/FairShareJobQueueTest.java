@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
+import com.dangdang.ddframe.job.context.ExecutionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class FairShareJobQueueTest {
+    
+    private FairShareJobQueue jobQueue;
+    
+    @Before
+    public void setUp() {
+        jobQueue = new FairShareJobQueue();
+        jobQueue.addIdleResources(100d, 12800d);
+    }
+    
+    @Test
+    public void assertPollWhenEmpty() {
+        assertTrue(jobQueue.poll(-1).isEmpty());
+    }
+    
+    @Test
+    public void assertPollByPriority() {
+        jobQueue.offer(createJobContext("app_a", "low_job", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "high_job", 1, 10, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_a", "middle_job", 1, 5, ExecutionType.READY));
+        assertThat(getJobNames(jobQueue.poll(-1)), is(Arrays.asList("high_job", "middle_job", "low_job")));
+    }
+    
+    @Test
+    public void assertPollFailoverBeforeReadyWithSamePriority() {
+        jobQueue.offer(createJobContext("app_a", "a_job", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_a", "b_job", 1, 0, ExecutionType.FAILOVER));
+        assertThat(getJobNames(jobQueue.poll(-1)), is(Arrays.asList("b_job", "a_job")));
+    }
+    
+    @Test
+    public void assertPollRoundRobinAcrossApps() {
+        jobQueue.offer(createJobContext("app_a", "a_job_0", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_a", "a_job_1", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "b_job_0", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "b_job_1", 1, 0, ExecutionType.READY));
+        assertThat(getJobNames(jobQueue.poll(-1)), is(Arrays.asList("a_job_0", "b_job_0", "a_job_1", "b_job_1")));
+    }
+    
+    @Test
+    public void assertPollByDominantShare() {
+        jobQueue.addRunningResources("app_a", 10d, 128d);
+        jobQueue.addRunningResources("app_b", 1d, 640d);
+        jobQueue.addRunningResources("app_c", 1d, 128d);
+        jobQueue.offer(createJobContext("app_a", "a_job", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "b_job", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_c", "c_job", 1, 0, ExecutionType.READY));
+        assertThat(getJobNames(jobQueue.poll(-1)), is(Arrays.asList("c_job", "b_job", "a_job")));
+    }
+    
+    @Test
+    public void assertPollLargeJobNotStarveSmallJobs() {
+        jobQueue.offer(createJobContext("app_a", "large_job_0", 100, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_a", "large_job_1", 100, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "small_job_0", 1, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "small_job_1", 1, 0, ExecutionType.READY));
+        assertThat(getJobNames(jobQueue.poll(-1)), is(Arrays.asList("large_job_0", "small_job_0", "small_job_1", "large_job_1")));
+    }
+    
+    @Test
+    public void assertPollWithMaxTaskCount() {
+        jobQueue.offer(createJobContext("app_a", "a_job", 3, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "b_job", 3, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_c", "c_job", 3, 0, ExecutionType.READY));
+        assertThat(getJobNames(jobQueue.poll(7)), is(Arrays.asList("a_job", "b_job")));
+        assertFalse(jobQueue.isEmpty());
+        assertThat(getJobNames(jobQueue.poll(7)), is(Collections.singletonList("c_job")));
+        assertTrue(jobQueue.isEmpty());
+    }
+    
+    @Test
+    public void assertPollFirstJobExceedMaxTaskCount() {
+        jobQueue.offer(createJobContext("app_a", "a_job", 10, 0, ExecutionType.READY));
+        jobQueue.offer(createJobContext("app_b", "b_job", 1, 0, ExecutionType.READY));
+        assertThat(getJobNames(jobQueue.poll(5)), is(Arrays.asList("a_job")));
+    }
+    
+    private JobContext createJobContext(final String appName, final String jobName, final int shardingTotalCount, final int priority, final ExecutionType type) {
+        return JobContext.from(CloudJobConfigurationBuilder.createPriorityCloudJobConfiguration(appName, jobName, shardingTotalCount, priority), type);
+    }
+    
+    private List<String> getJobNames(final List<JobContext> jobContexts) {
+        List<String> result = new ArrayList<>(jobContexts.size());
+        for (JobContext each : jobContexts) {
+            result.add(each.getJobConfig().getJobName());
+        }
+        return result;
+    }
+}
@@ -23,6 +23,7 @@ import com.dangdang.ddframe.job.context.TaskContext;
 import com.netflix.fenzo.TaskRequest;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.hamcrest.core.Is.is;
@@ -51,6 +52,12 @@ public final class JobTaskRequestTest {
         assertThat(jobTaskRequest.getCPUs(), is(1.0d));
     }
     
+    @Test
+    public void assertGetCPUsForPackingTask() {
+        assertThat(new JobTaskRequest(new TaskContext("test_job", Arrays.asList(0, 1, 2), ExecutionType.READY), 
+                CloudJobConfigurationBuilder.createPackingCloudJobConfiguration("test_job", 10, 3)).getCPUs(), is(3.0d));
+    }
+    
     @Test
     public void assertGetMemory() {
         assertThat(jobTaskRequest.getMemory(), is(128.0d));
@@ -84,7 +91,8 @@ public final class JobTaskRequestTest {
     
     @Test
     public void assertGetSoftConstraints() {
-        assertNull(jobTaskRequest.getSoftConstraints());
+        AppConstraintEvaluator.init(null);
+        assertThat(jobTaskRequest.getSoftConstraints().size(), is(1));
     }
     
     @Test
@@ -24,8 +24,12 @@ import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
 import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.netflix.fenzo.TaskAssignmentResult;
 import com.netflix.fenzo.TaskRequest;
+import com.netflix.fenzo.VMAssignmentResult;
+import com.netflix.fenzo.VirtualMachineLease;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -34,10 +38,15 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -80,4 +89,41 @@ public final class LaunchingTasksTest {
         List<TaskRequest> actual = launchingTasks.getPendingTasks();
         assertThat(actual.size(), is(20));
     }
+    
+    @Test
+    public void assertGetLaunchingTaskRequestsWithoutPacking() {
+        List<TaskRequest> assignedTasks = launchingTasks.getPendingTasks().subList(0, 2);
+        List<TaskRequest> actual = launchingTasks.getLaunchingTaskRequests(
+                new VMAssignmentResult("localhost", Collections.<VirtualMachineLease>emptyList(), mockTaskAssignmentResults(assignedTasks, true)));
+        assertThat(actual.size(), is(2));
+        assertTrue(actual.containsAll(assignedTasks));
+    }
+    
+    @Test
+    public void assertGetLaunchingTaskRequestsWithPacking() {
+        LaunchingTasks packingLaunchingTasks = new LaunchingTasks(Collections.singletonList(
+                JobContext.from(CloudJobConfigurationBuilder.createPackingCloudJobConfiguration("packing_job", 5, 2), ExecutionType.READY)));
+        List<TaskRequest> actual = packingLaunchingTasks.getLaunchingTaskRequests(
+                new VMAssignmentResult("localhost", Collections.<VirtualMachineLease>emptyList(), mockTaskAssignmentResults(packingLaunchingTasks.getPendingTasks(), false)));
+        assertThat(actual.size(), is(3));
+        assertThat(TaskContext.from(actual.get(0).getId()).getMetaInfo().getShardingItems(), is(Arrays.asList(0, 1)));
+        assertThat(TaskContext.from(actual.get(1).getId()).getMetaInfo().getShardingItems(), is(Arrays.asList(2, 3)));
+        assertThat(TaskContext.from(actual.get(2).getId()).getMetaInfo().getShardingItems(), is(Collections.singletonList(4)));
+        assertThat(TaskContext.from(actual.get(0).getId()).getType(), is(ExecutionType.READY));
+        assertThat(actual.get(0).getCPUs(), is(2.0d));
+        assertThat(actual.get(0).getMemory(), is(256.0d));
+    }
+    
+    private Set<TaskAssignmentResult> mockTaskAssignmentResults(final List<TaskRequest> taskRequests, final boolean withRequest) {
+        Set<TaskAssignmentResult> result = new HashSet<>(taskRequests.size(), 1);
+        for (TaskRequest each : taskRequests) {
+            TaskAssignmentResult taskAssignmentResult = mock(TaskAssignmentResult.class);
+            when(taskAssignmentResult.getTaskId()).thenReturn(each.getId());
+            if (withRequest) {
+                when(taskAssignmentResult.getRequest()).thenReturn(each);
+            }
+            result.add(taskAssignmentResult);
+        }
+        return result;
+    }
 }
@@ -17,9 +17,15 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.LeasesQueue.HeldResources;
 import com.dangdang.ddframe.job.cloud.scheduler.mesos.fixture.OfferBuilder;
+import com.netflix.fenzo.VirtualMachineLease;
+import org.apache.mesos.Protos;
+import org.junit.After;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -28,11 +34,70 @@ public final class LeasesQueueTest {
     
     private LeasesQueue leasesQueue = LeasesQueue.getInstance();
     
+    @After
+    public void tearDown() {
+        leasesQueue.clear();
+    }
+    
     @Test
     public void assertOperate() {
         assertTrue(leasesQueue.drainTo().isEmpty());
         leasesQueue.offer(OfferBuilder.createOffer("offer_1"));
         leasesQueue.offer(OfferBuilder.createOffer("offer_2"));
         assertThat(leasesQueue.drainTo().size(), is(2));
+        assertTrue(leasesQueue.drainTo().isEmpty());
+    }
+    
+    @Test
+    public void assertDrainToGroupBySlave() {
+        leasesQueue.offer(OfferBuilder.createOffer("offer_1"));
+        leasesQueue.offer(OfferBuilder.createOffer("offer_2"));
+        leasesQueue.offer(createOffer("offer_3", "slave-offer_1"));
+        List<VirtualMachineLease> actual = leasesQueue.drainTo();
+        assertThat(actual.size(), is(3));
+        assertThat(actual.get(0).getOffer().getId().getValue(), is("offer_1"));
+        assertThat(actual.get(1).getOffer().getId().getValue(), is("offer_3"));
+        assertThat(actual.get(2).getOffer().getId().getValue(), is("offer_2"));
+    }
+    
+    @Test
+    public void assertRescind() {
+        leasesQueue.offer(OfferBuilder.createOffer("offer_1"));
+        leasesQueue.offer(OfferBuilder.createOffer("offer_2"));
+        leasesQueue.rescind("offer_1");
+        leasesQueue.rescind("not_existed_offer");
+        List<VirtualMachineLease> actual = leasesQueue.drainTo();
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get(0).getOffer().getId().getValue(), is("offer_2"));
+        assertThat(leasesQueue.getHeldResources().getOfferCount(), is(1));
+    }
+    
+    @Test
+    public void assertRescindSlave() {
+        leasesQueue.offer(OfferBuilder.createOffer("offer_1"));
+        leasesQueue.offer(createOffer("offer_2", "slave-offer_1"));
+        leasesQueue.offer(OfferBuilder.createOffer("offer_3"));
+        leasesQueue.rescindSlave("slave-offer_1");
+        assertThat(leasesQueue.drainTo().size(), is(1));
+        assertThat(leasesQueue.getHeldResources().getOfferCount(), is(1));
+    }
+    
+    @Test
+    public void assertGetHeldResources() {
+        leasesQueue.offer(OfferBuilder.createOffer("offer_1"));
+        leasesQueue.offer(OfferBuilder.createOffer("offer_2"));
+        leasesQueue.drainTo();
+        HeldResources actual = leasesQueue.getHeldResources();
+        assertThat(actual.getOfferCount(), is(2));
+        assertThat(actual.getCpus(), is(200d));
+        assertThat(actual.getMemoryMB(), is(256000d));
+        leasesQueue.release("offer_1");
+        assertThat(leasesQueue.getHeldResources().getOfferCount(), is(1));
+        leasesQueue.clear();
+        assertThat(leasesQueue.getHeldResources().getOfferCount(), is(0));
+    }
+    
+    private Protos.Offer createOffer(final String offerId, final String slaveId) {
+        return OfferBuilder.createOffer(offerId).toBuilder().setSlaveId(Protos.SlaveID.newBuilder().setValue(slaveId)).build();
     }
 }
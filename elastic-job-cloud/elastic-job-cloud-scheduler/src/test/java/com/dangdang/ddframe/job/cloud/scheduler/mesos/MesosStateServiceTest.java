@@ -19,18 +19,31 @@ package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
 import com.dangdang.ddframe.job.cloud.scheduler.ha.HANode;
 import com.dangdang.ddframe.job.cloud.scheduler.mesos.MesosStateService.ExecutorStateInfo;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.MesosStateService.SlaveState;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.fixture.slave.MesosSlaveServerMock;
 import com.dangdang.ddframe.job.cloud.scheduler.restful.AbstractCloudRestfulApiTest;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.gson.JsonArray;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -50,6 +63,67 @@ public class MesosStateServiceTest extends AbstractCloudRestfulApiTest {
                 + "frameworks/d8701508-41b7-471e-9b32-61cf824a660d-0000/executors/foo_app@-@d8701508-41b7-471e-9b32-61cf824a660d-S0/runs/53fb4af7-aee2-44f6-9e47-6f418d9f27e1"));
     }
     
+    @Test
+    public void assertSandboxWithCachedSlaveState() throws Exception {
+        when(registryCenter.getDirectly(HANode.FRAMEWORK_ID_NODE)).thenReturn("d8701508-41b7-471e-9b32-61cf824a660d-0000");
+        MesosStateService service = new MesosStateService(registryCenter);
+        service.sandbox("foo_app");
+        int requestCount = MesosSlaveServerMock.getStateRequestCount();
+        JsonArray sandbox = service.sandbox("foo_app");
+        assertThat(sandbox.size(), is(1));
+        assertThat(MesosSlaveServerMock.getStateRequestCount(), is(requestCount));
+    }
+    
+    @Test
+    public void assertSandboxWithoutExecutors() throws Exception {
+        when(registryCenter.getDirectly(HANode.FRAMEWORK_ID_NODE)).thenReturn("d8701508-41b7-471e-9b32-61cf824a660d-0000");
+        MesosStateService service = new MesosStateService(registryCenter);
+        assertThat(service.sandbox("bar_app").size(), is(0));
+    }
+    
+    @Test
+    public void assertLoadSlaveStatesWithHangingAndErrorSlaves() throws Exception {
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        ExecutorService hangingExecutor = Executors.newCachedThreadPool();
+        HttpServer hangingSlave = startSlave(new HttpHandler() {
+            
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                try {
+                    releaseLatch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.close();
+            }
+        }, hangingExecutor);
+        HttpServer errorSlave = startSlave(new HttpHandler() {
+            
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+            }
+        }, null);
+        try {
+            MesosStateService service = new MesosStateService(registryCenter);
+            long startTime = System.currentTimeMillis();
+            Collection<SlaveState> actual = service.loadSlaveStates(Arrays.asList(
+                    getHost(hangingSlave), getHost(errorSlave), "127.0.0.1:9051"), "d8701508-41b7-471e-9b32-61cf824a660d-0000", 1000L);
+            long elapsed = System.currentTimeMillis() - startTime;
+            assertThat(actual.size(), is(1));
+            SlaveState slaveState = actual.iterator().next();
+            assertThat(slaveState.getHostname(), is("127.0.0.1"));
+            assertFalse(slaveState.getExecutorDirectories().isEmpty());
+            assertTrue(elapsed < 3000L);
+        } finally {
+            releaseLatch.countDown();
+            hangingSlave.stop(0);
+            errorSlave.stop(0);
+            hangingExecutor.shutdownNow();
+        }
+    }
+    
     @Test
     public void assertExecutors() throws Exception {
         when(registryCenter.getDirectly(HANode.FRAMEWORK_ID_NODE)).thenReturn("d8701508-41b7-471e-9b32-61cf824a660d-0000");
@@ -71,4 +145,22 @@ public class MesosStateServiceTest extends AbstractCloudRestfulApiTest {
         assertThat(executor.getId(), is("foo_app@-@d8701508-41b7-471e-9b32-61cf824a660d-S0"));
         assertThat(executor.getSlaveId(), is("d8701508-41b7-471e-9b32-61cf824a660d-S0"));
     }
+    
+    @Test
+    public void assertExecutorsWithoutFrameworkID() throws Exception {
+        MesosStateService service = new MesosStateService(registryCenter);
+        assertTrue(service.executors().isEmpty());
+    }
+    
+    private HttpServer startSlave(final HttpHandler handler, final ExecutorService executor) throws IOException {
+        HttpServer result = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        result.createContext("/state", handler);
+        result.setExecutor(executor);
+        result.start();
+        return result;
+    }
+    
+    private String getHost(final HttpServer server) {
+        return String.format("127.0.0.1:%d", server.getAddress().getPort());
+    }
 }
@@ -17,6 +17,8 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
+import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
+import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment.EnvironmentArgument;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.google.common.collect.Sets;
 import org.apache.mesos.Protos;
@@ -25,18 +27,25 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.unitils.util.ReflectionUtils;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,4 +95,69 @@ public final class ReconcileServiceTest {
             assertThat(each.getState(), is(Protos.TaskState.TASK_RUNNING));
         }
     }
+    
+    @Test
+    public void assertExplicitReconcileInBatches() throws NoSuchFieldException {
+        mockRunningTasks();
+        Properties originalProperties = setBatchProperties("1");
+        try {
+            reconcileService.explicitReconcile();
+        } finally {
+            ReflectionUtils.setFieldValue(BootstrapEnvironment.getInstance(), "properties", originalProperties);
+        }
+        verify(schedulerDriver, times(2)).reconcileTasks(taskStatusCaptor.capture());
+        for (Collection<Protos.TaskStatus> each : taskStatusCaptor.getAllValues()) {
+            assertThat(each.size(), is(1));
+        }
+        ReconcileService.ReconcileProgress progress = reconcileService.getProgress();
+        assertFalse(progress.isReconciling());
+        assertThat(progress.getTotalTaskCount(), is(2));
+        assertThat(progress.getReconciledTaskCount(), is(2));
+        assertThat(progress.getTotalBatchCount(), is(2));
+        assertThat(progress.getReconciledBatchCount(), is(2));
+        assertTrue(progress.getLagMillis() >= 0L);
+    }
+    
+    @Test
+    public void assertExplicitReconcileFallbackToImplicitReconcile() {
+        mockRunningTasks();
+        when(schedulerDriver.reconcileTasks(ArgumentMatchers.<Protos.TaskStatus>anyCollection())).thenThrow(new RuntimeException()).thenReturn(Protos.Status.DRIVER_RUNNING);
+        int implicitFallbackCount = reconcileService.getProgress().getImplicitFallbackCount();
+        reconcileService.explicitReconcile();
+        verify(schedulerDriver).reconcileTasks(Collections.<Protos.TaskStatus>emptyList());
+        assertThat(reconcileService.getProgress().getImplicitFallbackCount(), is(implicitFallbackCount + 1));
+        assertThat(reconcileService.getProgress().getReconciledTaskCount(), is(0));
+    }
+    
+    @Test
+    public void assertExplicitReconcileAbortedWhenDriverStopped() {
+        mockRunningTasks();
+        when(schedulerDriver.reconcileTasks(ArgumentMatchers.<Protos.TaskStatus>anyCollection())).thenReturn(Protos.Status.DRIVER_STOPPED);
+        reconcileService.explicitReconcile();
+        verify(schedulerDriver, times(1)).reconcileTasks(ArgumentMatchers.<Protos.TaskStatus>anyCollection());
+        assertThat(reconcileService.getProgress().getReconciledTaskCount(), is(0));
+    }
+    
+    @Test
+    public void assertExplicitReconcileAsync() {
+        mockRunningTasks();
+        reconcileService.explicitReconcileAsync();
+        verify(schedulerDriver, timeout(1000L)).reconcileTasks(ArgumentMatchers.<Protos.TaskStatus>anyCollection());
+    }
+    
+    private void mockRunningTasks() {
+        Map<String, Set<TaskContext>> runningTaskMap = new HashMap<>();
+        runningTaskMap.put("transient_test_job", Sets.newHashSet(
+                TaskContext.from("transient_test_job@-@0@-@READY@-@SLAVE-S0@-@UUID"), TaskContext.from("transient_test_job@-@1@-@READY@-@SLAVE-S0@-@UUID")));
+        when(facadeService.getAllRunningTasks()).thenReturn(runningTaskMap);
+    }
+    
+    private Properties setBatchProperties(final String batchSize) throws NoSuchFieldException {
+        Properties result = ReflectionUtils.getFieldValue(BootstrapEnvironment.getInstance(), BootstrapEnvironment.class.getDeclaredField("properties"));
+        Properties properties = new Properties();
+        properties.setProperty(EnvironmentArgument.RECONCILE_BATCH_SIZE.getKey(), batchSize);
+        properties.setProperty(EnvironmentArgument.RECONCILE_BATCH_INTERVAL_MILLIS.getKey(), "10");
+        ReflectionUtils.setFieldValue(BootstrapEnvironment.getInstance(), "properties", properties);
+        return result;
+    }
 }
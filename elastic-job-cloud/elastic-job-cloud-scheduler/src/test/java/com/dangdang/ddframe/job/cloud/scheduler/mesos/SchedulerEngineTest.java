@@ -17,37 +17,32 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
-import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.TaskNode;
 import com.dangdang.ddframe.job.cloud.scheduler.ha.FrameworkIDService;
 import com.dangdang.ddframe.job.cloud.scheduler.mesos.fixture.OfferBuilder;
-import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
-import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
 import com.dangdang.ddframe.job.context.TaskContext;
-import com.dangdang.ddframe.job.event.JobEventBus;
-import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
-import com.google.common.base.Optional;
 import com.netflix.fenzo.TaskScheduler;
-import com.netflix.fenzo.functions.Action2;
 import org.apache.mesos.Protos;
 import org.apache.mesos.SchedulerDriver;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.unitils.util.ReflectionUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
-import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,19 +56,16 @@ public final class SchedulerEngineTest {
     private FacadeService facadeService;
     
     @Mock
-    private FrameworkIDService frameworkIDService;
+    private TaskStatusUpdateService taskStatusUpdateService;
     
     @Mock
-    private StatisticManager statisticManager;
+    private FrameworkIDService frameworkIDService;
     
     private SchedulerEngine schedulerEngine;
     
     @Before
-    public void setUp() throws NoSuchFieldException {
-        schedulerEngine = new SchedulerEngine(taskScheduler, facadeService, new JobEventBus(), frameworkIDService, statisticManager);
-        ReflectionUtils.setFieldValue(schedulerEngine, "facadeService", facadeService);
-        when(facadeService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job")));
-        new RunningService(Mockito.mock(CoordinatorRegistryCenter.class)).clear();
+    public void setUp() {
+        schedulerEngine = new SchedulerEngine(taskScheduler, facadeService, taskStatusUpdateService, frameworkIDService);
     }
     
     @Test
@@ -81,6 +73,17 @@ public final class SchedulerEngineTest {
         schedulerEngine.registered(null, Protos.FrameworkID.newBuilder().setValue("1").build(), Protos.MasterInfo.getDefaultInstance());
         verify(taskScheduler).expireAllLeases();
         verify(frameworkIDService).save("1");
+        verify(facadeService, timeout(1000L)).getAllRunningTasks();
+    }
+    
+    @Test
+    public void assertRegisteredWithRunningTasks() {
+        SchedulerDriver schedulerDriver = mock(SchedulerDriver.class);
+        Map<String, Set<TaskContext>> runningTasks = new HashMap<>(1, 1);
+        runningTasks.put("test_job", Collections.singleton(TaskContext.from(TaskNode.builder().build().getTaskNodeValue())));
+        when(facadeService.getAllRunningTasks()).thenReturn(runningTasks);
+        schedulerEngine.registered(schedulerDriver, Protos.FrameworkID.newBuilder().setValue("1").build(), Protos.MasterInfo.getDefaultInstance());
+        verify(schedulerDriver, timeout(1000L)).reconcileTasks(ArgumentMatchers.<Protos.TaskStatus>anyCollection());
     }
     
     @Test
@@ -99,179 +102,18 @@ public final class SchedulerEngineTest {
     
     @Test
     public void assertOfferRescinded() {
+        LeasesQueue.getInstance().offer(OfferBuilder.createOffer("myOffer"));
         schedulerEngine.offerRescinded(null, Protos.OfferID.newBuilder().setValue("myOffer").build());
         verify(taskScheduler).expireLease("myOffer");
+        assertTrue(LeasesQueue.getInstance().drainTo().isEmpty());
     }
     
     @Test
-    public void assertRunningStatusUpdateForDaemonJobBegin() {
-        TaskNode taskNode = TaskNode.builder().build();
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_RUNNING).setMessage("BEGIN").setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).updateDaemonStatus(TaskContext.from(taskNode.getTaskNodeValue()), false);
-    }
-    
-    @Test
-    public void assertRunningStatusUpdateForDaemonJobComplete() {
-        TaskNode taskNode = TaskNode.builder().build();
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_RUNNING).setMessage("COMPLETE").setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).updateDaemonStatus(TaskContext.from(taskNode.getTaskNodeValue()), true);
-    }
-    
-    @Test
-    public void assertRunningStatusUpdateForOther() {
-        TaskNode taskNode = TaskNode.builder().build();
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_RUNNING).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService, times(0)).updateDaemonStatus(TaskContext.from(taskNode.getTaskNodeValue()), eq(anyBoolean()));
-    }
-    
-    @Test
-    public void assertFinishedStatusUpdateWithoutLaunchedTasks() {
-        TaskNode taskNode = TaskNode.builder().build();
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskScheduler, times(0)).getTaskUnAssigner();
-    }
-    
-    @Test
-    public void assertFinishedStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunSuccessfully();
-    }
-    
-    @Test
-    public void assertKilledStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_KILLED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).addDaemonJobToReadyQueue("test_job");
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-    }
-    
-    @Test
-    public void assertFailedStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_FAILED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertErrorStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
-                .setState(Protos.TaskState.TASK_ERROR).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertLostStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_LOST).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertDroppedStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_DROPPED)
-                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertGoneStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_GONE).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertGoneByOperatorStatusUpdate() {
-        @SuppressWarnings("unchecked")
-        Action2<String, String> taskUnAssigner = mock(Action2.class);
-        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
-        TaskNode taskNode = TaskNode.builder().build();
-        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_GONE_BY_OPERATOR)
-                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertUnknownStatusUpdate() {
-        TaskNode taskNode = TaskNode.builder().build();
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_UNKNOWN)
-                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(statisticManager).taskRunFailed();
-    }
-    
-    @Test
-    public void assertUnReachedStatusUpdate() {
-        TaskNode taskNode = TaskNode.builder().build();
-        schedulerEngine.statusUpdate(null, Protos.TaskStatus.newBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_UNREACHABLE)
-                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
-        verify(statisticManager).taskRunFailed();
+    public void assertStatusUpdate() {
+        Protos.TaskStatus taskStatus = Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(TaskNode.builder().build().getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build();
+        schedulerEngine.statusUpdate(null, taskStatus);
+        verify(taskStatusUpdateService).offer(null, taskStatus);
     }
     
     @Test
@@ -281,8 +123,10 @@ public final class SchedulerEngineTest {
     
     @Test
     public void assertSlaveLost() {
+        LeasesQueue.getInstance().offer(OfferBuilder.createOffer("S0"));
         schedulerEngine.slaveLost(null, Protos.SlaveID.newBuilder().setValue("slave-S0").build());
         verify(taskScheduler).expireAllLeasesByVMId("slave-S0");
+        assertTrue(LeasesQueue.getInstance().drainTo().isEmpty());
     }
     
     @Test
@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
 import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
+import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfigurationListener;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationListener;
 import com.dangdang.ddframe.job.cloud.scheduler.env.FrameworkConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.producer.ProducerManager;
@@ -46,6 +47,9 @@ public class SchedulerServiceTest {
     @Mock
     private CloudJobConfigurationListener cloudJobConfigurationListener;
     
+    @Mock
+    private CloudAppConfigurationListener cloudAppConfigurationListener;
+    
     @Mock
     private FacadeService facadeService;
     
@@ -61,6 +65,9 @@ public class SchedulerServiceTest {
     @Mock
     private Service taskLaunchScheduledService;
     
+    @Mock
+    private Service taskStatusUpdateService;
+    
     @Mock
     private RestfulService restfulService;
     
@@ -72,8 +79,8 @@ public class SchedulerServiceTest {
     @Before
     public void setUp() throws Exception {
         schedulerService = new SchedulerService(env, facadeService, schedulerDriver,  
-                producerManager, statisticManager, cloudJobConfigurationListener, 
-                taskLaunchScheduledService, restfulService, reconcileService);
+                producerManager, statisticManager, cloudJobConfigurationListener, cloudAppConfigurationListener, 
+                taskLaunchScheduledService, taskStatusUpdateService, restfulService, reconcileService);
     }
     
     @Test
@@ -81,11 +88,13 @@ public class SchedulerServiceTest {
         setReconcileEnabled(true);
         schedulerService.start();
         InOrder inOrder = getInOrder();
-        inOrder.verify(facadeService).start();
+        inOrder.verify(facadeService).start(false);
         inOrder.verify(producerManager).startup();
         inOrder.verify(statisticManager).startup();
         inOrder.verify(cloudJobConfigurationListener).start();
+        inOrder.verify(cloudAppConfigurationListener).start();
         inOrder.verify(taskLaunchScheduledService).startAsync();
+        inOrder.verify(taskStatusUpdateService).startAsync();
         inOrder.verify(restfulService).start();
         inOrder.verify(schedulerDriver).start();
         inOrder.verify(reconcileService).startAsync();
@@ -96,27 +105,42 @@ public class SchedulerServiceTest {
         setReconcileEnabled(false);
         schedulerService.start();
         InOrder inOrder = getInOrder();
-        inOrder.verify(facadeService).start();
+        inOrder.verify(facadeService).start(false);
         inOrder.verify(producerManager).startup();
         inOrder.verify(statisticManager).startup();
         inOrder.verify(cloudJobConfigurationListener).start();
+        inOrder.verify(cloudAppConfigurationListener).start();
         inOrder.verify(taskLaunchScheduledService).startAsync();
+        inOrder.verify(taskStatusUpdateService).startAsync();
         inOrder.verify(restfulService).start();
         inOrder.verify(schedulerDriver).start();
         inOrder.verify(reconcileService, never()).stopAsync();
     }
     
+    @Test
+    public void assertStartFromWarmStandby() {
+        setReconcileEnabled(false);
+        schedulerService.start(true);
+        InOrder inOrder = getInOrder();
+        inOrder.verify(facadeService).start(true);
+        inOrder.verify(producerManager).startup();
+        inOrder.verify(schedulerDriver).start();
+    }
+    
     @Test
     public void assertStop() {
         setReconcileEnabled(true);
+        when(taskStatusUpdateService.stopAsync()).thenReturn(taskStatusUpdateService);
         schedulerService.stop();
         InOrder inOrder = getInOrder();
         inOrder.verify(restfulService).stop();
         inOrder.verify(taskLaunchScheduledService).stopAsync();
         inOrder.verify(cloudJobConfigurationListener).stop();
+        inOrder.verify(cloudAppConfigurationListener).stop();
         inOrder.verify(statisticManager).shutdown();
         inOrder.verify(producerManager).shutdown();
         inOrder.verify(schedulerDriver).stop(true);
+        inOrder.verify(taskStatusUpdateService).awaitTerminated();
         inOrder.verify(facadeService).stop();
         inOrder.verify(reconcileService).stopAsync();
     }
@@ -124,22 +148,25 @@ public class SchedulerServiceTest {
     @Test
     public void assertStopWithoutReconcile() {
         setReconcileEnabled(false);
+        when(taskStatusUpdateService.stopAsync()).thenReturn(taskStatusUpdateService);
         schedulerService.stop();
         InOrder inOrder = getInOrder();
         inOrder.verify(restfulService).stop();
         inOrder.verify(taskLaunchScheduledService).stopAsync();
         inOrder.verify(cloudJobConfigurationListener).stop();
+        inOrder.verify(cloudAppConfigurationListener).stop();
         inOrder.verify(statisticManager).shutdown();
         inOrder.verify(producerManager).shutdown();
         inOrder.verify(schedulerDriver).stop(true);
+        inOrder.verify(taskStatusUpdateService).awaitTerminated();
         inOrder.verify(facadeService).stop();
         inOrder.verify(reconcileService, never()).stopAsync();
     }
     
     private InOrder getInOrder() {
         return Mockito.inOrder(facadeService, schedulerDriver,
-                producerManager, statisticManager, cloudJobConfigurationListener,
-                taskLaunchScheduledService, restfulService, reconcileService);
+                producerManager, statisticManager, cloudJobConfigurationListener, cloudAppConfigurationListener, 
+                taskLaunchScheduledService, taskStatusUpdateService, restfulService, reconcileService);
     }
     
     private void setReconcileEnabled(final boolean isEnabled) {
@@ -17,8 +17,10 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
+import com.dangdang.ddframe.job.executor.TaskPayload;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 
@@ -27,6 +29,7 @@ import java.util.Map;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 public final class TaskInfoDataTest {
@@ -51,9 +54,59 @@ public final class TaskInfoDataTest {
         assertSerialize((Map) SerializationUtils.deserialize(actual.serialize()));
     }
     
+    @Test
+    public void assertSerializeCompactSimpleJob() {
+        TaskInfoData actual = new TaskInfoData(shardingContexts, CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job"), true);
+        assertSerializeCompact(TaskPayload.decode(actual.serialize()));
+    }
+    
+    @Test
+    public void assertSerializeCompactDataflowJob() {
+        TaskInfoData actual = new TaskInfoData(shardingContexts, CloudJobConfigurationBuilder.createDataflowCloudJobConfiguration("test_job"), true);
+        TaskPayload payload = TaskPayload.decode(actual.serialize());
+        assertSerializeCompact(payload);
+        assertThat(payload.getJobConfigurationContext().get("streamingProcess"), is("true"));
+    }
+    
+    @Test
+    public void assertSerializeCompactScriptJob() {
+        TaskInfoData actual = new TaskInfoData(shardingContexts, CloudJobConfigurationBuilder.createScriptCloudJobConfiguration("test_job"), true);
+        TaskPayload payload = TaskPayload.decode(actual.serialize());
+        assertSerializeCompact(payload);
+        assertThat(payload.getJobConfigurationContext().get("scriptCommandLine"), is("test.sh"));
+    }
+    
+    @Test
+    public void assertSerializeCompactAfterJobConfigChanged() {
+        new TaskInfoData(shardingContexts, CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job"), true).serialize();
+        TaskInfoData actual = new TaskInfoData(shardingContexts, CloudJobConfigurationBuilder.createScriptCloudJobConfiguration("test_job"), true);
+        assertThat(TaskPayload.decode(actual.serialize()).getJobConfigurationContext().get("jobType"), is("SCRIPT"));
+    }
+    
+    @Test
+    public void assertSerializeWithExecutorIdleTimeout() {
+        TaskInfoData actual = new TaskInfoData(shardingContexts, CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job"), false, 60);
+        assertThat(TaskPayload.decode(actual.serialize()).getJobConfigurationContext().get("executorIdleTimeoutSeconds"), is("60"));
+    }
+    
+    @Test
+    public void assertSerializeCompactAfterExecutorIdleTimeoutChanged() {
+        CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job");
+        assertThat(TaskPayload.decode(new TaskInfoData(shardingContexts, jobConfig, true, 60).serialize()).getJobConfigurationContext().get("executorIdleTimeoutSeconds"), is("60"));
+        assertThat(TaskPayload.decode(new TaskInfoData(shardingContexts, jobConfig, true, 30).serialize()).getJobConfigurationContext().get("executorIdleTimeoutSeconds"), is("30"));
+        assertNull(TaskPayload.decode(new TaskInfoData(shardingContexts, jobConfig, true).serialize()).getJobConfigurationContext().get("executorIdleTimeoutSeconds"));
+    }
+    
     private void assertSerialize(final Map expected) {
         assertThat(expected.size(), is(2));
         assertNotNull(expected.get("shardingContext"));
         assertNotNull(expected.get("jobConfigContext"));
     }
+    
+    private void assertSerializeCompact(final TaskPayload actual) {
+        assertThat(actual.getShardingContexts().getTaskId(), is("fake_task_id"));
+        assertThat(actual.getShardingContexts().getShardingTotalCount(), is(3));
+        assertThat(actual.getShardingContexts().getJobParameter(), is("test_param"));
+        assertThat(actual.getJobConfigurationContext().get("jobName"), is("test_job"));
+    }
 }
@@ -17,20 +17,22 @@
 
 package com.dangdang.ddframe.job.cloud.scheduler.mesos;
 
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.context.JobContext;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppConfigurationBuilder;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
 import com.dangdang.ddframe.job.cloud.scheduler.mesos.fixture.OfferBuilder;
+import com.dangdang.ddframe.job.cloud.scheduler.state.TaskLaunchSignal;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.context.TaskContext.MetaInfo;
 import com.dangdang.ddframe.job.event.JobEventBus;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.executor.TaskPayload;
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
-import com.google.common.util.concurrent.AbstractScheduledService.Scheduler;
 import com.netflix.fenzo.SchedulingResult;
 import com.netflix.fenzo.TaskAssignmentResult;
 import com.netflix.fenzo.TaskRequest;
@@ -39,23 +41,31 @@ import com.netflix.fenzo.VMAssignmentResult;
 import com.netflix.fenzo.VirtualMachineLease;
 import com.netflix.fenzo.functions.Action2;
 import com.netflix.fenzo.plugins.VMLeaseObject;
+import org.apache.mesos.Protos;
 import org.apache.mesos.SchedulerDriver;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -125,13 +135,86 @@ public final class TaskLaunchScheduledServiceTest {
     
     private TaskAssignmentResult mockTaskAssignmentResult(final String taskName, final ExecutionType executionType) {
         TaskAssignmentResult result = mock(TaskAssignmentResult.class);
-        when(result.getTaskId()).thenReturn(String.format("%s@-@0@-@%s@-@unassigned-slave@-@0", taskName, executionType.name()));
+        String taskId = String.format("%s@-@0@-@%s@-@unassigned-slave@-@0", taskName, executionType.name());
+        when(result.getTaskId()).thenReturn(taskId);
+        when(result.getRequest()).thenReturn(new JobTaskRequest(TaskContext.from(taskId), CloudJobConfigurationBuilder.createCloudJobConfiguration(taskName)));
         return result; 
     }
     
+    private TaskAssignmentResult mockPackingTaskAssignmentResult(final String taskName, final int shardingItem) {
+        TaskAssignmentResult result = mock(TaskAssignmentResult.class);
+        when(result.getTaskId()).thenReturn(String.format("%s@-@%d@-@READY@-@unassigned-slave@-@%d", taskName, shardingItem, shardingItem));
+        return result; 
+    }
+    
+    @Test
+    public void assertRunOneIterationWithPackingJob() throws Exception {
+        CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createPackingCloudJobConfiguration("packing_job", 3, 2);
+        when(facadeService.getEligibleJobContext()).thenReturn(Lists.newArrayList(JobContext.from(jobConfig, ExecutionType.READY)));
+        Map<String, VMAssignmentResult> vmAssignmentResultMap = new HashMap<>();
+        vmAssignmentResultMap.put("rs1", new VMAssignmentResult("localhost", Lists.<VirtualMachineLease>newArrayList(new VMLeaseObject(OfferBuilder.createOffer("offer_0"))),
+                Sets.newHashSet(mockPackingTaskAssignmentResult("packing_job", 0), mockPackingTaskAssignmentResult("packing_job", 1), mockPackingTaskAssignmentResult("packing_job", 2))));
+        when(taskScheduler.scheduleOnce(ArgumentMatchers.<TaskRequest>anyList(), ArgumentMatchers.<VirtualMachineLease>anyList())).thenReturn(new SchedulingResult(vmAssignmentResultMap));
+        when(facadeService.load("packing_job")).thenReturn(Optional.of(jobConfig));
+        when(taskScheduler.getTaskAssigner()).thenReturn(mock(Action2.class));
+        taskLaunchScheduledService.runOneIteration();
+        ArgumentCaptor<TaskContext> taskContextCaptor = ArgumentCaptor.forClass(TaskContext.class);
+        verify(facadeService, times(2)).addRunning(taskContextCaptor.capture());
+        assertThat(taskContextCaptor.getAllValues().get(0).getMetaInfo().getShardingItems(), is(Arrays.asList(0, 1)));
+        assertThat(taskContextCaptor.getAllValues().get(1).getMetaInfo().getShardingItems(), is(Collections.singletonList(2)));
+        verify(jobEventBus, times(2)).post(ArgumentMatchers.<JobStatusTraceEvent>any());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertRunOneIterationWithExecutorIdleTimeout() throws Exception {
+        when(facadeService.getEligibleJobContext()).thenReturn(Lists.newArrayList(
+                JobContext.from(CloudJobConfigurationBuilder.createCloudJobConfiguration("idle_job", CloudJobExecutionType.TRANSIENT, 1), ExecutionType.READY)));
+        Map<String, VMAssignmentResult> vmAssignmentResultMap = new HashMap<>();
+        vmAssignmentResultMap.put("rs1", new VMAssignmentResult("localhost", Lists.<VirtualMachineLease>newArrayList(new VMLeaseObject(OfferBuilder.createOffer("offer_0"))),
+                Sets.newHashSet(mockTaskAssignmentResult("idle_job", ExecutionType.READY))));
+        when(taskScheduler.scheduleOnce(ArgumentMatchers.<TaskRequest>anyList(), ArgumentMatchers.<VirtualMachineLease>anyList())).thenReturn(new SchedulingResult(vmAssignmentResultMap));
+        when(facadeService.loadAppConfig("test_app")).thenReturn(Optional.of(CloudAppConfigurationBuilder.createIdleTimeoutCloudAppConfiguration("test_app", 60)));
+        when(facadeService.load("idle_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("idle_job", CloudJobExecutionType.TRANSIENT, 1)));
+        when(taskScheduler.getTaskAssigner()).thenReturn(mock(Action2.class));
+        taskLaunchScheduledService.runOneIteration();
+        ArgumentCaptor<Collection> taskInfosCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(schedulerDriver).launchTasks(ArgumentMatchers.<Protos.OfferID>anyCollection(), taskInfosCaptor.capture());
+        Protos.TaskInfo taskInfo = (Protos.TaskInfo) taskInfosCaptor.getValue().iterator().next();
+        assertThat(TaskPayload.decode(taskInfo.getData().toByteArray()).getJobConfigurationContext().get("executorIdleTimeoutSeconds"), is("60"));
+        assertFalse(taskInfo.getExecutor().hasData());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertRunOneIterationWithCompactTaskPayload() throws Exception {
+        when(facadeService.getEligibleJobContext()).thenReturn(Lists.newArrayList(
+                JobContext.from(CloudJobConfigurationBuilder.createCloudJobConfiguration("compact_job", CloudJobExecutionType.TRANSIENT, 1), ExecutionType.READY)));
+        Map<String, VMAssignmentResult> vmAssignmentResultMap = new HashMap<>();
+        vmAssignmentResultMap.put("rs1", new VMAssignmentResult("localhost", Lists.<VirtualMachineLease>newArrayList(new VMLeaseObject(OfferBuilder.createOffer("offer_0"))),
+                Sets.newHashSet(mockTaskAssignmentResult("compact_job", ExecutionType.READY))));
+        when(taskScheduler.scheduleOnce(ArgumentMatchers.<TaskRequest>anyList(), ArgumentMatchers.<VirtualMachineLease>anyList())).thenReturn(new SchedulingResult(vmAssignmentResultMap));
+        when(facadeService.loadAppConfig("test_app")).thenReturn(Optional.of(CloudAppConfigurationBuilder.createCompactTaskPayloadCloudAppConfiguration("test_app")));
+        when(facadeService.load("compact_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("compact_job", CloudJobExecutionType.TRANSIENT, 1)));
+        when(taskScheduler.getTaskAssigner()).thenReturn(mock(Action2.class));
+        taskLaunchScheduledService.runOneIteration();
+        ArgumentCaptor<Collection> taskInfosCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(schedulerDriver).launchTasks(ArgumentMatchers.<Protos.OfferID>anyCollection(), taskInfosCaptor.capture());
+        Protos.TaskInfo taskInfo = (Protos.TaskInfo) taskInfosCaptor.getValue().iterator().next();
+        assertThat(TaskPayload.decode(taskInfo.getData().toByteArray()).getJobConfigurationContext().get("jobName"), is("compact_job"));
+    }
+    
     @Test
-    public void assertScheduler() throws Exception {
-        assertThat(taskLaunchScheduledService.scheduler(), instanceOf(Scheduler.class));
+    public void assertRunOnSignal() throws Exception {
+        when(taskScheduler.scheduleOnce(ArgumentMatchers.<TaskRequest>anyList(), ArgumentMatchers.<VirtualMachineLease>anyList()))
+                .thenReturn(new SchedulingResult(new HashMap<String, VMAssignmentResult>()));
+        taskLaunchScheduledService.startAsync().awaitRunning();
+        try {
+            TaskLaunchSignal.getInstance().signal();
+            verify(facadeService, timeout(TaskLaunchScheduledService.MAX_WAIT_MILLISECONDS / 2)).getEligibleJobContext();
+        } finally {
+            taskLaunchScheduledService.stopAsync().awaitTerminated(TaskLaunchScheduledService.MAX_WAIT_MILLISECONDS / 2, TimeUnit.MILLISECONDS);
+        }
     }
     
     @Test
@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public final class TaskLaunchStatisticsTest {
+    
+    private final TaskLaunchStatistics taskLaunchStatistics = TaskLaunchStatistics.getInstance();
+    
+    @After
+    public void tearDown() {
+        taskLaunchStatistics.reset();
+    }
+    
+    @Test
+    public void assertRecord() {
+        taskLaunchStatistics.reset();
+        taskLaunchStatistics.record(2000000L, 1000000L, 3);
+        taskLaunchStatistics.record(4000000L, 3000000L, 1);
+        assertThat(taskLaunchStatistics.getIterationCount(), is(2L));
+        assertThat(taskLaunchStatistics.getAverageIterationMillis(), is(3d));
+        assertThat(taskLaunchStatistics.getMaxIterationMillis(), is(4d));
+        assertThat(taskLaunchStatistics.getAverageScheduleOnceMillis(), is(2d));
+        assertThat(taskLaunchStatistics.getMaxScheduleOnceMillis(), is(3d));
+        assertThat(taskLaunchStatistics.getLaunchedTaskCount(), is(4L));
+    }
+    
+    @Test
+    public void assertReset() {
+        taskLaunchStatistics.record(2000000L, 1000000L, 3);
+        taskLaunchStatistics.reset();
+        assertThat(taskLaunchStatistics.getIterationCount(), is(0L));
+        assertThat(taskLaunchStatistics.getAverageIterationMillis(), is(0d));
+        assertThat(taskLaunchStatistics.getMaxIterationMillis(), is(0d));
+        assertThat(taskLaunchStatistics.getLaunchedTaskCount(), is(0L));
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.mesos;
+
+import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
+import com.dangdang.ddframe.job.cloud.scheduler.fixture.TaskNode;
+import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.base.Optional;
+import com.netflix.fenzo.TaskScheduler;
+import com.netflix.fenzo.functions.Action2;
+import org.apache.mesos.Protos;
+import org.apache.mesos.SchedulerDriver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class TaskStatusUpdateServiceTest {
+    
+    @Mock
+    private TaskScheduler taskScheduler;
+    
+    @Mock
+    private FacadeService facadeService;
+    
+    @Mock
+    private StatisticManager statisticManager;
+    
+    private TaskStatusUpdateService taskStatusUpdateService;
+    
+    @Before
+    public void setUp() {
+        taskStatusUpdateService = new TaskStatusUpdateService(taskScheduler, facadeService, new JobEventBus(), statisticManager);
+        when(facadeService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job")));
+        new RunningService(Mockito.mock(CoordinatorRegistryCenter.class)).clear();
+    }
+    
+    @Test
+    public void assertServiceName() {
+        assertThat(taskStatusUpdateService.serviceName(), is("task-status-update-processor"));
+    }
+    
+    @Test
+    public void assertOfferWithoutProcess() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        assertThat(taskStatusUpdateService.getPendingCount(), is(1));
+        verify(facadeService, times(0)).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+    }
+    
+    @Test
+    public void assertRunningStatusUpdateForNotExistedJob() {
+        SchedulerDriver schedulerDriver = mock(SchedulerDriver.class);
+        when(facadeService.load("not_existed_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
+        String taskId = TaskNode.builder().jobName("not_existed_job").build().getTaskNodeValue();
+        for (int i = 0; i < 2; i++) {
+            taskStatusUpdateService.offer(schedulerDriver, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskId))
+                    .setState(Protos.TaskState.TASK_RUNNING).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        }
+        taskStatusUpdateService.processPending();
+        verify(facadeService).load("not_existed_job");
+        verify(schedulerDriver, times(2)).killTask(Protos.TaskID.newBuilder().setValue(taskId).build());
+    }
+    
+    @Test
+    public void assertProcessAfterStart() throws Exception {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.startAsync().awaitRunning();
+        try {
+            taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                    .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+            verify(facadeService, timeout(5000L)).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        } finally {
+            taskStatusUpdateService.stopAsync().awaitTerminated(5L, TimeUnit.SECONDS);
+        }
+    }
+    
+    @Test
+    public void assertProcessAfterStartWithUnparsableTaskId() throws Exception {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.startAsync().awaitRunning();
+        try {
+            taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue("unparsable_task_id"))
+                    .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+            taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                    .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+            verify(facadeService, timeout(5000L)).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+            assertTrue(taskStatusUpdateService.isRunning());
+        } finally {
+            taskStatusUpdateService.stopAsync().awaitTerminated(5L, TimeUnit.SECONDS);
+        }
+    }
+    
+    @Test
+    public void assertRunningStatusUpdateForDaemonJobBegin() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_RUNNING).setMessage("BEGIN").setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).updateDaemonStatus(TaskContext.from(taskNode.getTaskNodeValue()), false);
+    }
+    
+    @Test
+    public void assertRunningStatusUpdateForDaemonJobComplete() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_RUNNING).setMessage("COMPLETE").setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).updateDaemonStatus(TaskContext.from(taskNode.getTaskNodeValue()), true);
+    }
+    
+    @Test
+    public void assertRunningStatusUpdateForOther() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_RUNNING).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService, times(0)).updateDaemonStatus(TaskContext.from(taskNode.getTaskNodeValue()), eq(anyBoolean()));
+    }
+    
+    @Test
+    public void assertFinishedStatusUpdateWithoutLaunchedTasks() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskScheduler, times(0)).getTaskUnAssigner();
+    }
+    
+    @Test
+    public void assertFinishedStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_FINISHED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunSuccessfully();
+    }
+    
+    @Test
+    public void assertKilledStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_KILLED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).addDaemonJobToReadyQueue("test_job");
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+    }
+    
+    @Test
+    public void assertFailedStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_FAILED).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertErrorStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder().setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue()))
+                .setState(Protos.TaskState.TASK_ERROR).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertLostStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_LOST).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertDroppedStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_DROPPED)
+                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertGoneStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_GONE).setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertGoneByOperatorStatusUpdate() {
+        @SuppressWarnings("unchecked")
+        Action2<String, String> taskUnAssigner = mock(Action2.class);
+        when(taskScheduler.getTaskUnAssigner()).thenReturn(taskUnAssigner);
+        TaskNode taskNode = TaskNode.builder().build();
+        when(facadeService.popMapping(taskNode.getTaskNodeValue())).thenReturn("localhost");
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_GONE_BY_OPERATOR)
+                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(facadeService).recordFailoverTask(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(facadeService).removeRunning(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(taskUnAssigner).call(TaskContext.getIdForUnassignedSlave(taskNode.getTaskNodeValue()), "localhost");
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertUnknownStatusUpdate() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_UNKNOWN)
+                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(statisticManager).taskRunFailed();
+    }
+    
+    @Test
+    public void assertUnReachedStatusUpdate() {
+        TaskNode taskNode = TaskNode.builder().build();
+        taskStatusUpdateService.offer(null, Protos.TaskStatus.newBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(taskNode.getTaskNodeValue())).setState(Protos.TaskState.TASK_UNREACHABLE)
+                .setSlaveId(Protos.SlaveID.newBuilder().setValue("slave-S0")).build());
+        taskStatusUpdateService.processPending();
+        verify(statisticManager).taskRunFailed();
+    }
+}
@@ -23,13 +23,21 @@ import org.codehaus.jettison.json.JSONException;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Path("/")
 public class MesosSlaveServerMock {
     
+    private static final AtomicInteger STATE_REQUEST_COUNT = new AtomicInteger();
+    
+    public static int getStateRequestCount() {
+        return STATE_REQUEST_COUNT.get();
+    }
+    
     @GET
     @Path("/state")
     public JsonObject state() throws JSONException {
+        STATE_REQUEST_COUNT.incrementAndGet();
         return (JsonObject) new JsonParser().parse("{\"version\":\"1.1.0\",\"build_date\":\"2017-02-27 10:51:31\",\"build_time\":1488163891.0,\"build_user\":\"gaohon"
                 + "gtao\",\"start_time\":1488179767.60204,\"id\":\"d8701508-41b7-471e-9b32-61cf824a660d-S0\",\"pid\":\"slave(1)@"
                 + "127.0.0.1:9051\",\"hostname\":\"127.0.0.1\",\"resources\":{\"disk\":416050.0,\"mem\":6883.0,\"gpus\":0.0,\""
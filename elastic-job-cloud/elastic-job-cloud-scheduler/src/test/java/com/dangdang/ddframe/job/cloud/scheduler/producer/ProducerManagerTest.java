@@ -45,6 +45,8 @@ import org.unitils.util.ReflectionUtils;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -126,6 +128,28 @@ public final class ProducerManagerTest {
         producerManager.register(transientJobConfig);
     }
     
+    @Test
+    public void assertRegisterTransientJobWithFixedRate() {
+        CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createFixedRateCloudJobConfiguration("transient_test_job", CloudJobExecutionType.TRANSIENT);
+        try {
+            producerManager.register(jobConfig);
+            fail("Expected JobConfigurationException");
+        } catch (final JobConfigurationException ex) {
+            verify(configService, never()).add(jobConfig);
+            verify(transientProducerScheduler, never()).register(jobConfig);
+        }
+    }
+    
+    @Test
+    public void assertRegisterDaemonJobWithFixedRate() {
+        CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createFixedRateCloudJobConfiguration("daemon_test_job", CloudJobExecutionType.DAEMON);
+        when(appConfigService.load("test_app")).thenReturn(Optional.of(appConfig));
+        when(configService.load("daemon_test_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
+        producerManager.register(jobConfig);
+        verify(configService).add(jobConfig);
+        verify(readyService).addDaemon("daemon_test_job");
+    }
+    
     @Test
     public void assertRegisterTransientJob() {
         when(appConfigService.load("test_app")).thenReturn(Optional.of(appConfig));
@@ -150,6 +174,17 @@ public final class ProducerManagerTest {
         producerManager.update(transientJobConfig);
     }
     
+    @Test
+    public void assertUpdateTransientJobWithFixedRate() {
+        CloudJobConfiguration jobConfig = CloudJobConfigurationBuilder.createFixedRateCloudJobConfiguration("transient_test_job", CloudJobExecutionType.TRANSIENT);
+        try {
+            producerManager.update(jobConfig);
+            fail("Expected JobConfigurationException");
+        } catch (final JobConfigurationException ex) {
+            verify(configService, never()).update(jobConfig);
+        }
+    }
+    
     @Test
     public void assertUpdateExisted() {
         when(configService.load("transient_test_job")).thenReturn(Optional.of(transientJobConfig));
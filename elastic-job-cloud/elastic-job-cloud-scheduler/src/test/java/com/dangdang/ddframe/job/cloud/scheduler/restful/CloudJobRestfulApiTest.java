@@ -21,7 +21,9 @@ import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudAppJsonConstants;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJsonConstants;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.TaskNode;
+import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverTaskInfo;
+import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.context.TaskContext;
@@ -157,16 +159,20 @@ public final class CloudJobRestfulApiTest extends AbstractCloudRestfulApiTest {
     public void assertFindAllReadyTasks() throws Exception {
         when(getRegCenter().isExisted("/state/ready")).thenReturn(true);
         when(getRegCenter().getChildrenKeys("/state/ready")).thenReturn(Lists.newArrayList("test_job"));
-        when(getRegCenter().get("/state/ready/test_job")).thenReturn("1");
+        when(getRegCenter().getDirectly("/state/ready/test_job")).thenReturn("1");
+        ReadyService readyService = new ReadyService(getRegCenter());
+        readyService.start();
         Map<String, String> expectedMap = new HashMap<>();
         expectedMap.put("jobName", "test_job");
         expectedMap.put("times", "1");
         @SuppressWarnings("unchecked")
         Collection<Map<String, String>> expectedResult = Lists.newArrayList(expectedMap);
-        assertThat(sentGetRequest("http://127.0.0.1:19000/api/job/tasks/ready"), is(GsonFactory.getGson().toJson(expectedResult)));
-        verify(getRegCenter()).isExisted("/state/ready");
-        verify(getRegCenter()).getChildrenKeys("/state/ready");
-        verify(getRegCenter()).get("/state/ready/test_job");
+        try {
+            assertThat(sentGetRequest("http://127.0.0.1:19000/api/job/tasks/ready"), is(GsonFactory.getGson().toJson(expectedResult)));
+        } finally {
+            readyService.clear();
+        }
+        verify(getRegCenter()).getDirectly("/state/ready/test_job");
     }
     
     @Test
@@ -175,14 +181,17 @@ public final class CloudJobRestfulApiTest extends AbstractCloudRestfulApiTest {
         when(getRegCenter().getChildrenKeys("/state/failover")).thenReturn(Lists.newArrayList("test_job"));
         when(getRegCenter().getChildrenKeys("/state/failover/test_job")).thenReturn(Lists.newArrayList("test_job@-@0"));
         String originalTaskId = UUID.randomUUID().toString();
-        when(getRegCenter().get("/state/failover/test_job/test_job@-@0")).thenReturn(originalTaskId);
+        when(getRegCenter().getDirectly("/state/failover/test_job/test_job@-@0")).thenReturn(originalTaskId);
+        FailoverService failoverService = new FailoverService(getRegCenter());
+        failoverService.start();
         FailoverTaskInfo expectedFailoverTask = new FailoverTaskInfo(MetaInfo.from("test_job@-@0"), originalTaskId);
         Collection<FailoverTaskInfo> expectedResult = Lists.newArrayList(expectedFailoverTask);
-        assertThat(sentGetRequest("http://127.0.0.1:19000/api/job/tasks/failover"), is(GsonFactory.getGson().toJson(expectedResult)));
-        verify(getRegCenter()).isExisted("/state/failover");
-        verify(getRegCenter()).getChildrenKeys("/state/failover");
-        verify(getRegCenter()).getChildrenKeys("/state/failover/test_job");
-        verify(getRegCenter()).get("/state/failover/test_job/test_job@-@0");
+        try {
+            assertThat(sentGetRequest("http://127.0.0.1:19000/api/job/tasks/failover"), is(GsonFactory.getGson().toJson(expectedResult)));
+        } finally {
+            failoverService.clear();
+        }
+        verify(getRegCenter()).getDirectly("/state/failover/test_job/test_job@-@0");
     }
     
     @Test
@@ -18,11 +18,14 @@
 package com.dangdang.ddframe.job.cloud.scheduler.restful;
 
 import com.dangdang.ddframe.job.cloud.scheduler.ha.HANode;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.LeasesQueue;
+import com.dangdang.ddframe.job.cloud.scheduler.mesos.fixture.OfferBuilder;
 import org.junit.Test;
 import org.unitils.util.ReflectionUtils;
 
 import static com.dangdang.ddframe.job.cloud.scheduler.restful.RestfulTestsUtil.sentGetRequest;
 import static com.dangdang.ddframe.job.cloud.scheduler.restful.RestfulTestsUtil.sentRequest;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
@@ -57,4 +60,20 @@ public class CloudOperationRestfulApiTest extends AbstractCloudRestfulApiTest {
         when(getRegCenter().getDirectly(HANode.FRAMEWORK_ID_NODE)).thenReturn("not-exists");
         assertThat(sentGetRequest("http://127.0.0.1:19000/api/operate/sandbox?appName=foo_app"), is("[]"));
     }
+    
+    @Test
+    public void assertLeases() throws Exception {
+        LeasesQueue.getInstance().clear();
+        LeasesQueue.getInstance().offer(OfferBuilder.createOffer("offer_1"));
+        try {
+            assertThat(sentGetRequest("http://127.0.0.1:19000/api/operate/leases"), is("{\"offerCount\":1,\"cpus\":100.0,\"memoryMB\":128000.0}"));
+        } finally {
+            LeasesQueue.getInstance().clear();
+        }
+    }
+    
+    @Test
+    public void assertReconcileProgress() throws Exception {
+        assertThat(sentGetRequest("http://127.0.0.1:19000/api/operate/reconcile/progress"), containsString("\"lagMillis\""));
+    }
 }
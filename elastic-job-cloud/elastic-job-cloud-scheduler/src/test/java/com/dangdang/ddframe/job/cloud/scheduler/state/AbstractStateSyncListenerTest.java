@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state;
+
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import org.apache.curator.framework.listen.ListenerContainer;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class AbstractStateSyncListenerTest {
+    
+    private static final String ROOT = "/state/running";
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    @Mock
+    private TreeCache treeCache;
+    
+    @Mock
+    private ListenerContainer<TreeCacheListener> listenerContainer;
+    
+    private final List<String> syncedJobNames = new ArrayList<>();
+    
+    private AbstractStateSyncListener listener;
+    
+    @Before
+    public void setUp() {
+        listener = new AbstractStateSyncListener(regCenter, ROOT) {
+            
+            @Override
+            protected void sync(final String jobName) {
+                syncedJobNames.add(jobName);
+            }
+        };
+    }
+    
+    @Test
+    public void assertChildEventWhenIsNotJobPath() throws Exception {
+        listener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_ADDED, new ChildData(ROOT, null, "".getBytes())));
+        listener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_ADDED, new ChildData("/config/job/test_job", null, "".getBytes())));
+        listener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.CONNECTION_RECONNECTED, null));
+        assertTrue(syncedJobNames.isEmpty());
+    }
+    
+    @Test
+    public void assertChildEventWhenJobNodeChanged() throws Exception {
+        listener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_UPDATED, new ChildData("/state/running/test_job", null, "".getBytes())));
+        assertThat(syncedJobNames, is(Collections.singletonList("test_job")));
+    }
+    
+    @Test
+    public void assertChildEventWhenTaskNodeRemoved() throws Exception {
+        listener.childEvent(null, new TreeCacheEvent(TreeCacheEvent.Type.NODE_REMOVED, new ChildData("/state/running/test_job/test_job@-@0", null, "".getBytes())));
+        assertThat(syncedJobNames, is(Collections.singletonList("test_job")));
+    }
+    
+    @Test
+    public void assertStartAndStop() {
+        when(regCenter.getRawCache(ROOT)).thenReturn(treeCache);
+        when(treeCache.getListenable()).thenReturn(listenerContainer);
+        when(regCenter.getChildrenKeys(ROOT)).thenReturn(Arrays.asList("test_job_1", "test_job_2"));
+        listener.start();
+        listener.start();
+        ArgumentCaptor<Executor> executorCaptor = ArgumentCaptor.forClass(Executor.class);
+        verify(listenerContainer).addListener(eq(listener), executorCaptor.capture());
+        assertThat(syncedJobNames, is(Arrays.asList("test_job_1", "test_job_2")));
+        ExecutorService executor = (ExecutorService) executorCaptor.getValue();
+        assertFalse(executor.isShutdown());
+        listener.stop();
+        listener.stop();
+        verify(listenerContainer).removeListener(listener);
+        assertTrue(executor.isShutdown());
+    }
+    
+    @Test
+    public void assertRestartUsesNewExecutor() {
+        when(regCenter.getRawCache(ROOT)).thenReturn(treeCache);
+        when(treeCache.getListenable()).thenReturn(listenerContainer);
+        listener.start();
+        listener.stop();
+        listener.start();
+        ArgumentCaptor<Executor> executorCaptor = ArgumentCaptor.forClass(Executor.class);
+        verify(listenerContainer, times(2)).addListener(eq(listener), executorCaptor.capture());
+        assertTrue(((ExecutorService) executorCaptor.getAllValues().get(0)).isShutdown());
+        assertFalse(((ExecutorService) executorCaptor.getAllValues().get(1)).isShutdown());
+        listener.stop();
+    }
+}
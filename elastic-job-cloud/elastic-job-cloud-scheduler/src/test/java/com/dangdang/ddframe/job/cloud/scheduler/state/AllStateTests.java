@@ -25,6 +25,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverNodeTest;
 import com.dangdang.ddframe.job.cloud.scheduler.state.failover.FailoverServiceTest;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyNodeTest;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyServiceTest;
+import com.dangdang.ddframe.job.cloud.scheduler.state.running.JobRunningTasksTest;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningNodeTest;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningServiceTest;
 import org.junit.runner.RunWith;
@@ -32,12 +33,16 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+        TaskLaunchSignalTest.class,
+        WriteBehindServiceTest.class,
+        AbstractStateSyncListenerTest.class,
         ReadyNodeTest.class, 
         ReadyServiceTest.class, 
         FailoverNodeTest.class, 
         FailoverServiceTest.class,
         RunningNodeTest.class,
         RunningServiceTest.class,
+        JobRunningTasksTest.class,
         DisableAppNodeTest.class,
         DisableAppServiceTest.class,
         DisableJobNodeTest.class,
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class TaskLaunchSignalTest {
+    
+    @Before
+    public void setUp() throws InterruptedException {
+        TaskLaunchSignal.getInstance().await(0L);
+    }
+    
+    @Test
+    public void assertAwaitWithoutSignal() throws InterruptedException {
+        assertFalse(TaskLaunchSignal.getInstance().await(10L));
+    }
+    
+    @Test
+    public void assertAwaitWithCoalescedSignals() throws InterruptedException {
+        TaskLaunchSignal.getInstance().signal();
+        TaskLaunchSignal.getInstance().signal();
+        assertTrue(TaskLaunchSignal.getInstance().await(10L));
+        assertFalse(TaskLaunchSignal.getInstance().await(10L));
+    }
+    
+    @Test
+    public void assertAwaitWakeUpBySignal() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        Thread waiter = new Thread() {
+            
+            @Override
+            public void run() {
+                try {
+                    if (TaskLaunchSignal.getInstance().await(TimeUnit.MINUTES.toMillis(1L))) {
+                        latch.countDown();
+                    }
+                } catch (final InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        waiter.start();
+        TaskLaunchSignal.getInstance().signal();
+        assertTrue(latch.await(10L, TimeUnit.SECONDS));
+    }
+}
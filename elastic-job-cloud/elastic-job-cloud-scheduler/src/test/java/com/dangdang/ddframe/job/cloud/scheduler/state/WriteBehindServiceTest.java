@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state;
+
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class WriteBehindServiceTest {
+    
+    @Mock
+    private CoordinatorRegistryCenter regCenter;
+    
+    private WriteBehindService writeBehindService;
+    
+    @Before
+    public void setUp() {
+        writeBehindService = new WriteBehindService(regCenter);
+    }
+    
+    @After
+    public void tearDown() {
+        writeBehindService.stop();
+        reset(regCenter);
+        writeBehindService.flush();
+    }
+    
+    @Test
+    public void assertPersistAndRemoveWithoutStart() {
+        writeBehindService.persist("/state/ready/test_job", "1");
+        writeBehindService.remove("/state/ready/test_job");
+        verify(regCenter).persist("/state/ready/test_job", "1");
+        verify(regCenter).remove("/state/ready/test_job");
+        assertThat(writeBehindService.getPendingCount(), is(0));
+    }
+    
+    @Test
+    public void assertCoalesceWritesAfterStart() {
+        writeBehindService.start();
+        writeBehindService.stop();
+        writeBehindService.start();
+        writeBehindService.persist("/state/ready/test_job", "1");
+        writeBehindService.persist("/state/ready/test_job", "2");
+        writeBehindService.persist("/state/ready/test_job", "3");
+        verify(regCenter, timeout(WriteBehindService.FLUSH_INTERVAL_MILLISECONDS * 50)).persist("/state/ready/test_job", "3");
+        verify(regCenter, never()).persist("/state/ready/test_job", "1");
+        verify(regCenter, never()).persist("/state/ready/test_job", "2");
+    }
+    
+    @Test
+    public void assertFlushOnStop() {
+        writeBehindService.start();
+        writeBehindService.persist("/state/ready/test_job", "1");
+        writeBehindService.remove("/state/ready/test_job");
+        writeBehindService.stop();
+        verify(regCenter).remove("/state/ready/test_job");
+        verify(regCenter, never()).persist("/state/ready/test_job", "1");
+        assertThat(writeBehindService.getPendingCount(), is(0));
+    }
+    
+    @Test
+    public void assertPersistAfterPendingParentRemoval() {
+        writeBehindService.start();
+        writeBehindService.remove("/state/running/test_job");
+        writeBehindService.persist("/state/running/test_job/test_job@-@0", "task_id");
+        writeBehindService.stop();
+        InOrder inOrder = inOrder(regCenter);
+        inOrder.verify(regCenter).remove("/state/running/test_job");
+        inOrder.verify(regCenter).persist("/state/running/test_job/test_job@-@0", "task_id");
+    }
+    
+    @Test
+    public void assertPersistAfterPendingRemoval() {
+        writeBehindService.start();
+        writeBehindService.remove("/state/ready/test_job");
+        writeBehindService.persist("/state/ready/test_job", "1");
+        writeBehindService.stop();
+        InOrder inOrder = inOrder(regCenter);
+        inOrder.verify(regCenter).remove("/state/ready/test_job");
+        inOrder.verify(regCenter).persist("/state/ready/test_job", "1");
+    }
+    
+    @Test
+    public void assertRemoveParentDiscardPendingChildPersist() {
+        writeBehindService.start();
+        writeBehindService.persist("/state/running/test_job/test_job@-@0", "task_id");
+        writeBehindService.persist("/state/running/test_job_other/test_job_other@-@0", "task_id");
+        writeBehindService.remove("/state/running/test_job");
+        writeBehindService.stop();
+        verify(regCenter).remove("/state/running/test_job");
+        verify(regCenter, never()).persist("/state/running/test_job/test_job@-@0", "task_id");
+        verify(regCenter).persist("/state/running/test_job_other/test_job_other@-@0", "task_id");
+    }
+    
+    @Test
+    public void assertRetryWhenFlushFailure() {
+        doThrow(new RuntimeException()).when(regCenter).persist("/state/ready/test_job", "1");
+        writeBehindService.start();
+        writeBehindService.persist("/state/ready/test_job", "1");
+        writeBehindService.stop();
+        assertThat(writeBehindService.getPendingCount(), is(1));
+    }
+    
+    @Test
+    public void assertRetryWhenFlushFailureYieldToNewerWrites() {
+        doThrow(new RuntimeException()).doNothing().when(regCenter).remove("/state/running/test_job");
+        writeBehindService.start();
+        writeBehindService.remove("/state/running/test_job");
+        writeBehindService.persist("/state/ready/test_job", "1");
+        writeBehindService.stop();
+        assertThat(writeBehindService.getPendingCount(), is(2));
+        writeBehindService.start();
+        writeBehindService.persist("/state/ready/test_job", "2");
+        writeBehindService.stop();
+        verify(regCenter, never()).persist("/state/ready/test_job", "1");
+        verify(regCenter).persist("/state/ready/test_job", "2");
+        assertThat(writeBehindService.getPendingCount(), is(0));
+    }
+}
@@ -36,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,6 +47,7 @@ import java.util.UUID;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -62,9 +64,6 @@ public final class FailoverServiceTest {
     @Mock
     private RunningService runningService;
     
-    @Mock
-    private List<String> mockedFailoverQueue;
-    
     private FailoverService failoverService;
     
     @Before
@@ -72,11 +71,31 @@ public final class FailoverServiceTest {
         failoverService = new FailoverService(regCenter);
         ReflectionUtils.setFieldValue(failoverService, "configService", configService);
         ReflectionUtils.setFieldValue(failoverService, "runningService", runningService);
+        failoverService.clear();
+    }
+    
+    private void startWithFailoverTasks(final String jobName, final String... taskMetaInfoList) {
+        when(regCenter.isExisted(FailoverNode.ROOT)).thenReturn(true);
+        when(regCenter.getChildrenKeys(FailoverNode.ROOT)).thenReturn(Collections.singletonList(jobName));
+        when(regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath(jobName))).thenReturn(Arrays.asList(taskMetaInfoList));
+        for (String each : taskMetaInfoList) {
+            when(regCenter.getDirectly(FailoverNode.getFailoverTaskNodePath(each))).thenReturn(UUID.randomUUID().toString());
+        }
+        failoverService.start();
     }
     
     @Test
     public void assertAddWhenJobIsOverQueueSize() {
-        when(regCenter.getNumChildren(FailoverNode.ROOT)).thenReturn(BootstrapEnvironment.getInstance().getFrameworkConfiguration().getJobStateQueueSize() + 1);
+        int jobCount = BootstrapEnvironment.getInstance().getFrameworkConfiguration().getJobStateQueueSize() + 2;
+        List<String> jobNames = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            jobNames.add("job_" + i);
+        }
+        when(regCenter.isExisted(FailoverNode.ROOT)).thenReturn(true);
+        when(regCenter.getChildrenKeys(anyString())).thenReturn(Collections.singletonList("job_0@-@0"));
+        when(regCenter.getDirectly(anyString())).thenReturn("original_task_id");
+        when(regCenter.getChildrenKeys(FailoverNode.ROOT)).thenReturn(jobNames);
+        failoverService.start();
         TaskNode taskNode = TaskNode.builder().type(ExecutionType.FAILOVER).build();
         failoverService.add(TaskContext.from(taskNode.getTaskNodeValue()));
         verify(regCenter, times(0)).persist("/state/failover/test_job/" + taskNode.getTaskNodePath(), taskNode.getTaskNodeValue());
@@ -85,51 +104,63 @@ public final class FailoverServiceTest {
     @Test
     public void assertAddWhenExisted() {
         TaskNode taskNode = TaskNode.builder().type(ExecutionType.FAILOVER).build();
-        when(regCenter.isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath())).thenReturn(true);
         failoverService.add(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(regCenter).isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath());
-        verify(regCenter, times(0)).persist("/state/failover/test_job/" + taskNode.getTaskNodePath(), taskNode.getTaskNodeValue());
+        failoverService.add(TaskContext.from(taskNode.getTaskNodeValue()));
+        verify(regCenter).persist("/state/failover/test_job/" + taskNode.getTaskNodePath(), taskNode.getTaskNodeValue());
+        verify(runningService).isTaskRunning(TaskContext.MetaInfo.from(taskNode.getTaskNodePath()));
     }
     
     @Test
     public void assertAddWhenNotExistedAndTaskIsRunning() {
         TaskNode taskNode = TaskNode.builder().type(ExecutionType.FAILOVER).build();
-        when(regCenter.isExisted("/state/failover/test_job/"  + taskNode.getTaskNodePath())).thenReturn(false);
         when(runningService.isTaskRunning(TaskContext.MetaInfo.from(taskNode.getTaskNodePath()))).thenReturn(true);
         failoverService.add(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(regCenter).isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath());
         verify(runningService).isTaskRunning(TaskContext.MetaInfo.from(taskNode.getTaskNodePath()));
         verify(regCenter, times(0)).persist("/state/failover/test_job/" + taskNode.getTaskNodePath(), taskNode.getTaskNodeValue());
+        assertTrue(failoverService.getAllFailoverTasks().isEmpty());
     }
     
     @Test
     public void assertAddWhenNotExistedAndTaskIsNotRunning() {
         TaskNode taskNode = TaskNode.builder().type(ExecutionType.FAILOVER).build();
-        when(regCenter.isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath())).thenReturn(false);
         when(runningService.isTaskRunning(TaskContext.MetaInfo.from(taskNode.getTaskNodePath()))).thenReturn(false);
         failoverService.add(TaskContext.from(taskNode.getTaskNodeValue()));
-        verify(regCenter).isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath());
         verify(runningService).isTaskRunning(TaskContext.MetaInfo.from(taskNode.getTaskNodePath()));
         verify(regCenter).persist("/state/failover/test_job/" + taskNode.getTaskNodePath(), taskNode.getTaskNodeValue());
+        assertThat(failoverService.getAllFailoverTasks().get("test_job").size(), is(1));
+    }
+    
+    @Test
+    public void assertAddPackingTask() {
+        TaskContext taskContext = new TaskContext("test_job", Arrays.asList(0, 1), ExecutionType.READY, "slave-S0");
+        failoverService.add(taskContext);
+        verify(regCenter).persist("/state/failover/test_job/test_job@-@0", taskContext.getId());
+        verify(regCenter).persist("/state/failover/test_job/test_job@-@1", taskContext.getId());
+        assertThat(failoverService.getAllFailoverTasks().get("test_job").size(), is(2));
+        assertThat(failoverService.getTaskId(taskContext.getMetaInfo()), is(Optional.of(taskContext.getId())));
+        failoverService.remove(Collections.singletonList(taskContext.getMetaInfo()));
+        assertTrue(failoverService.getAllFailoverTasks().isEmpty());
     }
     
     @Test
-    public void assertGetAllEligibleJobContextsWithoutRootNode() {
-        when(regCenter.isExisted("/state/failover")).thenReturn(false);
+    public void assertGetAllEligibleJobContextsWithoutFailoverTasks() {
         assertTrue(failoverService.getAllEligibleJobContexts().isEmpty());
-        verify(regCenter).isExisted("/state/failover");
+        verify(regCenter, times(0)).getChildrenKeys(FailoverNode.ROOT);
     }
     
     @Test
-    public void assertGetAllEligibleJobContextsWithRootNode() {
+    public void assertGetAllEligibleJobContextsWithFailoverTasks() {
         when(regCenter.isExisted("/state/failover")).thenReturn(true);
         when(regCenter.getChildrenKeys("/state/failover")).thenReturn(Arrays.asList("task_empty_job", "not_existed_job", "eligible_job"));
         when(regCenter.getChildrenKeys("/state/failover/task_empty_job")).thenReturn(Collections.<String>emptyList());
-        when(regCenter.getChildrenKeys("/state/failover/not_existed_job")).thenReturn(Arrays.asList(
-                TaskNode.builder().jobName("not_existed_job").build().getTaskNodePath(), TaskNode.builder().jobName("not_existed_job").shardingItem(1).build().getTaskNodePath()));
+        String notExistedJobNodePath1 = TaskNode.builder().jobName("not_existed_job").build().getTaskNodePath();
+        String notExistedJobNodePath2 = TaskNode.builder().jobName("not_existed_job").shardingItem(1).build().getTaskNodePath();
+        when(regCenter.getChildrenKeys("/state/failover/not_existed_job")).thenReturn(Arrays.asList(notExistedJobNodePath1, notExistedJobNodePath2));
         String eligibleJobNodePath1 = TaskNode.builder().jobName("eligible_job").build().getTaskNodePath();
         String eligibleJobNodePath2 = TaskNode.builder().jobName("eligible_job").shardingItem(1).build().getTaskNodePath();
         when(regCenter.getChildrenKeys("/state/failover/eligible_job")).thenReturn(Arrays.asList(eligibleJobNodePath1, eligibleJobNodePath2));
+        when(regCenter.getDirectly(anyString())).thenReturn("original_task_id");
+        failoverService.start();
         when(configService.load("not_existed_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
         when(configService.load("eligible_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("eligible_job")));
         when(runningService.isTaskRunning(TaskContext.MetaInfo.from(eligibleJobNodePath1))).thenReturn(true);
@@ -138,59 +169,62 @@ public final class FailoverServiceTest {
         assertThat(actual.size(), is(1));
         assertThat(actual.iterator().next().getAssignedShardingItems().size(), is(1));
         assertThat(actual.iterator().next().getAssignedShardingItems().get(0), is(1));
-        verify(regCenter).isExisted("/state/failover");
         verify(regCenter).remove("/state/failover/task_empty_job");
-        verify(regCenter).remove("/state/failover/not_existed_job");
+        verify(regCenter).remove("/state/failover/not_existed_job/" + notExistedJobNodePath1);
+        verify(regCenter).remove("/state/failover/not_existed_job/" + notExistedJobNodePath2);
+        assertThat(failoverService.getAllFailoverTasks().keySet(), is(Collections.singleton("eligible_job")));
     }
     
     @Test
     public void assertRemove() {
         String jobNodePath1 = TaskNode.builder().type(ExecutionType.FAILOVER).build().getTaskNodePath();
         String jobNodePath2 = TaskNode.builder().shardingItem(1).type(ExecutionType.FAILOVER).build().getTaskNodePath();
+        startWithFailoverTasks("test_job", jobNodePath1, jobNodePath2);
         failoverService.remove(Arrays.asList(TaskContext.MetaInfo.from(jobNodePath1), TaskContext.MetaInfo.from(jobNodePath2)));
         verify(regCenter).remove("/state/failover/test_job/" + jobNodePath1);
         verify(regCenter).remove("/state/failover/test_job/" + jobNodePath2);
+        assertTrue(failoverService.getAllFailoverTasks().isEmpty());
     }
     
     @Test
     public void assertGetTaskId() {
         TaskNode taskNode = TaskNode.builder().type(ExecutionType.FAILOVER).build();
         failoverService.add(TaskContext.from(taskNode.getTaskNodeValue()));
-        when(regCenter.isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath())).thenReturn(true);
-        when(regCenter.get("/state/failover/test_job/" + taskNode.getTaskNodePath())).thenReturn(taskNode.getTaskNodeValue());
         assertThat(failoverService.getTaskId(taskNode.getMetaInfo()).get(), is(taskNode.getTaskNodeValue()));
-        verify(regCenter, times(2)).isExisted("/state/failover/test_job/" + taskNode.getTaskNodePath());
+        verify(regCenter, times(0)).get("/state/failover/test_job/" + taskNode.getTaskNodePath());
+    }
+    
+    @Test
+    public void assertGetTaskIdWhenNotExisted() {
+        assertTrue(!failoverService.getTaskId(TaskNode.builder().type(ExecutionType.FAILOVER).build().getMetaInfo()).isPresent());
     }
     
     @Test
-    public void assertGetAllFailoverTasksWithoutRootNode() {
-        when(regCenter.isExisted(FailoverNode.ROOT)).thenReturn(false);
+    public void assertGetAllFailoverTasksWithoutFailoverTasks() {
         assertTrue(failoverService.getAllFailoverTasks().isEmpty());
-        verify(regCenter).isExisted(FailoverNode.ROOT);
+        verify(regCenter, times(0)).getChildrenKeys(FailoverNode.ROOT);
     }
     
     @Test
-    public void assertGetAllFailoverTasksWhenRootNodeHasNoChild() {
-        when(regCenter.isExisted(FailoverNode.ROOT)).thenReturn(true);
-        when(regCenter.getChildrenKeys(FailoverNode.ROOT)).thenReturn(Collections.<String>emptyList());
+    public void assertStartWithoutRootNode() {
+        failoverService.start();
         assertTrue(failoverService.getAllFailoverTasks().isEmpty());
         verify(regCenter).isExisted(FailoverNode.ROOT);
-        verify(regCenter).getChildrenKeys(FailoverNode.ROOT);
+        verify(regCenter, times(0)).getChildrenKeys(FailoverNode.ROOT);
     }
     
     @Test
-    public void assertGetAllFailoverTasksWhenJobNodeHasNoChild() {
+    public void assertStartWhenJobNodeHasNoChild() {
         when(regCenter.isExisted(FailoverNode.ROOT)).thenReturn(true);
         when(regCenter.getChildrenKeys(FailoverNode.ROOT)).thenReturn(Lists.newArrayList("test_job"));
         when(regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job"))).thenReturn(Collections.<String>emptyList());
+        failoverService.start();
         assertTrue(failoverService.getAllFailoverTasks().isEmpty());
-        verify(regCenter).isExisted(FailoverNode.ROOT);
-        verify(regCenter).getChildrenKeys(FailoverNode.ROOT);
-        verify(regCenter).getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job"));
+        verify(regCenter).remove(FailoverNode.getFailoverJobNodePath("test_job"));
     }
     
     @Test
-    public void assertGetAllFailoverTasksWithRootNode() {
+    public void assertGetAllFailoverTasksWithFailoverTasks() {
         String uuid1 = UUID.randomUUID().toString();
         String uuid2 = UUID.randomUUID().toString();
         String uuid3 = UUID.randomUUID().toString();
@@ -198,9 +232,10 @@ public final class FailoverServiceTest {
         when(regCenter.getChildrenKeys(FailoverNode.ROOT)).thenReturn(Lists.newArrayList("test_job_1", "test_job_2"));
         when(regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job_1"))).thenReturn(Lists.newArrayList("test_job_1@-@0", "test_job_1@-@1"));
         when(regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job_2"))).thenReturn(Lists.newArrayList("test_job_2@-@0"));
-        when(regCenter.get(FailoverNode.getFailoverTaskNodePath("test_job_1@-@0"))).thenReturn(uuid1);
-        when(regCenter.get(FailoverNode.getFailoverTaskNodePath("test_job_1@-@1"))).thenReturn(uuid2);
-        when(regCenter.get(FailoverNode.getFailoverTaskNodePath("test_job_2@-@0"))).thenReturn(uuid3);
+        when(regCenter.getDirectly(FailoverNode.getFailoverTaskNodePath("test_job_1@-@0"))).thenReturn(uuid1);
+        when(regCenter.getDirectly(FailoverNode.getFailoverTaskNodePath("test_job_1@-@1"))).thenReturn(uuid2);
+        when(regCenter.getDirectly(FailoverNode.getFailoverTaskNodePath("test_job_2@-@0"))).thenReturn(uuid3);
+        failoverService.start();
         Map<String, Collection<FailoverTaskInfo>> result = failoverService.getAllFailoverTasks();
         assertThat(result.size(), is(2));
         assertThat(result.get("test_job_1").size(), is(2));
@@ -211,12 +246,19 @@ public final class FailoverServiceTest {
         assertThat(result.get("test_job_2").size(), is(1));
         assertThat(result.get("test_job_2").iterator().next().getTaskInfo().toString(), is("test_job_2@-@0"));
         assertThat(result.get("test_job_2").iterator().next().getOriginalTaskId(), is(uuid3));
-        verify(regCenter).isExisted(FailoverNode.ROOT);
-        verify(regCenter).getChildrenKeys(FailoverNode.ROOT);
-        verify(regCenter).getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job_1"));
-        verify(regCenter).getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job_2"));
-        verify(regCenter).get(FailoverNode.getFailoverTaskNodePath("test_job_1@-@0"));
-        verify(regCenter).get(FailoverNode.getFailoverTaskNodePath("test_job_1@-@1"));
-        verify(regCenter).get(FailoverNode.getFailoverTaskNodePath("test_job_2@-@0"));
+    }
+    
+    @Test
+    public void assertSync() {
+        String uuid = UUID.randomUUID().toString();
+        when(regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job"))).thenReturn(Lists.newArrayList("test_job@-@0", "test_job@-@1"));
+        when(regCenter.get(FailoverNode.getFailoverTaskNodePath("test_job@-@0"))).thenReturn(uuid);
+        failoverService.sync("test_job");
+        Map<String, Collection<FailoverTaskInfo>> result = failoverService.getAllFailoverTasks();
+        assertThat(result.size(), is(1));
+        assertThat(result.get("test_job").iterator().next().getOriginalTaskId(), is(uuid));
+        when(regCenter.getChildrenKeys(FailoverNode.getFailoverJobNodePath("test_job"))).thenReturn(Collections.<String>emptyList());
+        failoverService.sync("test_job");
+        assertTrue(failoverService.getAllFailoverTasks().isEmpty());
     }
 }
@@ -27,7 +27,6 @@ import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Optional;
-import com.google.common.collect.Lists;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -35,6 +34,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -44,6 +44,7 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -62,9 +63,6 @@ public final class ReadyServiceTest {
     @Mock
     private RunningService runningService;
     
-    @Mock
-    private List<String> mockedReadyQueue;
-    
     private ReadyService readyService;
         
     @Before
@@ -72,38 +70,81 @@ public final class ReadyServiceTest {
         readyService = new ReadyService(regCenter);
         ReflectionUtils.setFieldValue(readyService, "configService", configService);
         ReflectionUtils.setFieldValue(readyService, "runningService", runningService);
+        readyService.clear();
+    }
+    
+    private void startWithReadyJobs(final String... jobNamesAndTimes) {
+        List<String> jobNames = new ArrayList<>(jobNamesAndTimes.length / 2);
+        for (int i = 0; i < jobNamesAndTimes.length; i += 2) {
+            jobNames.add(jobNamesAndTimes[i]);
+            when(regCenter.getDirectly(ReadyNode.getReadyJobNodePath(jobNamesAndTimes[i]))).thenReturn(jobNamesAndTimes[i + 1]);
+        }
+        when(regCenter.isExisted(ReadyNode.ROOT)).thenReturn(true);
+        when(regCenter.getChildrenKeys(ReadyNode.ROOT)).thenReturn(jobNames);
+        readyService.start();
+    }
+    
+    private void startWithOverJobQueueSize() {
+        int jobCount = BootstrapEnvironment.getInstance().getFrameworkConfiguration().getJobStateQueueSize() + 2;
+        List<String> jobNames = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            jobNames.add("job_" + i);
+        }
+        when(regCenter.isExisted(ReadyNode.ROOT)).thenReturn(true);
+        when(regCenter.getChildrenKeys(ReadyNode.ROOT)).thenReturn(jobNames);
+        when(regCenter.getDirectly(anyString())).thenReturn("1");
+        readyService.start();
+    }
+    
+    @Test
+    public void assertStartWithoutRootNode() {
+        readyService.start();
+        assertTrue(readyService.getAllReadyTasks().isEmpty());
+        verify(regCenter).isExisted(ReadyNode.ROOT);
+        verify(regCenter, times(0)).getChildrenKeys(ReadyNode.ROOT);
+    }
+    
+    @Test
+    public void assertStartWithEmptyNode() {
+        startWithReadyJobs("test_job_1", "2", "test_job_2", "");
+        Map<String, Integer> result = readyService.getAllReadyTasks();
+        assertThat(result.size(), is(1));
+        assertThat(result.get("test_job_1"), is(2));
     }
     
     @Test
     public void assertAddTransientWithJobConfigIsNotPresent() {
         when(configService.load("test_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
         readyService.addTransient("test_job");
-        verify(regCenter, times(0)).isExisted("/state/ready");
-        verify(regCenter, times(0)).persist((String) any(), eq(""));
+        verify(regCenter, times(0)).persist((String) any(), (String) any());
+        assertTrue(readyService.getAllReadyTasks().isEmpty());
     }
     
     @Test
     public void assertAddTransientWithJobConfigIsNotTransient() {
         when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job", CloudJobExecutionType.DAEMON)));
         readyService.addTransient("test_job");
-        verify(regCenter, times(0)).isExisted("/state/ready");
-        verify(regCenter, times(0)).persist((String) any(), eq(""));
+        verify(regCenter, times(0)).persist((String) any(), (String) any());
+        assertTrue(readyService.getAllReadyTasks().isEmpty());
     }
     
     @Test
     public void assertAddTransientWhenJobExistedAndEnableMisfired() {
         when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job")));
-        when(regCenter.getDirectly("/state/ready/test_job")).thenReturn("1");
         readyService.addTransient("test_job");
+        readyService.addTransient("test_job");
+        verify(regCenter).persist("/state/ready/test_job", "1");
         verify(regCenter).persist("/state/ready/test_job", "2");
+        assertThat(readyService.getAllReadyTasks().get("test_job"), is(2));
     }
     
     @Test
     public void assertAddTransientWhenJobExistedAndDisableMisfired() {
         when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job", false)));
-        when(regCenter.getDirectly("/state/ready/test_job")).thenReturn("1");
         readyService.addTransient("test_job");
-        verify(regCenter).persist("/state/ready/test_job", "1");
+        readyService.addTransient("test_job");
+        verify(regCenter, times(2)).persist("/state/ready/test_job", "1");
+        assertThat(readyService.getAllReadyTasks().get("test_job"), is(1));
     }
     
     @Test
@@ -115,14 +156,14 @@ public final class ReadyServiceTest {
     
     @Test
     public void assertAddTransientWithOverJobQueueSize() {
-        when(regCenter.getNumChildren(ReadyNode.ROOT)).thenReturn(BootstrapEnvironment.getInstance().getFrameworkConfiguration().getJobStateQueueSize() + 1);
+        startWithOverJobQueueSize();
         readyService.addTransient("test_job");
         verify(regCenter, times(0)).persist("/state/ready/test_job", "1");
     }
     
     @Test
     public void assertAddDaemonWithOverJobQueueSize() {
-        when(regCenter.getNumChildren(ReadyNode.ROOT)).thenReturn(BootstrapEnvironment.getInstance().getFrameworkConfiguration().getJobStateQueueSize() + 1);
+        startWithOverJobQueueSize();
         readyService.addDaemon("test_job");
         verify(regCenter, times(0)).persist("/state/ready/test_job", "1");
     }
@@ -131,7 +172,6 @@ public final class ReadyServiceTest {
     public void assertAddDaemonWithJobConfigIsNotPresent() {
         when(configService.load("test_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
         readyService.addDaemon("test_job");
-        verify(regCenter, times(0)).isExisted("/state/ready");
         verify(regCenter, times(0)).persist((String) any(), eq("1"));
     }
     
@@ -139,22 +179,16 @@ public final class ReadyServiceTest {
     public void assertAddDaemonWithJobConfigIsNotDaemon() {
         when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job")));
         readyService.addDaemon("test_job");
-        verify(regCenter, times(0)).isExisted("/state/ready");
         verify(regCenter, times(0)).persist((String) any(), eq("1"));
     }
     
-    @Test
-    public void assertAddDaemonWithoutRootNode() {
-        when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job", CloudJobExecutionType.DAEMON)));
-        readyService.addDaemon("test_job");
-        verify(regCenter).persist("/state/ready/test_job", "1");
-    }
-    
     @Test
     public void assertAddDaemonWithSameJobName() {
         when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job", CloudJobExecutionType.DAEMON)));
         readyService.addDaemon("test_job");
-        verify(regCenter).persist((String) any(), eq("1"));
+        readyService.addDaemon("test_job");
+        verify(regCenter, times(2)).persist("/state/ready/test_job", "1");
+        assertThat(readyService.getAllReadyTasks().get("test_job"), is(1));
     }
     
     @Test
@@ -173,10 +207,9 @@ public final class ReadyServiceTest {
     }
     
     @Test
-    public void assertGetAllEligibleJobContextsWithoutRootNode() {
-        when(regCenter.isExisted("/state/ready")).thenReturn(false);
+    public void assertGetAllEligibleJobContextsWithoutReadyJobs() {
         assertTrue(readyService.getAllEligibleJobContexts(Collections.<JobContext>emptyList()).isEmpty());
-        verify(regCenter).isExisted("/state/ready");
+        verify(regCenter, times(0)).getChildrenKeys(ReadyNode.ROOT);
     }
     
     @Test
@@ -195,16 +228,16 @@ public final class ReadyServiceTest {
     
     @Test
     public void assertSetMisfireDisabledWhenReadyNodeExisted() {
+        startWithReadyJobs("test_job", "100");
         when(configService.load("test_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job")));
-        when(regCenter.getDirectly("/state/ready/test_job")).thenReturn("100");
         readyService.setMisfireDisabled("test_job");
         verify(regCenter).persist("/state/ready/test_job", "1");
+        assertThat(readyService.getAllReadyTasks().get("test_job"), is(1));
     }
     
     @Test
-    public void assertGetAllEligibleJobContextsWithRootNode() {
-        when(regCenter.isExisted("/state/ready")).thenReturn(true);
-        when(regCenter.getChildrenKeys("/state/ready")).thenReturn(Arrays.asList("not_existed_job", "running_job", "ineligible_job", "eligible_job"));
+    public void assertGetAllEligibleJobContextsWithReadyJobs() {
+        startWithReadyJobs("not_existed_job", "1", "running_job", "1", "ineligible_job", "1", "eligible_job", "1");
         when(configService.load("not_existed_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
         when(configService.load("running_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("running_job")));
         when(configService.load("eligible_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("eligible_job")));
@@ -212,81 +245,60 @@ public final class ReadyServiceTest {
         when(runningService.isJobRunning("eligible_job")).thenReturn(false);
         assertThat(readyService.getAllEligibleJobContexts(Collections.singletonList(
                 JobContext.from(CloudJobConfigurationBuilder.createCloudJobConfiguration("ineligible_job"), ExecutionType.READY))).size(), is(1));
-        verify(regCenter).isExisted("/state/ready");
-        verify(regCenter, times(1)).getChildrenKeys("/state/ready");
         verify(configService).load("not_existed_job");
         verify(configService).load("running_job");
         verify(configService).load("eligible_job");
         verify(regCenter).remove("/state/ready/not_existed_job");
+        assertThat(readyService.getAllReadyTasks().size(), is(3));
     }
     
     @Test
-    public void assertGetAllEligibleJobContextsWithRootNodeAndDaemonJob() {
-        when(regCenter.isExisted("/state/ready")).thenReturn(true);
-        when(regCenter.getChildrenKeys("/state/ready")).thenReturn(Arrays.asList("not_existed_job", "running_job"));
+    public void assertGetAllEligibleJobContextsWithReadyJobsAndDaemonJob() {
+        startWithReadyJobs("not_existed_job", "1", "running_job", "1");
         when(configService.load("not_existed_job")).thenReturn(Optional.<CloudJobConfiguration>absent());
         when(configService.load("running_job")).thenReturn(Optional.of(CloudJobConfigurationBuilder.createCloudJobConfiguration("running_job", CloudJobExecutionType.DAEMON)));
         when(runningService.isJobRunning("running_job")).thenReturn(true);
         assertThat(readyService.getAllEligibleJobContexts(Collections.<JobContext>emptyList()).size(), is(0));
-        verify(regCenter).isExisted("/state/ready");
-        verify(regCenter, times(1)).getChildrenKeys("/state/ready");
         verify(configService).load("not_existed_job");
         verify(configService).load("running_job");
     }
     
     @Test
     public void assertRemove() {
-        when(regCenter.getDirectly("/state/ready/test_job_1")).thenReturn("1");
-        when(regCenter.getDirectly("/state/ready/test_job_2")).thenReturn("2");
+        startWithReadyJobs("test_job_1", "1", "test_job_2", "2");
         readyService.remove(Arrays.asList("test_job_1", "test_job_2"));
         verify(regCenter).persist("/state/ready/test_job_2", "1");
         verify(regCenter).remove("/state/ready/test_job_1");
         verify(regCenter, times(0)).persist("/state/ready/test_job_1", "0");
         verify(regCenter, times(0)).remove("/state/ready/test_job_2");
+        assertThat(readyService.getAllReadyTasks(), is(Collections.singletonMap("test_job_2", 1)));
     }
     
     @Test
-    public void assertGetAllTasksWithoutRootNode() {
-        when(regCenter.isExisted(ReadyNode.ROOT)).thenReturn(false);
+    public void assertGetAllTasksWithoutReadyJobs() {
         assertTrue(readyService.getAllReadyTasks().isEmpty());
-        verify(regCenter).isExisted(ReadyNode.ROOT);
         verify(regCenter, times(0)).getChildrenKeys((String) any());
         verify(regCenter, times(0)).get((String) any());
     }
     
     @Test
-    public void assertGetAllTasksWhenRootNodeHasNoChild() {
-        when(regCenter.isExisted(ReadyNode.ROOT)).thenReturn(true);
-        when(regCenter.getChildrenKeys(ReadyNode.ROOT)).thenReturn(Collections.<String>emptyList());
-        assertTrue(readyService.getAllReadyTasks().isEmpty());
-        verify(regCenter).isExisted(ReadyNode.ROOT);
-        verify(regCenter).getChildrenKeys(ReadyNode.ROOT);
+    public void assertGetAllTasksWithReadyJobs() {
+        startWithReadyJobs("test_job_1", "1", "test_job_2", "5");
+        Map<String, Integer> result = readyService.getAllReadyTasks();
+        assertThat(result.size(), is(2));
+        assertThat(result.get("test_job_1"), is(1));
+        assertThat(result.get("test_job_2"), is(5));
         verify(regCenter, times(0)).get((String) any());
     }
     
     @Test
-    public void assertGetAllTasksWhenNodeIsEmpty() {
-        when(regCenter.isExisted(ReadyNode.ROOT)).thenReturn(true);
-        when(regCenter.getChildrenKeys(ReadyNode.ROOT)).thenReturn(Lists.newArrayList("test_job"));
-        when(regCenter.get(ReadyNode.getReadyJobNodePath("test_job"))).thenReturn("");
+    public void assertSync() {
+        when(regCenter.get(ReadyNode.getReadyJobNodePath("test_job"))).thenReturn("2");
+        readyService.sync("test_job");
+        assertThat(readyService.getAllReadyTasks().get("test_job"), is(2));
+        when(regCenter.get(ReadyNode.getReadyJobNodePath("test_job"))).thenReturn(null);
+        readyService.sync("test_job");
         assertTrue(readyService.getAllReadyTasks().isEmpty());
-        verify(regCenter).isExisted(ReadyNode.ROOT);
-        verify(regCenter).getChildrenKeys(ReadyNode.ROOT);
-        verify(regCenter).get(ReadyNode.getReadyJobNodePath("test_job"));
-    }
-    
-    @Test
-    public void assertGetAllTasksWithRootNode() {
-        when(regCenter.isExisted(ReadyNode.ROOT)).thenReturn(true);
-        when(regCenter.getChildrenKeys(ReadyNode.ROOT)).thenReturn(Lists.newArrayList("test_job_1", "test_job_2"));
-        when(regCenter.get(ReadyNode.getReadyJobNodePath("test_job_1"))).thenReturn("1");
-        when(regCenter.get(ReadyNode.getReadyJobNodePath("test_job_2"))).thenReturn("5");
-        Map<String, Integer> result = readyService.getAllReadyTasks();
-        assertThat(result.size(), is(2));
-        assertThat(result.get("test_job_1"), is(1));
-        assertThat(result.get("test_job_2"), is(5));
-        verify(regCenter).isExisted(ReadyNode.ROOT);
-        verify(regCenter).getChildrenKeys(ReadyNode.ROOT);
-        verify(regCenter, times(2)).get((String) any());
+        verify(regCenter, never()).persist(anyString(), anyString());
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.state.running;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.dangdang.ddframe.job.context.TaskContext.MetaInfo;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobRunningTasksTest {
+    
+    private final JobRunningTasks jobRunningTasks = new JobRunningTasks();
+    
+    @Test
+    public void assertAddAndRemove() {
+        TaskContext taskContext = createTaskContext("test_job@-@0");
+        assertTrue(jobRunningTasks.add(taskContext));
+        assertFalse(jobRunningTasks.add(taskContext));
+        assertThat(jobRunningTasks.get(taskContext.getId()), is(taskContext));
+        assertThat(jobRunningTasks.getTasks().size(), is(1));
+        assertTrue(jobRunningTasks.remove(taskContext));
+        assertFalse(jobRunningTasks.remove(taskContext));
+        assertNull(jobRunningTasks.get(taskContext.getId()));
+        assertTrue(jobRunningTasks.isEmpty());
+    }
+    
+    @Test
+    public void assertIsRunningWithPackedShardingItems() {
+        TaskContext taskContext = createTaskContext("test_job@-@0,1");
+        jobRunningTasks.add(taskContext);
+        assertTrue(jobRunningTasks.isRunning(MetaInfo.from("test_job@-@1")));
+        assertTrue(jobRunningTasks.isRunning(MetaInfo.from("test_job@-@1,2")));
+        assertFalse(jobRunningTasks.isRunning(MetaInfo.from("test_job@-@2")));
+        jobRunningTasks.remove(taskContext);
+        assertFalse(jobRunningTasks.isRunning(MetaInfo.from("test_job@-@0")));
+    }
+    
+    @Test
+    public void assertIsRunningWhenShardingItemRelaunched() {
+        TaskContext taskContext = createTaskContext("test_job@-@0");
+        TaskContext relaunchedTaskContext = createTaskContext("test_job@-@0");
+        jobRunningTasks.add(taskContext);
+        jobRunningTasks.add(relaunchedTaskContext);
+        jobRunningTasks.remove(taskContext);
+        assertTrue(jobRunningTasks.isRunning(MetaInfo.from("test_job@-@0")));
+        jobRunningTasks.remove(relaunchedTaskContext);
+        assertFalse(jobRunningTasks.isRunning(MetaInfo.from("test_job@-@0")));
+    }
+    
+    @Test
+    public void assertIsRunningWithoutShardingItems() {
+        jobRunningTasks.add(createTaskContext("test_job"));
+        assertTrue(jobRunningTasks.isRunning(MetaInfo.from("test_job")));
+        assertFalse(jobRunningTasks.isRunning(MetaInfo.from("other_job")));
+    }
+    
+    private TaskContext createTaskContext(final String metaInfo) {
+        MetaInfo result = MetaInfo.from(metaInfo);
+        return new TaskContext(result.getJobName(), result.getShardingItems(), ExecutionType.READY, "slave-S0");
+    }
+}
@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.cloud.scheduler.state.running;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJsonConstants;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.TaskNode;
+import com.dangdang.ddframe.job.cloud.scheduler.state.WriteBehindService;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
@@ -32,6 +33,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.hamcrest.core.Is.is;
@@ -39,6 +42,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -66,7 +71,6 @@ public final class RunningServiceTest {
         assertThat(runningService.getAllRunningDaemonTasks().size(), is(1));
         assertThat(runningService.getAllRunningTasks().size(), is(2));
         String path = RunningNode.getRunningTaskNodePath(taskContext.getMetaInfo().toString());
-        verify(regCenter).isExisted(path);
         verify(regCenter).persist(path, taskContext.getId());
     }
     
@@ -122,15 +126,70 @@ public final class RunningServiceTest {
     
     @Test
     public void assertRemoveByTaskContext() {
-        when(regCenter.isExisted(RunningNode.getRunningJobNodePath("test_job"))).thenReturn(true);
-        when(regCenter.getChildrenKeys(RunningNode.getRunningJobNodePath("test_job"))).thenReturn(Collections.<String>emptyList());
         runningService.remove(taskContext);
         assertTrue(runningService.getRunningTasks("test_job").isEmpty());
+        assertFalse(runningService.isTaskRunning(taskContext.getMetaInfo()));
         verify(regCenter).remove(RunningNode.getRunningTaskNodePath(taskContext.getMetaInfo().toString()));
+        verify(regCenter).remove(RunningNode.getRunningJobNodePath("test_job"));
         runningService.remove(taskContextT);
         assertTrue(runningService.getRunningTasks("test_job_t").isEmpty());
     }
     
+    @Test
+    public void assertRemoveByTaskContextWithOtherRunningTask() {
+        runningService.add(TaskContext.from(TaskNode.builder().shardingItem(1).build().getTaskNodeValue()));
+        runningService.remove(taskContext);
+        assertThat(runningService.getRunningTasks("test_job").size(), is(1));
+        verify(regCenter, never()).remove(RunningNode.getRunningJobNodePath("test_job"));
+    }
+    
+    @Test
+    public void assertAddWithWriteBehind() {
+        WriteBehindService writeBehindService = new WriteBehindService(regCenter);
+        writeBehindService.start();
+        TaskContext otherTaskContext = TaskContext.from(TaskNode.builder().shardingItem(1).build().getTaskNodeValue());
+        try {
+            runningService.add(otherTaskContext);
+            assertTrue(runningService.isTaskRunning(otherTaskContext.getMetaInfo()));
+        } finally {
+            writeBehindService.stop();
+        }
+        verify(regCenter).persist(RunningNode.getRunningTaskNodePath(otherTaskContext.getMetaInfo().toString()), otherTaskContext.getId());
+    }
+    
+    @Test
+    public void assertGetAllRunningTasksSnapshot() {
+        Map<String, Set<TaskContext>> actual = runningService.getAllRunningTasks();
+        runningService.remove(taskContext);
+        assertThat(actual.get("test_job").size(), is(1));
+        assertFalse(runningService.getAllRunningTasks().containsKey("test_job"));
+    }
+    
+    @Test
+    public void assertGetAppRunningResources() {
+        runningService.add(new TaskContext("test_job_t", Arrays.asList(3, 4), ExecutionType.READY, "slave-S0"));
+        assertAppRunningResources(3, 4.0d, 512.0d);
+        runningService.remove(taskContext);
+        runningService.remove(taskContext);
+        assertAppRunningResources(2, 3.0d, 384.0d);
+        runningService.remove("test_job_t");
+        assertTrue(runningService.getAppRunningResources().isEmpty());
+    }
+    
+    @Test
+    public void assertGetAppRunningResourcesWhenAddExistedTask() {
+        runningService.add(taskContext);
+        runningService.updateIdle(taskContext, true);
+        assertAppRunningResources(2, 2.0d, 256.0d);
+    }
+    
+    private void assertAppRunningResources(final int expectedTaskCount, final double expectedCpus, final double expectedMemoryMB) {
+        RunningService.AppRunningResources actual = runningService.getAppRunningResources().get("test_app");
+        assertThat(actual.getTaskCount(), is(expectedTaskCount));
+        assertThat(actual.getCpus(), is(expectedCpus));
+        assertThat(actual.getMemoryMB(), is(expectedMemoryMB));
+    }
+    
     @Test
     public void assertIsJobRunning() {
         assertTrue(runningService.isJobRunning("test_job"));
@@ -146,6 +205,13 @@ public final class RunningServiceTest {
         assertFalse(runningService.isTaskRunning(TaskContext.MetaInfo.from(TaskNode.builder().shardingItem(2).build().getTaskNodePath())));
     }
     
+    @Test
+    public void assertIsTaskRunningForPackingTask() {
+        runningService.add(new TaskContext("test_job_t", Arrays.asList(3, 4), ExecutionType.READY, "slave-S0"));
+        assertTrue(runningService.isTaskRunning(new TaskContext.MetaInfo("test_job_t", Collections.singletonList(4))));
+        assertFalse(runningService.isTaskRunning(new TaskContext.MetaInfo("test_job_t", Collections.singletonList(5))));
+    }
+    
     @Test
     public void assertMappingOperate() {
         String taskId = TaskNode.builder().build().getTaskNodeValue();
@@ -161,6 +227,29 @@ public final class RunningServiceTest {
         runningService.addMapping(TaskNode.builder().build().getTaskNodeValue(), "localhost");
         runningService.clear();
         assertTrue(runningService.getRunningTasks("test_job").isEmpty());
+        assertTrue(runningService.getAppRunningResources().isEmpty());
         assertNull(runningService.popMapping(TaskNode.builder().build().getTaskNodeValue()));
     }
+    
+    @Test
+    public void assertSync() {
+        TaskNode taskNode1 = TaskNode.builder().jobName("test_job").shardingItem(0).slaveId("111").type(ExecutionType.READY).uuid(UUID.randomUUID().toString()).build();
+        TaskNode taskNode2 = TaskNode.builder().jobName("test_job").shardingItem(1).slaveId("222").type(ExecutionType.READY).uuid(UUID.randomUUID().toString()).build();
+        when(regCenter.getChildrenKeys(RunningNode.getRunningJobNodePath("test_job"))).thenReturn(Arrays.asList(taskNode1.getTaskNodePath(), taskNode2.getTaskNodePath()));
+        when(regCenter.get(RunningNode.getRunningTaskNodePath(taskNode1.getTaskNodePath()))).thenReturn(taskNode1.getTaskNodeValue());
+        when(regCenter.get(RunningNode.getRunningTaskNodePath(taskNode2.getTaskNodePath()))).thenReturn(null);
+        runningService.sync("test_job");
+        assertThat(runningService.getRunningTasks("test_job").size(), is(1));
+        assertThat(runningService.getRunningTasks("test_job").iterator().next().getId(), is(taskNode1.getTaskNodeValue()));
+        assertThat(runningService.getAppRunningResources().get("test_app").getTaskCount(), is(2));
+        verify(regCenter, never()).remove(anyString());
+    }
+    
+    @Test
+    public void assertSyncWhenJobIsNotRunning() {
+        when(regCenter.getChildrenKeys(RunningNode.getRunningJobNodePath("test_job"))).thenReturn(Collections.<String>emptyList());
+        runningService.sync("test_job");
+        assertFalse(runningService.isJobRunning("test_job"));
+        assertThat(runningService.getAppRunningResources().get("test_app").getTaskCount(), is(1));
+    }
 }
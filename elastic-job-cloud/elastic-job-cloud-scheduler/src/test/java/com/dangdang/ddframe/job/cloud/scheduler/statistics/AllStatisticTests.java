@@ -31,7 +31,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUti
         StatisticManagerTest.class, 
         StatisticsSchedulerTest.class, 
         BaseStatisticJobTest.class, 
-        TaskResultMetaDataTest.class, 
+        StatisticTimeSeriesTest.class, 
         StatisticTimeUtilsTest.class, 
         RegisteredJobStatisticJobTest.class, 
         TaskResultStatisticJobTest.class, 
@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.cloud.scheduler.statistics;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.event.rdb.JobEventRdbConfiguration;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
@@ -39,6 +40,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
 import java.util.Date;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -121,6 +123,18 @@ public class StatisticManagerTest {
         assertThat(statisticManager.getTaskResultStatisticsSinceOnline().getFailedCount(), is(0));
     }
     
+    @Test
+    public void assertTaskResultStatisticsFromMemoryWhenRdbIsNotConfigured() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(statisticManager, "rdbRepository", null);
+        statisticManager.taskRunSuccessfully();
+        statisticManager.taskRunSuccessfully();
+        statisticManager.taskRunFailed();
+        assertThat(statisticManager.getTaskResultStatisticsWeekly().getSuccessCount(), is(2));
+        assertThat(statisticManager.getTaskResultStatisticsWeekly().getFailedCount(), is(1));
+        assertThat(statisticManager.getTaskResultStatisticsSinceOnline().getSuccessCount(), is(2));
+        assertThat(statisticManager.getTaskResultStatisticsSinceOnline().getFailedCount(), is(1));
+    }
+    
     @Test
     public void assertTaskResultStatisticsWhenRdbIsConfigured() throws NoSuchFieldException {
         ReflectionUtils.setFieldValue(statisticManager, "rdbRepository", rdbRepository);
@@ -149,12 +163,14 @@ public class StatisticManagerTest {
     @Test
     public void assertJobExecutionTypeStatistics() throws NoSuchFieldException {
         ReflectionUtils.setFieldValue(statisticManager, "configurationService", configurationService);
-        when(configurationService.loadAll()).thenReturn(Lists.newArrayList(
-                CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_1", CloudJobExecutionType.DAEMON), 
+        when(configurationService.loadAllByExecutionType(CloudJobExecutionType.DAEMON)).thenReturn(Lists.newArrayList(
+                CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_1", CloudJobExecutionType.DAEMON)));
+        when(configurationService.loadAllByExecutionType(CloudJobExecutionType.TRANSIENT)).thenReturn(Lists.newArrayList(
                 CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job_2", CloudJobExecutionType.TRANSIENT)));
         assertThat(statisticManager.getJobExecutionTypeStatistics().getDaemonJobCount(), is(1));
         assertThat(statisticManager.getJobExecutionTypeStatistics().getTransientJobCount(), is(1));
-        verify(configurationService, times(2)).loadAll();
+        verify(configurationService, times(2)).loadAllByExecutionType(CloudJobExecutionType.DAEMON);
+        verify(configurationService, times(2)).loadAllByExecutionType(CloudJobExecutionType.TRANSIENT);
     }
     
     @Test
@@ -225,6 +241,20 @@ public class StatisticManagerTest {
         verify(rdbRepository, times(StatisticInterval.values().length)).findLatestTaskResultStatistics(any(StatisticInterval.class));
     }
     
+    @Test
+    public void assertFindLatestTaskResultStatisticsFromMemoryWhenRdbIsConfigured() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(statisticManager, "rdbRepository", rdbRepository);
+        Map<StatisticInterval, StatisticTimeSeries> taskResultTimeSeries = ReflectionUtils.getFieldValue(statisticManager, StatisticManager.class.getDeclaredField("taskResultTimeSeries"));
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.MINUTE, 60, 2, StatisticTimeUtils.getStatisticTime(StatisticInterval.MINUTE, -10));
+        timeSeries.add(StatisticTimeUtils.getStatisticTime(StatisticInterval.MINUTE, -1), 10, 5);
+        taskResultTimeSeries.put(StatisticInterval.MINUTE, timeSeries);
+        TaskResultStatistics actual = statisticManager.findLatestTaskResultStatistics(StatisticInterval.MINUTE);
+        assertThat(actual.getSuccessCount(), is(10));
+        assertThat(actual.getFailedCount(), is(5));
+        assertThat(actual.getStatisticsTime(), is(StatisticTimeUtils.getCurrentStatisticTime(StatisticInterval.MINUTE)));
+        verify(rdbRepository, times(0)).findLatestTaskResultStatistics(any(StatisticInterval.class));
+    }
+    
     @Test
     public void assertFindTaskResultStatisticsDailyWhenRdbIsNotConfigured() throws NoSuchFieldException {
         ReflectionUtils.setFieldValue(statisticManager, "rdbRepository", null);
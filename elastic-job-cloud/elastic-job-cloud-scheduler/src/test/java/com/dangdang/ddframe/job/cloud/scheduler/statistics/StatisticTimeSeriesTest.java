@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.cloud.scheduler.statistics;
+
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries.StatisticPoint;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
+import com.dangdang.ddframe.job.statistics.StatisticInterval;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class StatisticTimeSeriesTest {
+    
+    @Test
+    public void assertAdd() throws ParseException {
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.MINUTE, 10, 2);
+        timeSeries.add(parse("2016-12-16 10:30:15"), 1, 0);
+        timeSeries.add(parse("2016-12-16 10:30:45"), 0, 1);
+        timeSeries.add(parse("2016-12-16 10:30:59"), 1, 0);
+        StatisticPoint actual = timeSeries.get(parse("2016-12-16 10:30:00")).get();
+        assertThat(actual.getStatisticsTime(), is(parse("2016-12-16 10:30:00")));
+        assertThat(actual.getValue(0), is(2));
+        assertThat(actual.getValue(1), is(1));
+        assertFalse(timeSeries.get(parse("2016-12-16 10:31:00")).isPresent());
+    }
+    
+    @Test
+    public void assertSet() throws ParseException {
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.HOUR, 10, 1);
+        timeSeries.set(parse("2016-12-16 10:10:00"), 5);
+        timeSeries.set(parse("2016-12-16 10:50:00"), 3);
+        assertThat(timeSeries.get(parse("2016-12-16 10:00:00")).get().getValue(0), is(3));
+    }
+    
+    @Test
+    public void assertAddOverwriteExpiredBucket() throws ParseException {
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.MINUTE, 10, 1);
+        timeSeries.add(parse("2016-12-16 10:30:00"), 1);
+        timeSeries.add(parse("2016-12-16 10:40:00"), 2);
+        assertFalse(timeSeries.get(parse("2016-12-16 10:30:00")).isPresent());
+        assertThat(timeSeries.get(parse("2016-12-16 10:40:00")).get().getValue(0), is(2));
+    }
+    
+    @Test
+    public void assertAddIgnoreExpiredTime() throws ParseException {
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.MINUTE, 10, 1);
+        timeSeries.add(parse("2016-12-16 10:40:00"), 2);
+        timeSeries.add(parse("2016-12-16 10:30:00"), 1);
+        assertFalse(timeSeries.get(parse("2016-12-16 10:30:00")).isPresent());
+        assertThat(timeSeries.get(parse("2016-12-16 10:40:00")).get().getValue(0), is(2));
+    }
+    
+    @Test
+    public void assertFindAndSum() throws ParseException {
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.DAY, 7, 2);
+        timeSeries.add(parse("2016-12-16 10:00:00"), 1, 2);
+        timeSeries.add(parse("2016-12-14 10:00:00"), 3, 4);
+        timeSeries.add(parse("2016-12-12 10:00:00"), 5, 6);
+        List<StatisticPoint> actual = timeSeries.find(parse("2016-12-13 00:00:00"), parse("2016-12-17 00:00:00"));
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getStatisticsTime(), is(parse("2016-12-14 00:00:00")));
+        assertThat(actual.get(1).getStatisticsTime(), is(parse("2016-12-16 00:00:00")));
+        int[] sum = timeSeries.sum(parse("2016-12-12 00:00:00"), parse("2016-12-16 00:00:00"));
+        assertThat(sum[0], is(8));
+        assertThat(sum[1], is(10));
+    }
+    
+    @Test
+    public void assertIsCovered() {
+        Date now = new Date();
+        StatisticTimeSeries timeSeries = new StatisticTimeSeries(StatisticInterval.HOUR, 24, 1, StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, -48));
+        assertTrue(timeSeries.isCovered(StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, -23)));
+        assertFalse(timeSeries.isCovered(StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, -24)));
+        assertFalse(new StatisticTimeSeries(StatisticInterval.HOUR, 24, 1, now).isCovered(StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, -1)));
+        assertTrue(new StatisticTimeSeries(StatisticInterval.HOUR, 24, 1, now).isCovered(StatisticTimeUtils.getCurrentStatisticTime(StatisticInterval.HOUR)));
+    }
+    
+    private Date parse(final String time) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(time);
+    }
+}
@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.cloud.scheduler.statistics.job;
 
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -26,6 +27,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -41,6 +43,8 @@ import org.quartz.Trigger;
 
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.TaskNode;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
@@ -58,12 +62,16 @@ public class JobRunningStatisticJobTest {
     @Mock
     private StatisticRdbRepository repository;
     
+    private StatisticTimeSeries timeSeries;
+    
     private JobRunningStatisticJob jobRunningStatisticJob;
     
     @Before
     public void setUp() {
+        timeSeries = new StatisticTimeSeries(StatisticInterval.MINUTE, 60, 2);
         jobRunningStatisticJob = new JobRunningStatisticJob();
         jobRunningStatisticJob.setRunningService(runningService);
+        jobRunningStatisticJob.setTimeSeries(timeSeries);
         jobRunningStatisticJob.setRepository(repository);
     }
     
@@ -81,9 +89,25 @@ public class JobRunningStatisticJobTest {
     @Test
     public void assertGetDataMap() throws SchedulerException {
         assertThat((RunningService) jobRunningStatisticJob.getDataMap().get("runningService"), is(runningService));
+        assertThat((StatisticTimeSeries) jobRunningStatisticJob.getDataMap().get("timeSeries"), is(timeSeries));
         assertThat((StatisticRdbRepository) jobRunningStatisticJob.getDataMap().get("repository"), is(repository));
     }
     
+    @Test
+    public void assertGetDataMapWithoutRepository() throws SchedulerException {
+        jobRunningStatisticJob.setRepository(null);
+        assertFalse(jobRunningStatisticJob.getDataMap().containsKey("repository"));
+    }
+    
+    @Test
+    public void assertExecuteWithoutRepository() throws SchedulerException {
+        jobRunningStatisticJob.setRepository(null);
+        when(runningService.getAllRunningTasks()).thenReturn(Collections.<String, Set<TaskContext>>emptyMap());
+        jobRunningStatisticJob.execute(null);
+        assertThat(timeSeries.get(new Date()).get().getValue(StatisticManager.JOB_RUNNING_COUNT_INDEX), is(0));
+        verify(runningService).getAllRunningTasks();
+    }
+    
     @Test
     public void assertExecuteWhenRepositoryIsEmpty() throws SchedulerException {
         Optional<JobRunningStatistics> latestJobRunningStatistics = Optional.absent();
@@ -119,5 +143,7 @@ public class JobRunningStatisticJobTest {
         verify(repository, times(3)).add(any(JobRunningStatistics.class));
         verify(repository, times(3)).add(any(TaskRunningStatistics.class));
         verify(runningService).getAllRunningTasks();
+        assertThat(timeSeries.get(new Date()).get().getValue(StatisticManager.JOB_RUNNING_COUNT_INDEX), is(1));
+        assertThat(timeSeries.get(new Date()).get().getValue(StatisticManager.TASK_RUNNING_COUNT_INDEX), is(1));
     }
 }
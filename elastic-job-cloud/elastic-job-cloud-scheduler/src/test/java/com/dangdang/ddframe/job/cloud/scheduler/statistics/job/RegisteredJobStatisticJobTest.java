@@ -19,6 +19,8 @@ package com.dangdang.ddframe.job.cloud.scheduler.statistics.job;
 
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
 import com.dangdang.ddframe.job.statistics.rdb.StatisticRdbRepository;
@@ -33,7 +35,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.quartz.SchedulerException;
 import org.quartz.Trigger;
 
+import java.util.Date;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.times;
@@ -49,12 +54,16 @@ public class RegisteredJobStatisticJobTest {
     @Mock
     private StatisticRdbRepository repository;
     
+    private StatisticTimeSeries timeSeries;
+    
     private RegisteredJobStatisticJob registeredJobStatisticJob;
     
     @Before
     public void setUp() {
+        timeSeries = new StatisticTimeSeries(StatisticInterval.DAY, 7, 1);
         registeredJobStatisticJob = new RegisteredJobStatisticJob();
         registeredJobStatisticJob.setConfigurationService(configurationService);
+        registeredJobStatisticJob.setTimeSeries(timeSeries);
         registeredJobStatisticJob.setRepository(repository);
     }
     
@@ -72,9 +81,19 @@ public class RegisteredJobStatisticJobTest {
     @Test
     public void assertGetDataMap() throws SchedulerException {
         assertThat((CloudJobConfigurationService) registeredJobStatisticJob.getDataMap().get("configurationService"), is(configurationService));
+        assertThat((StatisticTimeSeries) registeredJobStatisticJob.getDataMap().get("timeSeries"), is(timeSeries));
         assertThat((StatisticRdbRepository) registeredJobStatisticJob.getDataMap().get("repository"), is(repository));
     }
     
+    @Test
+    public void assertExecuteWithoutRepository() throws SchedulerException {
+        registeredJobStatisticJob.setRepository(null);
+        when(configurationService.loadAll()).thenReturn(Lists.newArrayList(CloudJobConfigurationBuilder.createCloudJobConfiguration("test_job")));
+        registeredJobStatisticJob.execute(null);
+        assertThat(timeSeries.get(new Date()).get().getValue(StatisticManager.REGISTERED_COUNT_INDEX), is(1));
+        assertFalse(registeredJobStatisticJob.getDataMap().containsKey("repository"));
+    }
+    
     @Test
     public void assertExecuteWhenRepositoryIsEmpty() throws SchedulerException {
         Optional<JobRegisterStatistics> latestOne = Optional.absent();
@@ -97,5 +116,6 @@ public class RegisteredJobStatisticJobTest {
         verify(repository).findLatestJobRegisterStatistics();
         verify(repository, times(3)).add(any(JobRegisterStatistics.class));
         verify(configurationService).loadAll();
+        assertThat(timeSeries.get(new Date()).get().getValue(StatisticManager.REGISTERED_COUNT_INDEX), is(1));
     }
 }
@@ -27,24 +27,28 @@ import static org.mockito.Mockito.when;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.quartz.SchedulerException;
 import org.quartz.Trigger;
 
-import com.dangdang.ddframe.job.cloud.scheduler.statistics.TaskResultMetaData;
+import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticTimeSeries;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.util.StatisticTimeUtils;
 import com.dangdang.ddframe.job.statistics.StatisticInterval;
 import com.dangdang.ddframe.job.statistics.rdb.StatisticRdbRepository;
 import com.dangdang.ddframe.job.statistics.type.task.TaskResultStatistics;
 import com.google.common.base.Optional;
 
+import java.util.List;
+
 @RunWith(MockitoJUnitRunner.class)
 public class TaskResultStatisticJobTest {
     
     private StatisticInterval statisticInterval = StatisticInterval.MINUTE;
     
-    private TaskResultMetaData sharedData;
+    private StatisticTimeSeries timeSeries;
     
     @Mock
     private StatisticRdbRepository repository;
@@ -54,9 +58,9 @@ public class TaskResultStatisticJobTest {
     @Before
     public void setUp() {
         taskResultStatisticJob = new TaskResultStatisticJob();
-        sharedData = new TaskResultMetaData();
+        timeSeries = new StatisticTimeSeries(statisticInterval, 60, 2);
         taskResultStatisticJob.setStatisticInterval(statisticInterval);
-        taskResultStatisticJob.setSharedData(sharedData);
+        taskResultStatisticJob.setTimeSeries(timeSeries);
         taskResultStatisticJob.setRepository(repository);
     }
     
@@ -77,7 +81,7 @@ public class TaskResultStatisticJobTest {
     @Test
     public void assertGetDataMap() throws SchedulerException {
         assertThat((StatisticInterval) taskResultStatisticJob.getDataMap().get("statisticInterval"), is(statisticInterval));
-        assertThat((TaskResultMetaData) taskResultStatisticJob.getDataMap().get("sharedData"), is(sharedData));
+        assertThat((StatisticTimeSeries) taskResultStatisticJob.getDataMap().get("timeSeries"), is(timeSeries));
         assertThat((StatisticRdbRepository) taskResultStatisticJob.getDataMap().get("repository"), is(repository));
     }
     
@@ -86,24 +90,32 @@ public class TaskResultStatisticJobTest {
         Optional<TaskResultStatistics> latestOne = Optional.absent();
         for (StatisticInterval each : StatisticInterval.values()) {
             taskResultStatisticJob.setStatisticInterval(each);
+            taskResultStatisticJob.setTimeSeries(new StatisticTimeSeries(each, 60, 2));
             when(repository.findLatestTaskResultStatistics(each)).thenReturn(latestOne);
-            when(repository.add(any(TaskResultStatistics.class))).thenReturn(true);
+            when(repository.add(ArgumentMatchers.<TaskResultStatistics>anyList())).thenReturn(true);
             taskResultStatisticJob.execute(null);
             verify(repository).findLatestTaskResultStatistics(each);
         }
-        verify(repository, times(3)).add(any(TaskResultStatistics.class));
+        verify(repository, times(3)).add(ArgumentMatchers.<TaskResultStatistics>anyList());
+        verify(repository, times(0)).add(any(TaskResultStatistics.class));
     }
     
     @Test
+    @SuppressWarnings("unchecked")
     public void assertExecute() throws SchedulerException {
-        for (StatisticInterval each : StatisticInterval.values()) {
-            taskResultStatisticJob.setStatisticInterval(each);
-            Optional<TaskResultStatistics> latestOne = Optional.of(new TaskResultStatistics(0, 0, each, StatisticTimeUtils.getStatisticTime(each, -3)));
-            when(repository.findLatestTaskResultStatistics(each)).thenReturn(latestOne);
-            when(repository.add(any(TaskResultStatistics.class))).thenReturn(true);
-            taskResultStatisticJob.execute(null);
-            verify(repository).findLatestTaskResultStatistics(each);
-        }
-        verify(repository, times(StatisticInterval.values().length * 3)).add(any(TaskResultStatistics.class));
+        timeSeries.add(StatisticTimeUtils.getStatisticTime(statisticInterval, -1), 5, 2);
+        Optional<TaskResultStatistics> latestOne = Optional.of(new TaskResultStatistics(0, 0, statisticInterval, StatisticTimeUtils.getStatisticTime(statisticInterval, -3)));
+        when(repository.findLatestTaskResultStatistics(statisticInterval)).thenReturn(latestOne);
+        when(repository.add(ArgumentMatchers.<TaskResultStatistics>anyList())).thenReturn(true);
+        taskResultStatisticJob.execute(null);
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).add(captor.capture());
+        List<TaskResultStatistics> actual = captor.getValue();
+        assertThat(actual.size(), is(3));
+        assertThat(actual.get(0).getSuccessCount(), is(0));
+        assertThat(actual.get(0).getStatisticsTime(), is(StatisticTimeUtils.getStatisticTime(statisticInterval, -2)));
+        assertThat(actual.get(2).getSuccessCount(), is(5));
+        assertThat(actual.get(2).getFailedCount(), is(2));
+        assertThat(actual.get(2).getStatisticsTime(), is(StatisticTimeUtils.getCurrentStatisticTime(statisticInterval)));
     }
 }
@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.cloud.scheduler.statistics.util;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -43,6 +44,14 @@ public class StatisticTimeUtilsTest {
         assertThat(getTimeStr(StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, -1), StatisticInterval.DAY), is(getTimeStr(getYesterday(), StatisticInterval.DAY)));
     }
     
+    @Test
+    public void assertGetStatisticTimeWithSpecifiedTime() throws ParseException {
+        Date time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2016-12-16 10:30:15");
+        assertThat(getTimeStr(StatisticTimeUtils.getStatisticTime(StatisticInterval.MINUTE, time, 1), StatisticInterval.MINUTE), is("2016-12-16 10:31:00"));
+        assertThat(getTimeStr(StatisticTimeUtils.getStatisticTime(StatisticInterval.HOUR, time, 0), StatisticInterval.HOUR), is("2016-12-16 10:00:00"));
+        assertThat(getTimeStr(StatisticTimeUtils.getStatisticTime(StatisticInterval.DAY, time, -1), StatisticInterval.DAY), is("2016-12-15 :00:00:00"));
+    }
+    
     private Date getNow() {
         return new Date();
     }
@@ -38,6 +38,10 @@ public final class JobCoreConfiguration {
     
     private final String cron;
     
+    private final long fixedRateMilliseconds;
+    
+    private final long fixedDelayMilliseconds;
+    
     private final int shardingTotalCount;
     
     private final String shardingItemParameters;
@@ -56,7 +60,7 @@ public final class JobCoreConfiguration {
      * 创建简单作业配置构建器.
      *
      * @param jobName 作业名称
-     * @param cron 作业启动时间的cron表达式
+     * @param cron 作业启动时间的cron表达式, 使用固定频率或固定延迟触发时可为空
      * @param shardingTotalCount 作业分片总数
      * @return 简单作业配置构建器
      */
@@ -73,6 +77,10 @@ public final class JobCoreConfiguration {
         
         private final int shardingTotalCount;
         
+        private long fixedRateMilliseconds;
+        
+        private long fixedDelayMilliseconds;
+        
         private String shardingItemParameters = "";
         
         private String jobParameter = "";
@@ -85,6 +93,40 @@ public final class JobCoreConfiguration {
         
         private final JobProperties jobProperties = new JobProperties();
         
+        /**
+         * 设置固定频率触发的间隔毫秒数.
+         *
+         * <p>
+         * 按上次计划触发时间加间隔计算下次触发时间, 由时间轮计时, 适用于亚秒级的高频作业.
+         * 设置后优先于cron表达式.
+         * </p>
+         *
+         * @param fixedRateMilliseconds 固定频率触发的间隔毫秒数
+         *
+         * @return 作业配置构建器
+         */
+        public Builder fixedRate(final long fixedRateMilliseconds) {
+            this.fixedRateMilliseconds = fixedRateMilliseconds;
+            return this;
+        }
+        
+        /**
+         * 设置固定延迟触发的间隔毫秒数.
+         *
+         * <p>
+         * 按上次执行完成时间加间隔计算下次触发时间, 由时间轮计时, 适用于亚秒级的轮询作业.
+         * 设置后优先于cron表达式.
+         * </p>
+         *
+         * @param fixedDelayMilliseconds 固定延迟触发的间隔毫秒数
+         *
+         * @return 作业配置构建器
+         */
+        public Builder fixedDelay(final long fixedDelayMilliseconds) {
+            this.fixedDelayMilliseconds = fixedDelayMilliseconds;
+            return this;
+        }
+        
         /**
          * 设置分片序列号和个性化参数对照表.
          *
@@ -186,9 +228,11 @@ public final class JobCoreConfiguration {
          */
         public final JobCoreConfiguration build() {
             Preconditions.checkArgument(!Strings.isNullOrEmpty(jobName), "jobName can not be empty.");
-            Preconditions.checkArgument(!Strings.isNullOrEmpty(cron), "cron can not be empty.");
+            Preconditions.checkArgument(fixedRateMilliseconds >= 0 && fixedDelayMilliseconds >= 0, "fixedRate and fixedDelay can not be negative.");
+            Preconditions.checkArgument(0 == fixedRateMilliseconds || 0 == fixedDelayMilliseconds, "fixedRate and fixedDelay can not be set at the same time.");
+            Preconditions.checkArgument(!Strings.isNullOrEmpty(cron) || fixedRateMilliseconds > 0 || fixedDelayMilliseconds > 0, "cron can not be empty.");
             Preconditions.checkArgument(shardingTotalCount > 0, "shardingTotalCount should larger than zero.");
-            return new JobCoreConfiguration(jobName, cron, shardingTotalCount, shardingItemParameters, jobParameter, failover, misfire, description, jobProperties);
+            return new JobCoreConfiguration(jobName, null == cron ? "" : cron, fixedRateMilliseconds, fixedDelayMilliseconds, shardingTotalCount, shardingItemParameters, jobParameter, failover, misfire, description, jobProperties);
         }
     }
 }
@@ -17,23 +17,28 @@
 
 package com.dangdang.ddframe.job.context;
 
-import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Splitter;
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * 任务运行时上下文.
+ * 
+ * <p>
+ * 根据任务主键解析的结果缓存于驻留表中, 同一任务主键重复解析时仅创建新的上下文对象, 元信息在各对象间共享.
+ * </p>
  *
  * @author zhangliang
  * @author caohao
@@ -47,6 +52,12 @@ public final class TaskContext {
     
     private static final String UNASSIGNED_SLAVE_ID = "unassigned-slave";
     
+    private static final int TASK_ID_SEGMENT_SIZE = 5;
+    
+    private static final int INTERNED_TASK_CONTEXT_MAXIMUM_SIZE = 10000;
+    
+    private static final Cache<String, TaskContext> INTERNED_TASK_CONTEXTS = CacheBuilder.newBuilder().maximumSize(INTERNED_TASK_CONTEXT_MAXIMUM_SIZE).build();
+    
     private String id;
     
     private final MetaInfo metaInfo;
@@ -83,9 +94,18 @@ public final class TaskContext {
      * @return 任务上下文
      */
     public static TaskContext from(final String id) {
-        String[] result = id.split(DELIMITER);
-        Preconditions.checkState(5 == result.length);
-        return new TaskContext(id, MetaInfo.from(result[0] + DELIMITER + result[1]), ExecutionType.valueOf(result[2]), result[3]);
+        TaskContext result = INTERNED_TASK_CONTEXTS.getIfPresent(id);
+        if (null == result) {
+            result = parse(id);
+            INTERNED_TASK_CONTEXTS.put(id, result);
+        }
+        return new TaskContext(id, result.metaInfo, result.type, result.slaveId);
+    }
+    
+    private static TaskContext parse(final String id) {
+        List<String> segments = split(id);
+        Preconditions.checkState(TASK_ID_SEGMENT_SIZE == segments.size());
+        return new TaskContext(id, new MetaInfo(segments.get(0), parseShardingItems(segments.get(1))), ExecutionType.valueOf(segments.get(2)), segments.get(3));
     }
     
     /**
@@ -95,7 +115,7 @@ public final class TaskContext {
      * @return 未分配执行服务器前的任务主键
      */
     public static String getIdForUnassignedSlave(final String id) {
-        return id.replaceAll(TaskContext.from(id).getSlaveId(), UNASSIGNED_SLAVE_ID);
+        return replaceSlaveId(id, UNASSIGNED_SLAVE_ID);
     }
     
     /**
@@ -104,10 +124,63 @@ public final class TaskContext {
      * @param slaveId 任务执行服务器主键
      */
     public void setSlaveId(final String slaveId) {
-        id = id.replaceAll(this.slaveId, slaveId);
+        id = replaceSlaveId(id, slaveId);
         this.slaveId = slaveId;
     }
     
+    private static String replaceSlaveId(final String id, final String slaveId) {
+        int uuidDelimiterIndex = id.lastIndexOf(DELIMITER);
+        int slaveIdDelimiterIndex = id.lastIndexOf(DELIMITER, uuidDelimiterIndex - 1);
+        Preconditions.checkState(slaveIdDelimiterIndex > 0);
+        return new StringBuilder(id.length() + slaveId.length()).append(id, 0, slaveIdDelimiterIndex + DELIMITER.length()).append(slaveId).append(id, uuidDelimiterIndex, id.length()).toString();
+    }
+    
+    private static List<String> split(final String value) {
+        int end = value.indexOf(DELIMITER);
+        if (-1 == end) {
+            return Collections.singletonList(value);
+        }
+        List<String> result = new ArrayList<>(TASK_ID_SEGMENT_SIZE);
+        int start = 0;
+        while (-1 != end) {
+            result.add(value.substring(start, end));
+            start = end + DELIMITER.length();
+            end = value.indexOf(DELIMITER, start);
+        }
+        result.add(value.substring(start));
+        while (!result.isEmpty() && result.get(result.size() - 1).isEmpty()) {
+            result.remove(result.size() - 1);
+        }
+        return result;
+    }
+    
+    private static List<Integer> parseShardingItems(final String value) {
+        if (value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Integer[] result = new Integer[countShardingItems(value)];
+        int start = 0;
+        for (int i = 0; i < result.length; i++) {
+            int end = value.indexOf(',', start);
+            if (-1 == end) {
+                end = value.length();
+            }
+            result[i] = Integer.parseInt(value.substring(start, end));
+            start = end + 1;
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+    
+    private static int countShardingItems(final String value) {
+        int result = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (',' == value.charAt(i)) {
+                result++;
+            }
+        }
+        return result;
+    }
+    
     /**
      * 获取任务名称.
      *
@@ -146,16 +219,9 @@ public final class TaskContext {
          * @return 元信息对象
          */
         public static MetaInfo from(final String value) {
-            String[] result = value.split(DELIMITER);
-            Preconditions.checkState(1 == result.length || 2 == result.length || 5 == result.length);
-            return new MetaInfo(result[0], 1 == result.length || "".equals(result[1]) ? Collections.<Integer>emptyList() : Lists.transform(Splitter.on(",").splitToList(result[1]), 
-                    new Function<String, Integer>() {
-                        
-                        @Override
-                        public Integer apply(final String input) {
-                            return Integer.parseInt(input);
-                        }
-                    }));
+            List<String> result = split(value);
+            Preconditions.checkState(1 == result.size() || 2 == result.size() || TASK_ID_SEGMENT_SIZE == result.size());
+            return new MetaInfo(result.get(0), 1 == result.size() ? Collections.<Integer>emptyList() : parseShardingItems(result.get(1)));
         }
         
         @Override
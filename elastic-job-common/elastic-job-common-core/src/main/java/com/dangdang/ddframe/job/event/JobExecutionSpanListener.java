@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * 作业执行阶段耗时事件监听器.
+ * 
+ * <p>作业事件监听器同时实现此接口即可接收作业执行阶段耗时事件.</p>
+ *
+ * @author zhangliang
+ */
+public interface JobExecutionSpanListener {
+    
+    /**
+     * 作业执行阶段耗时事件监听执行.
+     *
+     * @param jobExecutionSpanEvent 作业执行阶段耗时事件
+     */
+    @Subscribe
+    @AllowConcurrentEvents
+    void listen(JobExecutionSpanEvent jobExecutionSpanEvent);
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.type;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.util.env.IpUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 作业执行阶段耗时事件.
+ * 
+ * <p>记录一次作业触发中各执行阶段的耗时及注册中心调用次数, 用于区分注册中心与业务代码的耗时.</p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+public final class JobExecutionSpanEvent implements JobEvent {
+    
+    private final String id = UUID.randomUUID().toString();
+    
+    private final String hostname = IpUtils.getHostName();
+    
+    private final String ip = IpUtils.getIp();
+    
+    private final String jobName;
+    
+    private final Date triggerTime;
+    
+    private final Date startTime = new Date();
+    
+    @Setter
+    private String taskId;
+    
+    @Setter
+    private Date completeTime;
+    
+    private final List<PhaseSpan> phaseSpans = new CopyOnWriteArrayList<>();
+    
+    private final Collection<ItemSpan> itemSpans = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * 获取本次执行访问注册中心的总次数.
+     * 
+     * @return 访问注册中心的总次数
+     */
+    public long getRegistryCalls() {
+        long result = 0L;
+        for (PhaseSpan each : phaseSpans) {
+            result += each.getRegistryCalls();
+        }
+        return result;
+    }
+    
+    /**
+     * 获取指定阶段的累计耗时毫秒数.
+     * 
+     * @param phase 执行阶段
+     * @return 累计耗时毫秒数
+     */
+    public long getCostMillis(final Phase phase) {
+        long result = 0L;
+        for (PhaseSpan each : phaseSpans) {
+            if (phase == each.getPhase()) {
+                result += each.getCostMillis();
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 执行阶段.
+     */
+    public enum Phase {
+        TRIGGER, CHECK_JOB_EXECUTION_ENVIRONMENT, GET_SHARDING_CONTEXTS, MISFIRE_IF_RUNNING, BEFORE_JOB_EXECUTED, 
+        REGISTER_JOB_BEGIN, PROCESS, REGISTER_JOB_COMPLETED, IS_EXECUTE_MISFIRED, FAILOVER_IF_NECESSARY, AFTER_JOB_EXECUTED
+    }
+    
+    /**
+     * 执行阶段耗时.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static final class PhaseSpan {
+        
+        private final Phase phase;
+        
+        private final long startTime;
+        
+        private final long costMillis;
+        
+        private final long registryCalls;
+    }
+    
+    /**
+     * 分片项业务代码耗时.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static final class ItemSpan {
+        
+        private final int item;
+        
+        private final long startTime;
+        
+        private final long costMillis;
+        
+        private final boolean success;
+    }
+}
@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.executor;
 
 import com.dangdang.ddframe.job.api.ShardingContext;
 import com.dangdang.ddframe.job.config.JobRootConfiguration;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.Phase;
 import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
 import com.dangdang.ddframe.job.exception.ExceptionUtil;
@@ -28,11 +29,13 @@ import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandler;
 import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandlerRegistry;
 import com.dangdang.ddframe.job.executor.handler.JobExceptionHandler;
 import com.dangdang.ddframe.job.executor.handler.JobProperties;
+import com.dangdang.ddframe.job.reg.base.RegistryCenterCallCounter;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -93,18 +96,44 @@ public abstract class AbstractElasticJobExecutor {
     
     /**
      * 执行作业.
+     * 
+     * <p>无计划触发时间, 不记录触发延迟.</p>
      */
     public final void execute() {
+        execute((Date) null);
+    }
+    
+    /**
+     * 执行作业.
+     * 
+     * @param triggerTime 作业计划触发时间, 为null时不记录触发延迟
+     */
+    public final void execute(final Date triggerTime) {
+        JobExecutionTracer tracer = new JobExecutionTracer(jobName, triggerTime);
+        try {
+            execute(tracer);
+        } finally {
+            jobFacade.postJobExecutionSpanEvent(tracer.complete());
+        }
+    }
+    
+    private void execute(final JobExecutionTracer tracer) {
+        tracer.enter(Phase.CHECK_JOB_EXECUTION_ENVIRONMENT);
         try {
             jobFacade.checkJobExecutionEnvironment();
         } catch (final JobExecutionEnvironmentException cause) {
             jobExceptionHandler.handleException(jobName, cause);
         }
+        tracer.enter(Phase.GET_SHARDING_CONTEXTS);
         ShardingContexts shardingContexts = jobFacade.getShardingContexts();
+        tracer.exit();
+        tracer.setTaskId(shardingContexts.getTaskId());
         if (shardingContexts.isAllowSendJobEvent()) {
             jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_STAGING, String.format("Job '%s' execute begin.", jobName));
         }
+        tracer.enter(Phase.MISFIRE_IF_RUNNING);
         if (jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())) {
+            tracer.exit();
             if (shardingContexts.isAllowSendJobEvent()) {
                 jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_FINISHED, String.format(
                         "Previous job '%s' - shardingItems '%s' is still running, misfired job will start after previous job completed.", jobName, 
@@ -112,6 +141,7 @@ public abstract class AbstractElasticJobExecutor {
             }
             return;
         }
+        tracer.enter(Phase.BEFORE_JOB_EXECUTED);
         try {
             jobFacade.beforeJobExecuted(shardingContexts);
             //CHECKSTYLE:OFF
@@ -119,12 +149,18 @@ public abstract class AbstractElasticJobExecutor {
             //CHECKSTYLE:ON
             jobExceptionHandler.handleException(jobName, cause);
         }
-        execute(shardingContexts, JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER);
+        tracer.exit();
+        execute(shardingContexts, JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, tracer);
+        tracer.enter(Phase.IS_EXECUTE_MISFIRED);
         while (jobFacade.isExecuteMisfired(shardingContexts.getShardingItemParameters().keySet())) {
             jobFacade.clearMisfire(shardingContexts.getShardingItemParameters().keySet());
-            execute(shardingContexts, JobExecutionEvent.ExecutionSource.MISFIRE);
+            tracer.exit();
+            execute(shardingContexts, JobExecutionEvent.ExecutionSource.MISFIRE, tracer);
+            tracer.enter(Phase.IS_EXECUTE_MISFIRED);
         }
+        tracer.enter(Phase.FAILOVER_IF_NECESSARY);
         jobFacade.failoverIfNecessary();
+        tracer.enter(Phase.AFTER_JOB_EXECUTED);
         try {
             jobFacade.afterJobExecuted(shardingContexts);
             //CHECKSTYLE:OFF
@@ -134,23 +170,28 @@ public abstract class AbstractElasticJobExecutor {
         }
     }
     
-    private void execute(final ShardingContexts shardingContexts, final JobExecutionEvent.ExecutionSource executionSource) {
+    private void execute(final ShardingContexts shardingContexts, final JobExecutionEvent.ExecutionSource executionSource, final JobExecutionTracer tracer) {
         if (shardingContexts.getShardingItemParameters().isEmpty()) {
             if (shardingContexts.isAllowSendJobEvent()) {
                 jobFacade.postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_FINISHED, String.format("Sharding item for job '%s' is empty.", jobName));
             }
             return;
         }
+        tracer.enter(Phase.REGISTER_JOB_BEGIN);
         jobFacade.registerJobBegin(shardingContexts);
+        tracer.exit();
         String taskId = shardingContexts.getTaskId();
         if (shardingContexts.isAllowSendJobEvent()) {
             jobFacade.postJobStatusTraceEvent(taskId, State.TASK_RUNNING, "");
         }
         try {
-            process(shardingContexts, executionSource);
+            tracer.enter(Phase.PROCESS);
+            process(shardingContexts, executionSource, tracer);
         } finally {
             // TODO 考虑增加作业失败的状态，并且考虑如何处理作业失败的整体回路
+            tracer.enter(Phase.REGISTER_JOB_COMPLETED);
             jobFacade.registerJobCompleted(shardingContexts);
+            tracer.exit();
             if (itemErrorMessages.isEmpty()) {
                 if (shardingContexts.isAllowSendJobEvent()) {
                     jobFacade.postJobStatusTraceEvent(taskId, State.TASK_FINISHED, "");
@@ -163,12 +204,12 @@ public abstract class AbstractElasticJobExecutor {
         }
     }
     
-    private void process(final ShardingContexts shardingContexts, final JobExecutionEvent.ExecutionSource executionSource) {
+    private void process(final ShardingContexts shardingContexts, final JobExecutionEvent.ExecutionSource executionSource, final JobExecutionTracer tracer) {
         Collection<Integer> items = shardingContexts.getShardingItemParameters().keySet();
         if (1 == items.size()) {
             int item = shardingContexts.getShardingItemParameters().keySet().iterator().next();
             JobExecutionEvent jobExecutionEvent =  new JobExecutionEvent(shardingContexts.getTaskId(), jobName, executionSource, item);
-            process(shardingContexts, item, jobExecutionEvent);
+            process(shardingContexts, item, jobExecutionEvent, tracer);
             return;
         }
         final CountDownLatch latch = new CountDownLatch(items.size());
@@ -181,9 +222,11 @@ public abstract class AbstractElasticJobExecutor {
                 
                 @Override
                 public void run() {
+                    long startRegistryCalls = RegistryCenterCallCounter.get();
                     try {
-                        process(shardingContexts, each, jobExecutionEvent);
+                        process(shardingContexts, each, jobExecutionEvent, tracer);
                     } finally {
+                        tracer.recordPooledRegistryCalls(RegistryCenterCallCounter.get() - startRegistryCalls);
                         latch.countDown();
                     }
                 }
@@ -196,14 +239,16 @@ public abstract class AbstractElasticJobExecutor {
         }
     }
     
-    private void process(final ShardingContexts shardingContexts, final int item, final JobExecutionEvent startEvent) {
+    private void process(final ShardingContexts shardingContexts, final int item, final JobExecutionEvent startEvent, final JobExecutionTracer tracer) {
         if (shardingContexts.isAllowSendJobEvent()) {
             jobFacade.postJobExecutionEvent(startEvent);
         }
         log.trace("Job '{}' executing, item is: '{}'.", jobName, item);
         JobExecutionEvent completeEvent;
+        long startTime = System.currentTimeMillis();
         try {
             process(new ShardingContext(shardingContexts, item));
+            tracer.recordItem(item, startTime, true);
             completeEvent = startEvent.executionSuccess();
             log.trace("Job '{}' executed, item is: '{}'.", jobName, item);
             if (shardingContexts.isAllowSendJobEvent()) {
@@ -212,6 +257,7 @@ public abstract class AbstractElasticJobExecutor {
             // CHECKSTYLE:OFF
         } catch (final Throwable cause) {
             // CHECKSTYLE:ON
+            tracer.recordItem(item, startTime, false);
             completeEvent = startEvent.executionFailure(cause);
             jobFacade.postJobExecutionEvent(completeEvent);
             itemErrorMessages.put(item, ExceptionUtil.transform(cause));
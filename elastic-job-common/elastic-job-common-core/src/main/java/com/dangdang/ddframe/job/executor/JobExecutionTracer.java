@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.ItemSpan;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.Phase;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.PhaseSpan;
+import com.dangdang.ddframe.job.reg.base.RegistryCenterCallCounter;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 作业执行阶段追踪器.
+ * 
+ * <p>开始新阶段时自动结束上一阶段. 阶段切换需在同一线程中进行, 分片项耗时可在任意线程中记录.</p>
+ * 
+ * <p>注册中心调用次数按线程计数, 分片项在作业线程池中执行时, 其调用次数由{@link #recordPooledRegistryCalls(long)}汇总并计入当前阶段.</p>
+ *
+ * @author zhangliang
+ */
+final class JobExecutionTracer {
+    
+    private final JobExecutionSpanEvent spanEvent;
+    
+    private Phase currentPhase;
+    
+    private long currentPhaseStartTime;
+    
+    private long currentPhaseStartRegistryCalls;
+    
+    private final AtomicLong pooledRegistryCalls = new AtomicLong();
+    
+    private long currentPhaseStartPooledRegistryCalls;
+    
+    /**
+     * 创建作业执行阶段追踪器.
+     * 
+     * @param jobName 作业名称
+     * @param triggerTime 计划触发时间, 无计划触发时间时为null, 此时不记录触发延迟
+     */
+    JobExecutionTracer(final String jobName, final Date triggerTime) {
+        spanEvent = new JobExecutionSpanEvent(jobName, triggerTime);
+        if (null != triggerTime) {
+            long triggerDelay = spanEvent.getStartTime().getTime() - triggerTime.getTime();
+            spanEvent.getPhaseSpans().add(new PhaseSpan(Phase.TRIGGER, triggerTime.getTime(), Math.max(0L, triggerDelay), 0L));
+        }
+    }
+    
+    /**
+     * 设置作业任务Id.
+     * 
+     * @param taskId 作业任务Id
+     */
+    void setTaskId(final String taskId) {
+        spanEvent.setTaskId(taskId);
+    }
+    
+    /**
+     * 进入执行阶段.
+     * 
+     * @param phase 执行阶段
+     */
+    void enter(final Phase phase) {
+        exit();
+        currentPhase = phase;
+        currentPhaseStartTime = System.currentTimeMillis();
+        currentPhaseStartRegistryCalls = RegistryCenterCallCounter.get();
+        currentPhaseStartPooledRegistryCalls = pooledRegistryCalls.get();
+    }
+    
+    /**
+     * 结束当前执行阶段.
+     */
+    void exit() {
+        if (null == currentPhase) {
+            return;
+        }
+        spanEvent.getPhaseSpans().add(new PhaseSpan(currentPhase, currentPhaseStartTime, 
+                System.currentTimeMillis() - currentPhaseStartTime, 
+                RegistryCenterCallCounter.get() - currentPhaseStartRegistryCalls + pooledRegistryCalls.get() - currentPhaseStartPooledRegistryCalls));
+        currentPhase = null;
+    }
+    
+    /**
+     * 汇总在作业线程池中产生的注册中心调用次数.
+     * 
+     * @param registryCalls 注册中心调用次数
+     */
+    void recordPooledRegistryCalls(final long registryCalls) {
+        pooledRegistryCalls.addAndGet(registryCalls);
+    }
+    
+    /**
+     * 记录分片项业务代码耗时.
+     * 
+     * @param item 分片项
+     * @param startTime 开始时间
+     * @param success 是否执行成功
+     */
+    void recordItem(final int item, final long startTime, final boolean success) {
+        spanEvent.getItemSpans().add(new ItemSpan(item, startTime, System.currentTimeMillis() - startTime, success));
+    }
+    
+    /**
+     * 完成追踪.
+     * 
+     * @return 作业执行阶段耗时事件
+     */
+    JobExecutionSpanEvent complete() {
+        exit();
+        spanEvent.setCompleteTime(new Date());
+        return spanEvent;
+    }
+}
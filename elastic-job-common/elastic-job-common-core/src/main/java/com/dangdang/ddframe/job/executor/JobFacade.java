@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.executor;
 
 import com.dangdang.ddframe.job.config.JobRootConfiguration;
 import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
 import com.dangdang.ddframe.job.exception.JobExecutionEnvironmentException;
 
@@ -139,4 +140,11 @@ public interface JobFacade {
      * @param message 作业执行消息
      */
     void postJobStatusTraceEvent(String taskId, JobStatusTraceEvent.State state, String message);
+    
+    /**
+     * 发布作业执行阶段耗时事件.
+     *
+     * @param jobExecutionSpanEvent 作业执行阶段耗时事件
+     */
+    void postJobExecutionSpanEvent(JobExecutionSpanEvent jobExecutionSpanEvent);
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor;
+
+import com.dangdang.ddframe.job.exception.JobSystemException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 随云作业任务传递的数据.
+ * 
+ * <p>
+ * 采用带版本号的紧凑二进制格式编码, 作业配置上下文部分可预先编码并在同一作业的多次任务间复用.
+ * 解码时兼容旧版本调度器使用Java序列化生成的数据.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+public final class TaskPayload {
+    
+    static final byte FORMAT_VERSION = 1;
+    
+    private static final byte JAVA_SERIALIZATION_MAGIC = (byte) 0xAC;
+    
+    private static final String SHARDING_CONTEXT_KEY = "shardingContext";
+    
+    private static final String JOB_CONFIG_CONTEXT_KEY = "jobConfigContext";
+    
+    private final ShardingContexts shardingContexts;
+    
+    private final Map<String, String> jobConfigurationContext;
+    
+    /**
+     * 编码作业配置上下文.
+     * 
+     * @param jobConfigurationContext 作业配置上下文
+     * @return 编码后的字节数组
+     */
+    public static byte[] encodeJobConfigurationContext(final Map<String, String> jobConfigurationContext) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(result)) {
+            out.writeInt(jobConfigurationContext.size());
+            for (Map.Entry<String, String> entry : jobConfigurationContext.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        } catch (final IOException ex) {
+            throw new JobSystemException(ex);
+        }
+        return result.toByteArray();
+    }
+    
+    /**
+     * 编码任务数据.
+     * 
+     * @param encodedJobConfigurationContext 已编码的作业配置上下文
+     * @param shardingContexts 分片上下文集合
+     * @return 编码后的字节数组
+     */
+    public static byte[] encode(final byte[] encodedJobConfigurationContext, final ShardingContexts shardingContexts) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(encodedJobConfigurationContext.length + 128);
+        try (DataOutputStream out = new DataOutputStream(result)) {
+            out.writeByte(FORMAT_VERSION);
+            out.write(encodedJobConfigurationContext);
+            writeString(out, shardingContexts.getTaskId());
+            writeString(out, shardingContexts.getJobName());
+            out.writeInt(shardingContexts.getShardingTotalCount());
+            writeString(out, shardingContexts.getJobParameter());
+            out.writeInt(shardingContexts.getJobEventSamplingCount());
+            out.writeInt(shardingContexts.getShardingItemParameters().size());
+            for (Map.Entry<Integer, String> entry : shardingContexts.getShardingItemParameters().entrySet()) {
+                out.writeInt(entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        } catch (final IOException ex) {
+            throw new JobSystemException(ex);
+        }
+        return result.toByteArray();
+    }
+    
+    /**
+     * 编码任务数据.
+     * 
+     * @return 编码后的字节数组
+     */
+    public byte[] encode() {
+        return encode(encodeJobConfigurationContext(jobConfigurationContext), shardingContexts);
+    }
+    
+    /**
+     * 解码任务数据.
+     * 
+     * @param data 编码后的字节数组
+     * @return 任务数据
+     */
+    @SuppressWarnings("unchecked")
+    public static TaskPayload decode(final byte[] data) {
+        if (0 == data.length) {
+            throw new JobSystemException("Task payload is empty.");
+        }
+        if (JAVA_SERIALIZATION_MAGIC == data[0]) {
+            Map<String, Object> legacyData = SerializationUtils.deserialize(data);
+            return new TaskPayload((ShardingContexts) legacyData.get(SHARDING_CONTEXT_KEY), (Map<String, String>) legacyData.get(JOB_CONFIG_CONTEXT_KEY));
+        }
+        if (FORMAT_VERSION != data[0]) {
+            throw new JobSystemException("Unsupported task payload format version '%s'.", data[0]);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+            int jobConfigurationContextSize = in.readInt();
+            Map<String, String> jobConfigurationContext = new LinkedHashMap<>(jobConfigurationContextSize * 4 / 3 + 1);
+            for (int i = 0; i < jobConfigurationContextSize; i++) {
+                jobConfigurationContext.put(readString(in), readString(in));
+            }
+            String taskId = readString(in);
+            String jobName = readString(in);
+            int shardingTotalCount = in.readInt();
+            String jobParameter = readString(in);
+            int jobEventSamplingCount = in.readInt();
+            int shardingItemCount = in.readInt();
+            Map<Integer, String> shardingItemParameters = new LinkedHashMap<>(shardingItemCount * 4 / 3 + 1);
+            for (int i = 0; i < shardingItemCount; i++) {
+                shardingItemParameters.put(in.readInt(), readString(in));
+            }
+            return new TaskPayload(new ShardingContexts(taskId, jobName, shardingTotalCount, jobParameter, shardingItemParameters, jobEventSamplingCount), jobConfigurationContext);
+        } catch (final IOException ex) {
+            throw new JobSystemException(ex);
+        }
+    }
+    
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (null == value) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(final DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (-1 == length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
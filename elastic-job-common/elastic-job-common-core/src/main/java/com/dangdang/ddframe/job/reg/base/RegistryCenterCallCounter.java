@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.reg.base;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 注册中心调用计数器.
+ * 
+ * <p>按线程统计访问注册中心服务端的次数, 命中本地缓存的读取不计入.</p>
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RegistryCenterCallCounter {
+    
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<long[]>() {
+        
+        @Override
+        protected long[] initialValue() {
+            return new long[1];
+        }
+    };
+    
+    /**
+     * 当前线程的注册中心调用次数加一.
+     */
+    public static void increase() {
+        COUNTER.get()[0]++;
+    }
+    
+    /**
+     * 获取当前线程累计的注册中心调用次数.
+     * 
+     * @return 当前线程累计的注册中心调用次数
+     */
+    public static long get() {
+        return COUNTER.get()[0];
+    }
+}
@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.job.reg.zookeeper;
 
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.reg.base.RegistryCenterCallCounter;
 import com.dangdang.ddframe.job.reg.exception.RegExceptionHandler;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
@@ -155,6 +156,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public String getDirectly(final String key) {
         try {
+            RegistryCenterCallCounter.increase();
             return new String(client.getData().forPath(key), Charsets.UTF_8);
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -167,6 +169,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public List<String> getChildrenKeys(final String key) {
         try {
+            RegistryCenterCallCounter.increase();
             List<String> result = client.getChildren().forPath(key);
             Collections.sort(result, new Comparator<String>() {
                 
@@ -187,6 +190,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public int getNumChildren(final String key) {
         try {
+            RegistryCenterCallCounter.increase();
             Stat stat = client.checkExists().forPath(key);
             if (null != stat) {
                 return stat.getNumChildren();
@@ -202,6 +206,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public boolean isExisted(final String key) {
         try {
+            RegistryCenterCallCounter.increase();
             return null != client.checkExists().forPath(key);
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -215,6 +220,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     public void persist(final String key, final String value) {
         try {
             if (!isExisted(key)) {
+                RegistryCenterCallCounter.increase();
                 client.create().creatingParentsIfNeeded().withMode(CreateMode.PERSISTENT).forPath(key, value.getBytes(Charsets.UTF_8));
             } else {
                 update(key, value);
@@ -229,6 +235,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public void update(final String key, final String value) {
         try {
+            RegistryCenterCallCounter.increase();
             client.inTransaction().check().forPath(key).and().setData().forPath(key, value.getBytes(Charsets.UTF_8)).and().commit();
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -241,8 +248,10 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     public void persistEphemeral(final String key, final String value) {
         try {
             if (isExisted(key)) {
+                RegistryCenterCallCounter.increase();
                 client.delete().deletingChildrenIfNeeded().forPath(key);
             }
+            RegistryCenterCallCounter.increase();
             client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).forPath(key, value.getBytes(Charsets.UTF_8));
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -254,6 +263,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public String persistSequential(final String key, final String value) {
         try {
+            RegistryCenterCallCounter.increase();
             return client.create().creatingParentsIfNeeded().withMode(CreateMode.PERSISTENT_SEQUENTIAL).forPath(key, value.getBytes(Charsets.UTF_8));
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -266,6 +276,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public void persistEphemeralSequential(final String key) {
         try {
+            RegistryCenterCallCounter.increase();
             client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL_SEQUENTIAL).forPath(key);
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -277,6 +288,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public void remove(final String key) {
         try {
+            RegistryCenterCallCounter.increase();
             client.delete().deletingChildrenIfNeeded().forPath(key);
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -290,6 +302,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
         long result = 0L;
         try {
             persist(key, "");
+            RegistryCenterCallCounter.increase();
             result = client.checkExists().forPath(key).getMtime();
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -33,9 +33,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * 统计信息数据仓库，基于数据库.
@@ -72,6 +76,27 @@ public class StatisticRdbRepository {
             createTaskRunningTableIfNeeded(conn);
             createJobRunningTableIfNeeded(conn);
             createJobRegisterTableIfNeeded(conn);
+            for (StatisticInterval each : StatisticInterval.values()) {
+                createStatisticsTimeIndexIfNeeded(conn, TABLE_TASK_RESULT_STATISTICS + "_" + each);
+            }
+            createStatisticsTimeIndexIfNeeded(conn, TABLE_TASK_RUNNING_STATISTICS);
+            createStatisticsTimeIndexIfNeeded(conn, TABLE_JOB_RUNNING_STATISTICS);
+            createStatisticsTimeIndexIfNeeded(conn, TABLE_JOB_REGISTER_STATISTICS);
+        }
+    }
+    
+    private void createStatisticsTimeIndexIfNeeded(final Connection conn, final String tableName) throws SQLException {
+        String indexName = "IDX_" + tableName + "_STATISTICS_TIME";
+        DatabaseMetaData dbMetaData = conn.getMetaData();
+        try (ResultSet resultSet = dbMetaData.getIndexInfo(null, null, tableName, false, false)) {
+            while (resultSet.next()) {
+                if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        try (PreparedStatement preparedStatement = conn.prepareStatement("CREATE INDEX `" + indexName + "` ON `" + tableName + "` (`statistics_time`);")) {
+            preparedStatement.execute();
         }
     }
     
@@ -188,6 +213,54 @@ public class StatisticRdbRepository {
         return result;
     }
     
+    /**
+     * 批量添加任务运行结果统计数据.
+     * 
+     * <p>
+     * 同一统计时间间隔的数据在同一批次中写入.
+     * </p>
+     * 
+     * @param taskResultStatisticsList 任务运行结果统计数据对象集合
+     * @return 添加操作是否成功
+     */
+    public boolean add(final List<TaskResultStatistics> taskResultStatisticsList) {
+        Map<StatisticInterval, List<TaskResultStatistics>> groupedStatistics = new EnumMap<>(StatisticInterval.class);
+        for (TaskResultStatistics each : taskResultStatisticsList) {
+            if (!groupedStatistics.containsKey(each.getStatisticInterval())) {
+                groupedStatistics.put(each.getStatisticInterval(), new ArrayList<TaskResultStatistics>());
+            }
+            groupedStatistics.get(each.getStatisticInterval()).add(each);
+        }
+        boolean result = true;
+        for (Entry<StatisticInterval, List<TaskResultStatistics>> entry : groupedStatistics.entrySet()) {
+            result = addBatch(entry.getKey(), entry.getValue()) && result;
+        }
+        return result;
+    }
+    
+    private boolean addBatch(final StatisticInterval statisticInterval, final List<TaskResultStatistics> taskResultStatisticsList) {
+        boolean result = false;
+        String sql = "INSERT INTO `" + TABLE_TASK_RESULT_STATISTICS + "_" + statisticInterval
+                + "` (`success_count`, `failed_count`, `statistics_time`, `creation_time`) VALUES (?, ?, ?, ?);";
+        try (
+                Connection conn = dataSource.getConnection();
+                PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            for (TaskResultStatistics each : taskResultStatisticsList) {
+                preparedStatement.setInt(1, each.getSuccessCount());
+                preparedStatement.setInt(2, each.getFailedCount());
+                preparedStatement.setTimestamp(3, new Timestamp(each.getStatisticsTime().getTime()));
+                preparedStatement.setTimestamp(4, new Timestamp(each.getCreationTime().getTime()));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            result = true;
+        } catch (final SQLException ex) {
+            // TODO 记录失败直接输出日志,未来可考虑配置化
+            log.error("Batch insert taskResultStatistics to DB error:", ex);
+        }
+        return result;
+    }
+    
     /**
      * 添加运行中的任务统计数据.
      * 
@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间轮计时器.
+ * 
+ * <p>
+ * 按固定格长推进, 到期任务挂在对应的格上, 添加和取消均为常数时间, 误差不超过一格.
+ * 到期任务在计时线程中执行, 因此任务应只做派发等轻量操作.
+ * 计时线程在没有待执行任务并空闲超时后退出, 添加任务时再次启动.
+ * </p>
+ *
+ * @author zhangliang
+ */
+final class HashedWheelTimer {
+    
+    private final ThreadFactory threadFactory;
+    
+    private final long tickNanos;
+    
+    private final long keepAliveTicks;
+    
+    private final LinkedList<WheelTimeout>[] wheel;
+    
+    private final int mask;
+    
+    private long startTime;
+    
+    private long tick;
+    
+    private int pendingCount;
+    
+    private Thread workerThread;
+    
+    @SuppressWarnings("unchecked")
+    HashedWheelTimer(final ThreadFactory threadFactory, final long tickMilliseconds, final int wheelSize, final long keepAliveMilliseconds) {
+        if (wheelSize <= 0 || 0 != (wheelSize & (wheelSize - 1))) {
+            throw new IllegalArgumentException(String.format("Wheel size '%d' should be a power of two.", wheelSize));
+        }
+        this.threadFactory = threadFactory;
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMilliseconds);
+        keepAliveTicks = keepAliveMilliseconds / tickMilliseconds;
+        wheel = new LinkedList[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new LinkedList<>();
+        }
+        mask = wheelSize - 1;
+    }
+    
+    /**
+     * 添加延迟任务.
+     * 
+     * @param task 到期执行的任务
+     * @param delayMilliseconds 延迟毫秒数
+     * @return 可取消的任务
+     */
+    synchronized Future<?> newTimeout(final Runnable task, final long delayMilliseconds) {
+        if (null == workerThread) {
+            startTime = System.nanoTime();
+            tick = 0L;
+            workerThread = threadFactory.newThread(new Worker());
+            workerThread.start();
+        }
+        WheelTimeout result = new WheelTimeout(task);
+        long expiredTick = (System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMilliseconds, 0L))) / tickNanos;
+        result.remainingRounds = Math.max(expiredTick - tick, 0L) / wheel.length;
+        wheel[(int) (Math.max(expiredTick, tick) & mask)].add(result);
+        pendingCount++;
+        return result;
+    }
+    
+    /**
+     * 获取尚未到期的任务数量, 包括已取消但尚未清理的任务.
+     * 
+     * @return 尚未到期的任务数量
+     */
+    synchronized int getPendingCount() {
+        return pendingCount;
+    }
+    
+    private final class Worker implements Runnable {
+        
+        private long idleTicks;
+        
+        @Override
+        public void run() {
+            while (true) {
+                waitForNextTick();
+                List<WheelTimeout> expiredTimeouts = new LinkedList<>();
+                synchronized (HashedWheelTimer.this) {
+                    expire(expiredTimeouts);
+                    if (isIdleTimeout(expiredTimeouts)) {
+                        workerThread = null;
+                        return;
+                    }
+                }
+                for (WheelTimeout each : expiredTimeouts) {
+                    each.run();
+                }
+            }
+        }
+        
+        private void waitForNextTick() {
+            long deadline = startTime + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            while (sleepNanos > 0L) {
+                try {
+                    Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleepNanos + TimeUnit.MILLISECONDS.toNanos(1L) - 1L));
+                } catch (final InterruptedException ignored) {
+                    // 计时线程为内部线程, 只能随空闲超时退出, 忽略中断
+                }
+                sleepNanos = deadline - System.nanoTime();
+            }
+        }
+        
+        private void expire(final List<WheelTimeout> expiredTimeouts) {
+            Iterator<WheelTimeout> iterator = wheel[(int) (tick & mask)].iterator();
+            while (iterator.hasNext()) {
+                WheelTimeout each = iterator.next();
+                if (each.isCancelled()) {
+                    iterator.remove();
+                    pendingCount--;
+                } else if (each.remainingRounds <= 0L) {
+                    iterator.remove();
+                    pendingCount--;
+                    expiredTimeouts.add(each);
+                } else {
+                    each.remainingRounds--;
+                }
+            }
+            tick++;
+        }
+        
+        private boolean isIdleTimeout(final List<WheelTimeout> expiredTimeouts) {
+            if (0 != pendingCount || !expiredTimeouts.isEmpty()) {
+                idleTicks = 0L;
+                return false;
+            }
+            return ++idleTicks >= keepAliveTicks;
+        }
+    }
+    
+    private static final class WheelTimeout extends FutureTask<Void> {
+        
+        private long remainingRounds;
+        
+        WheelTimeout(final Runnable task) {
+            super(task, null);
+        }
+    }
+}
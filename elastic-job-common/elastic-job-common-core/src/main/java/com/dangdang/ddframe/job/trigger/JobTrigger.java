@@ -0,0 +1,346 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * 作业触发器.
+ * 
+ * <p>
+ * 语义与每个作业独占一个单线程Quartz调度器, 并使用{@code MISFIRE_INSTRUCTION_DO_NOTHING}策略的CRON触发器一致:
+ * 同一作业的任务串行执行; 计划触发时执行通道被占用, 则等到通道空闲时再判断, 距计划触发时间超过错过触发阈值即视为错过触发, 通知监听器并跳到当前时间之后的下次触发时间;
+ * 暂停期间错过的触发在恢复时同样按阈值判断; 立即触发不影响计划触发时间, 通道被占用或暂停时延迟到通道空闲或恢复后执行.
+ * 固定频率触发按上次计划触发时间加间隔计算下次触发时间, 语义与CRON触发一致; 固定延迟触发在计划触发的任务执行完成后才按完成时间加间隔计算下次触发时间.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Slf4j
+public final class JobTrigger {
+    
+    /**
+     * 计时线程自身延迟的容忍毫秒数, 避免计时误差导致执行通道空闲时也错过触发.
+     */
+    private static final long TIMER_TOLERANCE_MILLISECONDS = 1000L;
+    
+    private final TriggerEngine triggerEngine;
+    
+    @Getter
+    private final String identity;
+    
+    private final long misfireThresholdMilliseconds;
+    
+    private final TriggerTask triggerTask;
+    
+    private final List<TriggerListener> triggerListeners;
+    
+    private TriggerSchedule triggerSchedule;
+    
+    private Date previousFireTime;
+    
+    private Date nextFireTime;
+    
+    private boolean paused;
+    
+    private boolean shutdown;
+    
+    private boolean running;
+    
+    private boolean waitingForLane;
+    
+    private int pendingImmediateFireCount;
+    
+    private Future<?> timerFuture;
+    
+    JobTrigger(final TriggerEngine triggerEngine, final String identity, final TriggerSchedule triggerSchedule, 
+               final long misfireThresholdMilliseconds, final TriggerTask triggerTask, final List<TriggerListener> triggerListeners) {
+        this.triggerEngine = triggerEngine;
+        this.identity = identity;
+        this.misfireThresholdMilliseconds = misfireThresholdMilliseconds;
+        this.triggerTask = triggerTask;
+        this.triggerListeners = triggerListeners;
+        this.triggerSchedule = triggerSchedule;
+    }
+    
+    synchronized void start() {
+        nextFireTime = triggerSchedule.getFireTimeAfter(new Date());
+        scheduleTimer();
+    }
+    
+    /**
+     * 获取触发计划.
+     * 
+     * @return 触发计划
+     */
+    public synchronized TriggerSchedule getTriggerSchedule() {
+        return triggerSchedule;
+    }
+    
+    /**
+     * 获取上次触发时间.
+     * 
+     * @return 上次触发时间, 尚未触发过则为null
+     */
+    public synchronized Date getPreviousFireTime() {
+        return previousFireTime;
+    }
+    
+    /**
+     * 获取下次触发时间.
+     * 
+     * @return 下次触发时间, CRON表达式不再触发或固定延迟触发的任务尚未执行完成则为null
+     */
+    public synchronized Date getNextFireTime() {
+        return nextFireTime;
+    }
+    
+    /**
+     * 判断触发器是否暂停.
+     * 
+     * @return 触发器是否暂停
+     */
+    public synchronized boolean isPaused() {
+        return paused && !shutdown;
+    }
+    
+    /**
+     * 判断触发器是否关闭.
+     * 
+     * @return 触发器是否关闭
+     */
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+    
+    /**
+     * 重新调度.
+     * 
+     * @param triggerSchedule 触发计划
+     */
+    public synchronized void reschedule(final TriggerSchedule triggerSchedule) {
+        if (shutdown) {
+            return;
+        }
+        this.triggerSchedule = triggerSchedule;
+        previousFireTime = null;
+        waitingForLane = false;
+        nextFireTime = triggerSchedule.getFireTimeAfter(new Date());
+        scheduleTimer();
+    }
+    
+    /**
+     * 暂停触发, 不影响正在执行的任务.
+     */
+    public synchronized void pause() {
+        if (shutdown || paused) {
+            return;
+        }
+        paused = true;
+        waitingForLane = false;
+        cancelTimer();
+    }
+    
+    /**
+     * 恢复触发.
+     */
+    public synchronized void resume() {
+        if (shutdown || !paused) {
+            return;
+        }
+        paused = false;
+        if (null != nextFireTime && System.currentTimeMillis() - nextFireTime.getTime() > misfireThresholdMilliseconds) {
+            misfire();
+        }
+        if (!running && pendingImmediateFireCount > 0) {
+            pendingImmediateFireCount--;
+            dispatch(new Date());
+        }
+        scheduleTimer();
+    }
+    
+    /**
+     * 立即触发一次.
+     */
+    public synchronized void triggerNow() {
+        if (shutdown) {
+            return;
+        }
+        if (running || paused) {
+            pendingImmediateFireCount++;
+            return;
+        }
+        dispatch(new Date());
+    }
+    
+    /**
+     * 关闭触发器, 不等待正在执行的任务完成.
+     */
+    public void shutdown() {
+        shutdown(false);
+    }
+    
+    void shutdown(final boolean waitForTaskToComplete) {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            waitingForLane = false;
+            pendingImmediateFireCount = 0;
+            cancelTimer();
+            if (waitForTaskToComplete) {
+                awaitTaskCompleted();
+            }
+        }
+        triggerEngine.remove(this);
+        for (TriggerListener each : triggerListeners) {
+            try {
+                each.triggerShutdown();
+                // CHECKSTYLE:OFF
+            } catch (final Throwable ex) {
+                // CHECKSTYLE:ON
+                log.error("Elastic job: trigger '{}' shutdown listener failure.", identity, ex);
+            }
+        }
+    }
+    
+    private void awaitTaskCompleted() {
+        while (running) {
+            try {
+                wait();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private void scheduleTimer() {
+        cancelTimer();
+        if (shutdown || paused || null == nextFireTime) {
+            return;
+        }
+        final Date scheduledFireTime = nextFireTime;
+        timerFuture = triggerEngine.scheduleTimer(new Runnable() {
+            
+            @Override
+            public void run() {
+                fire(scheduledFireTime);
+            }
+        }, scheduledFireTime.getTime() - System.currentTimeMillis(), triggerSchedule.getTriggerType());
+    }
+    
+    private void cancelTimer() {
+        if (null != timerFuture) {
+            timerFuture.cancel(false);
+            timerFuture = null;
+        }
+    }
+    
+    private synchronized void fire(final Date scheduledFireTime) {
+        if (shutdown || paused || !scheduledFireTime.equals(nextFireTime)) {
+            return;
+        }
+        timerFuture = null;
+        if (running) {
+            waitingForLane = true;
+            return;
+        }
+        fireOrMisfire(Math.max(misfireThresholdMilliseconds, TIMER_TOLERANCE_MILLISECONDS));
+    }
+    
+    private void fireOrMisfire(final long toleranceMilliseconds) {
+        if (System.currentTimeMillis() - nextFireTime.getTime() > toleranceMilliseconds) {
+            misfire();
+        } else {
+            Date scheduledFireTime = nextFireTime;
+            previousFireTime = scheduledFireTime;
+            nextFireTime = TriggerType.FIXED_DELAY == triggerSchedule.getTriggerType() ? null : triggerSchedule.getFireTimeAfter(scheduledFireTime);
+            dispatch(scheduledFireTime);
+        }
+        scheduleTimer();
+    }
+    
+    private void misfire() {
+        final Date misfiredPreviousFireTime = previousFireTime;
+        nextFireTime = triggerSchedule.getFireTimeAfter(new Date());
+        triggerEngine.dispatch(new Runnable() {
+            
+            @Override
+            public void run() {
+                for (TriggerListener each : triggerListeners) {
+                    try {
+                        each.triggerMisfired(misfiredPreviousFireTime);
+                        // CHECKSTYLE:OFF
+                    } catch (final Throwable ex) {
+                        // CHECKSTYLE:ON
+                        log.error("Elastic job: trigger '{}' misfire listener failure.", identity, ex);
+                    }
+                }
+            }
+        });
+    }
+    
+    private void dispatch(final Date scheduledFireTime) {
+        running = true;
+        triggerEngine.dispatch(new Runnable() {
+            
+            @Override
+            public void run() {
+                execute(scheduledFireTime);
+            }
+        });
+    }
+    
+    private void execute(final Date scheduledFireTime) {
+        try {
+            triggerTask.execute(scheduledFireTime);
+            // CHECKSTYLE:OFF
+        } catch (final Throwable ex) {
+            // CHECKSTYLE:ON
+            log.error("Elastic job: trigger '{}' task execute failure.", identity, ex);
+        } finally {
+            complete();
+        }
+    }
+    
+    private synchronized void complete() {
+        running = false;
+        notifyAll();
+        if (null == nextFireTime && TriggerType.FIXED_DELAY == triggerSchedule.getTriggerType()) {
+            nextFireTime = triggerSchedule.getFireTimeAfter(new Date());
+            scheduleTimer();
+        }
+        if (shutdown || paused) {
+            return;
+        }
+        if (pendingImmediateFireCount > 0) {
+            pendingImmediateFireCount--;
+            dispatch(new Date());
+        } else if (waitingForLane) {
+            waitingForLane = false;
+            fireOrMisfire(misfireThresholdMilliseconds);
+        }
+    }
+}
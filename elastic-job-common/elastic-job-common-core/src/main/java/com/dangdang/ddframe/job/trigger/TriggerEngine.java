@@ -0,0 +1,189 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业触发引擎.
+ * 
+ * <p>
+ * JVM内全部作业共享计时线程, 按触发计划计算下次触发时间, 到期后将任务派发到作业各自的执行通道.
+ * CRON触发由精确计时线程计时; 固定频率和固定延迟触发由时间轮计时, 适合大量亚秒级的高频作业.
+ * 执行通道由共享的线程池承载, 线程数量只与同时运行的作业数量相关, 与注册的作业总数无关.
+ * 可限制执行通道的线程数量, 超出限制的执行排队等待, 排队期间作业的后续触发按错过触发阈值处理.
+ * 线程均为非守护线程, 空闲超时后回收, 与Quartz一样在存在已调度作业时保持进程存活.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class TriggerEngine {
+    
+    private static final long KEEP_ALIVE_SECONDS = 10L;
+    
+    private static final long WHEEL_TICK_MILLISECONDS = 10L;
+    
+    private static final int WHEEL_SIZE = 512;
+    
+    private static volatile TriggerEngine instance;
+    
+    private final ScheduledThreadPoolExecutor timer;
+    
+    private final HashedWheelTimer wheelTimer;
+    
+    private volatile ThreadPoolExecutor lanePool;
+    
+    private final ConcurrentMap<String, JobTrigger> triggerMap = new ConcurrentHashMap<>();
+    
+    private TriggerEngine() {
+        timer = new ScheduledThreadPoolExecutor(1, new BasicThreadFactory.Builder().namingPattern("elastic-job-trigger-timer-%d").build());
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        timer.allowCoreThreadTimeOut(true);
+        wheelTimer = new HashedWheelTimer(new BasicThreadFactory.Builder().namingPattern("elastic-job-trigger-wheel-%d").build(), 
+                WHEEL_TICK_MILLISECONDS, WHEEL_SIZE, TimeUnit.SECONDS.toMillis(KEEP_ALIVE_SECONDS));
+        lanePool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), 
+                new BasicThreadFactory.Builder().namingPattern("elastic-job-trigger-lane-%d").build());
+        Runtime.getRuntime().addShutdownHook(new Thread("elastic-job-trigger-shutdown-hook") {
+            
+            @Override
+            public void run() {
+                shutdownAll();
+            }
+        });
+    }
+    
+    /**
+     * 获取作业触发引擎实例.
+     * 
+     * @return 作业触发引擎实例
+     */
+    public static TriggerEngine getInstance() {
+        if (null == instance) {
+            synchronized (TriggerEngine.class) {
+                if (null == instance) {
+                    instance = new TriggerEngine();
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * 调度作业.
+     * 
+     * <p>触发器标识已存在时返回已存在的触发器.</p>
+     * 
+     * @param identity 触发器标识
+     * @param triggerSchedule 触发计划
+     * @param misfireThresholdMilliseconds 错过触发的阈值毫秒数, 执行通道空闲时距计划触发时间超过阈值则视为错过触发
+     * @param triggerTask 触发任务
+     * @param triggerListeners 触发器监听器
+     * @return 作业触发器
+     */
+    public JobTrigger schedule(final String identity, final TriggerSchedule triggerSchedule, final long misfireThresholdMilliseconds, 
+                               final TriggerTask triggerTask, final TriggerListener... triggerListeners) {
+        JobTrigger result = new JobTrigger(this, identity, triggerSchedule, misfireThresholdMilliseconds, triggerTask, Arrays.asList(triggerListeners));
+        JobTrigger existed = triggerMap.putIfAbsent(identity, result);
+        if (null != existed) {
+            return existed;
+        }
+        result.start();
+        return result;
+    }
+    
+    /**
+     * 限制执行通道的线程数量.
+     * 
+     * <p>正在执行的任务在原线程池中执行完毕, 此后派发的任务由限制线程数量的线程池执行.</p>
+     * 
+     * @param maxThreadSize 最大线程数量
+     */
+    public synchronized void limitLaneThreads(final int maxThreadSize) {
+        Preconditions.checkArgument(maxThreadSize > 0, "maxThreadSize must be greater than 0.");
+        ThreadPoolExecutor boundedLanePool = new ThreadPoolExecutor(maxThreadSize, maxThreadSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), 
+                new BasicThreadFactory.Builder().namingPattern("elastic-job-trigger-lane-%d").build());
+        boundedLanePool.allowCoreThreadTimeOut(true);
+        ThreadPoolExecutor previousLanePool = lanePool;
+        lanePool = boundedLanePool;
+        previousLanePool.shutdown();
+    }
+    
+    /**
+     * 获取执行通道的最大线程数量.
+     * 
+     * @return 执行通道的最大线程数量
+     */
+    public int getMaxLaneThreadSize() {
+        return lanePool.getMaximumPoolSize();
+    }
+    
+    /**
+     * 获取已调度的触发器数量.
+     * 
+     * @return 已调度的触发器数量
+     */
+    public int getTriggerCount() {
+        return triggerMap.size();
+    }
+    
+    Future<?> scheduleTimer(final Runnable command, final long delayMilliseconds, final TriggerType triggerType) {
+        if (TriggerType.CRON == triggerType) {
+            return timer.schedule(command, delayMilliseconds, TimeUnit.MILLISECONDS);
+        }
+        return wheelTimer.newTimeout(command, delayMilliseconds);
+    }
+    
+    void dispatch(final Runnable command) {
+        ThreadPoolExecutor currentLanePool = lanePool;
+        try {
+            currentLanePool.execute(command);
+        } catch (final RejectedExecutionException ex) {
+            if (currentLanePool == lanePool) {
+                throw ex;
+            }
+            lanePool.execute(command);
+        }
+    }
+    
+    void remove(final JobTrigger jobTrigger) {
+        triggerMap.remove(jobTrigger.getIdentity(), jobTrigger);
+    }
+    
+    /**
+     * 进程退出时关闭全部触发器, 并等待正在执行的任务完成.
+     */
+    private void shutdownAll() {
+        for (JobTrigger each : new ArrayList<>(triggerMap.values())) {
+            each.shutdown(true);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import java.util.Date;
+
+/**
+ * 触发器监听器.
+ *
+ * @author zhangliang
+ */
+public interface TriggerListener {
+    
+    /**
+     * 错过触发时调用.
+     * 
+     * @param previousFireTime 上次触发时间, 尚未触发过则为null
+     */
+    void triggerMisfired(Date previousFireTime);
+    
+    /**
+     * 触发器关闭时调用.
+     */
+    void triggerShutdown();
+}
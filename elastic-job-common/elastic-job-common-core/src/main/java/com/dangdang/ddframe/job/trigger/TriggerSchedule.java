@@ -0,0 +1,163 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.exception.JobConfigurationException;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * 触发计划.
+ * 
+ * <p>
+ * CRON触发由计时线程精确计时; 固定频率和固定延迟触发精确到毫秒配置, 由时间轮计时, 误差不超过时间轮的一格.
+ * 触发时间偏移用于将同一CRON表达式的大量作业打散到不同时刻触发, 对固定频率和固定延迟触发没有影响.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Getter
+@EqualsAndHashCode(of = {"triggerType", "cron", "intervalMilliseconds", "offsetMilliseconds"})
+public final class TriggerSchedule {
+    
+    private final TriggerType triggerType;
+    
+    private final String cron;
+    
+    private final long intervalMilliseconds;
+    
+    private final long offsetMilliseconds;
+    
+    @Getter(AccessLevel.NONE)
+    private final CronExpression cronExpression;
+    
+    private TriggerSchedule(final TriggerType triggerType, final String cron, final long intervalMilliseconds, final long offsetMilliseconds, final CronExpression cronExpression) {
+        this.triggerType = triggerType;
+        this.cron = cron;
+        this.intervalMilliseconds = intervalMilliseconds;
+        this.offsetMilliseconds = offsetMilliseconds;
+        this.cronExpression = cronExpression;
+    }
+    
+    private static CronExpression parseCronExpression(final String cron) {
+        try {
+            return new CronExpression(cron);
+        } catch (final ParseException ex) {
+            throw new JobConfigurationException("Cron expression '%s' is invalid: %s", cron, ex.getMessage());
+        }
+    }
+    
+    /**
+     * 根据作业核心配置创建触发计划.
+     * 
+     * <p>配置了固定频率或固定延迟时优先于CRON表达式.</p>
+     * 
+     * @param coreConfig 作业核心配置
+     * @return 触发计划
+     */
+    public static TriggerSchedule newInstance(final JobCoreConfiguration coreConfig) {
+        if (coreConfig.getFixedRateMilliseconds() > 0) {
+            return fixedRate(coreConfig.getFixedRateMilliseconds());
+        }
+        if (coreConfig.getFixedDelayMilliseconds() > 0) {
+            return fixedDelay(coreConfig.getFixedDelayMilliseconds());
+        }
+        return cron(coreConfig.getCron());
+    }
+    
+    /**
+     * 创建CRON触发计划.
+     * 
+     * @param cron CRON表达式
+     * @return 触发计划
+     */
+    public static TriggerSchedule cron(final String cron) {
+        return new TriggerSchedule(TriggerType.CRON, cron, 0L, 0L, parseCronExpression(cron));
+    }
+    
+    /**
+     * 创建固定频率触发计划.
+     * 
+     * @param intervalMilliseconds 按上次计划触发时间计算的间隔毫秒数
+     * @return 触发计划
+     */
+    public static TriggerSchedule fixedRate(final long intervalMilliseconds) {
+        checkInterval(intervalMilliseconds);
+        return new TriggerSchedule(TriggerType.FIXED_RATE, "", intervalMilliseconds, 0L, null);
+    }
+    
+    /**
+     * 创建固定延迟触发计划.
+     * 
+     * @param intervalMilliseconds 按上次执行完成时间计算的间隔毫秒数
+     * @return 触发计划
+     */
+    public static TriggerSchedule fixedDelay(final long intervalMilliseconds) {
+        checkInterval(intervalMilliseconds);
+        return new TriggerSchedule(TriggerType.FIXED_DELAY, "", intervalMilliseconds, 0L, null);
+    }
+    
+    private static void checkInterval(final long intervalMilliseconds) {
+        if (intervalMilliseconds <= 0) {
+            throw new JobConfigurationException("Trigger interval '%s' milliseconds should larger than zero.", intervalMilliseconds);
+        }
+    }
+    
+    /**
+     * 创建偏移触发时间后的触发计划.
+     * 
+     * @param offsetMilliseconds 触发时间偏移毫秒数
+     * @return 触发计划
+     */
+    public TriggerSchedule withOffset(final long offsetMilliseconds) {
+        if (offsetMilliseconds < 0) {
+            throw new JobConfigurationException("Trigger offset '%s' milliseconds can not be negative.", offsetMilliseconds);
+        }
+        return new TriggerSchedule(triggerType, cron, intervalMilliseconds, offsetMilliseconds, cronExpression);
+    }
+    
+    /**
+     * 获取指定时间之后的下次触发时间.
+     * 
+     * @param afterTime 指定时间, 固定频率为上次计划触发时间, 固定延迟为上次执行完成时间
+     * @return 下次触发时间, 不再触发则为null
+     */
+    public Date getFireTimeAfter(final Date afterTime) {
+        Date unshiftedAfterTime = new Date(afterTime.getTime() - offsetMilliseconds);
+        Date result = TriggerType.CRON == triggerType ? cronExpression.getNextValidTimeAfter(unshiftedAfterTime) : new Date(unshiftedAfterTime.getTime() + intervalMilliseconds);
+        return null == result ? null : new Date(result.getTime() + offsetMilliseconds);
+    }
+    
+    @Override
+    public String toString() {
+        switch (triggerType) {
+            case FIXED_RATE:
+                return String.format("fixedRate=%dms", intervalMilliseconds);
+            case FIXED_DELAY:
+                return String.format("fixedDelay=%dms", intervalMilliseconds);
+            default:
+                return 0L == offsetMilliseconds ? cron : String.format("%s (+%dms)", cron, offsetMilliseconds);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import java.util.Date;
+
+/**
+ * 触发任务.
+ * 
+ * <p>同一触发器的任务不会并发执行.</p>
+ *
+ * @author zhangliang
+ */
+public interface TriggerTask {
+    
+    /**
+     * 执行触发任务.
+     * 
+     * @param scheduledFireTime 计划触发时间
+     */
+    void execute(Date scheduledFireTime);
+}
@@ -49,6 +49,8 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
     public T read(final JsonReader in) throws IOException {
         String jobName = "";
         String cron = "";
+        long fixedRateMilliseconds = 0L;
+        long fixedDelayMilliseconds = 0L;
         int shardingTotalCount = 0;
         String shardingItemParameters = "";
         String jobParameter = "";
@@ -71,6 +73,12 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
                 case "cron":
                     cron = in.nextString();
                     break;
+                case "fixedRateMilliseconds":
+                    fixedRateMilliseconds = in.nextLong();
+                    break;
+                case "fixedDelayMilliseconds":
+                    fixedDelayMilliseconds = in.nextLong();
+                    break;
                 case "shardingTotalCount":
                     shardingTotalCount = in.nextInt();
                     break;
@@ -110,7 +118,7 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
             }
         }
         in.endObject();
-        JobCoreConfiguration coreConfig = getJobCoreConfiguration(jobName, cron, shardingTotalCount, shardingItemParameters,
+        JobCoreConfiguration coreConfig = getJobCoreConfiguration(jobName, cron, fixedRateMilliseconds, fixedDelayMilliseconds, shardingTotalCount, shardingItemParameters,
                 jobParameter, failover, misfire, description, jobProperties);
         JobTypeConfiguration typeConfig = getJobTypeConfiguration(coreConfig, jobType, jobClass, streamingProcess, scriptCommandLine);
         return getJobRootConfiguration(typeConfig, customizedValueMap);
@@ -137,11 +145,12 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
     
     protected abstract void addToCustomizedValueMap(final String jsonName, final JsonReader in, final Map<String, Object> customizedValueMap) throws IOException;
     
-    private JobCoreConfiguration getJobCoreConfiguration(final String jobName, final String cron, final int shardingTotalCount,
+    private JobCoreConfiguration getJobCoreConfiguration(final String jobName, final String cron, final long fixedRateMilliseconds, final long fixedDelayMilliseconds, 
+                                                         final int shardingTotalCount,
                                                          final String shardingItemParameters, final String jobParameter, final boolean failover,
                                                          final boolean misfire, final String description,
                                                          final JobProperties jobProperties) {
-        return JobCoreConfiguration.newBuilder(jobName, cron, shardingTotalCount)
+        return JobCoreConfiguration.newBuilder(jobName, cron, shardingTotalCount).fixedRate(fixedRateMilliseconds).fixedDelay(fixedDelayMilliseconds)
                 .shardingItemParameters(shardingItemParameters).jobParameter(jobParameter).failover(failover).misfire(misfire).description(description)
                 .jobProperties(JobProperties.JobPropertiesEnum.JOB_EXCEPTION_HANDLER.getKey(), jobProperties.get(JobProperties.JobPropertiesEnum.JOB_EXCEPTION_HANDLER))
                 .jobProperties(JobProperties.JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER.getKey(), jobProperties.get(JobProperties.JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER))
@@ -174,6 +183,12 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
         out.name("jobClass").value(value.getTypeConfig().getJobClass());
         out.name("jobType").value(value.getTypeConfig().getJobType().name());
         out.name("cron").value(value.getTypeConfig().getCoreConfig().getCron());
+        if (value.getTypeConfig().getCoreConfig().getFixedRateMilliseconds() > 0) {
+            out.name("fixedRateMilliseconds").value(value.getTypeConfig().getCoreConfig().getFixedRateMilliseconds());
+        }
+        if (value.getTypeConfig().getCoreConfig().getFixedDelayMilliseconds() > 0) {
+            out.name("fixedDelayMilliseconds").value(value.getTypeConfig().getCoreConfig().getFixedDelayMilliseconds());
+        }
         out.name("shardingTotalCount").value(value.getTypeConfig().getCoreConfig().getShardingTotalCount());
         out.name("shardingItemParameters").value(value.getTypeConfig().getCoreConfig().getShardingItemParameters());
         out.name("jobParameter").value(value.getTypeConfig().getCoreConfig().getJobParameter());
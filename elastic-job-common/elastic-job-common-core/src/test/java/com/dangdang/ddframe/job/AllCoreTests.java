@@ -25,6 +25,7 @@ import com.dangdang.ddframe.job.exception.AllExceptionTests;
 import com.dangdang.ddframe.job.executor.AllExecutorTests;
 import com.dangdang.ddframe.job.reg.AllRegTests;
 import com.dangdang.ddframe.job.statistics.AllStatisticsTests;
+import com.dangdang.ddframe.job.trigger.AllTriggerTests;
 import com.dangdang.ddframe.job.util.AllUtilTests;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -42,6 +43,7 @@ import org.junit.runners.Suite.SuiteClasses;
         AllEventTests.class, 
         AllExceptionTests.class,
         AllStatisticsTests.class,
+        AllTriggerTests.class,
         AllUtilTests.class
     })
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
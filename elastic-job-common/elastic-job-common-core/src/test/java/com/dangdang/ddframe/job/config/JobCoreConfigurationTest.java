@@ -58,6 +58,22 @@ public final class JobCoreConfigurationTest {
         assertDefaultValues(actual);
     }
     
+    @Test
+    public void assertBuildWithFixedRateAndWithoutCron() {
+        JobCoreConfiguration actual = JobCoreConfiguration.newBuilder("test_job", null, 3).fixedRate(200L).build();
+        assertThat(actual.getCron(), is(""));
+        assertThat(actual.getFixedRateMilliseconds(), is(200L));
+        assertThat(actual.getFixedDelayMilliseconds(), is(0L));
+    }
+    
+    @Test
+    public void assertBuildWithFixedDelayAndWithoutCron() {
+        JobCoreConfiguration actual = JobCoreConfiguration.newBuilder("test_job", "", 3).fixedDelay(200L).build();
+        assertThat(actual.getCron(), is(""));
+        assertThat(actual.getFixedRateMilliseconds(), is(0L));
+        assertThat(actual.getFixedDelayMilliseconds(), is(200L));
+    }
+    
     private void assertRequiredProperties(final JobCoreConfiguration actual) {
         assertThat(actual.getJobName(), is("test_job"));
         assertThat(actual.getCron(), is("0/1 * * * * ?"));
@@ -65,6 +81,8 @@ public final class JobCoreConfigurationTest {
     }
     
     private void assertDefaultValues(final JobCoreConfiguration actual) {
+        assertThat(actual.getFixedRateMilliseconds(), is(0L));
+        assertThat(actual.getFixedDelayMilliseconds(), is(0L));
         assertThat(actual.getShardingItemParameters(), is(""));
         assertThat(actual.getJobParameter(), is(""));
         assertFalse(actual.isFailover());
@@ -83,6 +101,16 @@ public final class JobCoreConfigurationTest {
         JobCoreConfiguration.newBuilder("test_job", null, 3).build();
     }
     
+    @Test(expected = IllegalArgumentException.class)
+    public void assertBuildWhenFixedRateAndFixedDelayAreBothSet() {
+        JobCoreConfiguration.newBuilder("test_job", null, 3).fixedRate(200L).fixedDelay(200L).build();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertBuildWhenFixedRateIsNegative() {
+        JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).fixedRate(-1L).build();
+    }
+    
     @Test(expected = IllegalArgumentException.class)
     public void assertBuildWhenTotalSHardingCountIsNegative() {
         JobCoreConfiguration.newBuilder(null, "0/1 * * * * ?", -1).build();
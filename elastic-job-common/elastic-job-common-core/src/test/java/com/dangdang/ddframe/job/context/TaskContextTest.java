@@ -22,9 +22,13 @@ import com.google.common.collect.Lists;
 import org.hamcrest.core.Is;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertThat;
 
@@ -62,6 +66,24 @@ public final class TaskContextTest {
         assertThat(actual.getSlaveId(), is("slave-S0"));
     }
     
+    @Test
+    public void assertTaskContextFromWithSameId() {
+        TaskContext actual = TaskContext.from(TaskNode.builder().build().getTaskNodeValue());
+        TaskContext other = TaskContext.from(TaskNode.builder().build().getTaskNodeValue());
+        assertThat(actual, not(sameInstance(other)));
+        assertThat(actual.getMetaInfo(), sameInstance(other.getMetaInfo()));
+        actual.setSlaveId("slave-S1");
+        actual.setIdle(true);
+        assertThat(other.getSlaveId(), is("slave-S0"));
+        assertThat(other.getId(), is(TaskNode.builder().build().getTaskNodeValue()));
+        assertFalse(other.isIdle());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void assertTaskContextFromWithInvalidId() {
+        TaskContext.from("test_job@-@0@-@READY");
+    }
+    
     @Test
     public void assertMetaInfoFromWithMetaInfo() {
         TaskContext.MetaInfo actual = TaskContext.MetaInfo.from("test_job@-@1");
@@ -76,6 +98,18 @@ public final class TaskContextTest {
         assertThat(actual.getShardingItems().get(0), is(1));
     }
     
+    @Test
+    public void assertMetaInfoFromWithMultipleShardingItems() {
+        TaskContext.MetaInfo actual = TaskContext.MetaInfo.from("test_job@-@0,1,2");
+        assertThat(actual.getShardingItems(), is(Arrays.asList(0, 1, 2)));
+        assertThat(actual.toString(), is("test_job@-@0,1,2"));
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void assertMetaInfoFromWithUnmodifiableShardingItems() {
+        TaskContext.MetaInfo.from("test_job@-@0,1").getShardingItems().add(2);
+    }
+    
     @Test
     public void assertMetaInfoFromWithMetaInfoWithoutShardingItems() {
         TaskContext.MetaInfo actual = TaskContext.MetaInfo.from("test_job@-@");
@@ -95,6 +129,11 @@ public final class TaskContextTest {
         assertThat(TaskContext.getIdForUnassignedSlave("test_job@-@0@-@READY@-@slave-S0@-@0"), is("test_job@-@0@-@READY@-@unassigned-slave@-@0"));
     }
     
+    @Test
+    public void assertGetIdForUnassignedSlaveWhenJobNameContainsSlaveId() {
+        assertThat(TaskContext.getIdForUnassignedSlave("slave-S0_job@-@0@-@READY@-@slave-S0@-@0"), is("slave-S0_job@-@0@-@READY@-@unassigned-slave@-@0"));
+    }
+    
     @Test
     public void assertGetTaskName() {
         TaskContext actual = TaskContext.from(TaskNode.builder().build().getTaskNodeValue());
@@ -113,6 +152,7 @@ public final class TaskContextTest {
         assertThat(actual.getSlaveId(), is("slave-S0"));
         actual.setSlaveId("slave-S1");
         assertThat(actual.getSlaveId(), is("slave-S1"));
+        assertThat(actual.getId(), startsWith("test_job@-@0@-@READY@-@slave-S1@-@"));
     }
     
     @Test
@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         JobExecutionEventTest.class, 
+        JobExecutionSpanEventTest.class, 
         JobEventBusTest.class, 
         JobEventRdbIdentityTest.class,
         JobEventRdbConfigurationTest.class, 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.Phase;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.PhaseSpan;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobExecutionSpanEventTest {
+    
+    @Test
+    public void assertNewJobExecutionSpanEvent() {
+        Date triggerTime = new Date();
+        JobExecutionSpanEvent actual = new JobExecutionSpanEvent("test_job", triggerTime);
+        assertThat(actual.getJobName(), is("test_job"));
+        assertThat(actual.getTriggerTime(), is(triggerTime));
+        assertNotNull(actual.getHostname());
+        assertNotNull(actual.getStartTime());
+        assertNull(actual.getCompleteTime());
+        assertTrue(actual.getPhaseSpans().isEmpty());
+        assertTrue(actual.getItemSpans().isEmpty());
+    }
+    
+    @Test
+    public void assertGetRegistryCallsAndCostMillis() {
+        JobExecutionSpanEvent actual = new JobExecutionSpanEvent("test_job", new Date());
+        actual.getPhaseSpans().add(new PhaseSpan(Phase.GET_SHARDING_CONTEXTS, 0L, 10L, 3L));
+        actual.getPhaseSpans().add(new PhaseSpan(Phase.REGISTER_JOB_BEGIN, 10L, 5L, 2L));
+        actual.getPhaseSpans().add(new PhaseSpan(Phase.REGISTER_JOB_BEGIN, 20L, 5L, 2L));
+        assertThat(actual.getRegistryCalls(), is(7L));
+        assertThat(actual.getCostMillis(Phase.REGISTER_JOB_BEGIN), is(10L));
+        assertThat(actual.getCostMillis(Phase.PROCESS), is(0L));
+    }
+}
@@ -31,6 +31,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         JobExecutorFactoryTest.class,
+        TaskPayloadTest.class,
         ExecutorServiceHandlerRegistryTest.class, 
         JobPropertiesTest.class,
         DefaultJobExceptionHandlerTest.class, 
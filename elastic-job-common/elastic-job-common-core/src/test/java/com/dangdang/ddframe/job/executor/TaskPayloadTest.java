@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor;
+
+import com.dangdang.ddframe.job.exception.JobSystemException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public final class TaskPayloadTest {
+    
+    @Test
+    public void assertEncodeAndDecode() {
+        Map<Integer, String> shardingItemParameters = new HashMap<>(2, 1);
+        shardingItemParameters.put(0, "A");
+        shardingItemParameters.put(2, "中文");
+        TaskPayload actual = TaskPayload.decode(new TaskPayload(
+                new ShardingContexts("fake_task_id", "test_job", 3, "test_param", shardingItemParameters, 5), createJobConfigurationContext()).encode());
+        assertThat(actual.getShardingContexts().getTaskId(), is("fake_task_id"));
+        assertThat(actual.getShardingContexts().getJobName(), is("test_job"));
+        assertThat(actual.getShardingContexts().getShardingTotalCount(), is(3));
+        assertThat(actual.getShardingContexts().getJobParameter(), is("test_param"));
+        assertThat(actual.getShardingContexts().getJobEventSamplingCount(), is(5));
+        assertThat(actual.getShardingContexts().getShardingItemParameters(), is(shardingItemParameters));
+        assertThat(actual.getJobConfigurationContext(), is(createJobConfigurationContext()));
+        assertNull(actual.getJobConfigurationContext().get("beanName"));
+    }
+    
+    @Test
+    public void assertEncodeWithEncodedJobConfigurationContext() {
+        byte[] encodedJobConfigurationContext = TaskPayload.encodeJobConfigurationContext(createJobConfigurationContext());
+        ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 3, null, Collections.singletonMap(1, "B"));
+        TaskPayload actual = TaskPayload.decode(TaskPayload.encode(encodedJobConfigurationContext, shardingContexts));
+        assertNull(actual.getShardingContexts().getJobParameter());
+        assertThat(actual.getShardingContexts().getShardingItemParameters(), is(Collections.singletonMap(1, "B")));
+        assertThat(actual.getJobConfigurationContext(), is(createJobConfigurationContext()));
+    }
+    
+    @Test
+    public void assertDecodeJavaSerializedData() {
+        // CHECKSTYLE:OFF
+        LinkedHashMap<String, Object> data = new LinkedHashMap<>(2, 1);
+        // CHECKSTYLE:ON
+        data.put("shardingContext", new ShardingContexts("fake_task_id", "test_job", 3, "test_param", Collections.singletonMap(1, "B")));
+        data.put("jobConfigContext", createJobConfigurationContext());
+        TaskPayload actual = TaskPayload.decode(SerializationUtils.serialize(data));
+        assertThat(actual.getShardingContexts().getTaskId(), is("fake_task_id"));
+        assertThat(actual.getJobConfigurationContext(), is(createJobConfigurationContext()));
+    }
+    
+    @Test(expected = JobSystemException.class)
+    public void assertDecodeUnsupportedVersion() {
+        TaskPayload.decode(new byte[] {TaskPayload.FORMAT_VERSION + 1});
+    }
+    
+    @Test(expected = JobSystemException.class)
+    public void assertDecodeEmptyData() {
+        TaskPayload.decode(new byte[0]);
+    }
+    
+    private Map<String, String> createJobConfigurationContext() {
+        Map<String, String> result = new LinkedHashMap<>(4, 1);
+        result.put("jobType", "SIMPLE");
+        result.put("jobName", "test_job");
+        result.put("cron", "");
+        result.put("beanName", null);
+        return result;
+    }
+}
@@ -17,6 +17,9 @@
 
 package com.dangdang.ddframe.job.executor.type;
 
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.Phase;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent.PhaseSpan;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
 import com.dangdang.ddframe.job.exception.JobExecutionEnvironmentException;
@@ -30,17 +33,29 @@ import com.dangdang.ddframe.job.fixture.ShardingContextsBuilder;
 import com.dangdang.ddframe.job.fixture.config.TestSimpleJobConfiguration;
 import com.dangdang.ddframe.job.fixture.job.JobCaller;
 import com.dangdang.ddframe.job.fixture.job.TestSimpleJob;
+import com.dangdang.ddframe.job.reg.base.RegistryCenterCallCounter;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.unitils.util.ReflectionUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -166,6 +181,63 @@ public final class SimpleJobExecutorTest {
         verify(jobCaller, times(shardingContexts.getShardingTotalCount())).execute();
     }
     
+    @Test
+    public void assertExecuteWithExecutionSpan() {
+        ShardingContexts shardingContexts = ShardingContextsBuilder.getMultipleShardingContexts();
+        ElasticJobVerify.prepareForIsNotMisfire(jobFacade, shardingContexts);
+        Date triggerTime = new Date();
+        simpleJobExecutor.execute(triggerTime);
+        ArgumentCaptor<JobExecutionSpanEvent> spanEventCaptor = ArgumentCaptor.forClass(JobExecutionSpanEvent.class);
+        verify(jobFacade).postJobExecutionSpanEvent(spanEventCaptor.capture());
+        JobExecutionSpanEvent actual = spanEventCaptor.getValue();
+        assertThat(actual.getJobName(), is("test_job"));
+        assertThat(actual.getTaskId(), is(shardingContexts.getTaskId()));
+        assertThat(actual.getTriggerTime(), is(triggerTime));
+        assertNotNull(actual.getCompleteTime());
+        List<Phase> phases = new ArrayList<>(actual.getPhaseSpans().size());
+        for (PhaseSpan each : actual.getPhaseSpans()) {
+            phases.add(each.getPhase());
+        }
+        assertThat(phases, is(Arrays.asList(Phase.TRIGGER, Phase.CHECK_JOB_EXECUTION_ENVIRONMENT, Phase.GET_SHARDING_CONTEXTS, Phase.MISFIRE_IF_RUNNING, Phase.BEFORE_JOB_EXECUTED, 
+                Phase.REGISTER_JOB_BEGIN, Phase.PROCESS, Phase.REGISTER_JOB_COMPLETED, Phase.IS_EXECUTE_MISFIRED, Phase.FAILOVER_IF_NECESSARY, Phase.AFTER_JOB_EXECUTED)));
+        assertThat(actual.getItemSpans().size(), is(2));
+    }
+    
+    @Test
+    public void assertExecuteWithExecutionSpanWhenPreviousJobStillRunning() {
+        ShardingContexts shardingContexts = ShardingContextsBuilder.getMultipleShardingContexts();
+        when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
+        when(jobFacade.misfireIfRunning(shardingContexts.getShardingItemParameters().keySet())).thenReturn(true);
+        simpleJobExecutor.execute();
+        ArgumentCaptor<JobExecutionSpanEvent> spanEventCaptor = ArgumentCaptor.forClass(JobExecutionSpanEvent.class);
+        verify(jobFacade).postJobExecutionSpanEvent(spanEventCaptor.capture());
+        assertThat(spanEventCaptor.getValue().getPhaseSpans().size(), is(3));
+        assertThat(spanEventCaptor.getValue().getPhaseSpans().get(0).getPhase(), is(Phase.CHECK_JOB_EXECUTION_ENVIRONMENT));
+        assertTrue(spanEventCaptor.getValue().getItemSpans().isEmpty());
+    }
+    
+    @Test
+    public void assertExecuteWithExecutionSpanCountPooledRegistryCalls() {
+        ShardingContexts shardingContexts = ShardingContextsBuilder.getMultipleShardingContexts();
+        ElasticJobVerify.prepareForIsNotMisfire(jobFacade, shardingContexts);
+        doAnswer(new Answer<Void>() {
+            
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                RegistryCenterCallCounter.increase();
+                return null;
+            }
+        }).when(jobCaller).execute();
+        simpleJobExecutor.execute(new Date());
+        ArgumentCaptor<JobExecutionSpanEvent> spanEventCaptor = ArgumentCaptor.forClass(JobExecutionSpanEvent.class);
+        verify(jobFacade).postJobExecutionSpanEvent(spanEventCaptor.capture());
+        for (PhaseSpan each : spanEventCaptor.getValue().getPhaseSpans()) {
+            if (Phase.PROCESS == each.getPhase()) {
+                assertThat(each.getRegistryCalls(), is(2L));
+            }
+        }
+    }
+    
     @Test
     public void assertExecuteWhenRunOnceWithMisfireIsEmpty() {
         ShardingContexts shardingContexts = ShardingContextsBuilder.getMultipleShardingContexts();
@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.job.reg.zookeeper;
 
 import com.dangdang.ddframe.job.fixture.EmbedTestingServer;
+import com.dangdang.ddframe.job.reg.base.RegistryCenterCallCounter;
 import com.dangdang.ddframe.job.reg.zookeeper.util.ZookeeperRegistryCenterTestUtil;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -54,6 +55,14 @@ public final class ZookeeperRegistryCenterQueryWithoutCacheTest {
         zkRegCenter.close();
     }
     
+    @Test
+    public void assertGetFromServerWithRegistryCenterCallCounter() {
+        long before = RegistryCenterCallCounter.get();
+        zkRegCenter.get("/test");
+        zkRegCenter.isExisted("/test");
+        assertThat(RegistryCenterCallCounter.get() - before, is(2L));
+    }
+    
     @Test
     public void assertGetFromServer() {
         assertThat(zkRegCenter.get("/test"), is("test"));
@@ -27,7 +27,11 @@ import org.apache.commons.dbcp.BasicDataSource;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 
 import static junit.framework.TestCase.assertTrue;
@@ -39,9 +43,11 @@ public class StatisticRdbRepositoryTest {
     
     private StatisticRdbRepository  repository;
     
+    private BasicDataSource dataSource;
+    
     @Before
     public void setup() throws SQLException {
-        BasicDataSource dataSource = new BasicDataSource();
+        dataSource = new BasicDataSource();
         dataSource.setDriverClassName(org.h2.Driver.class.getName());
         dataSource.setUrl("jdbc:h2:mem:");
         dataSource.setUsername("sa");
@@ -56,6 +62,39 @@ public class StatisticRdbRepositoryTest {
         }
     }
     
+    @Test
+    public void assertAddTaskResultStatisticsInBatch() {
+        Date now = new Date();
+        Date yesterday = getYesterday();
+        assertTrue(repository.add(Arrays.asList(new TaskResultStatistics(100, 1, StatisticInterval.MINUTE, yesterday), 
+                new TaskResultStatistics(200, 2, StatisticInterval.MINUTE, now), new TaskResultStatistics(300, 3, StatisticInterval.HOUR, now))));
+        assertThat(repository.findTaskResultStatistics(yesterday, StatisticInterval.MINUTE).size(), is(2));
+        assertThat(repository.findTaskResultStatistics(now, StatisticInterval.MINUTE).size(), is(1));
+        assertThat(repository.findLatestTaskResultStatistics(StatisticInterval.HOUR).get().getSuccessCount(), is(300));
+        assertFalse(repository.findLatestTaskResultStatistics(StatisticInterval.DAY).isPresent());
+    }
+    
+    @Test
+    public void assertAddTaskResultStatisticsInBatchWhenEmpty() {
+        assertTrue(repository.add(Collections.<TaskResultStatistics>emptyList()));
+    }
+    
+    @Test
+    public void assertCreateStatisticsTimeIndexesOnce() throws SQLException {
+        new StatisticRdbRepository(dataSource);
+        try (
+                Connection conn = dataSource.getConnection();
+                ResultSet resultSet = conn.getMetaData().getIndexInfo(null, null, "TASK_RESULT_STATISTICS_MINUTE", false, false)) {
+            int count = 0;
+            while (resultSet.next()) {
+                if ("IDX_TASK_RESULT_STATISTICS_MINUTE_STATISTICS_TIME".equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                    count++;
+                }
+            }
+            assertThat(count, is(1));
+        }
+    }
+    
     @Test
     public void assertAddTaskRunningStatistics() {
         assertTrue(repository.add(new TaskRunningStatistics(100, new Date())));
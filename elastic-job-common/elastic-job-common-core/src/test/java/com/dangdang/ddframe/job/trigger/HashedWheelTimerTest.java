@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class HashedWheelTimerTest {
+    
+    private final HashedWheelTimer wheelTimer = new HashedWheelTimer(new BasicThreadFactory.Builder().namingPattern("test-wheel-%d").build(), 10L, 8, 50L);
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertNewWithIllegalWheelSize() {
+        new HashedWheelTimer(new BasicThreadFactory.Builder().build(), 10L, 6, 50L);
+    }
+    
+    @Test
+    public void assertNewTimeout() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long startTime = System.nanoTime();
+        wheelTimer.newTimeout(new Runnable() {
+            
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 100L);
+        assertTrue(latch.await(1L, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 100L);
+    }
+    
+    @Test
+    public void assertNewTimeoutBeyondOneRound() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long startTime = System.nanoTime();
+        wheelTimer.newTimeout(new Runnable() {
+            
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 250L);
+        assertTrue(latch.await(1L, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 250L);
+    }
+    
+    @Test
+    public void assertCancelTimeout() throws InterruptedException {
+        final AtomicInteger executedCount = new AtomicInteger();
+        Future<?> timeout = wheelTimer.newTimeout(new Runnable() {
+            
+            @Override
+            public void run() {
+                executedCount.incrementAndGet();
+            }
+        }, 50L);
+        timeout.cancel(false);
+        Thread.sleep(200L);
+        assertThat(executedCount.get(), is(0));
+        assertThat(wheelTimer.getPendingCount(), is(0));
+    }
+    
+    @Test
+    public void assertRestartAfterIdleTimeout() throws InterruptedException {
+        final CountDownLatch firstLatch = new CountDownLatch(1);
+        wheelTimer.newTimeout(new Runnable() {
+            
+            @Override
+            public void run() {
+                firstLatch.countDown();
+            }
+        }, 10L);
+        assertTrue(firstLatch.await(1L, TimeUnit.SECONDS));
+        Thread.sleep(200L);
+        final CountDownLatch secondLatch = new CountDownLatch(1);
+        wheelTimer.newTimeout(new Runnable() {
+            
+            @Override
+            public void run() {
+                secondLatch.countDown();
+            }
+        }, 10L);
+        assertTrue(secondLatch.await(1L, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import com.dangdang.ddframe.job.exception.JobConfigurationException;
+import com.google.common.base.Optional;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobTriggerTest {
+    
+    private static final TriggerSchedule EVERY_SECOND_CRON = TriggerSchedule.cron("0/1 * * * * ?");
+    
+    private static final TriggerSchedule NEVER_FIRE_CRON = TriggerSchedule.cron("0 0 0 1 1 ? 2099");
+    
+    private final RecordingTriggerTask triggerTask = new RecordingTriggerTask();
+    
+    private final RecordingTriggerListener triggerListener = new RecordingTriggerListener();
+    
+    private JobTrigger jobTrigger;
+    
+    @After
+    public void tearDown() {
+        triggerTask.gate.countDown();
+        if (null != jobTrigger) {
+            jobTrigger.shutdown();
+        }
+    }
+    
+    @Test(expected = JobConfigurationException.class)
+    public void assertScheduleWithInvalidCron() {
+        TriggerEngine.getInstance().schedule("test_trigger_invalid_cron", TriggerSchedule.cron("invalid"), 1L, triggerTask);
+    }
+    
+    @Test
+    public void assertFireOnCron() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_fire_on_cron", EVERY_SECOND_CRON, 1L, triggerTask, triggerListener);
+        Date scheduledFireTime = triggerTask.fireTimes.poll(3L, TimeUnit.SECONDS);
+        assertThat(scheduledFireTime, notNullValue());
+        assertThat(scheduledFireTime.getTime() % 1000L, is(0L));
+        assertTrue(jobTrigger.getNextFireTime().after(scheduledFireTime));
+        assertThat(jobTrigger.getPreviousFireTime(), notNullValue());
+    }
+    
+    @Test
+    public void assertMisfireWhenLaneIsBusy() throws InterruptedException {
+        triggerTask.firstExecutionMilliseconds = 1500L;
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_misfire_when_busy", EVERY_SECOND_CRON, 1L, triggerTask, triggerListener);
+        Date firstFireTime = triggerTask.fireTimes.poll(3L, TimeUnit.SECONDS);
+        assertThat(firstFireTime, notNullValue());
+        Optional<Date> misfiredPreviousFireTime = triggerListener.misfiredPreviousFireTimes.poll(4L, TimeUnit.SECONDS);
+        assertThat(misfiredPreviousFireTime, notNullValue());
+        assertThat(misfiredPreviousFireTime.orNull(), is(firstFireTime));
+    }
+    
+    @Test
+    public void assertExecuteLateFireWithinMisfireThreshold() throws InterruptedException {
+        triggerTask.firstExecutionMilliseconds = 1500L;
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_late_fire", EVERY_SECOND_CRON, 60000L, triggerTask, triggerListener);
+        Date firstFireTime = triggerTask.fireTimes.poll(3L, TimeUnit.SECONDS);
+        Date secondFireTime = triggerTask.fireTimes.poll(4L, TimeUnit.SECONDS);
+        assertThat(secondFireTime.getTime() - firstFireTime.getTime(), is(1000L));
+        assertTrue(triggerListener.misfiredPreviousFireTimes.isEmpty());
+    }
+    
+    @Test
+    public void assertFireOnFixedRate() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_fire_on_fixed_rate", TriggerSchedule.fixedRate(100L), 1L, triggerTask, triggerListener);
+        Date firstFireTime = triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS);
+        Date secondFireTime = triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS);
+        Date thirdFireTime = triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS);
+        assertThat(secondFireTime.getTime() - firstFireTime.getTime(), is(100L));
+        assertThat(thirdFireTime.getTime() - secondFireTime.getTime(), is(100L));
+        assertTrue(triggerListener.misfiredPreviousFireTimes.isEmpty());
+    }
+    
+    @Test
+    public void assertMisfireOnFixedRateWhenLaneIsBusy() throws InterruptedException {
+        triggerTask.firstExecutionMilliseconds = 250L;
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_misfire_on_fixed_rate", TriggerSchedule.fixedRate(100L), 1L, triggerTask, triggerListener);
+        Date firstFireTime = triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS);
+        Optional<Date> misfiredPreviousFireTime = triggerListener.misfiredPreviousFireTimes.poll(1L, TimeUnit.SECONDS);
+        assertThat(misfiredPreviousFireTime, notNullValue());
+        assertThat(misfiredPreviousFireTime.orNull(), is(firstFireTime));
+    }
+    
+    @Test
+    public void assertFireOnFixedDelay() throws InterruptedException {
+        triggerTask.firstExecutionMilliseconds = 250L;
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_fire_on_fixed_delay", TriggerSchedule.fixedDelay(100L), 1L, triggerTask, triggerListener);
+        Date firstFireTime = triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS);
+        Date secondFireTime = triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS);
+        assertTrue(secondFireTime.getTime() - firstFireTime.getTime() >= 350L);
+        assertTrue(triggerListener.misfiredPreviousFireTimes.isEmpty());
+    }
+    
+    @Test
+    public void assertPauseAndResume() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_pause_and_resume", EVERY_SECOND_CRON, 1L, triggerTask, triggerListener);
+        jobTrigger.pause();
+        assertTrue(jobTrigger.isPaused());
+        Date previousFireTime = jobTrigger.getPreviousFireTime();
+        int executedCount = triggerTask.executedCount.get();
+        Thread.sleep(1500L);
+        assertThat(triggerTask.executedCount.get(), is(executedCount));
+        jobTrigger.resume();
+        assertFalse(jobTrigger.isPaused());
+        Optional<Date> misfiredPreviousFireTime = triggerListener.misfiredPreviousFireTimes.poll(1L, TimeUnit.SECONDS);
+        assertThat(misfiredPreviousFireTime, notNullValue());
+        assertThat(misfiredPreviousFireTime.orNull(), is(previousFireTime));
+        assertTrue(jobTrigger.getNextFireTime().after(new Date()));
+    }
+    
+    @Test
+    public void assertTriggerNow() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_now", NEVER_FIRE_CRON, 1L, triggerTask, triggerListener);
+        jobTrigger.triggerNow();
+        assertThat(triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS), notNullValue());
+        assertThat(jobTrigger.getPreviousFireTime(), nullValue());
+    }
+    
+    @Test
+    public void assertTriggerNowWhenPaused() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_now_when_paused", NEVER_FIRE_CRON, 1L, triggerTask, triggerListener);
+        jobTrigger.pause();
+        jobTrigger.triggerNow();
+        assertThat(triggerTask.fireTimes.poll(200L, TimeUnit.MILLISECONDS), nullValue());
+        jobTrigger.resume();
+        assertThat(triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS), notNullValue());
+    }
+    
+    @Test
+    public void assertTriggerNowWhenRunning() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_now_when_running", NEVER_FIRE_CRON, 1L, triggerTask, triggerListener);
+        triggerTask.gate = new CountDownLatch(1);
+        jobTrigger.triggerNow();
+        assertThat(triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS), notNullValue());
+        jobTrigger.triggerNow();
+        assertThat(triggerTask.fireTimes.poll(200L, TimeUnit.MILLISECONDS), nullValue());
+        triggerTask.gate.countDown();
+        assertThat(triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS), notNullValue());
+    }
+    
+    @Test
+    public void assertReschedule() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_reschedule", NEVER_FIRE_CRON, 1L, triggerTask, triggerListener);
+        jobTrigger.reschedule(EVERY_SECOND_CRON);
+        assertThat(jobTrigger.getTriggerSchedule(), is(EVERY_SECOND_CRON));
+        assertTrue(jobTrigger.getNextFireTime().getTime() - System.currentTimeMillis() <= 1000L);
+        assertThat(triggerTask.fireTimes.poll(3L, TimeUnit.SECONDS), notNullValue());
+    }
+    
+    @Test
+    public void assertShutdown() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_shutdown", NEVER_FIRE_CRON, 1L, triggerTask, triggerListener);
+        jobTrigger.shutdown();
+        jobTrigger.shutdown();
+        assertTrue(jobTrigger.isShutdown());
+        assertFalse(jobTrigger.isPaused());
+        assertThat(triggerListener.shutdownCount.get(), is(1));
+        jobTrigger.triggerNow();
+        assertThat(triggerTask.fireTimes.poll(200L, TimeUnit.MILLISECONDS), nullValue());
+    }
+    
+    @Test
+    public void assertShutdownAndWaitForTaskToComplete() throws InterruptedException {
+        jobTrigger = TriggerEngine.getInstance().schedule("test_trigger_shutdown_and_wait", NEVER_FIRE_CRON, 1L, triggerTask, triggerListener);
+        triggerTask.firstExecutionMilliseconds = 500L;
+        jobTrigger.triggerNow();
+        assertThat(triggerTask.fireTimes.poll(1L, TimeUnit.SECONDS), notNullValue());
+        jobTrigger.shutdown(true);
+        assertTrue(triggerTask.completed.get());
+        assertThat(triggerListener.shutdownCount.get(), is(1));
+    }
+    
+    private static final class RecordingTriggerTask implements TriggerTask {
+        
+        private final BlockingQueue<Date> fireTimes = new LinkedBlockingQueue<>();
+        
+        private final AtomicInteger executedCount = new AtomicInteger();
+        
+        private final AtomicBoolean completed = new AtomicBoolean();
+        
+        private volatile long firstExecutionMilliseconds;
+        
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        
+        @Override
+        public void execute(final Date scheduledFireTime) {
+            fireTimes.add(scheduledFireTime);
+            try {
+                if (1 == executedCount.incrementAndGet()) {
+                    Thread.sleep(firstExecutionMilliseconds);
+                }
+                gate.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            completed.set(true);
+        }
+    }
+    
+    private static final class RecordingTriggerListener implements TriggerListener {
+        
+        private final BlockingQueue<Optional<Date>> misfiredPreviousFireTimes = new LinkedBlockingQueue<>();
+        
+        private final AtomicInteger shutdownCount = new AtomicInteger();
+        
+        @Override
+        public void triggerMisfired(final Date previousFireTime) {
+            misfiredPreviousFireTimes.add(Optional.fromNullable(previousFireTime));
+        }
+        
+        @Override
+        public void triggerShutdown() {
+            shutdownCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class TriggerEngineTest {
+    
+    private final TriggerTask triggerTask = new TriggerTask() {
+        
+        @Override
+        public void execute(final Date scheduledFireTime) {
+        }
+    };
+    
+    @Test
+    public void assertScheduleWithExistedIdentity() {
+        JobTrigger expected = TriggerEngine.getInstance().schedule("test_engine_existed", TriggerSchedule.cron("0 0 0 1 1 ? 2099"), 1L, triggerTask);
+        try {
+            assertThat(TriggerEngine.getInstance().schedule("test_engine_existed", TriggerSchedule.cron("0/1 * * * * ?"), 1L, triggerTask), is(expected));
+            assertThat(expected.getTriggerSchedule(), is(TriggerSchedule.cron("0 0 0 1 1 ? 2099")));
+        } finally {
+            expected.shutdown();
+        }
+    }
+    
+    @Test
+    public void assertScheduleAfterShutdown() {
+        JobTrigger shutdownTrigger = TriggerEngine.getInstance().schedule("test_engine_reschedule", TriggerSchedule.cron("0 0 0 1 1 ? 2099"), 1L, triggerTask);
+        int triggerCount = TriggerEngine.getInstance().getTriggerCount();
+        shutdownTrigger.shutdown();
+        assertThat(TriggerEngine.getInstance().getTriggerCount(), is(triggerCount - 1));
+        JobTrigger actual = TriggerEngine.getInstance().schedule("test_engine_reschedule", TriggerSchedule.cron("0 0 0 1 1 ? 2099"), 1L, triggerTask);
+        try {
+            assertThat(actual, not(shutdownTrigger));
+            assertTrue(shutdownTrigger.isShutdown());
+        } finally {
+            actual.shutdown();
+        }
+    }
+    
+    @Test
+    public void assertLimitLaneThreads() throws InterruptedException {
+        TriggerEngine.getInstance().limitLaneThreads(64);
+        assertThat(TriggerEngine.getInstance().getMaxLaneThreadSize(), is(64));
+        final CountDownLatch latch = new CountDownLatch(1);
+        JobTrigger actual = TriggerEngine.getInstance().schedule("test_engine_limited", TriggerSchedule.cron("0 0 0 1 1 ? 2099"), 1L, new TriggerTask() {
+            
+            @Override
+            public void execute(final Date scheduledFireTime) {
+                latch.countDown();
+            }
+        });
+        try {
+            actual.triggerNow();
+            assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        } finally {
+            actual.shutdown();
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertLimitLaneThreadsWithIllegalSize() {
+        TriggerEngine.getInstance().limitLaneThreads(0);
+    }
+}
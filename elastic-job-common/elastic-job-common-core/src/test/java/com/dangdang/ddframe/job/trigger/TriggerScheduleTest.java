@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.trigger;
+
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.exception.JobConfigurationException;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public final class TriggerScheduleTest {
+    
+    @Test
+    public void assertNewInstanceWithCron() {
+        TriggerSchedule actual = TriggerSchedule.newInstance(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build());
+        assertThat(actual.getTriggerType(), is(TriggerType.CRON));
+        assertThat(actual.getCron(), is("0/1 * * * * ?"));
+        assertThat(actual.toString(), is("0/1 * * * * ?"));
+        assertThat(actual.getFireTimeAfter(new Date(1500L)), is(new Date(2000L)));
+    }
+    
+    @Test
+    public void assertNewInstanceWithFixedRate() {
+        TriggerSchedule actual = TriggerSchedule.newInstance(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).fixedRate(200L).build());
+        assertThat(actual.getTriggerType(), is(TriggerType.FIXED_RATE));
+        assertThat(actual.getIntervalMilliseconds(), is(200L));
+        assertThat(actual.toString(), is("fixedRate=200ms"));
+        assertThat(actual.getFireTimeAfter(new Date(1500L)), is(new Date(1700L)));
+    }
+    
+    @Test
+    public void assertNewInstanceWithFixedDelay() {
+        TriggerSchedule actual = TriggerSchedule.newInstance(JobCoreConfiguration.newBuilder("test_job", null, 3).fixedDelay(200L).build());
+        assertThat(actual.getTriggerType(), is(TriggerType.FIXED_DELAY));
+        assertThat(actual.toString(), is("fixedDelay=200ms"));
+        assertThat(actual.getFireTimeAfter(new Date(1500L)), is(new Date(1700L)));
+    }
+    
+    @Test
+    public void assertCronWithOffset() {
+        TriggerSchedule actual = TriggerSchedule.cron("0 * * * * ?").withOffset(1500L);
+        assertThat(actual.getOffsetMilliseconds(), is(1500L));
+        assertThat(actual.toString(), is("0 * * * * ? (+1500ms)"));
+        assertThat(actual.getFireTimeAfter(new Date(0L)), is(new Date(1500L)));
+        assertThat(actual.getFireTimeAfter(new Date(1500L)), is(new Date(61500L)));
+        assertThat(actual.getFireTimeAfter(new Date(60000L)), is(new Date(61500L)));
+    }
+    
+    @Test
+    public void assertFixedRateWithOffset() {
+        assertThat(TriggerSchedule.fixedRate(200L).withOffset(1500L).getFireTimeAfter(new Date(1000L)), is(new Date(1200L)));
+    }
+    
+    @Test(expected = JobConfigurationException.class)
+    public void assertWithNegativeOffset() {
+        TriggerSchedule.cron("0 * * * * ?").withOffset(-1L);
+    }
+    
+    @Test
+    public void assertEquals() {
+        assertThat(TriggerSchedule.cron("0/1 * * * * ?"), is(TriggerSchedule.cron("0/1 * * * * ?")));
+        assertThat(TriggerSchedule.fixedRate(200L), is(TriggerSchedule.fixedRate(200L)));
+        assertThat(TriggerSchedule.fixedRate(200L), not(TriggerSchedule.fixedDelay(200L)));
+        assertThat(TriggerSchedule.fixedRate(200L), not(TriggerSchedule.fixedRate(100L)));
+        assertThat(TriggerSchedule.cron("0/1 * * * * ?").withOffset(100L), is(TriggerSchedule.cron("0/1 * * * * ?").withOffset(100L)));
+        assertThat(TriggerSchedule.cron("0/1 * * * * ?").withOffset(100L), not(TriggerSchedule.cron("0/1 * * * * ?")));
+    }
+    
+    @Test(expected = JobConfigurationException.class)
+    public void assertCronWithInvalidExpression() {
+        TriggerSchedule.cron("invalid");
+    }
+    
+    @Test(expected = JobConfigurationException.class)
+    public void assertFixedRateWithZeroInterval() {
+        TriggerSchedule.fixedRate(0L);
+    }
+}
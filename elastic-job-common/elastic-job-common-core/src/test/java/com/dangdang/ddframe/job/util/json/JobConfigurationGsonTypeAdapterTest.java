@@ -17,7 +17,9 @@
 
 package com.dangdang.ddframe.job.util.json;
 
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.JobTypeConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
 import com.dangdang.ddframe.job.executor.handler.impl.DefaultExecutorServiceHandler;
 import com.dangdang.ddframe.job.fixture.APIJsonConstants;
 import com.dangdang.ddframe.job.fixture.config.TestDataflowJobConfiguration;
@@ -26,6 +28,7 @@ import com.dangdang.ddframe.job.fixture.config.TestScriptJobConfiguration;
 import com.dangdang.ddframe.job.fixture.config.TestSimpleJobConfiguration;
 import com.dangdang.ddframe.job.fixture.handler.IgnoreJobExceptionHandler;
 import com.dangdang.ddframe.job.fixture.handler.ThrowJobExceptionHandler;
+import com.dangdang.ddframe.job.fixture.job.TestSimpleJob;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import org.junit.BeforeClass;
@@ -35,7 +38,9 @@ import java.io.IOException;
 import java.util.Map;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public final class JobConfigurationGsonTypeAdapterTest {
     
@@ -88,6 +93,18 @@ public final class JobConfigurationGsonTypeAdapterTest {
         assertThat(GsonFactory.getGson().toJson(actual), is(GsonFactory.getGson().toJson(expected)));
     }
     
+    @Test
+    public void assertToAndFromFixedRateJobJson() {
+        String json = GsonFactory.getGson().toJson(new TestJobRootConfiguration(new SimpleJobConfiguration(
+                JobCoreConfiguration.newBuilder("test_job", null, 3).fixedRate(200L).build(), TestSimpleJob.class.getCanonicalName())));
+        assertTrue(json.contains("\"fixedRateMilliseconds\":200"));
+        assertFalse(json.contains("fixedDelayMilliseconds"));
+        TestJobRootConfiguration actual = GsonFactory.getGson().fromJson(json, TestJobRootConfiguration.class);
+        assertThat(actual.getTypeConfig().getCoreConfig().getCron(), is(""));
+        assertThat(actual.getTypeConfig().getCoreConfig().getFixedRateMilliseconds(), is(200L));
+        assertThat(actual.getTypeConfig().getCoreConfig().getFixedDelayMilliseconds(), is(0L));
+    }
+    
     private static class JobConfigurationGsonTypeAdapter extends AbstractJobConfigurationGsonTypeAdapter<TestJobRootConfiguration> {
     
         @Override
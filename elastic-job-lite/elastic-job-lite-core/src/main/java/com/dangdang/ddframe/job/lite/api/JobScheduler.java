@@ -22,7 +22,6 @@ import com.dangdang.ddframe.job.api.script.ScriptJob;
 import com.dangdang.ddframe.job.event.JobEventBus;
 import com.dangdang.ddframe.job.event.JobEventConfiguration;
 import com.dangdang.ddframe.job.exception.JobConfigurationException;
-import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.JobFacade;
 import com.dangdang.ddframe.job.lite.api.listener.AbstractDistributeOnceElasticJobListener;
 import com.dangdang.ddframe.job.lite.api.listener.ElasticJobListener;
@@ -31,22 +30,15 @@ import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.internal.guarantee.GuaranteeService;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
-import com.dangdang.ddframe.job.lite.internal.schedule.JobShutdownHookPlugin;
 import com.dangdang.ddframe.job.lite.internal.schedule.LiteJob;
 import com.dangdang.ddframe.job.lite.internal.schedule.LiteJobFacade;
 import com.dangdang.ddframe.job.lite.internal.schedule.SchedulerFacade;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Optional;
 import lombok.Getter;
-import org.quartz.JobBuilder;
-import org.quartz.JobDetail;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.impl.StdSchedulerFactory;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Properties;
 
 /**
  * 作业调度器.
@@ -56,10 +48,14 @@ import java.util.Properties;
  */
 public class JobScheduler {
     
+    /**
+     * 作业实例在JobDataMap中的键.
+     * 
+     * @deprecated 作业实例已不再通过Quartz的JobDataMap传递, 而是由{@link LiteJob}直接持有, 自定义作业实例请覆盖{@link #createElasticJobInstance()}
+     */
+    @Deprecated
     public static final String ELASTIC_JOB_DATA_MAP_KEY = "elasticJob";
     
-    private static final String JOB_FACADE_DATA_MAP_KEY = "jobFacade";
-    
     private final LiteJobConfiguration liteJobConfig;
     
     private final CoordinatorRegistryCenter regCenter;
@@ -105,53 +101,28 @@ public class JobScheduler {
         LiteJobConfiguration liteJobConfigFromRegCenter = schedulerFacade.updateJobConfiguration(liteJobConfig);
         JobRegistry.getInstance().setCurrentShardingTotalCount(liteJobConfigFromRegCenter.getJobName(), liteJobConfigFromRegCenter.getTypeConfig().getCoreConfig().getShardingTotalCount());
         JobScheduleController jobScheduleController = new JobScheduleController(
-                createScheduler(), createJobDetail(liteJobConfigFromRegCenter.getTypeConfig().getJobClass()), liteJobConfigFromRegCenter.getJobName());
+                createLiteJob(liteJobConfigFromRegCenter.getTypeConfig().getJobClass()), liteJobConfigFromRegCenter.getJobName(), schedulerFacade.newJobTriggerListener());
         JobRegistry.getInstance().registerJob(liteJobConfigFromRegCenter.getJobName(), jobScheduleController, regCenter);
         schedulerFacade.registerStartUpInfo(!liteJobConfigFromRegCenter.isDisabled());
-        jobScheduleController.scheduleJob(liteJobConfigFromRegCenter.getTypeConfig().getCoreConfig().getCron());
+        jobScheduleController.scheduleJob(liteJobConfigFromRegCenter.getTriggerSchedule());
     }
     
-    private JobDetail createJobDetail(final String jobClass) {
-        JobDetail result = JobBuilder.newJob(LiteJob.class).withIdentity(liteJobConfig.getJobName()).build();
-        result.getJobDataMap().put(JOB_FACADE_DATA_MAP_KEY, jobFacade);
+    private LiteJob createLiteJob(final String jobClass) {
         Optional<ElasticJob> elasticJobInstance = createElasticJobInstance();
         if (elasticJobInstance.isPresent()) {
-            result.getJobDataMap().put(ELASTIC_JOB_DATA_MAP_KEY, elasticJobInstance.get());
-        } else if (!jobClass.equals(ScriptJob.class.getCanonicalName())) {
-            try {
-                result.getJobDataMap().put(ELASTIC_JOB_DATA_MAP_KEY, Class.forName(jobClass).newInstance());
-            } catch (final ReflectiveOperationException ex) {
-                throw new JobConfigurationException("Elastic-Job: Job class '%s' can not initialize.", jobClass);
-            }
+            return new LiteJob(elasticJobInstance.get(), jobFacade);
+        }
+        if (jobClass.equals(ScriptJob.class.getCanonicalName())) {
+            return new LiteJob(null, jobFacade);
         }
-        return result;
-    }
-    
-    protected Optional<ElasticJob> createElasticJobInstance() {
-        return Optional.absent();
-    }
-    
-    private Scheduler createScheduler() {
-        Scheduler result;
         try {
-            StdSchedulerFactory factory = new StdSchedulerFactory();
-            factory.initialize(getBaseQuartzProperties());
-            result = factory.getScheduler();
-            result.getListenerManager().addTriggerListener(schedulerFacade.newJobTriggerListener());
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
+            return new LiteJob((ElasticJob) Class.forName(jobClass).newInstance(), jobFacade);
+        } catch (final ReflectiveOperationException ex) {
+            throw new JobConfigurationException("Elastic-Job: Job class '%s' can not initialize.", jobClass);
         }
-        return result;
     }
     
-    private Properties getBaseQuartzProperties() {
-        Properties result = new Properties();
-        result.put("org.quartz.threadPool.class", org.quartz.simpl.SimpleThreadPool.class.getName());
-        result.put("org.quartz.threadPool.threadCount", "1");
-        result.put("org.quartz.scheduler.instanceName", liteJobConfig.getJobName());
-        result.put("org.quartz.jobStore.misfireThreshold", "1");
-        result.put("org.quartz.plugin.shutdownhook.class", JobShutdownHookPlugin.class.getName());
-        result.put("org.quartz.plugin.shutdownhook.cleanShutdown", Boolean.TRUE.toString());
-        return result;
+    protected Optional<ElasticJob> createElasticJobInstance() {
+        return Optional.absent();
     }
 }
@@ -19,6 +19,9 @@ package com.dangdang.ddframe.job.lite.config;
 
 import com.dangdang.ddframe.job.config.JobRootConfiguration;
 import com.dangdang.ddframe.job.config.JobTypeConfiguration;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -46,6 +49,8 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
     
     private final int reconcileIntervalMinutes;
     
+    private final int fireTimeSmearSeconds;
+    
     private final boolean disabled;
     
     private final boolean overwrite;
@@ -68,6 +73,32 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
         return typeConfig.getCoreConfig().isFailover();
     }
     
+    /**
+     * 获取触发时间偏移毫秒数.
+     * 
+     * <p>
+     * 根据作业名称的散列值在打散窗口内确定偏移, 同一作业在所有作业服务器上的偏移相同.
+     * </p>
+     * 
+     * @return 触发时间偏移毫秒数, 未开启打散则为0
+     */
+    public long getFireTimeOffsetMilliseconds() {
+        if (fireTimeSmearSeconds <= 0) {
+            return 0L;
+        }
+        int hash = Hashing.murmur3_32().hashString(getJobName(), Charsets.UTF_8).asInt();
+        return (hash & Integer.MAX_VALUE) % (fireTimeSmearSeconds * 1000L);
+    }
+    
+    /**
+     * 获取偏移触发时间后的触发计划.
+     * 
+     * @return 触发计划
+     */
+    public TriggerSchedule getTriggerSchedule() {
+        return TriggerSchedule.newInstance(typeConfig.getCoreConfig()).withOffset(getFireTimeOffsetMilliseconds());
+    }
+    
     /**
      * 创建Lite作业配置构建器.
      * 
@@ -96,6 +127,8 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
         private boolean overwrite;
         
         private int reconcileIntervalMinutes = 10;
+        
+        private int fireTimeSmearSeconds;
     
         /**
          * 设置监控作业执行时状态.
@@ -177,6 +210,23 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
             return this;
         }
         
+        /**
+         * 设置触发时间打散窗口秒数.
+         *
+         * <p>
+         * 大量作业使用相同的cron表达式时, 同一时刻集中触发会对注册中心和事件追踪数据库造成瞬时压力.
+         * 开启后按作业名称的散列值将触发时间固定偏移到窗口内的某一时刻, 小于等于0表示不打散.
+         * </p>
+         *
+         * @param fireTimeSmearSeconds 触发时间打散窗口秒数
+         *
+         * @return 作业配置构建器
+         */
+        public Builder fireTimeSmearSeconds(final int fireTimeSmearSeconds) {
+            this.fireTimeSmearSeconds = fireTimeSmearSeconds;
+            return this;
+        }
+        
         /**
          * 设置作业是否启动时禁止.
          * 
@@ -215,7 +265,7 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
          * @return 作业配置对象
          */
         public final LiteJobConfiguration build() {
-            return new LiteJobConfiguration(jobConfig, monitorExecution, maxTimeDiffSeconds, monitorPort, jobShardingStrategyClass, reconcileIntervalMinutes, disabled, overwrite);
+            return new LiteJobConfiguration(jobConfig, monitorExecution, maxTimeDiffSeconds, monitorPort, jobShardingStrategyClass, reconcileIntervalMinutes, fireTimeSmearSeconds, disabled, overwrite);
         }
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.config;
+
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.util.env.TimeService;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.curator.framework.state.ConnectionStateListener;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本机与注册中心的时钟偏差估算器.
+ * 
+ * <p>
+ * 同一JVM中使用同一注册中心的作业共享估算结果, 仅在采样周期到期或注册中心重新连接后才重新采样, 其余时间直接从内存中返回偏差.
+ * 采样期间其他作业继续使用上一次的估算结果, 仅首次采样时需要等待.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ClockOffsetEstimator {
+    
+    static final long SAMPLE_INTERVAL_MILLISECONDS = 60 * 1000L;
+    
+    private static final Map<CoordinatorRegistryCenter, ClockOffsetEstimator> INSTANCES = new WeakHashMap<>();
+    
+    private final TimeService timeService = new TimeService();
+    
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    
+    private volatile boolean sampled;
+    
+    private volatile boolean stale;
+    
+    private volatile long lastSampleMillis;
+    
+    private volatile long offsetMillis;
+    
+    /**
+     * 获取注册中心对应的时钟偏差估算器.
+     * 
+     * @param regCenter 注册中心
+     * @return 时钟偏差估算器
+     */
+    public static synchronized ClockOffsetEstimator getInstance(final CoordinatorRegistryCenter regCenter) {
+        ClockOffsetEstimator result = INSTANCES.get(regCenter);
+        if (null == result) {
+            result = new ClockOffsetEstimator();
+            if (null != regCenter && regCenter.getRawClient() instanceof CuratorFramework) {
+                ((CuratorFramework) regCenter.getRawClient()).getConnectionStateListenable().addListener(result.new ReconnectedListener());
+            }
+            INSTANCES.put(regCenter, result);
+        }
+        return result;
+    }
+    
+    /**
+     * 获取注册中心时间减去本机时间的毫秒数.
+     * 
+     * @param jobNodeStorage 用于采样的作业节点存储
+     * @return 注册中心时间减去本机时间的毫秒数
+     */
+    public long getOffsetMillis(final JobNodeStorage jobNodeStorage) {
+        if (isExpired() && acquireSampleLock()) {
+            try {
+                if (isExpired()) {
+                    sample(jobNodeStorage);
+                }
+            } finally {
+                sampleLock.unlock();
+            }
+        }
+        return offsetMillis;
+    }
+    
+    private boolean isExpired() {
+        return !sampled || stale || timeService.getCurrentMillis() - lastSampleMillis >= SAMPLE_INTERVAL_MILLISECONDS;
+    }
+    
+    private boolean acquireSampleLock() {
+        if (sampled) {
+            return sampleLock.tryLock();
+        }
+        sampleLock.lock();
+        return true;
+    }
+    
+    private void sample(final JobNodeStorage jobNodeStorage) {
+        long before = timeService.getCurrentMillis();
+        long registryCenterTime = jobNodeStorage.getRegistryCenterTime();
+        long after = timeService.getCurrentMillis();
+        offsetMillis = registryCenterTime - (before + after) / 2;
+        lastSampleMillis = after;
+        stale = false;
+        sampled = true;
+    }
+    
+    /**
+     * 标记估算结果失效, 下次获取时重新采样.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+    
+    class ReconnectedListener implements ConnectionStateListener {
+        
+        @Override
+        public void stateChanged(final CuratorFramework client, final ConnectionState newState) {
+            if (ConnectionState.RECONNECTED == newState) {
+                invalidate();
+            }
+        }
+    }
+}
@@ -22,7 +22,6 @@ import com.dangdang.ddframe.job.exception.JobExecutionEnvironmentException;
 import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
-import com.dangdang.ddframe.job.util.env.TimeService;
 import com.google.common.base.Optional;
 
 /**
@@ -33,13 +32,13 @@ import com.google.common.base.Optional;
  */
 public final class ConfigurationService {
     
-    private final TimeService timeService;
-    
     private final JobNodeStorage jobNodeStorage;
     
+    private final ClockOffsetEstimator clockOffsetEstimator;
+    
     public ConfigurationService(final CoordinatorRegistryCenter regCenter, final String jobName) {
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
-        timeService = new TimeService();
+        clockOffsetEstimator = ClockOffsetEstimator.getInstance(regCenter);
     }
     
     /**
@@ -103,7 +102,7 @@ public final class ConfigurationService {
         if (-1  == maxTimeDiffSeconds) {
             return;
         }
-        long timeDiff = Math.abs(timeService.getCurrentMillis() - jobNodeStorage.getRegistryCenterTime());
+        long timeDiff = Math.abs(clockOffsetEstimator.getOffsetMillis(jobNodeStorage));
         if (timeDiff > maxTimeDiffSeconds * 1000L) {
             throw new JobExecutionEnvironmentException(
                     "Time different between job server and register center exceed '%s' seconds, max time different is '%s' seconds.", timeDiff / 1000, maxTimeDiffSeconds);
@@ -34,6 +34,8 @@ public final class LiteJobConfigurationConstants {
     
     public static final String RECONCILE_INTERVAL_MINUTES = "reconcileIntervalMinutes";
     
+    public static final String FIRE_TIME_SMEAR_SECONDS = "fireTimeSmearSeconds";
+    
     public static final String DISABLED = "disabled";
     
     public static final String OVERWRITE = "overwrite";
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.util.Map;
 
 import static com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationConstants.DISABLED;
+import static com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationConstants.FIRE_TIME_SMEAR_SECONDS;
 import static com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationConstants.JOB_SHARDING_STRATEGY_CLASS;
 import static com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationConstants.MAX_TIME_DIFF_SECONDS;
 import static com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationConstants.MONITOR_EXECUTION;
@@ -104,6 +105,9 @@ public final class LiteJobConfigurationGsonFactory {
                 case RECONCILE_INTERVAL_MINUTES:
                     customizedValueMap.put(jsonName, in.nextInt());
                     break;
+                case FIRE_TIME_SMEAR_SECONDS:
+                    customizedValueMap.put(jsonName, in.nextInt());
+                    break;
                 case DISABLED:
                     customizedValueMap.put(jsonName, in.nextBoolean());
                     break;
@@ -134,6 +138,9 @@ public final class LiteJobConfigurationGsonFactory {
             if (customizedValueMap.containsKey(RECONCILE_INTERVAL_MINUTES)) {
                 builder.reconcileIntervalMinutes((int) customizedValueMap.get(RECONCILE_INTERVAL_MINUTES));
             }
+            if (customizedValueMap.containsKey(FIRE_TIME_SMEAR_SECONDS)) {
+                builder.fireTimeSmearSeconds((int) customizedValueMap.get(FIRE_TIME_SMEAR_SECONDS));
+            }
             if (customizedValueMap.containsKey(DISABLED)) {
                 builder.disabled((boolean) customizedValueMap.get(DISABLED));
             }
@@ -150,6 +157,9 @@ public final class LiteJobConfigurationGsonFactory {
             out.name(MONITOR_PORT).value(value.getMonitorPort());
             out.name(JOB_SHARDING_STRATEGY_CLASS).value(value.getJobShardingStrategyClass());
             out.name(RECONCILE_INTERVAL_MINUTES).value(value.getReconcileIntervalMinutes());
+            if (value.getFireTimeSmearSeconds() > 0) {
+                out.name(FIRE_TIME_SMEAR_SECONDS).value(value.getFireTimeSmearSeconds());
+            }
             out.name(DISABLED).value(value.isDisabled());
             out.name(OVERWRITE).value(value.isOverwrite());
         }
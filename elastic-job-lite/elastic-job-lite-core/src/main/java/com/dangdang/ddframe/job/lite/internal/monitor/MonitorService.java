@@ -18,8 +18,10 @@
 package com.dangdang.ddframe.job.lite.internal.monitor;
 
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationService;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.util.SensitiveInfoUtils;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.util.json.GsonFactory;
 import com.google.common.base.Joiner;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.recipes.cache.ChildData;
@@ -45,6 +47,8 @@ public final class MonitorService {
     
     public static final String DUMP_COMMAND = "dump";
     
+    public static final String SPAN_COMMAND = "span";
+    
     private final String jobName;
     
     private final CoordinatorRegistryCenter regCenter;
@@ -104,6 +108,8 @@ public final class MonitorService {
                 List<String> result = new ArrayList<>();
                 dumpDirectly("/" + jobName, result);
                 outputMessage(writer, Joiner.on("\n").join(SensitiveInfoUtils.filterSensitiveIps(result)) + "\n");
+            } else if (null != cmdLine && SPAN_COMMAND.equalsIgnoreCase(cmdLine)) {
+                outputMessage(writer, GsonFactory.getGson().toJson(JobRegistry.getInstance().getExecutionSpans(jobName)) + "\n");
             }
         }
     }
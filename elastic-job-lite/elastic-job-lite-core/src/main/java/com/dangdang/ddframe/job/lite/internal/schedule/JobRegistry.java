@@ -17,13 +17,21 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.collect.EvictingQueue;
+import com.google.common.collect.Queues;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 作业注册表.
@@ -34,6 +42,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class JobRegistry {
     
+    private static final int MAX_EXECUTION_SPAN_SIZE = 10;
+    
     private static volatile JobRegistry instance;
     
     private Map<String, JobScheduleController> schedulerMap = new ConcurrentHashMap<>();
@@ -46,6 +56,8 @@ public final class JobRegistry {
     
     private Map<String, Integer> currentShardingTotalCountMap = new ConcurrentHashMap<>();
     
+    private ConcurrentMap<String, Queue<JobExecutionSpanEvent>> executionSpanMap = new ConcurrentHashMap<>();
+    
     /**
      * 获取作业注册表实例.
      * 
@@ -157,6 +169,37 @@ public final class JobRegistry {
         currentShardingTotalCountMap.put(jobName, currentShardingTotalCount);
     }
     
+    /**
+     * 记录作业最近的执行阶段耗时.
+     *
+     * @param jobName 作业名称
+     * @param jobExecutionSpanEvent 作业执行阶段耗时事件
+     */
+    public void addExecutionSpan(final String jobName, final JobExecutionSpanEvent jobExecutionSpanEvent) {
+        Queue<JobExecutionSpanEvent> executionSpans = executionSpanMap.get(jobName);
+        if (null == executionSpans) {
+            executionSpanMap.putIfAbsent(jobName, Queues.synchronizedQueue(EvictingQueue.<JobExecutionSpanEvent>create(MAX_EXECUTION_SPAN_SIZE)));
+            executionSpans = executionSpanMap.get(jobName);
+        }
+        executionSpans.add(jobExecutionSpanEvent);
+    }
+    
+    /**
+     * 获取作业最近的执行阶段耗时.
+     *
+     * @param jobName 作业名称
+     * @return 作业最近的执行阶段耗时, 按执行先后排序
+     */
+    public List<JobExecutionSpanEvent> getExecutionSpans(final String jobName) {
+        Queue<JobExecutionSpanEvent> executionSpans = executionSpanMap.get(jobName);
+        if (null == executionSpans) {
+            return Collections.emptyList();
+        }
+        synchronized (executionSpans) {
+            return new ArrayList<>(executionSpans);
+        }
+    }
+    
     /**
      * 终止任务调度.
      * 
@@ -174,6 +217,7 @@ public final class JobRegistry {
         jobInstanceMap.remove(jobName);
         jobRunningMap.remove(jobName);
         currentShardingTotalCountMap.remove(jobName);
+        executionSpanMap.remove(jobName);
     }
     
     /**
@@ -17,90 +17,73 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
-import com.dangdang.ddframe.job.exception.JobSystemException;
-import lombok.RequiredArgsConstructor;
-import org.quartz.CronScheduleBuilder;
-import org.quartz.CronTrigger;
-import org.quartz.JobDetail;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerBuilder;
-import org.quartz.TriggerKey;
+import com.dangdang.ddframe.job.trigger.JobTrigger;
+import com.dangdang.ddframe.job.trigger.TriggerEngine;
+import com.dangdang.ddframe.job.trigger.TriggerListener;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
+import com.dangdang.ddframe.job.trigger.TriggerTask;
 
 /**
  * 作业调度控制器.
  * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
 public final class JobScheduleController {
     
-    private final Scheduler scheduler;
+    /**
+     * 作业执行通道被占用时到期的触发一律视为错过触发.
+     */
+    private static final long MISFIRE_THRESHOLD_MILLISECONDS = 1L;
     
-    private final JobDetail jobDetail;
+    private final TriggerTask triggerTask;
     
     private final String triggerIdentity;
     
+    private final TriggerListener[] triggerListeners;
+    
+    private volatile JobTrigger jobTrigger;
+    
+    public JobScheduleController(final TriggerTask triggerTask, final String triggerIdentity, final TriggerListener... triggerListeners) {
+        this.triggerTask = triggerTask;
+        this.triggerIdentity = triggerIdentity;
+        this.triggerListeners = triggerListeners;
+    }
+    
     /**
      * 调度作业.
      * 
-     * @param cron CRON表达式
+     * @param triggerSchedule 触发计划
      */
-    public void scheduleJob(final String cron) {
-        try {
-            if (!scheduler.checkExists(jobDetail.getKey())) {
-                scheduler.scheduleJob(jobDetail, createTrigger(cron));
-            }
-            scheduler.start();
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
-        }
+    public void scheduleJob(final TriggerSchedule triggerSchedule) {
+        jobTrigger = TriggerEngine.getInstance().schedule(triggerIdentity, triggerSchedule, MISFIRE_THRESHOLD_MILLISECONDS, triggerTask, triggerListeners);
     }
     
     /**
      * 重新调度作业.
      * 
-     * @param cron CRON表达式
+     * @param triggerSchedule 触发计划
      */
-    public synchronized void rescheduleJob(final String cron) {
-        try {
-            CronTrigger trigger = (CronTrigger) scheduler.getTrigger(TriggerKey.triggerKey(triggerIdentity));
-            if (!scheduler.isShutdown() && null != trigger && !cron.equals(trigger.getCronExpression())) {
-                scheduler.rescheduleJob(TriggerKey.triggerKey(triggerIdentity), createTrigger(cron));
-            }
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
+    public synchronized void rescheduleJob(final TriggerSchedule triggerSchedule) {
+        if (null != jobTrigger && !jobTrigger.isShutdown() && !triggerSchedule.equals(jobTrigger.getTriggerSchedule())) {
+            jobTrigger.reschedule(triggerSchedule);
         }
     }
     
-    private CronTrigger createTrigger(final String cron) {
-        return TriggerBuilder.newTrigger().withIdentity(triggerIdentity).withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionDoNothing()).build();
-    }
-    
     /**
      * 判断作业是否暂停.
      * 
      * @return 作业是否暂停
      */
     public synchronized boolean isPaused() {
-        try {
-            return !scheduler.isShutdown() && Trigger.TriggerState.PAUSED == scheduler.getTriggerState(new TriggerKey(triggerIdentity));
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
-        }
+        return null != jobTrigger && jobTrigger.isPaused();
     }
     
     /**
      * 暂停作业.
      */
     public synchronized void pauseJob() {
-        try {
-            if (!scheduler.isShutdown()) {
-                scheduler.pauseAll();
-            }
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
+        if (null != jobTrigger) {
+            jobTrigger.pause();
         }
     }
     
@@ -108,12 +91,8 @@ public final class JobScheduleController {
      * 恢复作业.
      */
     public synchronized void resumeJob() {
-        try {
-            if (!scheduler.isShutdown()) {
-                scheduler.resumeAll();
-            }
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
+        if (null != jobTrigger) {
+            jobTrigger.resume();
         }
     }
     
@@ -121,12 +100,8 @@ public final class JobScheduleController {
      * 立刻启动作业.
      */
     public synchronized void triggerJob() {
-        try {
-            if (!scheduler.isShutdown()) {
-                scheduler.triggerJob(jobDetail.getKey());
-            }
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
+        if (null != jobTrigger) {
+            jobTrigger.triggerNow();
         }
     }
     
@@ -134,12 +109,8 @@ public final class JobScheduleController {
      * 关闭调度器.
      */
     public synchronized void shutdown() {
-        try {
-            if (!scheduler.isShutdown()) {
-                scheduler.shutdown();
-            }
-        } catch (final SchedulerException ex) {
-            throw new JobSystemException(ex);
+        if (null != jobTrigger) {
+            jobTrigger.shutdown();
         }
     }
 }
@@ -17,11 +17,14 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.lite.internal.election.LeaderService;
+import com.dangdang.ddframe.job.lite.internal.instance.InstanceService;
 import com.dangdang.ddframe.job.lite.internal.sharding.ExecutionService;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
+import com.dangdang.ddframe.job.trigger.TriggerListener;
 import lombok.RequiredArgsConstructor;
-import org.quartz.Trigger;
-import org.quartz.listeners.TriggerListenerSupport;
+
+import java.util.Date;
 
 /**
  * 作业触发监听器.
@@ -29,21 +32,28 @@ import org.quartz.listeners.TriggerListenerSupport;
  * @author zhangliang
  */
 @RequiredArgsConstructor
-public final class JobTriggerListener extends TriggerListenerSupport {
+public final class JobTriggerListener implements TriggerListener {
     
     private final ExecutionService executionService;
     
     private final ShardingService shardingService;
     
+    private final LeaderService leaderService;
+    
+    private final InstanceService instanceService;
+    
     @Override
-    public String getName() {
-        return "JobTriggerListener";
+    public void triggerMisfired(final Date previousFireTime) {
+        if (null != previousFireTime) {
+            executionService.setMisfire(shardingService.getLocalShardingItems());
+        }
     }
     
     @Override
-    public void triggerMisfired(final Trigger trigger) {
-        if (null != trigger.getPreviousFireTime()) {
-            executionService.setMisfire(shardingService.getLocalShardingItems());
+    public void triggerShutdown() {
+        if (leaderService.isLeader()) {
+            leaderService.removeLeader();
         }
+        instanceService.removeInstance();
     }
 }
@@ -3,26 +3,25 @@ package com.dangdang.ddframe.job.lite.internal.schedule;
 import com.dangdang.ddframe.job.api.ElasticJob;
 import com.dangdang.ddframe.job.executor.JobExecutorFactory;
 import com.dangdang.ddframe.job.executor.JobFacade;
-import lombok.Setter;
-import org.quartz.Job;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
+import com.dangdang.ddframe.job.trigger.TriggerTask;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
 
 /**
  * Lite调度作业.
  *
  * @author zhangliang
  */
-public final class LiteJob implements Job {
+@RequiredArgsConstructor
+public final class LiteJob implements TriggerTask {
     
-    @Setter
-    private ElasticJob elasticJob;
+    private final ElasticJob elasticJob;
     
-    @Setter
-    private JobFacade jobFacade;
+    private final JobFacade jobFacade;
     
     @Override
-    public void execute(final JobExecutionContext context) throws JobExecutionException {
-        JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute();
+    public void execute(final Date scheduledFireTime) {
+        JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute(scheduledFireTime);
     }
 }
@@ -21,6 +21,7 @@ import com.dangdang.ddframe.job.config.dataflow.DataflowJobConfiguration;
 import com.dangdang.ddframe.job.context.TaskContext;
 import com.dangdang.ddframe.job.event.JobEventBus;
 import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
@@ -178,4 +179,10 @@ public final class LiteJobFacade implements JobFacade {
             log.trace(message);
         }
     }
+    
+    @Override
+    public void postJobExecutionSpanEvent(final JobExecutionSpanEvent jobExecutionSpanEvent) {
+        JobRegistry.getInstance().addExecutionSpan(jobExecutionSpanEvent.getJobName(), jobExecutionSpanEvent);
+        jobEventBus.post(jobExecutionSpanEvent);
+    }
 }
@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.lite.internal.storage;
 
 import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.reg.base.RegistryCenterCallCounter;
 import com.dangdang.ddframe.job.reg.exception.RegExceptionHandler;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
@@ -169,6 +170,7 @@ public final class JobNodeStorage {
         try {
             CuratorTransactionFinal curatorTransactionFinal = getClient().inTransaction().check().forPath("/").and();
             callback.execute(curatorTransactionFinal);
+            RegistryCenterCallCounter.increase();
             curatorTransactionFinal.commit();
         //CHECKSTYLE:OFF
         } catch (final Exception ex) {
@@ -28,17 +28,21 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobTriggerListener;
 import com.dangdang.ddframe.job.lite.internal.schedule.SchedulerFacade;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.trigger.JobTrigger;
+import com.dangdang.ddframe.job.trigger.TriggerListener;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
 import org.unitils.util.ReflectionUtils;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
-import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -68,14 +72,22 @@ public final class JobSchedulerTest {
         ReflectionUtils.setFieldValue(jobScheduler, "schedulerFacade", schedulerFacade);
     }
     
+    @After
+    public void tearDown() {
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
-    public void assertInit() throws NoSuchFieldException, SchedulerException {
+    public void assertInit() throws NoSuchFieldException {
         when(schedulerFacade.updateJobConfiguration(liteJobConfig)).thenReturn(liteJobConfig);
-        when(schedulerFacade.newJobTriggerListener()).thenReturn(new JobTriggerListener(null, null));
+        when(schedulerFacade.newJobTriggerListener()).thenReturn(mock(JobTriggerListener.class));
         jobScheduler.init();
         verify(schedulerFacade).registerStartUpInfo(true);
-        Scheduler scheduler = ReflectionUtils.getFieldValue(JobRegistry.getInstance().getJobScheduleController("test_job"), JobScheduleController.class.getDeclaredField("scheduler"));
-        assertThat(scheduler.getListenerManager().getTriggerListeners().get(0), instanceOf(JobTriggerListener.class));
-        assertTrue(scheduler.isStarted());
+        JobScheduleController jobScheduleController = JobRegistry.getInstance().getJobScheduleController("test_job");
+        TriggerListener[] triggerListeners = ReflectionUtils.getFieldValue(jobScheduleController, JobScheduleController.class.getDeclaredField("triggerListeners"));
+        assertThat(triggerListeners[0], instanceOf(JobTriggerListener.class));
+        JobTrigger jobTrigger = ReflectionUtils.getFieldValue(jobScheduleController, JobScheduleController.class.getDeclaredField("jobTrigger"));
+        assertThat(jobTrigger.getTriggerSchedule(), is(TriggerSchedule.cron("* * 0/10 * * ? 2050")));
+        assertFalse(jobTrigger.isShutdown());
     }
 }
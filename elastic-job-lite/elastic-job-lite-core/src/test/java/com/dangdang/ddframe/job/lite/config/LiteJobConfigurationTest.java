@@ -20,8 +20,12 @@ package com.dangdang.ddframe.job.lite.config;
 import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
 import com.dangdang.ddframe.job.lite.fixture.TestSimpleJob;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -33,7 +37,7 @@ public final class LiteJobConfigurationTest {
     public void assertBuildAllProperties() {
         LiteJobConfiguration actual = LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName()))
-                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(60).build();
+                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(60).fireTimeSmearSeconds(30).build();
         assertFalse(actual.isMonitorExecution());
         assertThat(actual.getMaxTimeDiffSeconds(), is(1000));
         assertThat(actual.getMonitorPort(), is(8888));
@@ -41,6 +45,7 @@ public final class LiteJobConfigurationTest {
         assertTrue(actual.isDisabled());
         assertTrue(actual.isOverwrite());
         assertThat(actual.getReconcileIntervalMinutes(), is(60));
+        assertThat(actual.getFireTimeSmearSeconds(), is(30));
     }
     
     @Test
@@ -53,6 +58,9 @@ public final class LiteJobConfigurationTest {
         assertThat(actual.getJobShardingStrategyClass(), is(""));
         assertFalse(actual.isDisabled());
         assertFalse(actual.isOverwrite());
+        assertThat(actual.getFireTimeSmearSeconds(), is(0));
+        assertThat(actual.getFireTimeOffsetMilliseconds(), is(0L));
+        assertThat(actual.getTriggerSchedule(), is(TriggerSchedule.cron("0/1 * * * * ?")));
     }
     
     @Test
@@ -72,4 +80,27 @@ public final class LiteJobConfigurationTest {
         assertTrue(LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).failover(true).build(), 
                 TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build().isFailover());
     }
+    
+    @Test
+    public void assertGetFireTimeOffsetMilliseconds() {
+        LiteJobConfiguration actual = createSmearedLiteJobConfiguration("test_job");
+        long actualOffsetMilliseconds = actual.getFireTimeOffsetMilliseconds();
+        assertTrue(actualOffsetMilliseconds >= 0L && actualOffsetMilliseconds < 30000L);
+        assertThat(createSmearedLiteJobConfiguration("test_job").getFireTimeOffsetMilliseconds(), is(actualOffsetMilliseconds));
+        assertThat(actual.getTriggerSchedule(), is(TriggerSchedule.cron("0 * * * * ?").withOffset(actualOffsetMilliseconds)));
+    }
+    
+    @Test
+    public void assertGetFireTimeOffsetMillisecondsSpreadsSimilarJobNames() {
+        Set<Long> offsetSeconds = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            offsetSeconds.add(createSmearedLiteJobConfiguration("test_job_" + i).getFireTimeOffsetMilliseconds() / 1000L);
+        }
+        assertTrue(offsetSeconds.size() > 20);
+    }
+    
+    private LiteJobConfiguration createSmearedLiteJobConfiguration(final String jobName) {
+        return LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder(jobName, "0 * * * * ?", 3).build(), 
+                TestSimpleJob.class.getCanonicalName())).fireTimeSmearSeconds(30).build();
+    }
 }
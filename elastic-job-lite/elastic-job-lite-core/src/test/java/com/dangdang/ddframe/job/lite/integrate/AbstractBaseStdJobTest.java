@@ -46,7 +46,6 @@ import lombok.Getter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
-import org.quartz.SchedulerException;
 import org.unitils.util.ReflectionUtils;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -140,7 +139,7 @@ public abstract class AbstractBaseStdJobTest {
     }
     
     @After
-    public void tearDown() throws SchedulerException, NoSuchFieldException {
+    public void tearDown() throws NoSuchFieldException {
         jobScheduler.getSchedulerFacade().shutdownInstance();
         ReflectionUtils.setFieldValue(JobRegistry.getInstance(), "instance", null);
         
@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.lite.internal;
 
+import com.dangdang.ddframe.job.lite.internal.config.ClockOffsetEstimatorTest;
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationNodeTest;
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationServiceTest;
 import com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationGsonFactoryTest;
@@ -67,6 +68,7 @@ import org.junit.runners.Suite.SuiteClasses;
         ConfigurationServiceTest.class, 
         ConfigurationNodeTest.class,
         RescheduleListenerManagerTest.class,
+        ClockOffsetEstimatorTest.class,
         LiteJobConfigurationGsonFactoryTest.class, 
         LeaderServiceTest.class, 
         LeaderNodeTest.class,
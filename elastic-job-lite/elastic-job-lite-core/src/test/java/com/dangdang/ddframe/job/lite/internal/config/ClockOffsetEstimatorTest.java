@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.config;
+
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.util.env.TimeService;
+import org.apache.curator.framework.state.ConnectionState;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.unitils.util.ReflectionUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class ClockOffsetEstimatorTest {
+    
+    @Mock
+    private JobNodeStorage jobNodeStorage;
+    
+    @Mock
+    private TimeService timeService;
+    
+    private final ClockOffsetEstimator clockOffsetEstimator = new ClockOffsetEstimator();
+    
+    @Before
+    public void setUp() throws NoSuchFieldException {
+        MockitoAnnotations.initMocks(this);
+        ReflectionUtils.setFieldValue(clockOffsetEstimator, "timeService", timeService);
+    }
+    
+    @Test
+    public void assertGetInstanceWithSameRegistryCenter() {
+        CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        assertThat(ClockOffsetEstimator.getInstance(regCenter), sameInstance(ClockOffsetEstimator.getInstance(regCenter)));
+    }
+    
+    @Test
+    public void assertGetInstanceWithDifferentRegistryCenter() {
+        assertThat(ClockOffsetEstimator.getInstance(mock(CoordinatorRegistryCenter.class)), not(sameInstance(ClockOffsetEstimator.getInstance(mock(CoordinatorRegistryCenter.class)))));
+    }
+    
+    @Test
+    public void assertGetOffsetMillisWithMidpointOfSampling() {
+        when(timeService.getCurrentMillis()).thenReturn(1000L, 1100L);
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(5050L);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(4000L));
+    }
+    
+    @Test
+    public void assertGetOffsetMillisFromMemoryWithinSampleInterval() {
+        when(timeService.getCurrentMillis()).thenReturn(1000L);
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(3000L);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(2000L));
+        when(timeService.getCurrentMillis()).thenReturn(1000L + ClockOffsetEstimator.SAMPLE_INTERVAL_MILLISECONDS - 1L);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(2000L));
+        verify(jobNodeStorage).getRegistryCenterTime();
+    }
+    
+    @Test
+    public void assertGetOffsetMillisResampleAfterSampleInterval() {
+        when(timeService.getCurrentMillis()).thenReturn(1000L);
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(3000L);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(2000L));
+        long now = 1000L + ClockOffsetEstimator.SAMPLE_INTERVAL_MILLISECONDS;
+        when(timeService.getCurrentMillis()).thenReturn(now);
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(now - 500L);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(-500L));
+        verify(jobNodeStorage, times(2)).getRegistryCenterTime();
+    }
+    
+    @Test
+    public void assertGetOffsetMillisResampleAfterReconnected() {
+        when(timeService.getCurrentMillis()).thenReturn(1000L);
+        when(jobNodeStorage.getRegistryCenterTime()).thenReturn(3000L, 4000L);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(2000L));
+        clockOffsetEstimator.new ReconnectedListener().stateChanged(null, ConnectionState.SUSPENDED);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(2000L));
+        clockOffsetEstimator.new ReconnectedListener().stateChanged(null, ConnectionState.RECONNECTED);
+        assertThat(clockOffsetEstimator.getOffsetMillis(jobNodeStorage), is(3000L));
+        verify(jobNodeStorage, times(2)).getRegistryCenterTime();
+    }
+}
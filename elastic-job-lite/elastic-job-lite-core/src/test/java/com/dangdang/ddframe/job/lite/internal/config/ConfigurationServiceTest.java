@@ -45,6 +45,7 @@ public final class ConfigurationServiceTest {
     public void initMocks() throws NoSuchFieldException {
         MockitoAnnotations.initMocks(this);
         ReflectionUtils.setFieldValue(configService, "jobNodeStorage", jobNodeStorage);
+        ReflectionUtils.setFieldValue(configService, "clockOffsetEstimator", new ClockOffsetEstimator());
     }
     
     @Test
@@ -44,7 +44,7 @@ public final class LiteJobConfigurationGsonFactoryTest {
     private String simpleJobJson =  "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestSimpleJob\",\"jobType\":\"SIMPLE\",\"cron\":\"0/1 * * * * ?\","
             + "\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"\",\"failover\":true,\"misfire\":false,\"description\":\"\","
             + "\"jobProperties\":" + JOB_PROPS_JSON + ",\"monitorExecution\":false,\"maxTimeDiffSeconds\":1000,\"monitorPort\":8888,"
-            + "\"jobShardingStrategyClass\":\"testClass\",\"reconcileIntervalMinutes\":15,\"disabled\":true,\"overwrite\":true}";
+            + "\"jobShardingStrategyClass\":\"testClass\",\"reconcileIntervalMinutes\":15,\"fireTimeSmearSeconds\":30,\"disabled\":true,\"overwrite\":true}";
     
     private String dataflowJobJson = "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestDataflowJob\",\"jobType\":\"DATAFLOW\",\"cron\":\"0/1 * * * * ?\","
             + "\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"\",\"failover\":false,\"misfire\":true,\"description\":\"\","
@@ -60,7 +60,7 @@ public final class LiteJobConfigurationGsonFactoryTest {
     public void assertToJsonForSimpleJob() {
         LiteJobConfiguration actual = LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).failover(true).misfire(false).build(), 
                 TestSimpleJob.class.getCanonicalName()))
-                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(15).build();
+                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(15).fireTimeSmearSeconds(30).build();
         assertThat(LiteJobConfigurationGsonFactory.toJson(actual), is(simpleJobJson));
     }
     
@@ -98,6 +98,7 @@ public final class LiteJobConfigurationGsonFactoryTest {
         assertThat(actual.getMonitorPort(), is(8888));
         assertThat(actual.getJobShardingStrategyClass(), is("testClass"));
         assertThat(actual.getReconcileIntervalMinutes(), is(15));
+        assertThat(actual.getFireTimeSmearSeconds(), is(30));
         assertTrue(actual.isDisabled());
         assertTrue(actual.isOverwrite());
     }
@@ -124,6 +125,7 @@ public final class LiteJobConfigurationGsonFactoryTest {
         assertThat(actual.getMonitorPort(), is(-1));
         assertThat(actual.getJobShardingStrategyClass(), is(""));
         assertThat(actual.getReconcileIntervalMinutes(), is(10));
+        assertThat(actual.getFireTimeSmearSeconds(), is(0));
         assertFalse(actual.isDisabled());
         assertFalse(actual.isOverwrite());
         assertTrue(((DataflowJobConfiguration) actual.getTypeConfig()).isStreamingProcess());
@@ -151,6 +153,7 @@ public final class LiteJobConfigurationGsonFactoryTest {
         assertThat(actual.getMonitorPort(), is(-1));
         assertThat(actual.getJobShardingStrategyClass(), is(""));
         assertThat(actual.getReconcileIntervalMinutes(), is(10));
+        assertThat(actual.getFireTimeSmearSeconds(), is(0));
         assertFalse(actual.isDisabled());
         assertFalse(actual.isOverwrite());
         assertThat(((ScriptJobConfiguration) actual.getTypeConfig()).getScriptCommandLine(), is("test.sh"));
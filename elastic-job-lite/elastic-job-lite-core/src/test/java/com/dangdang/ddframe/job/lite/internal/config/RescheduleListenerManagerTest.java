@@ -25,6 +25,7 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,19 +68,19 @@ public final class RescheduleListenerManagerTest {
     @Test
     public void assertCronSettingChangedJobListenerWhenIsNotCronPath() {
         rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config/other", Type.NODE_ADDED, LiteJsonConstants.getJobJson());
-        verify(jobScheduleController, times(0)).rescheduleJob(ArgumentMatchers.<String>any());
+        verify(jobScheduleController, times(0)).rescheduleJob(ArgumentMatchers.<TriggerSchedule>any());
     }
     
     @Test
     public void assertCronSettingChangedJobListenerWhenIsCronPathButNotUpdate() {
         rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_ADDED, LiteJsonConstants.getJobJson());
-        verify(jobScheduleController, times(0)).rescheduleJob(ArgumentMatchers.<String>any());
+        verify(jobScheduleController, times(0)).rescheduleJob(ArgumentMatchers.<TriggerSchedule>any());
     }
     
     @Test
     public void assertCronSettingChangedJobListenerWhenIsCronPathAndUpdateButCannotFindJob() {
         rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_UPDATED, LiteJsonConstants.getJobJson());
-        verify(jobScheduleController, times(0)).rescheduleJob(ArgumentMatchers.<String>any());
+        verify(jobScheduleController, times(0)).rescheduleJob(ArgumentMatchers.<TriggerSchedule>any());
     }
     
     @Test
@@ -87,7 +88,7 @@ public final class RescheduleListenerManagerTest {
         JobRegistry.getInstance().addJobInstance("test_job", new JobInstance("127.0.0.1@-@0"));
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
         rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_UPDATED, LiteJsonConstants.getJobJson());
-        verify(jobScheduleController).rescheduleJob("0/1 * * * * ?");
+        verify(jobScheduleController).rescheduleJob(TriggerSchedule.cron("0/1 * * * * ?"));
         JobRegistry.getInstance().shutdown("test_job");
     }
 }
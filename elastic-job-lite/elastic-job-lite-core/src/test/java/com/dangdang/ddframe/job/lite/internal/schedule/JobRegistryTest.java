@@ -17,10 +17,14 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.junit.Test;
 
+import java.util.Date;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -74,6 +78,22 @@ public final class JobRegistryTest {
         assertThat(JobRegistry.getInstance().getCurrentShardingTotalCount("exist_job_instance"), is(10));
     }
     
+    @Test
+    public void assertGetExecutionSpansIfNull() {
+        assertTrue(JobRegistry.getInstance().getExecutionSpans("test_job_for_execution_span_null").isEmpty());
+    }
+    
+    @Test
+    public void assertGetExecutionSpansIfNotNull() {
+        for (int i = 0; i < 15; i++) {
+            JobRegistry.getInstance().addExecutionSpan("test_job_for_execution_span", new JobExecutionSpanEvent("test_job_for_execution_span", new Date(i)));
+        }
+        List<JobExecutionSpanEvent> actual = JobRegistry.getInstance().getExecutionSpans("test_job_for_execution_span");
+        assertThat(actual.size(), is(10));
+        assertThat(actual.get(0).getTriggerTime(), is(new Date(5)));
+        assertThat(actual.get(9).getTriggerTime(), is(new Date(14)));
+    }
+    
     @Test
     public void assertShutdown() {
         JobScheduleController jobScheduleController = mock(JobScheduleController.class);
@@ -17,25 +17,21 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
-import com.dangdang.ddframe.job.exception.JobSystemException;
+import com.dangdang.ddframe.job.trigger.JobTrigger;
+import com.dangdang.ddframe.job.trigger.TriggerEngine;
+import com.dangdang.ddframe.job.trigger.TriggerSchedule;
+import com.dangdang.ddframe.job.trigger.TriggerTask;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.quartz.JobDetail;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerKey;
-import org.quartz.impl.triggers.CronTriggerImpl;
 import org.unitils.util.ReflectionUtils;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,199 +39,114 @@ import static org.mockito.Mockito.when;
 public final class JobScheduleControllerTest {
     
     @Mock
-    private Scheduler scheduler;
+    private TriggerTask triggerTask;
     
     @Mock
-    private JobDetail jobDetail;
+    private JobTrigger jobTrigger;
     
     private JobScheduleController jobScheduleController;
     
     @Before
     public void initMocks() throws NoSuchFieldException {
         MockitoAnnotations.initMocks(this);
-        jobScheduleController = new JobScheduleController(scheduler, jobDetail, "test_job_Trigger");
+        jobScheduleController = new JobScheduleController(triggerTask, "test_job_Trigger");
     }
     
-    @Test(expected = JobSystemException.class)
-    public void assertIsPausedFailure() throws NoSuchFieldException, SchedulerException {
-        doThrow(SchedulerException.class).when(scheduler).getTriggerState(new TriggerKey("test_job_Trigger"));
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
+    @Test
+    public void assertScheduleJob() throws NoSuchFieldException {
+        jobScheduleController.scheduleJob(TriggerSchedule.cron("0 0 0 1 1 ? 2099"));
+        JobTrigger actual = ReflectionUtils.getFieldValue(jobScheduleController, JobScheduleController.class.getDeclaredField("jobTrigger"));
         try {
-            jobScheduleController.isPaused();
+            assertThat(actual.getIdentity(), is("test_job_Trigger"));
+            assertThat(actual.getTriggerSchedule(), is(TriggerSchedule.cron("0 0 0 1 1 ? 2099")));
+            assertFalse(actual.isShutdown());
+            assertThat(TriggerEngine.getInstance().schedule("test_job_Trigger", TriggerSchedule.cron("0/1 * * * * ?"), 1L, triggerTask), is(actual));
         } finally {
-            verify(scheduler).getTriggerState(new TriggerKey("test_job_Trigger"));
+            jobScheduleController.shutdown();
         }
+        assertTrue(actual.isShutdown());
     }
     
     @Test
-    public void assertIsPausedIfTriggerStateIsNormal() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.getTriggerState(new TriggerKey("test_job_Trigger"))).thenReturn(Trigger.TriggerState.NORMAL);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
+    public void assertOperationsBeforeScheduleJob() {
+        jobScheduleController.pauseJob();
+        jobScheduleController.resumeJob();
+        jobScheduleController.triggerJob();
+        jobScheduleController.rescheduleJob(TriggerSchedule.cron("0/1 * * * * ?"));
+        jobScheduleController.shutdown();
         assertFalse(jobScheduleController.isPaused());
     }
     
     @Test
-    public void assertIsPausedIfTriggerStateIsPaused() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.getTriggerState(new TriggerKey("test_job_Trigger"))).thenReturn(Trigger.TriggerState.PAUSED);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        assertTrue(jobScheduleController.isPaused());
-    }
-    
-    @Test
-    public void assertIsPauseJobIfShutdown() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.isShutdown()).thenReturn(true);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
+    public void assertIsPausedIfTriggerIsNotPaused() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
         assertFalse(jobScheduleController.isPaused());
     }
     
     @Test
-    public void assertPauseJobIfShutdown() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.isShutdown()).thenReturn(true);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        jobScheduleController.pauseJob();
-        verify(scheduler, times(0)).pauseAll();
-    }
-    
-    @Test(expected = JobSystemException.class)
-    public void assertPauseJobFailure() throws NoSuchFieldException, SchedulerException {
-        doThrow(SchedulerException.class).when(scheduler).pauseAll();
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        try {
-            jobScheduleController.pauseJob();
-        } finally {
-            verify(scheduler).pauseAll();
-        }
+    public void assertIsPausedIfTriggerIsPaused() throws NoSuchFieldException {
+        when(jobTrigger.isPaused()).thenReturn(true);
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
+        assertTrue(jobScheduleController.isPaused());
     }
     
     @Test
-    public void assertPauseJobSuccess() throws NoSuchFieldException, SchedulerException {
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
+    public void assertPauseJob() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
         jobScheduleController.pauseJob();
-        verify(scheduler).pauseAll();
+        verify(jobTrigger).pause();
     }
     
     @Test
-    public void assertResumeJobIfShutdown() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.isShutdown()).thenReturn(true);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
+    public void assertResumeJob() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
         jobScheduleController.resumeJob();
-        verify(scheduler, times(0)).resumeAll();
-    }
-    
-    @Test(expected = JobSystemException.class)
-    public void assertResumeJobFailure() throws NoSuchFieldException, SchedulerException {
-        doThrow(SchedulerException.class).when(scheduler).resumeAll();
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        try {
-            jobScheduleController.resumeJob();
-        } finally {
-            verify(scheduler).resumeAll();
-        }
+        verify(jobTrigger).resume();
     }
     
     @Test
-    public void assertResumeJobSuccess() throws NoSuchFieldException, SchedulerException {
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        jobScheduleController.resumeJob();
-        verify(scheduler).resumeAll();
-    }
-    
-    @Test
-    public void assertTriggerJobIfShutdown() throws NoSuchFieldException, SchedulerException {
-        JobKey jobKey = new JobKey("test_job");
-        when(jobDetail.getKey()).thenReturn(jobKey);
-        when(scheduler.isShutdown()).thenReturn(true);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        ReflectionUtils.setFieldValue(jobScheduleController, "jobDetail", jobDetail);
-        jobScheduleController.triggerJob();
-        verify(jobDetail, times(0)).getKey();
-        verify(scheduler, times(0)).triggerJob(jobKey);
-    }
-    
-    @Test(expected = JobSystemException.class)
-    public void assertTriggerJobFailure() throws NoSuchFieldException, SchedulerException {
-        JobKey jobKey = new JobKey("test_job");
-        when(jobDetail.getKey()).thenReturn(jobKey);
-        doThrow(SchedulerException.class).when(scheduler).triggerJob(jobKey);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        ReflectionUtils.setFieldValue(jobScheduleController, "jobDetail", jobDetail);
-        try {
-            jobScheduleController.triggerJob();
-        } finally {
-            verify(jobDetail).getKey();
-            verify(scheduler).triggerJob(jobKey);
-        }
-    }
-    
-    @Test
-    public void assertTriggerJobSuccess() throws NoSuchFieldException, SchedulerException {
-        JobKey jobKey = new JobKey("test_job");
-        when(jobDetail.getKey()).thenReturn(jobKey);
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        ReflectionUtils.setFieldValue(jobScheduleController, "jobDetail", jobDetail);
+    public void assertTriggerJob() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
         jobScheduleController.triggerJob();
-        verify(jobDetail).getKey();
-        verify(scheduler).triggerJob(jobKey);
+        verify(jobTrigger).triggerNow();
     }
     
     @Test
-    public void assertShutdownJobIfShutdown() throws NoSuchFieldException, SchedulerException {
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        when(scheduler.isShutdown()).thenReturn(true);
+    public void assertShutdown() throws NoSuchFieldException {
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
         jobScheduleController.shutdown();
-        verify(scheduler, times(0)).shutdown();
-    }
-    
-    @Test(expected = JobSystemException.class)
-    public void assertShutdownFailure() throws NoSuchFieldException, SchedulerException {
-        doThrow(SchedulerException.class).when(scheduler).shutdown();
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        try {
-            jobScheduleController.shutdown();
-        } finally {
-            verify(scheduler).shutdown();
-        }
+        verify(jobTrigger).shutdown();
     }
     
     @Test
-    public void assertShutdownSuccess() throws NoSuchFieldException, SchedulerException {
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        jobScheduleController.shutdown();
-        verify(scheduler).shutdown();
+    public void assertRescheduleJobIfShutdown() throws NoSuchFieldException {
+        when(jobTrigger.isShutdown()).thenReturn(true);
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
+        jobScheduleController.rescheduleJob(TriggerSchedule.cron("0/1 * * * * ?"));
+        verify(jobTrigger, times(0)).reschedule(ArgumentMatchers.<TriggerSchedule>any());
     }
     
     @Test
-    public void assertRescheduleJobIfShutdown() throws NoSuchFieldException, SchedulerException {
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        when(scheduler.isShutdown()).thenReturn(true);
-        jobScheduleController.rescheduleJob("0/1 * * * * ?");
-        verify(scheduler, times(0)).rescheduleJob(eq(TriggerKey.triggerKey("test_job_Trigger")), ArgumentMatchers.<Trigger>any());
-    }
-    
-    @Test(expected = JobSystemException.class)
-    public void assertRescheduleJobFailure() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.getTrigger(TriggerKey.triggerKey("test_job_Trigger"))).thenReturn(new CronTriggerImpl());
-        doThrow(SchedulerException.class).when(scheduler).rescheduleJob(eq(TriggerKey.triggerKey("test_job_Trigger")), ArgumentMatchers.<Trigger>any());
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        try {
-            jobScheduleController.rescheduleJob("0/1 * * * * ?");
-        } finally {
-            verify(scheduler).rescheduleJob(eq(TriggerKey.triggerKey("test_job_Trigger")), ArgumentMatchers.<Trigger>any());
-        }
+    public void assertRescheduleJobWhenCronIsNotChanged() throws NoSuchFieldException {
+        when(jobTrigger.getTriggerSchedule()).thenReturn(TriggerSchedule.cron("0/1 * * * * ?"));
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
+        jobScheduleController.rescheduleJob(TriggerSchedule.cron("0/1 * * * * ?"));
+        verify(jobTrigger, times(0)).reschedule(ArgumentMatchers.<TriggerSchedule>any());
     }
     
     @Test
-    public void assertRescheduleJobSuccess() throws NoSuchFieldException, SchedulerException {
-        when(scheduler.getTrigger(TriggerKey.triggerKey("test_job_Trigger"))).thenReturn(new CronTriggerImpl());
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        jobScheduleController.rescheduleJob("0/1 * * * * ?");
-        verify(scheduler).rescheduleJob(eq(TriggerKey.triggerKey("test_job_Trigger")), ArgumentMatchers.<Trigger>any());
+    public void assertRescheduleJobFromCronToFixedRate() throws NoSuchFieldException {
+        when(jobTrigger.getTriggerSchedule()).thenReturn(TriggerSchedule.cron("0/1 * * * * ?"));
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
+        jobScheduleController.rescheduleJob(TriggerSchedule.fixedRate(200L));
+        verify(jobTrigger).reschedule(TriggerSchedule.fixedRate(200L));
     }
     
     @Test
-    public void assertRescheduleJobWhenTriggerIsNull() throws NoSuchFieldException, SchedulerException {
-        ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
-        jobScheduleController.rescheduleJob("0/1 * * * * ?");
-        verify(scheduler, times(0)).rescheduleJob(eq(TriggerKey.triggerKey("test_job_Trigger")), ArgumentMatchers.<Trigger>any());
+    public void assertRescheduleJobSuccess() throws NoSuchFieldException {
+        when(jobTrigger.getTriggerSchedule()).thenReturn(TriggerSchedule.cron("0/2 * * * * ?"));
+        ReflectionUtils.setFieldValue(jobScheduleController, "jobTrigger", jobTrigger);
+        jobScheduleController.rescheduleJob(TriggerSchedule.cron("0/1 * * * * ?"));
+        verify(jobTrigger).reschedule(TriggerSchedule.cron("0/1 * * * * ?"));
     }
 }
@@ -17,19 +17,18 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.lite.internal.election.LeaderService;
+import com.dangdang.ddframe.job.lite.internal.instance.InstanceService;
 import com.dangdang.ddframe.job.lite.internal.sharding.ExecutionService;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.quartz.Trigger;
 
 import java.util.Collections;
 import java.util.Date;
 
-import static org.hamcrest.CoreMatchers.is;
-import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,33 +42,45 @@ public final class JobTriggerListenerTest {
     private ShardingService shardingService;
     
     @Mock
-    private Trigger trigger;
+    private LeaderService leaderService;
+    
+    @Mock
+    private InstanceService instanceService;
     
     private JobTriggerListener jobTriggerListener;
     
     @Before
     public void setUp() throws NoSuchFieldException {
         MockitoAnnotations.initMocks(this);
-        jobTriggerListener = new JobTriggerListener(executionService, shardingService);
-    }
-    
-    @Test
-    public void assertGetName() {
-        assertThat(jobTriggerListener.getName(), is("JobTriggerListener"));
+        jobTriggerListener = new JobTriggerListener(executionService, shardingService, leaderService, instanceService);
     }
     
     @Test
     public void assertTriggerMisfiredWhenPreviousFireTimeIsNull() {
         when(shardingService.getLocalShardingItems()).thenReturn(Collections.singletonList(0));
-        jobTriggerListener.triggerMisfired(trigger);
+        jobTriggerListener.triggerMisfired(null);
         verify(executionService, times(0)).setMisfire(Collections.singletonList(0));
     }
     
     @Test
     public void assertTriggerMisfiredWhenPreviousFireTimeIsNotNull() {
         when(shardingService.getLocalShardingItems()).thenReturn(Collections.singletonList(0));
-        when(trigger.getPreviousFireTime()).thenReturn(new Date());
-        jobTriggerListener.triggerMisfired(trigger);
+        jobTriggerListener.triggerMisfired(new Date());
         verify(executionService).setMisfire(Collections.singletonList(0));
     }
+    
+    @Test
+    public void assertTriggerShutdownWhenIsLeader() {
+        when(leaderService.isLeader()).thenReturn(true);
+        jobTriggerListener.triggerShutdown();
+        verify(leaderService).removeLeader();
+        verify(instanceService).removeInstance();
+    }
+    
+    @Test
+    public void assertTriggerShutdownWhenIsNotLeader() {
+        jobTriggerListener.triggerShutdown();
+        verify(leaderService, times(0)).removeLeader();
+        verify(instanceService).removeInstance();
+    }
 }
@@ -21,6 +21,7 @@ import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.dataflow.DataflowJobConfiguration;
 import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
 import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.event.type.JobExecutionSpanEvent;
 import com.dangdang.ddframe.job.exception.JobExecutionEnvironmentException;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
 import com.dangdang.ddframe.job.lite.api.listener.ElasticJobListener;
@@ -43,6 +44,7 @@ import org.unitils.util.ReflectionUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -251,4 +253,12 @@ public class LiteJobFacadeTest {
         liteJobFacade.postJobExecutionEvent(null);
         verify(eventBus).post(null);
     }
+    
+    @Test
+    public void assertPostJobExecutionSpanEvent() {
+        JobExecutionSpanEvent jobExecutionSpanEvent = new JobExecutionSpanEvent("test_job_for_post_execution_span", new Date());
+        liteJobFacade.postJobExecutionSpanEvent(jobExecutionSpanEvent);
+        verify(eventBus).post(jobExecutionSpanEvent);
+        assertThat(JobRegistry.getInstance().getExecutionSpans("test_job_for_post_execution_span"), is(Collections.singletonList(jobExecutionSpanEvent)));
+    }
 }
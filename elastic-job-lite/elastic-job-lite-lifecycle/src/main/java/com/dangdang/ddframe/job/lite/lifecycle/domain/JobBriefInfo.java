@@ -41,6 +41,8 @@ public final class JobBriefInfo implements Serializable, Comparable<JobBriefInfo
     
     private String cron;
     
+    private long fireTimeOffsetMilliseconds;
+    
     private int instanceCount;
     
     private int shardingTotalCount;
@@ -44,6 +44,10 @@ public final class JobSettings implements Serializable {
     
     private String cron;
     
+    private long fixedRateMilliseconds;
+    
+    private long fixedDelayMilliseconds;
+    
     private int shardingTotalCount;
     
     private String shardingItemParameters;
@@ -71,4 +75,6 @@ public final class JobSettings implements Serializable {
     private String scriptCommandLine;
     
     private int reconcileIntervalMinutes;
+    
+    private int fireTimeSmearSeconds;
 }
@@ -74,6 +74,8 @@ public final class JobSettingsAPIImpl implements JobSettingsAPI {
         result.setJobClass(liteJobConfig.getTypeConfig().getJobClass());
         result.setShardingTotalCount(liteJobConfig.getTypeConfig().getCoreConfig().getShardingTotalCount());
         result.setCron(liteJobConfig.getTypeConfig().getCoreConfig().getCron());
+        result.setFixedRateMilliseconds(liteJobConfig.getTypeConfig().getCoreConfig().getFixedRateMilliseconds());
+        result.setFixedDelayMilliseconds(liteJobConfig.getTypeConfig().getCoreConfig().getFixedDelayMilliseconds());
         result.setShardingItemParameters(liteJobConfig.getTypeConfig().getCoreConfig().getShardingItemParameters());
         result.setJobParameter(liteJobConfig.getTypeConfig().getCoreConfig().getJobParameter());
         result.setMonitorExecution(liteJobConfig.isMonitorExecution());
@@ -84,6 +86,7 @@ public final class JobSettingsAPIImpl implements JobSettingsAPI {
         result.setJobShardingStrategyClass(liteJobConfig.getJobShardingStrategyClass());
         result.setDescription(liteJobConfig.getTypeConfig().getCoreConfig().getDescription());
         result.setReconcileIntervalMinutes(liteJobConfig.getReconcileIntervalMinutes());
+        result.setFireTimeSmearSeconds(liteJobConfig.getFireTimeSmearSeconds());
         result.getJobProperties().put(JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER.getKey(),
                 liteJobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER));
         result.getJobProperties().put(JobPropertiesEnum.JOB_EXCEPTION_HANDLER.getKey(), liteJobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobPropertiesEnum.JOB_EXCEPTION_HANDLER));
@@ -100,7 +103,8 @@ public final class JobSettingsAPIImpl implements JobSettingsAPI {
     @Override
     public void updateJobSettings(final JobSettings jobSettings) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(jobSettings.getJobName()), "jobName can not be empty.");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(jobSettings.getCron()), "cron can not be empty.");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(jobSettings.getCron()) || jobSettings.getFixedRateMilliseconds() > 0 || jobSettings.getFixedDelayMilliseconds() > 0, 
+                "cron can not be empty.");
         Preconditions.checkArgument(jobSettings.getShardingTotalCount() > 0, "shardingTotalCount should larger than zero.");
         JobNodePath jobNodePath = new JobNodePath(jobSettings.getJobName());
         regCenter.update(jobNodePath.getConfigNodePath(), LiteJobConfigurationGsonFactory.toJsonForObject(jobSettings));
@@ -109,7 +113,8 @@ public final class JobSettingsAPIImpl implements JobSettingsAPI {
     @Override
     public void updateJobSettings(JobSettings jobSettings, String userName) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(jobSettings.getJobName()), "jobName can not be empty.");
-        Preconditions.checkArgument(!Strings.isNullOrEmpty(jobSettings.getCron()), "cron can not be empty.");
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(jobSettings.getCron()) || jobSettings.getFixedRateMilliseconds() > 0 || jobSettings.getFixedDelayMilliseconds() > 0, 
+                "cron can not be empty.");
         Preconditions.checkArgument(jobSettings.getShardingTotalCount() > 0, "shardingTotalCount should larger than zero.");
         JobNodePath jobNodePath = new JobNodePath(jobSettings.getJobName());
         regCenter.update(jobNodePath.getConfigNodePath(userName), LiteJobConfigurationGsonFactory.toJsonForObject(jobSettings));
@@ -33,6 +33,8 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -109,10 +111,10 @@ public class JobSettingsAPIImplTest {
         jobSettings.setReconcileIntervalMinutes(70);
         jobSettingsAPI.updateJobSettings(jobSettings);
         verify(regCenter).update("/test_job/config", "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestDataflowJob\","
-                + "\"cron\":\"0/1 * * * * ?\",\"shardingTotalCount\":10,\"monitorExecution\":true,\"streamingProcess\":true,"
+                + "\"cron\":\"0/1 * * * * ?\",\"fixedRateMilliseconds\":0,\"fixedDelayMilliseconds\":0,\"shardingTotalCount\":10,\"monitorExecution\":true,\"streamingProcess\":true,"
                 + "\"maxTimeDiffSeconds\":-1,\"monitorPort\":-1,\"failover\":false,\"misfire\":true,"
                 + "\"jobProperties\":{\"executor_service_handler\":\"" + DefaultExecutorServiceHandler.class.getCanonicalName() + "\","
-                + "\"job_exception_handler\":\"" + DefaultJobExceptionHandler.class.getCanonicalName() + "\"},\"reconcileIntervalMinutes\":70}");
+                + "\"job_exception_handler\":\"" + DefaultJobExceptionHandler.class.getCanonicalName() + "\"},\"reconcileIntervalMinutes\":70,\"fireTimeSmearSeconds\":0}");
     }
     
     @Test(expected = IllegalArgumentException.class)
@@ -130,6 +132,17 @@ public class JobSettingsAPIImplTest {
         jobSettingsAPI.updateJobSettings(jobSettings);
     }
     
+    @Test
+    public void assertUpdateJobSettingsWithFixedRateAndEmptyCron() {
+        JobSettings jobSettings = new JobSettings();
+        jobSettings.setJobName("test_job");
+        jobSettings.setCron("");
+        jobSettings.setFixedRateMilliseconds(200L);
+        jobSettings.setShardingTotalCount(10);
+        jobSettingsAPI.updateJobSettings(jobSettings);
+        verify(regCenter).update(eq("/test_job/config"), contains("\"fixedRateMilliseconds\":200,"));
+    }
+    
     @Test(expected = IllegalArgumentException.class)
     public void assertUpdateJobSettingsIfShardingTotalCountLessThanOne() {
         JobSettings jobSettings = new JobSettings();
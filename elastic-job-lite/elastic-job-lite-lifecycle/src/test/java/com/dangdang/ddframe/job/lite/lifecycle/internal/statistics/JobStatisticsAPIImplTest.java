@@ -17,10 +17,15 @@
 
 package com.dangdang.ddframe.job.lite.lifecycle.internal.statistics;
 
+import com.dangdang.ddframe.job.config.JobCoreConfiguration;
+import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
+import com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationGsonFactory;
 import com.dangdang.ddframe.job.lite.lifecycle.api.JobStatisticsAPI;
 import com.dangdang.ddframe.job.lite.lifecycle.domain.JobBriefInfo;
 import com.dangdang.ddframe.job.lite.lifecycle.domain.JobBriefInfo.JobStatus;
 import com.dangdang.ddframe.job.lite.lifecycle.fixture.LifecycleJsonConstants;
+import com.dangdang.ddframe.job.lite.lifecycle.fixture.TestSimpleJob;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.collect.Lists;
 import org.junit.Before;
@@ -69,11 +74,22 @@ public final class JobStatisticsAPIImplTest {
         assertThat(jobBrief.getJobName(), is("test_job"));
         assertThat(jobBrief.getDescription(), is("desc"));
         assertThat(jobBrief.getCron(), is("0/1 * * * * ?"));
+        assertThat(jobBrief.getFireTimeOffsetMilliseconds(), is(0L));
         assertThat(jobBrief.getInstanceCount(), is(2));
         assertThat(jobBrief.getShardingTotalCount(), is(3));
         assertThat(jobBrief.getStatus(), is(JobStatus.OK));
     }
     
+    @Test
+    public void assertGetJobBriefInfoWithFireTimeSmear() {
+        LiteJobConfiguration liteJobConfig = LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(
+                JobCoreConfiguration.newBuilder("test_job", "0 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).fireTimeSmearSeconds(30).build();
+        when(regCenter.get("/test_job/config")).thenReturn(LiteJobConfigurationGsonFactory.toJson(liteJobConfig));
+        JobBriefInfo jobBrief = jobStatisticsAPI.getJobBriefInfo("test_job");
+        assertThat(jobBrief.getCron(), is("0 * * * * ?"));
+        assertThat(jobBrief.getFireTimeOffsetMilliseconds(), is(liteJobConfig.getFireTimeOffsetMilliseconds()));
+    }
+    
     @Test
     public void assertGetOKJobBriefInfoWithPartialDisabledServer() {
         when(regCenter.getChildrenKeys("/")).thenReturn(Lists.newArrayList("test_job"));
@@ -36,6 +36,10 @@ public final class BaseJobBeanDefinitionParserTag {
     
     public static final String CRON_ATTRIBUTE = "cron";
     
+    public static final String FIXED_RATE_MILLISECONDS_ATTRIBUTE = "fixed-rate-milliseconds";
+    
+    public static final String FIXED_DELAY_MILLISECONDS_ATTRIBUTE = "fixed-delay-milliseconds";
+    
     public static final String SHARDING_TOTAL_COUNT_ATTRIBUTE = "sharding-total-count";
     
     public static final String SHARDING_ITEM_PARAMETERS_ATTRIBUTE = "sharding-item-parameters";
@@ -75,4 +79,6 @@ public final class BaseJobBeanDefinitionParserTag {
     public static final String EVENT_TRACE_RDB_DATA_SOURCE_ATTRIBUTE = "event-trace-rdb-data-source";
     
     public static final String RECONCILE_INTERVAL_MINUTES = "reconcile-interval-minutes";
+    
+    public static final String FIRE_TIME_SMEAR_SECONDS_ATTRIBUTE = "fire-time-smear-seconds";
 }